@@ -1,8 +1,24 @@
 package com.example.CryptocurrencyMarketAnalysisSystem;
 
+import com.binance.api.client.BinanceApiClientFactory;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.KlineIngestionProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.OrderBookProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.PriceCacheProperties;
 import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataGateway;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.CandlestickBackfillExecutor;
 import com.example.CryptocurrencyMarketAnalysisSystem.service.BinancePriceService;
 import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.TickerPriceCache;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics.IngestionTracer;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.BinanceKlineStreamSource;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.KlineStreamSource;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.WebSocketKlineStreamSource;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.BinanceDepthStreamSource;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.DepthStreamSource;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.WebSocketDepthStreamSource;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -14,6 +30,7 @@ import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.net.URI;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,16 +45,50 @@ public class CryptocurrencyMarketAnalysisSystemApplication {
 		openBrowser("http://localhost:8085/");
 	}
 
+	// Bean for the blocking Binance REST calls of the services, which all share the connection pool of the gateway
+	@Bean
+	public BinanceMarketDataClient binanceMarketDataClient(BinanceMarketDataGateway binanceMarketDataGateway) {
+		return binanceMarketDataGateway.blockingClient();
+	}
+
 	// Bean for interacting with Binance web service for historical data
 	@Bean
-	public BinanceHistoricalDataService binanceHistoricalDataService(CandlestickDataService candlestickDataService) {
-		return new BinanceHistoricalDataService(candlestickDataService);
+	public BinanceHistoricalDataService binanceHistoricalDataService(CandlestickDataService candlestickDataService,
+																	 CandlestickBackfillExecutor candlestickBackfillExecutor,
+																	 BinanceRequestWeightLimiter binanceRequestWeightLimiter,
+																	 BinanceMarketDataClient binanceMarketDataClient,
+																	 IngestionTracer ingestionTracer) {
+		return new BinanceHistoricalDataService(candlestickDataService, candlestickBackfillExecutor, binanceRequestWeightLimiter,
+				binanceMarketDataClient, ingestionTracer);
 	}
 
 	// Bean for interacting with Binance web service for current prices
 	@Bean
-	public BinancePriceService binancePriceService() {
-		return new BinancePriceService();
+	public BinancePriceService binancePriceService(BinanceRequestWeightLimiter binanceRequestWeightLimiter,
+												   BinanceMarketDataClient binanceMarketDataClient,
+												   TickerPriceCache tickerPriceCache,
+												   PriceCacheProperties priceCacheProperties) {
+		return new BinancePriceService(binanceRequestWeightLimiter, binanceMarketDataClient, tickerPriceCache, priceCacheProperties);
+	}
+
+	// Bean for live kline streams: the binance-java-api client, or an endpoint at binance.ingestion.stream-url
+	@Bean
+	public KlineStreamSource klineStreamSource(KlineIngestionProperties klineIngestionProperties) {
+		String streamUrl = klineIngestionProperties.getStreamUrl();
+		if (streamUrl == null || streamUrl.isBlank()) {
+			return new BinanceKlineStreamSource(BinanceApiClientFactory.newInstance().newWebSocketClient());
+		}
+		return new WebSocketKlineStreamSource(URI.create(streamUrl));
+	}
+
+	// Bean for diff-depth streams: the binance-java-api client, or an endpoint at binance.order-book.stream-url
+	@Bean
+	public DepthStreamSource depthStreamSource(OrderBookProperties orderBookProperties) {
+		String streamUrl = orderBookProperties.getStreamUrl();
+		if (streamUrl == null || streamUrl.isBlank()) {
+			return new BinanceDepthStreamSource(BinanceApiClientFactory.newInstance().newWebSocketClient());
+		}
+		return new WebSocketDepthStreamSource(URI.create(streamUrl));
 	}
 
 	// Adding a controller for the error page
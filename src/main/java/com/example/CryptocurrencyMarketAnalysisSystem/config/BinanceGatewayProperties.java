@@ -0,0 +1,44 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and request hedging of the shared Binance market data gateway, bound from
+ * {@code binance.gateway.*}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "binance.gateway")
+public class BinanceGatewayProperties {
+
+    // Another endpoint, e.g. a testnet or a stub, can be set here
+    private String baseUrl = "https://api.binance.com";
+
+    // Connections kept open to the API, shared by every Binance service
+    private int maxConnections = 64;
+
+    // Idle connections are closed after this, before the server closes them
+    private Duration maxIdleTime = Duration.ofSeconds(50);
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    // Negotiates HTTP/2 over TLS and falls back to HTTP/1.1 if the server does not offer it
+    private boolean http2Enabled = true;
+
+    // A request still unanswered after this is sent a second time and the first answer wins; zero disables hedging
+    private Duration hedgeDelay = Duration.ofMillis(500);
+
+    // Hedged requests as a share of all requests, so a slow API is not sent twice the load
+    private double maxHedgeRatio = 0.05;
+
+    // Largest response body decoded, e.g. all ticker prices or a deep order book
+    private int maxResponseBytes = 16 * 1024 * 1024;
+}
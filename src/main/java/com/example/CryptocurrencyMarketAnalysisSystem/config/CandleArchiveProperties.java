@@ -0,0 +1,31 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local archive of closed months of candles, bound from {@code candlestick.archive.*}. The archive files live on
+ * the local disk, so only enable it where a single instance owns the database.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "candlestick.archive")
+public class CandleArchiveProperties {
+
+    private boolean enabled = false;
+
+    // One file per (symbol, interval) below this directory
+    private String directory = "data/archive";
+
+    private List<CandlestickInterval> intervals = new ArrayList<>(List.of(CandlestickInterval.ONE_MINUTE));
+
+    // Closed months kept in candlestick_data before the compactor moves them to the archive
+    private int keepMonths = 1;
+}
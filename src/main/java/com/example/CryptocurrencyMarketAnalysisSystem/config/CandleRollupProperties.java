@@ -0,0 +1,31 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Higher intervals rolled up from stored ONE_MINUTE candles, bound from {@code candlestick.rollup.*}. Ranges
+ * of these intervals covered by stored one minute candles are derived instead of fetched and stored.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "candlestick.rollup")
+public class CandleRollupProperties {
+
+    private boolean enabled = true;
+
+    // MONTHLY candles follow calendar months and are always fetched
+    private List<CandlestickInterval> intervals = new ArrayList<>(List.of(
+            CandlestickInterval.THREE_MINUTES, CandlestickInterval.FIVE_MINUTES, CandlestickInterval.FIFTEEN_MINUTES,
+            CandlestickInterval.HALF_HOURLY, CandlestickInterval.HOURLY, CandlestickInterval.TWO_HOURLY,
+            CandlestickInterval.FOUR_HOURLY, CandlestickInterval.SIX_HOURLY, CandlestickInterval.EIGHT_HOURLY,
+            CandlestickInterval.TWELVE_HOURLY, CandlestickInterval.DAILY, CandlestickInterval.THREE_DAILY,
+            CandlestickInterval.WEEKLY));
+}
@@ -0,0 +1,38 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Live candle and RSI streams to browsers, bound from {@code candle-stream.*}. All subscribers of one
+ * symbol and interval share one upstream kline stream.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "candle-stream")
+public class CandleStreamProperties {
+
+    // Updates buffered per subscriber; a subscriber further behind loses its oldest updates
+    private int subscriberBufferSize = 256;
+
+    // Threads writing events to clients; a write blocks while the client's socket buffer is full
+    private int writerThreads = 16;
+
+    // Comment events sent to idle subscribers, so proxies keep the connection and dead clients are noticed
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    // How long an upstream stays connected after its last subscriber left, to absorb page reloads
+    private Duration upstreamGracePeriod = Duration.ofSeconds(30);
+
+    // Reconnect delays of a failed upstream double from the initial delay up to the maximum
+    private Duration reconnectInitialDelay = Duration.ofSeconds(1);
+    private Duration reconnectMaxDelay = Duration.ofMinutes(1);
+
+    // Closed candles loaded to seed the RSI of a new stream, as a multiple of its period
+    private int rsiSeedPeriods = 10;
+}
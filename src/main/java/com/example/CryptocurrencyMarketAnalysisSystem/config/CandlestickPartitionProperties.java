@@ -0,0 +1,56 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Period;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Partitioning and retention policy for candlestick_data, bound from {@code candlestick.partitioning.*}.
+ * Intervals without an explicit policy are split by month up to fifteen minutes and by year above that,
+ * and are kept forever.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "candlestick.partitioning")
+public class CandlestickPartitionProperties {
+
+    // Number of future periods created ahead of the current one
+    private int periodsAhead = 2;
+
+    private Map<CandlestickInterval, IntervalPolicy> intervals = new EnumMap<>(CandlestickInterval.class);
+
+    public enum Granularity {
+        MONTH,
+        YEAR
+    }
+
+    @Getter
+    @Setter
+    public static class IntervalPolicy {
+        private Granularity granularity;
+
+        // Range partitions that end before now minus the retention are dropped; null keeps them forever
+        private Period retention;
+    }
+
+    // Returns the effective policy of the interval, filling in defaults for anything not configured
+    public IntervalPolicy policyFor(CandlestickInterval interval) {
+        IntervalPolicy configured = intervals.get(interval);
+        IntervalPolicy policy = new IntervalPolicy();
+        policy.setGranularity(configured != null && configured.getGranularity() != null
+                ? configured.getGranularity() : defaultGranularity(interval));
+        policy.setRetention(configured != null ? configured.getRetention() : null);
+        return policy;
+    }
+
+    private static Granularity defaultGranularity(CandlestickInterval interval) {
+        return interval.ordinal() <= CandlestickInterval.FIFTEEN_MINUTES.ordinal() ? Granularity.MONTH : Granularity.YEAR;
+    }
+}
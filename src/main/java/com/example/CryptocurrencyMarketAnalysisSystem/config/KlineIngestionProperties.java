@@ -0,0 +1,42 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Live kline ingestion, bound from {@code binance.ingestion.*}. Every configured symbol is subscribed for
+ * every configured interval, one stream connection per interval.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "binance.ingestion")
+public class KlineIngestionProperties {
+
+    private boolean enabled = false;
+
+    private List<String> symbols = new ArrayList<>();
+
+    private List<CandlestickInterval> intervals = new ArrayList<>(List.of(CandlestickInterval.ONE_MINUTE));
+
+    // Base URL of an endpoint speaking the Binance stream protocol; unset uses the binance-java-api client
+    private String streamUrl;
+
+    // Closed candles written per batch, and the longest a closed candle waits for its batch to fill
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    // Closed candles waiting for the writer before the stream callback blocks
+    private int queueCapacity = 100_000;
+
+    // Reconnect delays double from the initial delay up to the maximum
+    private Duration reconnectInitialDelay = Duration.ofSeconds(1);
+    private Duration reconnectMaxDelay = Duration.ofMinutes(1);
+}
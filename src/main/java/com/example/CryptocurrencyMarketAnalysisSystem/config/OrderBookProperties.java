@@ -0,0 +1,45 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order books kept locally from the diff-depth streams, bound from {@code binance.order-book.*}. A book is
+ * opened by the first read of its symbol, or at startup for the configured symbols, and closed when it has
+ * not been read for the idle timeout.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "binance.order-book")
+public class OrderBookProperties {
+
+    // Serve reads from local books; when false every read is a REST snapshot
+    private boolean localEnabled = true;
+
+    // Symbols whose books are opened at startup and never closed for being idle
+    private List<String> symbols = new ArrayList<>();
+
+    // Base URL of an endpoint speaking the Binance stream protocol; unset uses the binance-java-api client
+    private String streamUrl;
+
+    // Levels per side of the REST snapshot a book starts from; deeper reads go to the REST API
+    private int snapshotLimit = 1000;
+
+    // Depth events kept while a book waits for its snapshot
+    private int maxBufferedEvents = 10_000;
+
+    // Best bid and ask of the latest depth updates kept per book for the spread history
+    private int spreadHistorySize = 6000;
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Delay before a book whose snapshot or stream failed tries again
+    private Duration resyncDelay = Duration.ofSeconds(1);
+}
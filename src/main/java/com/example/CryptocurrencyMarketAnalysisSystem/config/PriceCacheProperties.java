@@ -0,0 +1,30 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Ticker price cache in front of the Binance price endpoint, bound from {@code binance.price-cache.*}.
+ * A symbol is tracked from its first request until it has not been requested for the tracking timeout.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "binance.price-cache")
+public class PriceCacheProperties {
+
+    // Age up to which a cached price is served; zero sends every read upstream, concurrent ones coalesced
+    private Duration freshness = Duration.ofSeconds(2);
+
+    // Refresh every tracked symbol with one all-tickers request per interval
+    private boolean bulkRefreshEnabled = false;
+
+    // Should stay below the freshness, so reads of tracked symbols never go upstream
+    private Duration bulkRefreshInterval = Duration.ofSeconds(1);
+
+    private Duration trackingTimeout = Duration.ofMinutes(5);
+}
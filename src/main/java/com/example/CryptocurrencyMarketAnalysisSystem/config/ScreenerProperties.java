@@ -0,0 +1,35 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Market screener that evaluates indicators across a symbol universe, bound from {@code screener.*}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "screener")
+public class ScreenerProperties {
+
+    // Worker threads of the screener's fork-join pool; 0 uses one per available processor
+    private int parallelism = 0;
+
+    // Symbols quoted in this asset make up the universe when a scan names no symbols
+    private String quoteAsset = "USDT";
+
+    private int maxSymbols = 500;
+
+    // Closed candles evaluated per symbol; more than the indicator lookback lets the averages settle
+    private int candles = 200;
+
+    // Request weight one scan may spend fetching symbols whose candles are not stored; the rest are skipped
+    private int coldWeightBudget = 600;
+
+    // How long the symbol universe read from the all-tickers endpoint is reused
+    private Duration universeRefresh = Duration.ofHours(1);
+}
@@ -1,26 +1,48 @@
 package com.example.CryptocurrencyMarketAnalysisSystem.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.system.JavaVersion;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
 @Configuration
 public class TaskExecutorConfig {
+    private static final Logger logger = LoggerFactory.getLogger(TaskExecutorConfig.class);
+
+    @Value("${binance.executor.pool-size:2}")
+    private int poolSize;
+
+    @Value("${binance.executor.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
 
     @Bean(name = "applicationTaskExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
     public Executor taskExecutor() {
+        if (virtualThreadsRequested) {
+            logger.warn("spring.threads.virtual.enabled needs Java 21 or later, running on Java {} with platform threads",
+                    JavaVersion.getJavaVersion());
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         // Sets the core number of threads
-        executor.setCorePoolSize(2);
+        executor.setCorePoolSize(poolSize);
 
         // Sets the maximum allowed number of threads
-        executor.setMaxPoolSize(2);
+        executor.setMaxPoolSize(poolSize);
 
         // Sets the capacity of the task queue
-        executor.setQueueCapacity(500);
+        executor.setQueueCapacity(queueCapacity);
 
         // Sets the prefix for the names of threads
         executor.setThreadNamePrefix("Binance-");
@@ -29,4 +51,14 @@ public class TaskExecutorConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    // With spring.threads.virtual.enabled on Java 21+, every backfill worker gets a virtual thread of its own;
+    // the request-weight budget of the backfill executor still caps the requests in flight
+    @Bean(name = "applicationTaskExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualThreadTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Binance-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
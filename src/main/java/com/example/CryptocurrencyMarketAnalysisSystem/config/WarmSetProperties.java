@@ -0,0 +1,43 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.config;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warm set of (symbol, interval) pairs whose latest candles are kept stored and cached ahead of any viewer,
+ * bound from {@code candlestick.warm-set.*}. Every configured symbol is tracked for every configured interval.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "candlestick.warm-set")
+public class WarmSetProperties {
+
+    private boolean enabled = false;
+
+    private List<String> symbols = new ArrayList<>();
+
+    private List<CandlestickInterval> intervals = new ArrayList<>(List.of(CandlestickInterval.ONE_MINUTE));
+
+    // Closed candles kept current per pair; the first refresh of a pair fills them, later ones fetch only the tail
+    private int candles = 500;
+
+    // Every pair is refreshed once per cycle, the pairs evenly spread over it; one minute matches the weight window
+    private Duration cycle = Duration.ofMinutes(1);
+
+    // Random delay of up to this much added to every refresh, so instances and restarts do not fall into step
+    private Duration jitter = Duration.ofSeconds(5);
+
+    // How often the scheduler looks for pairs that are due
+    private Duration tick = Duration.ofSeconds(1);
+
+    // Refreshes are put off while less request weight than this is available, leaving it to user requests
+    private int minAvailableWeight = 1200;
+}
@@ -2,6 +2,8 @@ package com.example.CryptocurrencyMarketAnalysisSystem.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.thymeleaf.spring6.ISpringTemplateEngine;
@@ -14,6 +16,29 @@ import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
 
+    private final CandleStreamProperties candleStreamProperties;
+
+    public WebConfig(CandleStreamProperties candleStreamProperties) {
+        this.candleStreamProperties = candleStreamProperties;
+    }
+
+    // Streamed responses are written from a pool of their own and stay open until the client leaves
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamTaskExecutor());
+        configurer.setDefaultTimeout(-1);
+    }
+
+    // Bean for writing server-sent events to the clients of the live streams
+    @Bean
+    public ThreadPoolTaskExecutor streamTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(candleStreamProperties.getWriterThreads());
+        executor.setMaxPoolSize(candleStreamProperties.getWriterThreads());
+        executor.setThreadNamePrefix("Stream-");
+        return executor;
+    }
+
     // Bean for configuring Thymeleaf template resolver
     @Bean
     public ClassLoaderTemplateResolver templateResolver() {
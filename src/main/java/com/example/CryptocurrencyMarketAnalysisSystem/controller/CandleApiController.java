@@ -0,0 +1,62 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.controller;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.export.CandleColumn;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.export.CandleColumnWriter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.export.CandleFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@RestController
+public class CandleApiController {
+
+    private final BinanceHistoricalDataService historicalDataService;
+
+    public CandleApiController(BinanceHistoricalDataService historicalDataService) {
+        this.historicalDataService = historicalDataService;
+    }
+
+    // Endpoint for the candles of a range as columns, e.g. ?symbol=BTCUSDT&interval=ONE_MINUTE&startTime=...&endTime=...&columns=openTime,close
+    @GetMapping("/api/candles")
+    public ResponseEntity<StreamingResponseBody> getCandles(@RequestParam String symbol,
+                                                            @RequestParam CandlestickInterval interval,
+                                                            @RequestParam long startTime,
+                                                            @RequestParam long endTime,
+                                                            @RequestParam(required = false) String columns,
+                                                            @RequestParam(defaultValue = "BINARY") CandleFormat format) {
+        if (startTime > endTime) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        List<CandleColumn> selected = CandleColumn.parse(columns);
+        // Loaded before the response starts, so a failure still gets an error status
+        CandleSeries candles = historicalDataService.getHistoricalCandleSeries(symbol.trim().toUpperCase(Locale.ROOT),
+                interval, startTime, endTime);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header("X-Candle-Count", Integer.toString(candles.size()));
+        if (format == CandleFormat.BINARY) {
+            return response.contentLength(CandleColumnWriter.binarySize(candles.size(), selected))
+                    .body(out -> CandleColumnWriter.writeBinary(candles, selected, out));
+        }
+        return response.body(out -> CandleColumnWriter.writeJson(candles, selected, out));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidRequest(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+}
@@ -1,11 +1,7 @@
 package com.example.CryptocurrencyMarketAnalysisSystem.controller;
 
-import com.binance.api.client.domain.market.Candlestick;
 import com.binance.api.client.domain.market.CandlestickInterval;
-import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
-import com.example.CryptocurrencyMarketAnalysisSystem.util.CandlestickWrapper;
 import com.example.CryptocurrencyMarketAnalysisSystem.util.DateUtils;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,27 +10,18 @@ import org.springframework.web.bind.annotation.SessionAttributes;
 import org.springframework.web.bind.support.SessionStatus;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @SessionAttributes({"symbol", "interval", "startDate", "startTime", "endDate", "endTime"})
 public class CandlestickController {
 
-    private final BinanceHistoricalDataService historicalDataService;
-
-    @Autowired
-    public CandlestickController(BinanceHistoricalDataService historicalDataService) {
-        this.historicalDataService = historicalDataService;
-    }
-
     // Endpoint to display the candlestick chart form
     @GetMapping("/candlestick-chart-form")
     public String getCandlestickChartForm() {
         return "candlestick-chart-form";
     }
 
-    // Endpoint to handle the form submission and fetch the candlestick data
+    // Endpoint to handle the form submission; the page fetches the candles from /api/chart at its own width
     @GetMapping("/candlestick-chart")
     public String getCandlestickChartPage(@RequestParam String symbol,
                                           @RequestParam String interval,
@@ -65,23 +52,14 @@ public class CandlestickController {
                 throw new IllegalArgumentException("Start time must be before end time");
             }
 
-            // Convert the interval string to CandlestickInterval
-            CandlestickInterval candlestickInterval = CandlestickInterval.valueOf(interval);
-
-            // Fetch historical candlestick data from the service
-            List<Candlestick> candlestickData = historicalDataService.getHistoricalCandlestickData(symbol, candlestickInterval, startTimestamp, endTimestamp);
-
-            // Convert candlestick data to wrappers for easier handling in the view
-            List<CandlestickWrapper> candlestickWrappers = (candlestickData != null) ?
-                    candlestickData.stream().map(CandlestickWrapper::new).collect(Collectors.toList()) :
-                    List.of();
+            // Validate the interval string before the page requests it
+            CandlestickInterval.valueOf(interval);
 
             // Add attributes to the model for the view
             model.addAttribute("symbol", symbol);
             model.addAttribute("interval", interval);
             model.addAttribute("startTimestamp", startTimestamp);
             model.addAttribute("endTimestamp", endTimestamp);
-            model.addAttribute("candlestickData", candlestickWrappers);
 
             // Complete the session if everything is successful
             status.setComplete();
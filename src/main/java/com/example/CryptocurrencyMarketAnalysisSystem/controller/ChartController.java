@@ -0,0 +1,41 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.controller;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ChartData;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ChartService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class ChartController {
+
+    private final ChartService chartService;
+
+    public ChartController(ChartService chartService) {
+        this.chartService = chartService;
+    }
+
+    // Endpoint for the candles of a range downsampled to the chart width, e.g. ?startTime=...&endTime=...&width=1200
+    @GetMapping("/api/chart/{symbol}/{interval}")
+    public ChartData getChartData(@PathVariable String symbol,
+                                  @PathVariable CandlestickInterval interval,
+                                  @RequestParam long startTime,
+                                  @RequestParam long endTime,
+                                  @RequestParam(defaultValue = "1000") int width,
+                                  @RequestParam(defaultValue = "OHLC") ChartService.Mode mode) {
+        return chartService.getChartData(symbol, interval, startTime, endTime, width, mode);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidRequest(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.controller;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.IndicatorData;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.IndicatorService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicators;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+@Controller
+public class IndicatorController {
+    private static final Logger logger = LoggerFactory.getLogger(IndicatorController.class);
+
+    private final IndicatorService indicatorService;
+
+    public IndicatorController(IndicatorService indicatorService) {
+        this.indicatorService = indicatorService;
+    }
+
+    // Endpoint to calculate several indicators over one fetch of the candles
+    @GetMapping("/indicators")
+    public String getIndicators(
+            @RequestParam String symbol,
+            @RequestParam CandlestickInterval interval,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate,
+            @RequestParam(defaultValue = Indicators.DEFAULT_SPECIFICATION) String indicators,
+            Model model) {
+        try {
+            // Default to the last 30 days like the historical RSI
+            if (startDate == null) {
+                startDate = LocalDate.now().minusDays(30);
+            }
+            if (endDate == null) {
+                endDate = LocalDate.now();
+            }
+
+            symbol = symbol.toUpperCase();
+            long startTime = startDate.atStartOfDay(ZoneId.systemDefault()).toEpochSecond() * 1000;
+            long endTime = endDate.atStartOfDay(ZoneId.systemDefault()).toEpochSecond() * 1000;
+            if (startTime >= endTime) {
+                throw new IllegalArgumentException("Start time must be before end time");
+            }
+
+            IndicatorData indicatorData = indicatorService.getIndicatorData(symbol, interval, startTime, endTime,
+                    Indicators.parse(indicators));
+
+            model.addAttribute("symbol", symbol);
+            model.addAttribute("openTime", indicatorData.openTimes());
+            model.addAttribute("indicatorValues", indicatorData.values());
+        } catch (Exception e) {
+            logger.error("Could not calculate indicators for {}", symbol, e);
+
+            model.addAttribute("error", "Error calculating indicators: " + e.getMessage());
+        }
+        return "indicators";
+    }
+}
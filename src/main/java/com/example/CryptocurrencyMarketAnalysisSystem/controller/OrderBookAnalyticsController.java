@@ -0,0 +1,73 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.controller;
+
+import com.binance.api.client.domain.OrderSide;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.FillEstimate;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.OrderBookMetrics;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.SpreadPoint;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.OrderBookAnalyticsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/orderBook/{symbol}")
+public class OrderBookAnalyticsController {
+
+    private final OrderBookAnalyticsService orderBookAnalyticsService;
+
+    public OrderBookAnalyticsController(OrderBookAnalyticsService orderBookAnalyticsService) {
+        this.orderBookAnalyticsService = orderBookAnalyticsService;
+    }
+
+    // Endpoint for depth and imbalance within distances from the mid price, e.g. ?bps=10,25,50,100
+    @GetMapping("/depth")
+    public OrderBookMetrics getDepth(@PathVariable String symbol,
+                                     @RequestParam(defaultValue = "10,25,50,100") double[] bps) {
+        return orderBookAnalyticsService.getDepth(symbol, bps);
+    }
+
+    // Endpoint for the cumulative depth curve up to maxBps from the mid price
+    @GetMapping("/depth-curve")
+    public OrderBookMetrics getDepthCurve(@PathVariable String symbol,
+                                          @RequestParam(defaultValue = "100") double maxBps,
+                                          @RequestParam(defaultValue = "20") int steps) {
+        return orderBookAnalyticsService.getDepthCurve(symbol, maxBps, steps);
+    }
+
+    // Endpoint for the average price and slippage of a market order of the given quantity
+    @GetMapping("/fill")
+    public FillEstimate estimateFill(@PathVariable String symbol,
+                                     @RequestParam OrderSide side,
+                                     @RequestParam double quantity) {
+        return orderBookAnalyticsService.estimateFill(symbol, side, quantity);
+    }
+
+    // Endpoint for the spread after each depth update between two times in milliseconds since epoch
+    @GetMapping("/spread")
+    public List<SpreadPoint> getSpreadHistory(@PathVariable String symbol,
+                                              @RequestParam(defaultValue = "0") long startTime,
+                                              @RequestParam(defaultValue = "" + Long.MAX_VALUE) long endTime) {
+        return orderBookAnalyticsService.getSpreadHistory(symbol, startTime, endTime);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidRequest(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+
+    // A book that is still loading its snapshot, or local books being disabled
+    @ExceptionHandler(IllegalStateException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleUnavailable(IllegalStateException e) {
+        return Map.of("error", e.getMessage());
+    }
+}
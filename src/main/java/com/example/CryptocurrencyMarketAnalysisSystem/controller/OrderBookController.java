@@ -3,10 +3,17 @@ package com.example.CryptocurrencyMarketAnalysisSystem.controller;
 import com.binance.api.client.domain.market.OrderBook;
 import com.example.CryptocurrencyMarketAnalysisSystem.service.OrderBookService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+import java.util.Map;
 
 @Controller
 public class OrderBookController {
@@ -29,4 +36,19 @@ public class OrderBookController {
         model.addAttribute("orderBook", orderBook);
         return "orderBook"; // Назва шаблону, який відображає дані про orderBook
     }
+
+    // Endpoint for the books of several symbols at once, e.g. /api/orderBooks?symbols=BTCUSDT,ETHUSDT&limit=100
+    @GetMapping("/api/orderBooks")
+    @ResponseBody
+    public Map<String, OrderBook> getOrderBooks(@RequestParam List<String> symbols,
+                                                @RequestParam(defaultValue = "100") int limit) {
+        return orderBookService.getOrderBooks(symbols, limit);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public Map<String, String> handleInvalidRequest(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.controller;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ScreenerResult;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicators;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.screener.ScreenerQuery;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.screener.ScreenerService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class ScreenerController {
+    static final String DEFAULT_INDICATORS = "RSI:14,MACD:12:26:9,BOLLINGER:20:2,STOCHASTIC:14:3,ATR:14";
+
+    private final ScreenerService screenerService;
+
+    public ScreenerController(ScreenerService screenerService) {
+        this.screenerService = screenerService;
+    }
+
+    // Endpoint ranking symbols by an indicator, e.g. ?interval=HOURLY&sortBy=RSI(14)&max=30 for oversold USDT pairs
+    @GetMapping("/api/screener")
+    public ScreenerResult screen(@RequestParam(required = false) List<String> symbols,
+                                 @RequestParam(defaultValue = "HOURLY") CandlestickInterval interval,
+                                 @RequestParam(defaultValue = DEFAULT_INDICATORS) String indicators,
+                                 @RequestParam(defaultValue = "RSI(14)") String sortBy,
+                                 @RequestParam(defaultValue = "false") boolean descending,
+                                 @RequestParam(required = false) Double min,
+                                 @RequestParam(required = false) Double max,
+                                 @RequestParam(defaultValue = "50") int limit) {
+        return screenerService.scan(new ScreenerQuery(symbols == null ? List.of() : symbols, interval,
+                Indicators.parse(indicators), sortBy, descending,
+                min == null ? Double.NEGATIVE_INFINITY : min, max == null ? Double.POSITIVE_INFINITY : max, limit));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidRequest(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+}
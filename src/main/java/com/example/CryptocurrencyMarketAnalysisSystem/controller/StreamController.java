@@ -0,0 +1,62 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.controller;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleStreamProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleUpdate;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.RSIUpdate;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.stream.CandleStreamHub;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+public class StreamController {
+
+    private final CandleStreamHub candleStreamHub;
+    private final CandleStreamProperties properties;
+
+    public StreamController(CandleStreamHub candleStreamHub, CandleStreamProperties properties) {
+        this.candleStreamHub = candleStreamHub;
+        this.properties = properties;
+    }
+
+    // Endpoint streaming every update of the current candle as server-sent events
+    @GetMapping(path = "/stream/candles/{symbol}/{interval}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<CandleUpdate>> streamCandles(@PathVariable String symbol,
+                                                             @PathVariable CandlestickInterval interval) {
+        Flux<ServerSentEvent<CandleUpdate>> updates = candleStreamHub.candles(symbol, interval)
+                .map(update -> ServerSentEvent.builder(update).event("candle").id(Long.toString(update.openTime())).build());
+        return withHeartbeat(updates);
+    }
+
+    // Endpoint streaming the RSI at every closed candle as server-sent events
+    @GetMapping(path = "/stream/rsi/{symbol}/{interval}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<RSIUpdate>> streamRSI(@PathVariable String symbol,
+                                                      @PathVariable CandlestickInterval interval,
+                                                      @RequestParam(defaultValue = "14") int period) {
+        Flux<ServerSentEvent<RSIUpdate>> updates = candleStreamHub.rsi(symbol, interval, period)
+                .map(update -> ServerSentEvent.builder(update).event("rsi").id(Long.toString(update.openTime())).build());
+        return withHeartbeat(updates);
+    }
+
+    // Answers an invalid symbol or period with an empty 400, which needs no content negotiation with an event stream client
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public void handleInvalidRequest() {
+    }
+
+    // Interleaves comment events, dropped rather than queued while the client is not reading
+    private <T> Flux<ServerSentEvent<T>> withHeartbeat(Flux<ServerSentEvent<T>> updates) {
+        Flux<ServerSentEvent<T>> heartbeats = Flux.interval(properties.getHeartbeatInterval())
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<T>builder().comment("heartbeat").build());
+        return Flux.merge(updates, heartbeats);
+    }
+}
@@ -0,0 +1,456 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+import com.binance.api.client.domain.market.Candlestick;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable run of candles of one (symbol, interval) stored column by column in primitive arrays.
+ * Candles are sorted by open time and no two share an open time. Slices are views over the same
+ * columns, so cutting a window out of a series copies nothing.
+ * The Binance {@link Candlestick} representation is only produced at the edges, see {@link #toCandlesticks()}.
+ */
+public final class CandleSeries {
+    // Eleven 8-byte columns per candle
+    public static final int BYTES_PER_CANDLE = 11 * Long.BYTES;
+
+    private static final CandleSeries EMPTY = new Builder(0).build();
+
+    private final long[] openTime;
+    private final long[] closeTime;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private final double[] quoteAssetVolume;
+    private final long[] numberOfTrades;
+    private final double[] takerBuyBaseAssetVolume;
+    private final double[] takerBuyQuoteAssetVolume;
+    private final int offset;
+    private final int size;
+
+    private CandleSeries(long[] openTime, long[] closeTime, double[] open, double[] high, double[] low, double[] close,
+                         double[] volume, double[] quoteAssetVolume, long[] numberOfTrades,
+                         double[] takerBuyBaseAssetVolume, double[] takerBuyQuoteAssetVolume, int offset, int size) {
+        this.openTime = openTime;
+        this.closeTime = closeTime;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.quoteAssetVolume = quoteAssetVolume;
+        this.numberOfTrades = numberOfTrades;
+        this.takerBuyBaseAssetVolume = takerBuyBaseAssetVolume;
+        this.takerBuyQuoteAssetVolume = takerBuyQuoteAssetVolume;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    public static CandleSeries empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    // Parses the string fields of the Binance candles once; the input may be unsorted and contain duplicates
+    public static CandleSeries fromCandlesticks(List<Candlestick> candlesticks) {
+        Builder builder = new Builder(candlesticks.size());
+        for (Candlestick candlestick : candlesticks) {
+            builder.add(candlestick);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Combines several series into one sorted series. Where open times collide, the candle of the
+     * earlier series wins, matching the insert-if-absent semantics of the database.
+     *
+     * @param series The series to combine, in order of precedence.
+     * @return The combined series.
+     */
+    public static CandleSeries merge(List<CandleSeries> series) {
+        if (series.size() == 1) {
+            return series.get(0);
+        }
+        int total = 0;
+        for (CandleSeries part : series) {
+            total += part.size;
+        }
+        Builder builder = new Builder(total);
+        for (CandleSeries part : series) {
+            builder.addAll(part);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long openTime(int index) {
+        return openTime[offset + Objects.checkIndex(index, size)];
+    }
+
+    public long closeTime(int index) {
+        return closeTime[offset + Objects.checkIndex(index, size)];
+    }
+
+    public double open(int index) {
+        return open[offset + Objects.checkIndex(index, size)];
+    }
+
+    public double high(int index) {
+        return high[offset + Objects.checkIndex(index, size)];
+    }
+
+    public double low(int index) {
+        return low[offset + Objects.checkIndex(index, size)];
+    }
+
+    public double close(int index) {
+        return close[offset + Objects.checkIndex(index, size)];
+    }
+
+    public double volume(int index) {
+        return volume[offset + Objects.checkIndex(index, size)];
+    }
+
+    public double quoteAssetVolume(int index) {
+        return quoteAssetVolume[offset + Objects.checkIndex(index, size)];
+    }
+
+    public long numberOfTrades(int index) {
+        return numberOfTrades[offset + Objects.checkIndex(index, size)];
+    }
+
+    public double takerBuyBaseAssetVolume(int index) {
+        return takerBuyBaseAssetVolume[offset + Objects.checkIndex(index, size)];
+    }
+
+    public double takerBuyQuoteAssetVolume(int index) {
+        return takerBuyQuoteAssetVolume[offset + Objects.checkIndex(index, size)];
+    }
+
+    public long firstOpenTime() {
+        return openTime(0);
+    }
+
+    public long lastOpenTime() {
+        return openTime(size - 1);
+    }
+
+    // Returns a view of the candles at positions [from, to)
+    public CandleSeries slice(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        if (from == 0 && to == size) {
+            return this;
+        }
+        return new CandleSeries(openTime, closeTime, open, high, low, close, volume, quoteAssetVolume, numberOfTrades,
+                takerBuyBaseAssetVolume, takerBuyQuoteAssetVolume, offset + from, to - from);
+    }
+
+    // Returns a view of the candles opening between from and to inclusive
+    public CandleSeries sliceByOpenTime(long from, long to) {
+        if (to < from) {
+            return slice(0, 0);
+        }
+        return slice(lowerBound(from), lowerBound(to == Long.MAX_VALUE ? to : to + 1));
+    }
+
+    // Same contract as Arrays.binarySearch, with positions relative to this view
+    public int indexOfOpenTime(long time) {
+        int index = Arrays.binarySearch(openTime, offset, offset + size, time);
+        return index >= 0 ? index - offset : index + offset;
+    }
+
+    // Column copies of this view, e.g. for gap detection, which sorts its input in place, or for serialisation
+    public long[] openTimes() {
+        return Arrays.copyOfRange(openTime, offset, offset + size);
+    }
+
+    public long[] closeTimes() {
+        return Arrays.copyOfRange(closeTime, offset, offset + size);
+    }
+
+    public double[] opens() {
+        return Arrays.copyOfRange(open, offset, offset + size);
+    }
+
+    public double[] highs() {
+        return Arrays.copyOfRange(high, offset, offset + size);
+    }
+
+    public double[] lows() {
+        return Arrays.copyOfRange(low, offset, offset + size);
+    }
+
+    public double[] closes() {
+        return Arrays.copyOfRange(close, offset, offset + size);
+    }
+
+    public double[] volumes() {
+        return Arrays.copyOfRange(volume, offset, offset + size);
+    }
+
+    public double[] quoteAssetVolumes() {
+        return Arrays.copyOfRange(quoteAssetVolume, offset, offset + size);
+    }
+
+    public long[] numbersOfTrades() {
+        return Arrays.copyOfRange(numberOfTrades, offset, offset + size);
+    }
+
+    public double[] takerBuyBaseAssetVolumes() {
+        return Arrays.copyOfRange(takerBuyBaseAssetVolume, offset, offset + size);
+    }
+
+    public double[] takerBuyQuoteAssetVolumes() {
+        return Arrays.copyOfRange(takerBuyQuoteAssetVolume, offset, offset + size);
+    }
+
+    // Rebuilds the Binance representation of the candle at the given position
+    public Candlestick toCandlestick(int index) {
+        int i = offset + Objects.checkIndex(index, size);
+        Candlestick candlestick = new Candlestick();
+        candlestick.setOpenTime(openTime[i]);
+        candlestick.setCloseTime(closeTime[i]);
+        candlestick.setOpen(Double.toString(open[i]));
+        candlestick.setHigh(Double.toString(high[i]));
+        candlestick.setLow(Double.toString(low[i]));
+        candlestick.setClose(Double.toString(close[i]));
+        candlestick.setVolume(Double.toString(volume[i]));
+        candlestick.setQuoteAssetVolume(Double.toString(quoteAssetVolume[i]));
+        candlestick.setNumberOfTrades(numberOfTrades[i]);
+        candlestick.setTakerBuyBaseAssetVolume(Double.toString(takerBuyBaseAssetVolume[i]));
+        candlestick.setTakerBuyQuoteAssetVolume(Double.toString(takerBuyQuoteAssetVolume[i]));
+        return candlestick;
+    }
+
+    public List<Candlestick> toCandlesticks() {
+        List<Candlestick> candlesticks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            candlesticks.add(toCandlestick(i));
+        }
+        return candlesticks;
+    }
+
+    // First position whose open time is at or after the given time
+    private int lowerBound(long time) {
+        int index = indexOfOpenTime(time);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Accumulates candles into growable columns. Candles may be added in any order; {@link #build()} sorts
+     * them by open time and keeps the first candle added for each open time.
+     */
+    public static final class Builder {
+        private long[] openTime;
+        private long[] closeTime;
+        private double[] open;
+        private double[] high;
+        private double[] low;
+        private double[] close;
+        private double[] volume;
+        private double[] quoteAssetVolume;
+        private long[] numberOfTrades;
+        private double[] takerBuyBaseAssetVolume;
+        private double[] takerBuyQuoteAssetVolume;
+        private int size;
+        private boolean sorted = true;
+
+        private Builder(int expectedSize) {
+            if (expectedSize < 0) {
+                throw new IllegalArgumentException("Expected size must not be negative");
+            }
+            allocate(expectedSize);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Builder add(long openTime, long closeTime, double open, double high, double low, double close,
+                           double volume, double quoteAssetVolume, long numberOfTrades,
+                           double takerBuyBaseAssetVolume, double takerBuyQuoteAssetVolume) {
+            if (size == this.openTime.length) {
+                grow();
+            }
+            if (size > 0 && openTime <= this.openTime[size - 1]) {
+                sorted = false;
+            }
+            this.openTime[size] = openTime;
+            this.closeTime[size] = closeTime;
+            this.open[size] = open;
+            this.high[size] = high;
+            this.low[size] = low;
+            this.close[size] = close;
+            this.volume[size] = volume;
+            this.quoteAssetVolume[size] = quoteAssetVolume;
+            this.numberOfTrades[size] = numberOfTrades;
+            this.takerBuyBaseAssetVolume[size] = takerBuyBaseAssetVolume;
+            this.takerBuyQuoteAssetVolume[size] = takerBuyQuoteAssetVolume;
+            size++;
+            return this;
+        }
+
+        public Builder add(Candlestick candlestick) {
+            return add(candlestick.getOpenTime(), candlestick.getCloseTime(),
+                    Double.parseDouble(candlestick.getOpen()), Double.parseDouble(candlestick.getHigh()),
+                    Double.parseDouble(candlestick.getLow()), Double.parseDouble(candlestick.getClose()),
+                    Double.parseDouble(candlestick.getVolume()), Double.parseDouble(candlestick.getQuoteAssetVolume()),
+                    candlestick.getNumberOfTrades(), Double.parseDouble(candlestick.getTakerBuyBaseAssetVolume()),
+                    Double.parseDouble(candlestick.getTakerBuyQuoteAssetVolume()));
+        }
+
+        // Copies the candle at the given position of another series
+        public Builder add(CandleSeries series, int index) {
+            int i = series.offset + Objects.checkIndex(index, series.size);
+            return add(series.openTime[i], series.closeTime[i], series.open[i], series.high[i], series.low[i], series.close[i],
+                    series.volume[i], series.quoteAssetVolume[i], series.numberOfTrades[i],
+                    series.takerBuyBaseAssetVolume[i], series.takerBuyQuoteAssetVolume[i]);
+        }
+
+        public Builder addAll(CandleSeries series) {
+            if (series.size == 0) {
+                return this;
+            }
+            while (openTime.length - size < series.size) {
+                grow();
+            }
+            if (size > 0 && series.firstOpenTime() <= openTime[size - 1]) {
+                sorted = false;
+            }
+            int from = series.offset;
+            int count = series.size;
+            System.arraycopy(series.openTime, from, openTime, size, count);
+            System.arraycopy(series.closeTime, from, closeTime, size, count);
+            System.arraycopy(series.open, from, open, size, count);
+            System.arraycopy(series.high, from, high, size, count);
+            System.arraycopy(series.low, from, low, size, count);
+            System.arraycopy(series.close, from, close, size, count);
+            System.arraycopy(series.volume, from, volume, size, count);
+            System.arraycopy(series.quoteAssetVolume, from, quoteAssetVolume, size, count);
+            System.arraycopy(series.numberOfTrades, from, numberOfTrades, size, count);
+            System.arraycopy(series.takerBuyBaseAssetVolume, from, takerBuyBaseAssetVolume, size, count);
+            System.arraycopy(series.takerBuyQuoteAssetVolume, from, takerBuyQuoteAssetVolume, size, count);
+            size += count;
+            return this;
+        }
+
+        // Hands the columns over to the series; the builder must not be used afterwards
+        public CandleSeries build() {
+            if (!sorted) {
+                sortAndDeduplicate();
+            }
+            CandleSeries series = new CandleSeries(openTime, closeTime, open, high, low, close, volume, quoteAssetVolume,
+                    numberOfTrades, takerBuyBaseAssetVolume, takerBuyQuoteAssetVolume, 0, size);
+            allocate(0);
+            size = 0;
+            sorted = true;
+            return series;
+        }
+
+        private void allocate(int capacity) {
+            openTime = new long[capacity];
+            closeTime = new long[capacity];
+            open = new double[capacity];
+            high = new double[capacity];
+            low = new double[capacity];
+            close = new double[capacity];
+            volume = new double[capacity];
+            quoteAssetVolume = new double[capacity];
+            numberOfTrades = new long[capacity];
+            takerBuyBaseAssetVolume = new double[capacity];
+            takerBuyQuoteAssetVolume = new double[capacity];
+        }
+
+        private void grow() {
+            int capacity = Math.max(16, openTime.length + (openTime.length >> 1));
+            openTime = Arrays.copyOf(openTime, capacity);
+            closeTime = Arrays.copyOf(closeTime, capacity);
+            open = Arrays.copyOf(open, capacity);
+            high = Arrays.copyOf(high, capacity);
+            low = Arrays.copyOf(low, capacity);
+            close = Arrays.copyOf(close, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+            quoteAssetVolume = Arrays.copyOf(quoteAssetVolume, capacity);
+            numberOfTrades = Arrays.copyOf(numberOfTrades, capacity);
+            takerBuyBaseAssetVolume = Arrays.copyOf(takerBuyBaseAssetVolume, capacity);
+            takerBuyQuoteAssetVolume = Arrays.copyOf(takerBuyQuoteAssetVolume, capacity);
+        }
+
+        // Stable sort of the positions by open time, then gathers every column in that order skipping repeated open times
+        private void sortAndDeduplicate() {
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            int[] buffer = new int[size];
+            for (int width = 1; width < size; width *= 2) {
+                for (int from = 0; from < size; from += 2 * width) {
+                    int middle = Math.min(from + width, size);
+                    int to = Math.min(from + 2 * width, size);
+                    int left = from;
+                    int right = middle;
+                    for (int k = from; k < to; k++) {
+                        if (left < middle && (right >= to || openTime[order[left]] <= openTime[order[right]])) {
+                            buffer[k] = order[left++];
+                        } else {
+                            buffer[k] = order[right++];
+                        }
+                    }
+                }
+                int[] swap = order;
+                order = buffer;
+                buffer = swap;
+            }
+
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || openTime[order[i]] != openTime[order[unique - 1]]) {
+                    order[unique++] = order[i];
+                }
+            }
+            openTime = gather(openTime, order, unique);
+            closeTime = gather(closeTime, order, unique);
+            open = gather(open, order, unique);
+            high = gather(high, order, unique);
+            low = gather(low, order, unique);
+            close = gather(close, order, unique);
+            volume = gather(volume, order, unique);
+            quoteAssetVolume = gather(quoteAssetVolume, order, unique);
+            numberOfTrades = gather(numberOfTrades, order, unique);
+            takerBuyBaseAssetVolume = gather(takerBuyBaseAssetVolume, order, unique);
+            takerBuyQuoteAssetVolume = gather(takerBuyQuoteAssetVolume, order, unique);
+            size = unique;
+        }
+
+        private static long[] gather(long[] column, int[] order, int count) {
+            long[] sorted = new long[count];
+            for (int i = 0; i < count; i++) {
+                sorted[i] = column[order[i]];
+            }
+            return sorted;
+        }
+
+        private static double[] gather(double[] column, int[] order, int count) {
+            double[] sorted = new double[count];
+            for (int i = 0; i < count; i++) {
+                sorted[i] = column[order[i]];
+            }
+            return sorted;
+        }
+    }
+}
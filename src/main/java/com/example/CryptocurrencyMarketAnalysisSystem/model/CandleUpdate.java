@@ -0,0 +1,8 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+/**
+ * State of a candle as pushed by a live stream; the same candle is sent again on every trade until it closes.
+ */
+public record CandleUpdate(String symbol, long openTime, long closeTime, double open, double high, double low,
+                           double close, double volume, boolean closed) {
+}
@@ -8,29 +8,34 @@ import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import jakarta.validation.ValidatorFactory;
 import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Set;
 
+// The primary key (symbol, candlestick_interval, open_time) is created by schema-postgresql.sql in that column order
 @Getter
 @Entity
-@Table(name = "candlestick_data", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"symbol", "open_time", "close_time", "open", "close", "high", "low", "volume", "quote_asset_volume", "number_of_trades", "taker_buy_base_asset_volume", "taker_buy_quote_asset_volume", "candlestick_interval"})
-}, indexes = {
-        @Index(name = "idx_symbol_open_time_close_time_interval", columnList = "symbol, open_time, close_time, candlestick_interval")
-})
-public class CandlestickEntity{
+@IdClass(CandlestickId.class)
+@Table(name = "candlestick_data")
+public class CandlestickEntity implements Persistable<CandlestickId> {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
     @NotNull
-    @Column(name = "symbol")
+    @Column(name = "symbol", length = 20)
     private final String symbol;
 
+    // Stored as the SMALLINT ordinal; the migration script and the JDBC writers use the same codes
+    @Id
+    @NotNull
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "candlestick_interval", columnDefinition = "smallint")
+    private final CandlestickInterval candlestickInterval;
+
+    @Id
     @NotNull
     @Column(name = "open_time")
     private final ZonedDateTime openTime;
@@ -75,10 +80,10 @@ public class CandlestickEntity{
     @Column(name = "taker_buy_quote_asset_volume")
     private final Double takerBuyQuoteAssetVolume;
 
-    @NotNull
-    @Enumerated(EnumType.STRING)
-    @Column(name = "candlestick_interval")
-    private final CandlestickInterval candlestickInterval;
+    // Assigned keys make Spring Data treat every entity as existing, so track it to skip the SELECT before INSERT
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean newEntity = true;
 
 
     protected CandlestickEntity() {
@@ -128,6 +133,22 @@ public class CandlestickEntity{
         validate();
     }
 
+    @Override
+    public CandlestickId getId() {
+        return new CandlestickId(symbol, candlestickInterval, openTime);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
     private void validate() {
         try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
             Validator validator = factory.getValidator();
@@ -141,7 +162,7 @@ public class CandlestickEntity{
     @Override
     public String toString() {
         return "CandlestickEntity{" +
-                "id=" + id +
+                "id=" + getId() +
                 ", symbol='" + symbol + '\'' +
                 ", openTime=" + openTime +
                 ", closeTime=" + closeTime +
@@ -0,0 +1,62 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Natural key of a stored candlestick. The component order matches the primary key index
+ * (symbol, candlestick_interval, open_time), which serves the range scans of the repository directly.
+ */
+public class CandlestickId implements Serializable {
+    private String symbol;
+    private CandlestickInterval candlestickInterval;
+    private ZonedDateTime openTime;
+
+    protected CandlestickId() {
+    }
+
+    public CandlestickId(String symbol, CandlestickInterval candlestickInterval, ZonedDateTime openTime) {
+        this.symbol = symbol;
+        this.candlestickInterval = candlestickInterval;
+        this.openTime = openTime;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public CandlestickInterval getCandlestickInterval() {
+        return candlestickInterval;
+    }
+
+    public ZonedDateTime getOpenTime() {
+        return openTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CandlestickId that = (CandlestickId) o;
+        return Objects.equals(symbol, that.symbol) &&
+                candlestickInterval == that.candlestickInterval &&
+                Objects.equals(openTime == null ? null : openTime.toInstant(), that.openTime == null ? null : that.openTime.toInstant());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(symbol, candlestickInterval, openTime == null ? null : openTime.toInstant());
+    }
+
+    @Override
+    public String toString() {
+        return "CandlestickId{" +
+                "symbol='" + symbol + '\'' +
+                ", interval=" + candlestickInterval +
+                ", openTime=" + openTime +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+/**
+ * Candles of a range reduced to the points a chart draws, one array per column. OHLC charts get buckets of
+ * {@code bucketMillis} with every column set; line charts get the close prices selected by LTTB, with
+ * open, high, low and volume left null.
+ *
+ * @param symbol The trading pair symbol.
+ * @param interval The interval of the source candles.
+ * @param mode OHLC or LINE.
+ * @param candles The number of source candles in the range.
+ * @param bucketMillis The duration of one OHLC bucket, or of one candle for line charts.
+ */
+public record ChartData(String symbol, String interval, String mode, int candles, long bucketMillis,
+                        long[] openTime, double[] open, double[] high, double[] low, double[] close,
+                        double[] volume) {
+}
@@ -0,0 +1,13 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+import com.binance.api.client.domain.OrderSide;
+
+/**
+ * Cost of a market order sweeping the book: a buy takes the asks and a sell the bids, best price first.
+ * Slippage is the distance of the average price from the best price in basis points. If the book holds less
+ * than the quantity, the estimate covers the part that can be filled and complete is false.
+ */
+public record FillEstimate(String symbol, long lastUpdateId, OrderSide side, double quantity, double filledQuantity,
+                           int levels, double cost, double averagePrice, double worstPrice, double slippageBps,
+                           boolean complete) {
+}
@@ -0,0 +1,17 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+import java.util.Map;
+
+// Indicator values per candle open time; every array in values is aligned with openTimes
+public record IndicatorData(long[] openTimes, Map<String, double[]> values) {
+    public IndicatorData {
+        if (openTimes == null || values == null) {
+            throw new NullPointerException("Open times and indicator values cannot be null");
+        }
+        for (Map.Entry<String, double[]> entry : values.entrySet()) {
+            if (entry.getValue().length != openTimes.length) {
+                throw new IllegalArgumentException("Values of " + entry.getKey() + " do not match the open times");
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+/**
+ * Resting liquidity within a distance from the mid price, in basis points. Imbalance is the bid quantity less
+ * the ask quantity over their sum, from -1 for only asks to 1 for only bids.
+ */
+public record OrderBookDepth(double bps, int bidLevels, double bidQuantity, double bidNotional,
+                             int askLevels, double askQuantity, double askNotional, double imbalance) {
+}
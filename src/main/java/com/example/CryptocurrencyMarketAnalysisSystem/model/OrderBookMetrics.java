@@ -0,0 +1,10 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+import java.util.List;
+
+/**
+ * Top of a local order book at one update, with its depth at one or more distances from the mid price.
+ */
+public record OrderBookMetrics(String symbol, long lastUpdateId, long eventTime, double bestBid, double bestAsk,
+                               double midPrice, double spreadBps, List<OrderBookDepth> depth) {
+}
@@ -0,0 +1,12 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+/**
+ * Wilder smoothing state of one RSI series after the candle opening at {@code lastOpenTime}.
+ *
+ * @param lastOpenTime The open time of the last absorbed candle in milliseconds since epoch.
+ * @param avgGain The smoothed average gain.
+ * @param avgLoss The smoothed average loss.
+ * @param lastClose The close of the last absorbed candle.
+ */
+public record RSIState(long lastOpenTime, double avgGain, double avgLoss, double lastClose) {
+}
@@ -0,0 +1,7 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+/**
+ * RSI at a closed candle, as pushed by a live stream.
+ */
+public record RSIUpdate(String symbol, long openTime, int period, double rsi) {
+}
@@ -0,0 +1,13 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+import java.util.List;
+import java.util.Map;
+
+// Ranked rows of a scan, with the reason each symbol without a row was left out
+public record ScreenerResult(int scanned, List<ScreenerRow> rows, Map<String, String> skipped) {
+    public ScreenerResult {
+        if (rows == null || skipped == null) {
+            throw new NullPointerException("Rows and skipped symbols cannot be null");
+        }
+    }
+}
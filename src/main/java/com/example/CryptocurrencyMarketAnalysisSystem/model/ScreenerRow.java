@@ -0,0 +1,12 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+import java.util.Map;
+
+// Indicator values of one symbol at its last closed candle, keyed like IndicatorData
+public record ScreenerRow(String symbol, long openTime, double close, Map<String, Double> values) {
+    public ScreenerRow {
+        if (symbol == null || values == null) {
+            throw new NullPointerException("Symbol and indicator values cannot be null");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+/**
+ * Best bid and ask after a depth update, with the spread in basis points of the mid price.
+ */
+public record SpreadPoint(long eventTime, double bestBid, double bestAsk, double spreadBps) {
+}
@@ -0,0 +1,25 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+/**
+ * Half-open time range {@code [from, to)} expressed in milliseconds since epoch.
+ *
+ * @param from The inclusive start of the range.
+ * @param to The exclusive end of the range.
+ */
+public record TimeRange(long from, long to) {
+    public TimeRange {
+        if (from > to) {
+            throw new IllegalArgumentException("Range start must not be after range end");
+        }
+    }
+
+    // Returns the length of the range in milliseconds
+    public long length() {
+        return to - from;
+    }
+
+    // Returns true if the given timestamp lies inside the range
+    public boolean contains(long timestamp) {
+        return timestamp >= from && timestamp < to;
+    }
+}
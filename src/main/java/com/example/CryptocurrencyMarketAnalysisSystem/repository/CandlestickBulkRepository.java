@@ -0,0 +1,68 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.repository;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+// Bulk candlestick reads and writes that bypass the per-entity JPA path
+public interface CandlestickBulkRepository {
+
+    /**
+     * Inserts the candlesticks in batched statements, skipping those whose (symbol, interval, open time) is already stored.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param candlesticks The candlesticks to insert, typically a whole API page.
+     */
+    void insertIgnoringDuplicates(String symbol, CandlestickInterval interval, List<Candlestick> candlesticks);
+
+    /**
+     * Inserts the candles in batched statements, skipping those whose (symbol, interval, open time) is already stored.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param candles The candles to insert, typically a whole API page.
+     */
+    void insertIgnoringDuplicates(String symbol, CandlestickInterval interval, CandleSeries candles);
+
+    /**
+     * Inserts the candles in batched statements, overwriting the values of those whose (symbol, interval, open time)
+     * is already stored, e.g. a candle stored while it was still open.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param candles The candles to insert or update, typically final candles from the stream.
+     */
+    void upsert(String symbol, CandlestickInterval interval, CandleSeries candles);
+
+    /**
+     * Reads the stored candles straight into columns, without materialising entities.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param from The first open time in milliseconds since epoch.
+     * @param to The last open time in milliseconds since epoch, inclusive.
+     * @return The candles sorted by open time.
+     */
+    CandleSeries findSeries(String symbol, CandlestickInterval interval, long from, long to);
+
+    /**
+     * Deletes the stored candles in a range, e.g. once they have been moved to the archive.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param from The first open time in milliseconds since epoch.
+     * @param to The last open time in milliseconds since epoch, inclusive.
+     * @return The number of candles deleted.
+     */
+    int deleteSeries(String symbol, CandlestickInterval interval, long from, long to);
+
+    // Symbols with candles of the interval stored
+    List<String> findSymbols(CandlestickInterval interval);
+
+    // Open time of the oldest stored candle of the symbol and interval, empty if none is stored
+    OptionalLong findFirstOpenTime(String symbol, CandlestickInterval interval);
+}
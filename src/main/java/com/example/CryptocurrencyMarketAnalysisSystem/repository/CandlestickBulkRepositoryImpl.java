@@ -0,0 +1,142 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.repository;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.OptionalLong;
+
+// JDBC implementation of the bulk candlestick reads and writes; combined with the reWriteBatchedInserts driver option
+// each write batch reaches PostgreSQL as a single multi-row INSERT
+public class CandlestickBulkRepositoryImpl implements CandlestickBulkRepository {
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_IGNORING_DUPLICATES_SQL = "INSERT INTO candlestick_data (symbol, candlestick_interval, open_time, close_time, " +
+            "open, close, high, low, volume, quote_asset_volume, number_of_trades, taker_buy_base_asset_volume, taker_buy_quote_asset_volume) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (symbol, candlestick_interval, open_time) DO NOTHING";
+
+    private static final String UPSERT_SQL = "INSERT INTO candlestick_data (symbol, candlestick_interval, open_time, close_time, " +
+            "open, close, high, low, volume, quote_asset_volume, number_of_trades, taker_buy_base_asset_volume, taker_buy_quote_asset_volume) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (symbol, candlestick_interval, open_time) DO UPDATE SET close_time = EXCLUDED.close_time, " +
+            "open = EXCLUDED.open, close = EXCLUDED.close, high = EXCLUDED.high, low = EXCLUDED.low, volume = EXCLUDED.volume, " +
+            "quote_asset_volume = EXCLUDED.quote_asset_volume, number_of_trades = EXCLUDED.number_of_trades, " +
+            "taker_buy_base_asset_volume = EXCLUDED.taker_buy_base_asset_volume, " +
+            "taker_buy_quote_asset_volume = EXCLUDED.taker_buy_quote_asset_volume";
+
+    private static final String FIND_SERIES_SQL = "SELECT open_time, close_time, open, high, low, close, volume, quote_asset_volume, " +
+            "number_of_trades, taker_buy_base_asset_volume, taker_buy_quote_asset_volume FROM candlestick_data " +
+            "WHERE symbol = ? AND candlestick_interval = ? AND open_time BETWEEN ? AND ? ORDER BY open_time";
+
+    private static final String DELETE_SERIES_SQL = "DELETE FROM candlestick_data " +
+            "WHERE symbol = ? AND candlestick_interval = ? AND open_time BETWEEN ? AND ?";
+
+    private static final String FIND_SYMBOLS_SQL = "SELECT DISTINCT symbol FROM candlestick_data WHERE candlestick_interval = ?";
+
+    private static final String FIND_FIRST_OPEN_TIME_SQL = "SELECT MIN(open_time) FROM candlestick_data " +
+            "WHERE symbol = ? AND candlestick_interval = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CandlestickBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void insertIgnoringDuplicates(String symbol, CandlestickInterval interval, List<Candlestick> candlesticks) {
+        insertIgnoringDuplicates(symbol, interval, CandleSeries.fromCandlesticks(candlesticks));
+    }
+
+    @Override
+    @Transactional
+    public void insertIgnoringDuplicates(String symbol, CandlestickInterval interval, CandleSeries candles) {
+        write(INSERT_IGNORING_DUPLICATES_SQL, symbol, interval, candles);
+    }
+
+    @Override
+    @Transactional
+    public void upsert(String symbol, CandlestickInterval interval, CandleSeries candles) {
+        write(UPSERT_SQL, symbol, interval, candles);
+    }
+
+    // Binds the candles to the insert statement in batches of BATCH_SIZE rows
+    private void write(String sql, String symbol, CandlestickInterval interval, CandleSeries candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        short intervalCode = (short) interval.ordinal();
+        for (int batchStart = 0; batchStart < candles.size(); batchStart += BATCH_SIZE) {
+            int offset = batchStart;
+            int batchSize = Math.min(BATCH_SIZE, candles.size() - batchStart);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int batchIndex) throws SQLException {
+                    int i = offset + batchIndex;
+                    ps.setString(1, symbol);
+                    ps.setShort(2, intervalCode);
+                    ps.setObject(3, toUtcDateTime(candles.openTime(i)));
+                    ps.setObject(4, toUtcDateTime(candles.closeTime(i)));
+                    ps.setDouble(5, candles.open(i));
+                    ps.setDouble(6, candles.close(i));
+                    ps.setDouble(7, candles.high(i));
+                    ps.setDouble(8, candles.low(i));
+                    ps.setDouble(9, candles.volume(i));
+                    ps.setDouble(10, candles.quoteAssetVolume(i));
+                    ps.setLong(11, candles.numberOfTrades(i));
+                    ps.setDouble(12, candles.takerBuyBaseAssetVolume(i));
+                    ps.setDouble(13, candles.takerBuyQuoteAssetVolume(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batchSize;
+                }
+            });
+        }
+    }
+
+    @Override
+    public CandleSeries findSeries(String symbol, CandlestickInterval interval, long from, long to) {
+        CandleSeries.Builder builder = CandleSeries.builder(0);
+        jdbcTemplate.query(FIND_SERIES_SQL, rs -> {
+            builder.add(rs.getObject(1, OffsetDateTime.class).toInstant().toEpochMilli(),
+                    rs.getObject(2, OffsetDateTime.class).toInstant().toEpochMilli(),
+                    rs.getDouble(3), rs.getDouble(4), rs.getDouble(5), rs.getDouble(6), rs.getDouble(7), rs.getDouble(8),
+                    rs.getLong(9), rs.getDouble(10), rs.getDouble(11));
+        }, symbol, (short) interval.ordinal(), toUtcDateTime(from), toUtcDateTime(to));
+        return builder.build();
+    }
+
+    @Override
+    @Transactional
+    public int deleteSeries(String symbol, CandlestickInterval interval, long from, long to) {
+        return jdbcTemplate.update(DELETE_SERIES_SQL, symbol, (short) interval.ordinal(), toUtcDateTime(from), toUtcDateTime(to));
+    }
+
+    @Override
+    public List<String> findSymbols(CandlestickInterval interval) {
+        return jdbcTemplate.queryForList(FIND_SYMBOLS_SQL, String.class, (short) interval.ordinal());
+    }
+
+    @Override
+    public OptionalLong findFirstOpenTime(String symbol, CandlestickInterval interval) {
+        OffsetDateTime first = jdbcTemplate.queryForObject(FIND_FIRST_OPEN_TIME_SQL, OffsetDateTime.class,
+                symbol, (short) interval.ordinal());
+        return first == null ? OptionalLong.empty() : OptionalLong.of(first.toInstant().toEpochMilli());
+    }
+
+    private static OffsetDateTime toUtcDateTime(long epochMillis) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
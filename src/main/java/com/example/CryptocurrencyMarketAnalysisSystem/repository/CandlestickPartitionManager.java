@@ -0,0 +1,202 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.repository;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandlestickPartitionProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandlestickPartitionProperties.Granularity;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandlestickPartitionProperties.IntervalPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates and drops the open_time range partitions of candlestick_data.
+ * schema-postgresql.sql creates one LIST partition per interval, each with a DEFAULT partition; this class
+ * adds monthly or yearly range partitions below them. New partitions are created ahead of time, rows that
+ * landed in a DEFAULT partition (backfills of old data, migrated tables) are moved into a proper partition,
+ * and partitions older than the interval's retention are dropped.
+ */
+@Component
+public class CandlestickPartitionManager {
+    private static final Logger logger = LoggerFactory.getLogger(CandlestickPartitionManager.class);
+
+    static final String TABLE = "candlestick_data";
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter YEAR_SUFFIX = DateTimeFormatter.ofPattern("yyyy");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CandlestickPartitionProperties properties;
+
+    // Partitions known to exist, so callers on the write path do not query the catalog every time
+    private final Set<String> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    public CandlestickPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       CandlestickPartitionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    // Runs once the schema script has been applied and then daily shortly after midnight UTC
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${candlestick.partitioning.cron:0 5 0 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        maintainPartitions(Instant.now());
+    }
+
+    void maintainPartitions(Instant now) {
+        for (CandlestickInterval interval : CandlestickInterval.values()) {
+            try {
+                ensurePartitionsAhead(interval, now);
+                splitDefaultPartition(interval);
+                dropExpiredPartitions(interval, now);
+            } catch (DataAccessException e) {
+                logger.error("Partition maintenance failed for interval {}", interval, e);
+            }
+        }
+    }
+
+    /**
+     * Ensures range partitions exist for every period overlapping the given open_time window.
+     *
+     * @param interval The candlestick interval.
+     * @param from The first open time of the window, inclusive.
+     * @param to The last open time of the window, inclusive.
+     */
+    public void ensurePartitions(CandlestickInterval interval, Instant from, Instant to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        Granularity granularity = properties.policyFor(interval).getGranularity();
+        LocalDate last = periodStart(to, granularity);
+        for (LocalDate start = periodStart(from, granularity); !start.isAfter(last); start = nextPeriod(start, granularity)) {
+            createPartition(interval, start, granularity);
+        }
+    }
+
+    private void ensurePartitionsAhead(CandlestickInterval interval, Instant now) {
+        Granularity granularity = properties.policyFor(interval).getGranularity();
+        LocalDate start = periodStart(now, granularity);
+        for (int i = 0; i <= properties.getPeriodsAhead(); i++) {
+            createPartition(interval, start, granularity);
+            start = nextPeriod(start, granularity);
+        }
+    }
+
+    // Moves rows that fell into the DEFAULT partition into range partitions of their own
+    private void splitDefaultPartition(CandlestickInterval interval) {
+        Granularity granularity = properties.policyFor(interval).getGranularity();
+        String sql = "SELECT DISTINCT to_char(date_trunc('" + granularity.name().toLowerCase() + "', open_time AT TIME ZONE 'UTC'), " +
+                "'YYYY-MM-DD') FROM " + defaultPartitionName(interval);
+        for (String period : jdbcTemplate.queryForList(sql, String.class)) {
+            createPartition(interval, LocalDate.parse(period), granularity);
+        }
+    }
+
+    private void dropExpiredPartitions(CandlestickInterval interval, Instant now) {
+        IntervalPolicy policy = properties.policyFor(interval);
+        if (policy.getRetention() == null) {
+            return;
+        }
+        LocalDate cutoff = now.atOffset(ZoneOffset.UTC).toLocalDate().minus(policy.getRetention());
+        for (String partition : listRangePartitions(interval)) {
+            String suffix = periodSuffix(interval, partition);
+            if (suffix == null) {
+                continue;
+            }
+            Granularity granularity = suffix.length() == 6 ? Granularity.MONTH : Granularity.YEAR;
+            LocalDate start = granularity == Granularity.MONTH
+                    ? LocalDate.parse(suffix + "01", DateTimeFormatter.BASIC_ISO_DATE)
+                    : LocalDate.of(Integer.parseInt(suffix), 1, 1);
+            if (!nextPeriod(start, granularity).isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                knownPartitions.remove(partition);
+                logger.info("Dropped candlestick partition {} past the {} retention", partition, policy.getRetention());
+            }
+        }
+    }
+
+    // Creates the range partition starting at the given date, moving matching rows out of the DEFAULT partition
+    private void createPartition(CandlestickInterval interval, LocalDate start, Granularity granularity) {
+        String partition = rangePartitionName(interval, start, granularity);
+        if (knownPartitions.contains(partition)) {
+            return;
+        }
+        OffsetDateTime from = start.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = nextPeriod(start, granularity).atStartOfDay().atOffset(ZoneOffset.UTC);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Serializes concurrent creators of the same partition across application instances
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?))", partition);
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_class WHERE relname = ? AND pg_table_is_visible(oid))", Boolean.class, partition);
+            if (Boolean.TRUE.equals(exists)) {
+                return;
+            }
+            // A range partition cannot be attached while the DEFAULT partition still holds rows for its range
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+            jdbcTemplate.update("WITH moved AS (DELETE FROM " + defaultPartitionName(interval) +
+                    " WHERE open_time >= ? AND open_time < ? RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved", from, to);
+            jdbcTemplate.execute("ALTER TABLE " + intervalPartitionName(interval) + " ATTACH PARTITION " + partition +
+                    " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            logger.info("Created candlestick partition {} for [{}, {})", partition, from, to);
+        });
+        knownPartitions.add(partition);
+    }
+
+    List<String> listRangePartitions(CandlestickInterval interval) {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ? AND pg_table_is_visible(p.oid) AND c.relname <> ? ORDER BY c.relname", String.class,
+                intervalPartitionName(interval), defaultPartitionName(interval));
+    }
+
+    static String intervalPartitionName(CandlestickInterval interval) {
+        return TABLE + "_i" + interval.ordinal();
+    }
+
+    static String defaultPartitionName(CandlestickInterval interval) {
+        return intervalPartitionName(interval) + "_default";
+    }
+
+    static String rangePartitionName(CandlestickInterval interval, LocalDate start, Granularity granularity) {
+        DateTimeFormatter suffix = granularity == Granularity.MONTH ? MONTH_SUFFIX : YEAR_SUFFIX;
+        return intervalPartitionName(interval) + "_" + start.format(suffix);
+    }
+
+    // Returns the yyyyMM or yyyy suffix of a range partition name, or null for tables not created by this class
+    private static String periodSuffix(CandlestickInterval interval, String partition) {
+        String prefix = intervalPartitionName(interval) + "_";
+        if (!partition.startsWith(prefix)) {
+            return null;
+        }
+        String suffix = partition.substring(prefix.length());
+        boolean digits = !suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit);
+        return digits && (suffix.length() == 6 || suffix.length() == 4) ? suffix : null;
+    }
+
+    private static LocalDate periodStart(Instant instant, Granularity granularity) {
+        LocalDate date = instant.atOffset(ZoneOffset.UTC).toLocalDate();
+        return granularity == Granularity.MONTH ? date.withDayOfMonth(1) : date.withDayOfYear(1);
+    }
+
+    private static LocalDate nextPeriod(LocalDate start, Granularity granularity) {
+        return granularity == Granularity.MONTH ? start.plusMonths(1) : start.plusYears(1);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.CryptocurrencyMarketAnalysisSystem.repository;
 
 import com.binance.api.client.domain.market.CandlestickInterval;
 import com.example.CryptocurrencyMarketAnalysisSystem.model.CandlestickEntity;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandlestickId;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,7 +13,7 @@ import java.time.ZonedDateTime;
 import java.util.List;
 
 @Repository
-public interface CandlestickRepository extends JpaRepository<CandlestickEntity, Long> {
+public interface CandlestickRepository extends JpaRepository<CandlestickEntity, CandlestickId>, CandlestickBulkRepository {
     @Query("SELECT c FROM CandlestickEntity c WHERE c.symbol = :symbol AND c.openTime BETWEEN :startTime AND :endTime AND c.candlestickInterval = :interval")
     List<CandlestickEntity> findBySymbolAndOpenTimeBetweenAndInterval(
             @Param("symbol") String symbol,
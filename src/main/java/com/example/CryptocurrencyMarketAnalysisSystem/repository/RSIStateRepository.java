@@ -0,0 +1,45 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.repository;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.RSIState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+// Stores the RSI smoothing state per (symbol, interval, period) in the rsi_state table
+@Repository
+public class RSIStateRepository {
+    // A state never replaces one that is further ahead
+    private static final String UPSERT_SQL = "INSERT INTO rsi_state (symbol, candlestick_interval, period, last_open_time, avg_gain, avg_loss, last_close) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (symbol, candlestick_interval, period) DO UPDATE SET last_open_time = EXCLUDED.last_open_time, " +
+            "avg_gain = EXCLUDED.avg_gain, avg_loss = EXCLUDED.avg_loss, last_close = EXCLUDED.last_close " +
+            "WHERE rsi_state.last_open_time < EXCLUDED.last_open_time";
+
+    private static final String FIND_SQL = "SELECT last_open_time, avg_gain, avg_loss, last_close FROM rsi_state " +
+            "WHERE symbol = ? AND candlestick_interval = ? AND period = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RSIStateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<RSIState> find(String symbol, CandlestickInterval interval, int period) {
+        List<RSIState> states = jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new RSIState(
+                rs.getObject(1, OffsetDateTime.class).toInstant().toEpochMilli(),
+                rs.getDouble(2), rs.getDouble(3), rs.getDouble(4)), symbol, (short) interval.ordinal(), period);
+        return states.stream().findFirst();
+    }
+
+    public void save(String symbol, CandlestickInterval interval, int period, RSIState state) {
+        jdbcTemplate.update(UPSERT_SQL, symbol, (short) interval.ordinal(), period,
+                OffsetDateTime.ofInstant(Instant.ofEpochMilli(state.lastOpenTime()), ZoneOffset.UTC),
+                state.avgGain(), state.avgLoss(), state.lastClose());
+    }
+}
@@ -1,24 +1,61 @@
 package com.example.CryptocurrencyMarketAnalysisSystem.service;
 
-import com.binance.api.client.BinanceApiClientFactory;
-import com.binance.api.client.BinanceApiRestClient;
 import com.binance.api.client.domain.market.TickerPrice;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.PriceCacheProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.TickerPriceCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 // Service for retrieving cryptocurrency prices from the Binance API
 @Service
 public class BinancePriceService {
-    private final BinanceApiRestClient binanceApiClient;
+    private static final Logger logger = LoggerFactory.getLogger(BinancePriceService.class);
 
-    // Constructor that initializes the BinanceApiClient
-    public BinancePriceService() {
-        BinanceApiClientFactory factory = BinanceApiClientFactory.newInstance();
-        this.binanceApiClient = factory.newRestClient();
+    private final BinanceMarketDataClient binanceApiClient;
+    private final BinanceRequestWeightLimiter requestWeightLimiter;
+    private final TickerPriceCache priceCache;
+    private final PriceCacheProperties priceCacheProperties;
+
+    // Constructor that takes the market data client served by the shared gateway
+    @Autowired
+    public BinancePriceService(BinanceRequestWeightLimiter requestWeightLimiter, BinanceMarketDataClient binanceApiClient,
+                               TickerPriceCache priceCache, PriceCacheProperties priceCacheProperties) {
+        this.requestWeightLimiter = requestWeightLimiter;
+        this.binanceApiClient = binanceApiClient;
+        this.priceCache = priceCache;
+        this.priceCacheProperties = priceCacheProperties;
     }
 
-    // Method to get the current price of a specified cryptocurrency (e.g., "BTCUSDT")
+    // Method to get the current price of a specified cryptocurrency (e.g., "BTCUSDT"), at most the freshness window old
     public TickerPrice getCurrentPrice(String symbol) {
+        return priceCache.get(symbol, this::fetchPrice);
+    }
+
+    // Refreshes the prices of every tracked symbol with one all-tickers request, if enabled
+    @Scheduled(fixedDelayString = "#{@priceCacheProperties.bulkRefreshInterval.toMillis()}")
+    public void refreshTrackedPrices() {
+        if (!priceCacheProperties.isBulkRefreshEnabled()) {
+            return;
+        }
+        try {
+            priceCache.refreshTracked(() -> {
+                requestWeightLimiter.acquire(BinanceRequestWeightLimiter.ALL_TICKER_PRICES_WEIGHT);
+                return binanceApiClient.getAllPrices();
+            });
+        } catch (RuntimeException e) {
+            // Reads of stale symbols fall back to single requests until the next refresh succeeds
+            logger.warn("Could not refresh the tracked ticker prices", e);
+        }
+    }
+
+    private TickerPrice fetchPrice(String symbol) {
+        requestWeightLimiter.acquire(BinanceRequestWeightLimiter.TICKER_PRICE_WEIGHT);
         return binanceApiClient.getPrice(symbol);
     }
 
-}
\ No newline at end of file
+}
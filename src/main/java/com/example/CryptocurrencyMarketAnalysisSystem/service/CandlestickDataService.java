@@ -2,9 +2,15 @@ package com.example.CryptocurrencyMarketAnalysisSystem.service;
 
 import com.binance.api.client.domain.market.Candlestick;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
 import com.example.CryptocurrencyMarketAnalysisSystem.model.CandlestickEntity;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
 import com.example.CryptocurrencyMarketAnalysisSystem.repository.CandlestickRepository;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.archive.CandleArchiveStore;
 import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.CandlestickSeriesCache;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics.IngestionTracer;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.rollup.CandleRollupService;
 import com.example.CryptocurrencyMarketAnalysisSystem.util.DateUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,11 +18,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.DateTimeException;
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 
 @Service
@@ -25,22 +28,77 @@ public class CandlestickDataService {
 
 
     private final CandlestickRepository candlestickRepository;
+    private final CandlestickSeriesCache candlestickSeriesCache;
+    private final CandleRollupService candleRollupService;
+    private final CandleArchiveStore candleArchiveStore;
+    private final IngestionTracer ingestionTracer;
 
-    @Autowired
     public CandlestickDataService(CandlestickRepository candlestickRepository) {
+        this(candlestickRepository, CandlestickSeriesCache.disabled());
+    }
+
+    public CandlestickDataService(CandlestickRepository candlestickRepository, CandlestickSeriesCache candlestickSeriesCache) {
+        this(candlestickRepository, candlestickSeriesCache, CandleRollupService.disabled());
+    }
+
+    public CandlestickDataService(CandlestickRepository candlestickRepository, CandlestickSeriesCache candlestickSeriesCache,
+                                  CandleRollupService candleRollupService) {
+        this(candlestickRepository, candlestickSeriesCache, candleRollupService, CandleArchiveStore.disabled());
+    }
+
+    public CandlestickDataService(CandlestickRepository candlestickRepository, CandlestickSeriesCache candlestickSeriesCache,
+                                  CandleRollupService candleRollupService, CandleArchiveStore candleArchiveStore) {
+        this(candlestickRepository, candlestickSeriesCache, candleRollupService, candleArchiveStore, IngestionTracer.disabled());
+    }
+
+    @Autowired
+    public CandlestickDataService(CandlestickRepository candlestickRepository, CandlestickSeriesCache candlestickSeriesCache,
+                                  CandleRollupService candleRollupService, CandleArchiveStore candleArchiveStore,
+                                  IngestionTracer ingestionTracer) {
         this.candlestickRepository = candlestickRepository;
+        this.candlestickSeriesCache = candlestickSeriesCache;
+        this.candleRollupService = candleRollupService;
+        this.candleArchiveStore = candleArchiveStore;
+        this.ingestionTracer = ingestionTracer;
     }
 
     //Retrieves candlestick data for a given symbol, time range, and interval
     public List<Candlestick> getCandlestickData(String symbol, ZonedDateTime startTime, ZonedDateTime endTime, CandlestickInterval interval) {
+        return getCandleSeries(symbol, startTime, endTime, interval).toCandlesticks();
+    }
+
+    //Retrieves the candles for a given symbol, time range, and interval in columnar form, sorted by open time
+    public CandleSeries getCandleSeries(String symbol, ZonedDateTime startTime, ZonedDateTime endTime, CandlestickInterval interval) {
         if (symbol == null || startTime == null || endTime == null || interval == null) {
             throw new IllegalArgumentException("Parameters symbol, startTime, endTime, and interval must not be null");
         }
 
-        logger.info("Retrieving candlestick data for symbol: {}, startTime: {}, endTime: {}, interval: {}", symbol, startTime, endTime, interval);
+        logger.debug("Retrieving candlestick data for symbol: {}, startTime: {}, endTime: {}, interval: {}", symbol, startTime, endTime, interval);
+
+        return candlestickSeriesCache.getSeries(symbol, interval,
+                startTime.toInstant().toEpochMilli(), endTime.toInstant().toEpochMilli(),
+                (from, to) -> loadStored(symbol, interval, from, to));
+    }
+
+    //Derives the candles of a higher interval in the given ranges from the stored one minute candles, see CandleRollupService
+    public CandleSeries deriveCandleSeries(String symbol, CandlestickInterval interval, List<TimeRange> ranges) {
+        if (symbol == null || interval == null || ranges == null) {
+            throw new IllegalArgumentException("Parameters symbol, interval, and ranges must not be null");
+        }
+        return candleRollupService.derive(symbol, interval, ranges,
+                (from, to) -> candlestickSeriesCache.getSeries(symbol, CandlestickInterval.ONE_MINUTE, from, to,
+                        (baseFrom, baseTo) -> loadStored(symbol, CandlestickInterval.ONE_MINUTE, baseFrom, baseTo)));
+    }
 
-        List<CandlestickEntity> entities = candlestickRepository.findBySymbolAndOpenTimeBetweenAndInterval(symbol, startTime, endTime, interval);
-        return entities.stream().map(this::convertToCandlestick).collect(Collectors.toList());
+    //Reads the candles of a range from the database and the archive; the database goes first, as the compactor
+    //appends a month to the archive before it deletes it from the database
+    private CandleSeries loadStored(String symbol, CandlestickInterval interval, long from, long to) {
+        CandleSeries stored = candlestickRepository.findSeries(symbol, interval, from, to);
+        CandleSeries archived = candleArchiveStore.read(symbol, interval, from, to);
+        if (archived.isEmpty()) {
+            return stored;
+        }
+        return stored.isEmpty() ? archived : CandleSeries.merge(List.of(stored, archived));
     }
 
     //Checks if a candlestick exists for a given symbol, open time, close time, and interval
@@ -49,18 +107,130 @@ public class CandlestickDataService {
             throw new IllegalArgumentException("Parameters symbol, openTime, closeTime, and interval must not be null");
         }
 
-        logger.info("Checking existence of candlestick: symbol={}, openTime={}, closeTime={}, interval={}", symbol, openTime, closeTime, interval);
+        logger.debug("Checking existence of candlestick: symbol={}, openTime={}, closeTime={}, interval={}", symbol, openTime, closeTime, interval);
         boolean exists = candlestickRepository.existsBySymbolAndOpenTimeAndCloseTimeAndInterval(symbol, openTime, closeTime, interval);
-        logger.info("Exists: {}", exists);
+        logger.debug("Exists: {}", exists);
         return exists;
     }
 
     //Saves candlestick data to the repository
     public void saveCandlestickData(String symbol, Candlestick candlestick, CandlestickInterval interval) {
-        logger.info("In saveCandlestickData - Candlestick {},CandlestickInterval {}, symbol{}", candlestick, interval, symbol);
+        logger.debug("In saveCandlestickData - Candlestick {},CandlestickInterval {}, symbol{}", candlestick, interval, symbol);
         if (symbol == null || candlestick == null || interval == null) {
             throw new IllegalArgumentException("Parameters symbol, candlestick, and interval must not be null");
         }
+        validateCandlestick(candlestick);
+        ZonedDateTime openTime = DateUtils.convertMillisToUtcZonedDateTime(candlestick.getOpenTime());
+        ZonedDateTime closeTime = DateUtils.convertMillisToUtcZonedDateTime(candlestick.getCloseTime());
+
+        if (!candlestickRepository.existsBySymbolAndOpenTimeAndCloseTimeAndInterval(symbol, openTime, closeTime, interval)) {
+            CandlestickEntity entity = CandlestickEntity.fromCandlestick(candlestick, symbol, interval);
+
+            try {
+                candlestickRepository.save(entity);
+                onStored(symbol, CandleSeries.fromCandlesticks(List.of(candlestick)), interval);
+                logger.debug("Saved new candlestick to database: {}", entity);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        } else {
+            logger.debug("Candlestick already exists in database: symbol={}, openTime={}, closeTime={}, interval={}",
+                    symbol, openTime, closeTime, interval);
+        }
+    }
+
+    //Saves a whole page of candlesticks in batched inserts, skipping candlesticks that are already stored
+    public void saveCandlesticks(String symbol, List<Candlestick> candlesticks, CandlestickInterval interval) {
+        if (symbol == null || candlesticks == null || interval == null) {
+            throw new IllegalArgumentException("Parameters symbol, candlesticks, and interval must not be null");
+        }
+        for (Candlestick candlestick : candlesticks) {
+            if (candlestick == null) {
+                throw new IllegalArgumentException("Candlesticks must not contain null elements");
+            }
+            validateCandlestick(candlestick);
+        }
+
+        store(symbol, CandleSeries.fromCandlesticks(candlesticks), interval, false);
+    }
+
+    //Saves a whole page of candles in batched inserts, skipping candles that are already stored
+    public void saveCandleSeries(String symbol, CandleSeries candles, CandlestickInterval interval) {
+        if (symbol == null || candles == null || interval == null) {
+            throw new IllegalArgumentException("Parameters symbol, candles, and interval must not be null");
+        }
+        for (int i = 0; i < candles.size(); i++) {
+            validateCandle(candles, i);
+        }
+
+        store(symbol, candles, interval, false);
+    }
+
+    //Saves final candles in batched upserts, overwriting stored and cached candles with the same open time
+    public void replaceCandleSeries(String symbol, CandleSeries candles, CandlestickInterval interval) {
+        if (symbol == null || candles == null || interval == null) {
+            throw new IllegalArgumentException("Parameters symbol, candles, and interval must not be null");
+        }
+        for (int i = 0; i < candles.size(); i++) {
+            validateCandle(candles, i);
+        }
+
+        store(symbol, candles, interval, true);
+    }
+
+    //Inserts or upserts a page of candles and adds it to the cache, traced as a page of the store stage
+    private void store(String symbol, CandleSeries candles, CandlestickInterval interval, boolean replace) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        try (IngestionTracer.Span span = ingestionTracer.start(IngestionTracer.Stage.STORE, symbol, interval,
+                candles.firstOpenTime(), candles.lastOpenTime() + 1)) {
+            if (replace) {
+                candlestickRepository.upsert(symbol, interval, candles);
+                candlestickSeriesCache.replace(symbol, interval, candles);
+                advanceRollups(symbol, candles, interval);
+            } else {
+                candlestickRepository.insertIgnoringDuplicates(symbol, interval, candles);
+                onStored(symbol, candles, interval);
+            }
+            span.sampleCandles(candles.size(), candles::toCandlestick);
+            span.completed(candles.size());
+        }
+    }
+
+    //Adds stored candles to the cache and advances the rollups
+    private void onStored(String symbol, CandleSeries candles, CandlestickInterval interval) {
+        candlestickSeriesCache.put(symbol, interval, candles);
+        advanceRollups(symbol, candles, interval);
+    }
+
+    //One minute candles advance the rollups of the higher intervals
+    private void advanceRollups(String symbol, CandleSeries candles, CandlestickInterval interval) {
+        if (interval == CandlestickInterval.ONE_MINUTE) {
+            candleRollupService.onBaseCandles(symbol, candles);
+        }
+    }
+
+    //Validates the candle at the given position with the same rules as validateCandlestick
+    private void validateCandle(CandleSeries candles, int index) {
+        if (DateUtils.isMillisInRange(candles.openTime(index)) || DateUtils.isMillisInRange(candles.closeTime(index))) {
+            throw new IllegalArgumentException("Millis value is out of range");
+        }
+        if (candles.openTime(index) > candles.closeTime(index)) {
+            throw new IllegalArgumentException("Open time must be before close time");
+        }
+        if (candles.high(index) < candles.low(index)) {
+            throw new IllegalArgumentException("High value cannot be less than low value");
+        }
+        if (candles.open(index) < 0 || candles.close(index) < 0 || candles.high(index) < 0 || candles.low(index) < 0 ||
+                candles.volume(index) < 0 || candles.quoteAssetVolume(index) < 0 || candles.takerBuyBaseAssetVolume(index) < 0 ||
+                candles.takerBuyQuoteAssetVolume(index) < 0 || candles.numberOfTrades(index) < 0) {
+            throw new IllegalArgumentException("Numeric values must be non-negative");
+        }
+    }
+
+    //Validates the fields of a candlestick before it is stored
+    private void validateCandlestick(Candlestick candlestick) {
         if (candlestick.getOpenTime() == null || candlestick.getCloseTime() == null ||
                 candlestick.getOpen() == null || candlestick.getClose() == null ||
                 candlestick.getHigh() == null || candlestick.getLow() == null ||
@@ -103,41 +273,6 @@ public class CandlestickDataService {
         if (open < 0 || close < 0 || high < 0 || low < 0 || volume < 0 || quoteAssetVolume < 0 || takerBuyBaseAssetVolume < 0 || takerBuyQuoteAssetVolume < 0 || numberOfTrades < 0) {
             throw new IllegalArgumentException("Numeric values must be non-negative");
         }
-
-        if (!candlestickRepository.existsBySymbolAndOpenTimeAndCloseTimeAndInterval(symbol, openTime, closeTime, interval)) {
-            CandlestickEntity entity = CandlestickEntity.fromCandlestick(candlestick, symbol, interval);
-
-            try {
-                candlestickRepository.save(entity);
-                logger.info("Saved new candlestick to database: {}", entity);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        } else {
-            logger.info("Candlestick already exists in database: symbol={}, openTime={}, closeTime={}, interval={}",
-                    symbol, openTime, closeTime, interval);
-        }
-    }
-
-    //Converts a CandlestickEntity to a Candlestick object
-    private Candlestick convertToCandlestick(Object data) {
-        if (data instanceof CandlestickEntity entity) {
-            Candlestick candlestick = new Candlestick();
-            candlestick.setOpenTime(DateUtils.convertDateToMillis(entity.getOpenTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS")), ZoneId.of("UTC")));
-            candlestick.setCloseTime(DateUtils.convertDateToMillis(entity.getCloseTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS")), ZoneId.of("UTC")));
-            candlestick.setOpen(entity.getOpen().toString());
-            candlestick.setClose(entity.getClose().toString());
-            candlestick.setHigh(entity.getHigh().toString());
-            candlestick.setLow(entity.getLow().toString());
-            candlestick.setVolume(entity.getVolume().toString());
-            candlestick.setQuoteAssetVolume(entity.getQuoteAssetVolume().toString());
-            candlestick.setNumberOfTrades(Long.valueOf(entity.getNumberOfTrades().toString()));
-            candlestick.setTakerBuyBaseAssetVolume(entity.getTakerBuyBaseAssetVolume().toString());
-            candlestick.setTakerBuyQuoteAssetVolume(entity.getTakerBuyQuoteAssetVolume().toString());
-
-            return candlestick;
-        }
-        throw new IllegalArgumentException("Unsupported data type: " + data.getClass().getName());
     }
 
 }
\ No newline at end of file
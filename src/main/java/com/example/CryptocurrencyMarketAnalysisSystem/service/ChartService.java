@@ -0,0 +1,76 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ChartData;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.CandleDownsampler;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Chart data downsampled on the server to the width of the chart, so the payload and the rendering time are
+ * bounded by the number of pixels rather than by the length of the range.
+ */
+@Service
+public class ChartService {
+    public static final int MAX_WIDTH = 4000;
+
+    /** How candles are reduced for a chart. */
+    public enum Mode {
+        /** Candles merged into coarser buckets, for candlestick charts. */
+        OHLC,
+        /** Close prices selected by Largest-Triangle-Three-Buckets, for line charts. */
+        LINE
+    }
+
+    private final BinanceHistoricalDataService historicalDataService;
+
+    public ChartService(BinanceHistoricalDataService historicalDataService) {
+        this.historicalDataService = historicalDataService;
+    }
+
+    /**
+     * Loads the candles of a range and reduces them to at most one point per pixel.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param startTime The start of the range in milliseconds since epoch.
+     * @param endTime The end of the range in milliseconds since epoch.
+     * @param width The width of the chart in pixels, between 3 and {@link #MAX_WIDTH}.
+     * @param mode How to reduce the candles.
+     * @return At most {@code width} points.
+     */
+    public ChartData getChartData(String symbol, CandlestickInterval interval, long startTime, long endTime,
+                                  int width, Mode mode) {
+        if (width < 3 || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Width must be between 3 and " + MAX_WIDTH);
+        }
+        if (startTime > endTime) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+        symbol = symbol.trim().toUpperCase(Locale.ROOT);
+        CandleSeries candles = historicalDataService.getHistoricalCandleSeries(symbol, interval, startTime, endTime);
+        long intervalMillis = historicalDataService.getCandlestickIntervalMillis(interval);
+
+        if (mode == Mode.LINE) {
+            int[] selected = CandleDownsampler.lttb(candles, width);
+            long[] openTime = new long[selected.length];
+            double[] close = new double[selected.length];
+            for (int i = 0; i < selected.length; i++) {
+                openTime[i] = candles.openTime(selected[i]);
+                close[i] = candles.close(selected[i]);
+            }
+            return new ChartData(symbol, interval.name(), mode.name(), candles.size(), intervalMillis,
+                    openTime, null, null, null, close, null);
+        }
+        CandleSeries buckets = CandleDownsampler.ohlc(candles, intervalMillis, width);
+        long bucketMillis = buckets == candles ? intervalMillis
+                : CandleDownsampler.bucketMillis(candles.lastOpenTime() - candles.firstOpenTime() + intervalMillis,
+                intervalMillis, width);
+        return new ChartData(symbol, interval.name(), Mode.OHLC.name(), candles.size(), bucketMillis,
+                buckets.openTimes(), buckets.opens(), buckets.highs(), buckets.lows(), buckets.closes(),
+                buckets.volumes());
+    }
+}
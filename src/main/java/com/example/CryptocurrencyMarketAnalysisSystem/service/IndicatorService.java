@@ -0,0 +1,44 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.IndicatorData;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicator;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.IndicatorEvaluator;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class IndicatorService {
+
+    private final BinanceHistoricalDataService binanceHistoricalDataService;
+
+    public IndicatorService(BinanceHistoricalDataService binanceHistoricalDataService) {
+        this.binanceHistoricalDataService = binanceHistoricalDataService;
+    }
+
+    //Fetches the candles once and evaluates all indicators over them in a single pass
+    public IndicatorData getIndicatorData(String symbol, CandlestickInterval interval, long startDate, long endDate,
+                                          List<Indicator> indicators) {
+        if (indicators.isEmpty()) {
+            throw new IllegalArgumentException("At least one indicator is required");
+        }
+        CandleSeries candles = binanceHistoricalDataService.getHistoricalCandleSeries(symbol, interval, startDate, endDate);
+
+        // Report only the candles at which every indicator has a value
+        int first = IndicatorEvaluator.lookback(indicators);
+        if (candles.size() <= first) {
+            throw new IllegalArgumentException("Not enough data to calculate indicators");
+        }
+
+        Map<String, double[]> values = IndicatorEvaluator.evaluate(candles, indicators);
+        Map<String, double[]> reported = new LinkedHashMap<>();
+        values.forEach((key, series) -> reported.put(key, Arrays.copyOfRange(series, first, series.length)));
+        return new IndicatorData(candles.slice(first, candles.size()).openTimes(), reported);
+    }
+}
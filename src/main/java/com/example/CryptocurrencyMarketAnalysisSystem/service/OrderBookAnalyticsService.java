@@ -0,0 +1,108 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service;
+
+import com.binance.api.client.domain.OrderSide;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.FillEstimate;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.OrderBookMetrics;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.SpreadPoint;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.LocalOrderBook;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Microstructure metrics of the local order books: depth and imbalance within distances from the mid price,
+ * cumulative depth curves, market order fill estimates and spread history. The books keep running sums of
+ * their depth current with every depth update, so each metric is a few binary searches at request time.
+ */
+@Service
+public class OrderBookAnalyticsService {
+    private static final Pattern SYMBOL = Pattern.compile("[A-Z0-9]{2,20}");
+    private static final int MAX_DISTANCES = 200;
+
+    private final OrderBookService orderBookService;
+
+    public OrderBookAnalyticsService(OrderBookService orderBookService) {
+        this.orderBookService = orderBookService;
+    }
+
+    /**
+     * Measures depth and imbalance within each of the given distances from the mid price.
+     *
+     * @param symbol The trading pair symbol.
+     * @param bps The distances in basis points, each above 0 and at most 10000.
+     * @return The top of the book with the depth at each distance.
+     * @throws IllegalStateException If the local book of the symbol is not in sync yet.
+     */
+    public OrderBookMetrics getDepth(String symbol, double... bps) {
+        if (bps == null || bps.length == 0 || bps.length > MAX_DISTANCES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_DISTANCES + " distances are required");
+        }
+        for (double distance : bps) {
+            requireDistance(distance);
+        }
+        LocalOrderBook book = getBook(symbol);
+        return book.metrics(bps).orElseThrow(() -> notInSync(book));
+    }
+
+    // Cumulative depth at evenly spaced distances up to maxBps from the mid price
+    public OrderBookMetrics getDepthCurve(String symbol, double maxBps, int steps) {
+        requireDistance(maxBps);
+        if (steps < 1 || steps > MAX_DISTANCES) {
+            throw new IllegalArgumentException("Steps must be between 1 and " + MAX_DISTANCES);
+        }
+        double[] bps = new double[steps];
+        for (int i = 0; i < steps; i++) {
+            bps[i] = maxBps * (i + 1) / steps;
+        }
+        LocalOrderBook book = getBook(symbol);
+        return book.metrics(bps).orElseThrow(() -> notInSync(book));
+    }
+
+    /**
+     * Estimates the average price and slippage of a market order against the current book.
+     *
+     * @param symbol The trading pair symbol.
+     * @param side BUY to take the asks, SELL to take the bids.
+     * @param quantity The base asset quantity, above 0.
+     * @return The fill estimate.
+     * @throws IllegalStateException If the local book of the symbol is not in sync yet.
+     */
+    public FillEstimate estimateFill(String symbol, OrderSide side, double quantity) {
+        if (side == null) {
+            throw new IllegalArgumentException("Order side is required");
+        }
+        if (!(quantity > 0) || Double.isInfinite(quantity)) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        LocalOrderBook book = getBook(symbol);
+        return book.estimateFill(side, quantity).orElseThrow(() -> notInSync(book));
+    }
+
+    // Best bid and ask after each depth update between the times, from the spread history of the local book
+    public List<SpreadPoint> getSpreadHistory(String symbol, long startTime, long endTime) {
+        if (startTime > endTime) {
+            throw new IllegalArgumentException("Start time must not be after end time");
+        }
+        return getBook(symbol).getSpreadHistory(startTime, endTime);
+    }
+
+    private LocalOrderBook getBook(String symbol) {
+        String normalized = symbol == null ? "" : symbol.trim().toUpperCase(Locale.ROOT);
+        if (!SYMBOL.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Invalid symbol: " + symbol);
+        }
+        return orderBookService.getLocalOrderBook(normalized);
+    }
+
+    private static void requireDistance(double bps) {
+        if (!(bps > 0) || bps > 10_000) {
+            throw new IllegalArgumentException("Distance must be above 0 and at most 10000 bps: " + bps);
+        }
+    }
+
+    private static IllegalStateException notInSync(LocalOrderBook book) {
+        return new IllegalStateException("Order book of " + book.getSymbol() + " is not in sync yet");
+    }
+}
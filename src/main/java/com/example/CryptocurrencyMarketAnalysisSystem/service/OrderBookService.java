@@ -1,23 +1,179 @@
 package com.example.CryptocurrencyMarketAnalysisSystem.service;
 
-import com.binance.api.client.BinanceApiClientFactory;
-import com.binance.api.client.BinanceApiRestClient;
 import com.binance.api.client.domain.market.OrderBook;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.OrderBookProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataGateway;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.DepthStreamSource;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.LocalOrderBook;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.LocalOrderBookManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
 @Service
-public class OrderBookService {
+public class OrderBookService implements MeterBinder {
+    // Symbols of one multi-symbol read, which may all need a snapshot
+    public static final int MAX_SYMBOLS = 50;
+
+    private final BinanceMarketDataClient binanceApiClient;
+    private final BinanceRequestWeightLimiter requestWeightLimiter;
+    // Sends the snapshots of several symbols at once, or null if they are requested one after another
+    private final BinanceMarketDataGateway marketDataGateway;
+    // Books kept current from the diff-depth streams, or null if every read is a REST snapshot
+    private final LocalOrderBookManager localOrderBooks;
+    private final int localDepthLimit;
+
+    private final LongAdder localReads = new LongAdder();
+    private final LongAdder restReads = new LongAdder();
+
+    @Autowired
+    public OrderBookService(BinanceRequestWeightLimiter requestWeightLimiter, BinanceMarketDataClient binanceApiClient,
+                            BinanceMarketDataGateway marketDataGateway, DepthStreamSource depthStreamSource,
+                            OrderBookProperties orderBookProperties) {
+        this.requestWeightLimiter = requestWeightLimiter;
+        this.binanceApiClient = binanceApiClient;
+        this.marketDataGateway = marketDataGateway;
+        if (depthStreamSource != null && orderBookProperties.isLocalEnabled()) {
+            int snapshotLimit = orderBookProperties.getSnapshotLimit();
+            this.localOrderBooks = new LocalOrderBookManager(depthStreamSource,
+                    symbol -> getOrderBookSnapshot(symbol, snapshotLimit), orderBookProperties);
+            this.localDepthLimit = snapshotLimit;
+        } else {
+            this.localOrderBooks = null;
+            this.localDepthLimit = 0;
+        }
+    }
+
+    public OrderBookService(BinanceRequestWeightLimiter requestWeightLimiter, BinanceMarketDataClient binanceApiClient) {
+        this(requestWeightLimiter, binanceApiClient, null, null);
+    }
+
+    public OrderBookService(BinanceRequestWeightLimiter requestWeightLimiter, BinanceMarketDataClient binanceApiClient,
+                            DepthStreamSource depthStreamSource, OrderBookProperties orderBookProperties) {
+        this(requestWeightLimiter, binanceApiClient, null, depthStreamSource, orderBookProperties);
+    }
 
-    private final BinanceApiRestClient binanceApiClient;
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (localOrderBooks != null) {
+            localOrderBooks.start();
+        }
+    }
 
-    public OrderBookService() {
-        // Initialize the BinanceApiClientFactory with your API key and private key if needed
-        BinanceApiClientFactory factory = BinanceApiClientFactory.newInstance("YOUR_API_KEY", "YOUR_SECRET_KEY");
-        this.binanceApiClient = factory.newRestClient();
+    @PreDestroy
+    public void stop() {
+        if (localOrderBooks != null) {
+            localOrderBooks.close();
+        }
     }
 
+    // Reads the local book, which costs no request weight, and falls back to a REST snapshot while it is not in sync
     public OrderBook getOrderBook(String symbol, int limit) {
-        // Use BinanceApiRestClient to get OrderBook
+        if (localOrderBooks != null && limit <= localDepthLimit) {
+            Optional<OrderBook> orderBook = localOrderBooks.getBook(symbol).toOrderBook(limit);
+            if (orderBook.isPresent()) {
+                localReads.increment();
+                return orderBook.get();
+            }
+        }
+        restReads.increment();
+        return getOrderBookSnapshot(symbol, limit);
+    }
+
+    /**
+     * Reads the books of several symbols. Local books already open and in sync are read first, without opening
+     * books for the other symbols; the snapshots of those are requested all at once through the gateway, so the whole read takes about as long as the slowest snapshot.
+     *
+     * @param symbols The trading pair symbols.
+     * @param limit The number of levels a side.
+     * @return The books by symbol, in the order of the symbols.
+     * @throws IllegalArgumentException If no symbol or more than {@link #MAX_SYMBOLS} are given.
+     */
+    public Map<String, OrderBook> getOrderBooks(List<String> symbols, int limit) {
+        if (symbols.isEmpty() || symbols.size() > MAX_SYMBOLS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_SYMBOLS + " symbols are required");
+        }
+        Map<String, CompletableFuture<OrderBook>> pending = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            String key = symbol.trim().toUpperCase(Locale.ROOT);
+            if (pending.containsKey(key)) {
+                continue;
+            }
+            // Only books already in sync are read; opening one per symbol would subscribe a stream and queue a
+            // snapshot behind the others on the order book scheduler
+            Optional<OrderBook> local = localOrderBooks != null && limit <= localDepthLimit
+                    ? localOrderBooks.peekBook(key).flatMap(book -> book.toOrderBook(limit)) : Optional.empty();
+            if (local.isPresent()) {
+                localReads.increment();
+                pending.put(key, CompletableFuture.completedFuture(local.get()));
+            } else {
+                restReads.increment();
+                pending.put(key, marketDataGateway != null ? marketDataGateway.getOrderBook(key, limit)
+                        : CompletableFuture.completedFuture(getOrderBookSnapshot(key, limit)));
+            }
+        }
+        Map<String, OrderBook> orderBooks = new LinkedHashMap<>();
+        try {
+            pending.forEach((symbol, orderBook) -> orderBooks.put(symbol, orderBook.join()));
+        } catch (CompletionException e) {
+            pending.values().forEach(orderBook -> orderBook.cancel(false));
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        return orderBooks;
+    }
+
+    /**
+     * Returns the local book of a symbol, opening it on first use.
+     *
+     * @param symbol The trading pair symbol.
+     * @return The local book, which is not in sync until its snapshot has been loaded.
+     * @throws IllegalStateException If local order books are disabled.
+     */
+    public LocalOrderBook getLocalOrderBook(String symbol) {
+        if (localOrderBooks == null) {
+            throw new IllegalStateException("Local order books are disabled");
+        }
+        return localOrderBooks.getBook(symbol);
+    }
+
+    public OrderBook getOrderBookSnapshot(String symbol, int limit) {
+        // Deeper books cost more request weight
+        requestWeightLimiter.acquire(BinanceRequestWeightLimiter.depthWeight(limit));
+        // Use BinanceMarketDataClient to get OrderBook
         return binanceApiClient.getOrderBook(symbol.toUpperCase(), limit);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("order.book.reads", localReads, LongAdder::sum).tag("source", "local")
+                .description("Order book reads served from the local books").register(registry);
+        FunctionCounter.builder("order.book.reads", restReads, LongAdder::sum).tag("source", "rest")
+                .description("Order book reads served by REST snapshots").register(registry);
+        if (localOrderBooks != null) {
+            Gauge.builder("order.book.local.books", localOrderBooks, LocalOrderBookManager::getBookCount).register(registry);
+            FunctionCounter.builder("order.book.local.events", localOrderBooks, LocalOrderBookManager::getAppliedEventCount)
+                    .register(registry);
+            FunctionCounter.builder("order.book.local.gaps", localOrderBooks, LocalOrderBookManager::getGapCount)
+                    .register(registry);
+            FunctionCounter.builder("order.book.local.snapshots", localOrderBooks, LocalOrderBookManager::getSnapshotCount)
+                    .register(registry);
+        }
+    }
+}
@@ -1,109 +1,257 @@
 package com.example.CryptocurrencyMarketAnalysisSystem.service;
 
-import com.binance.api.client.domain.market.Candlestick;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
 import com.example.CryptocurrencyMarketAnalysisSystem.model.RSIData;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.RSIState;
+import com.example.CryptocurrencyMarketAnalysisSystem.repository.RSIStateRepository;
 import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
-import com.example.CryptocurrencyMarketAnalysisSystem.util.CandlestickWrapper;
 import com.example.CryptocurrencyMarketAnalysisSystem.util.DateUtils;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.WilderRSI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
 @Service
 public class RSIService {
+    private static final Logger logger = LoggerFactory.getLogger(RSIService.class);
+
+    // At most one API page of missed candles is caught up on the stream thread; a series further behind is reseeded
+    static final int MAX_CATCH_UP_CANDLES = 1000;
+    // Candles of the bounded window a series is reseeded from
+    static final int RESEED_CANDLES = 1000;
 
     private final BinanceHistoricalDataService binanceHistoricalDataService;
+    private final RSIStateRepository rsiStateRepository;
+    private final Executor reseedExecutor;
+    private final LongSupplier clock;
+    // Smoothing state of every RSI series computed so far, continued candle by candle
+    private final Map<StateKey, TrackedRSI> states = new ConcurrentHashMap<>();
+    // Series with a reseed in flight
+    private final Set<StateKey> reseeding = ConcurrentHashMap.newKeySet();
+
+    private record StateKey(String symbol, CandlestickInterval interval, int period) {
+    }
 
+    // A calculator together with the open time of the last candle it absorbed; guarded by its lock, not a monitor,
+    // because a catch-up fetches candles while holding it and would pin a virtual thread to its carrier
+    private static final class TrackedRSI {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final WilderRSI calculator;
+        private long lastOpenTime;
+
+        private TrackedRSI(WilderRSI calculator, long lastOpenTime) {
+            this.calculator = calculator;
+            this.lastOpenTime = lastOpenTime;
+        }
+    }
+
+    // Keeps the RSI state in memory only
     public RSIService(BinanceHistoricalDataService binanceHistoricalDataService) {
+        this(binanceHistoricalDataService, null);
+    }
+
+    // Reseeds series on the calling thread
+    public RSIService(BinanceHistoricalDataService binanceHistoricalDataService, RSIStateRepository rsiStateRepository) {
+        this(binanceHistoricalDataService, rsiStateRepository, Runnable::run);
+    }
+
+    @Autowired
+    public RSIService(BinanceHistoricalDataService binanceHistoricalDataService, RSIStateRepository rsiStateRepository,
+                      @Qualifier("applicationTaskExecutor") Executor reseedExecutor) {
+        this(binanceHistoricalDataService, rsiStateRepository, reseedExecutor, System::currentTimeMillis);
+    }
+
+    RSIService(BinanceHistoricalDataService binanceHistoricalDataService, RSIStateRepository rsiStateRepository,
+               Executor reseedExecutor, LongSupplier clock) {
         this.binanceHistoricalDataService = binanceHistoricalDataService;
+        this.rsiStateRepository = rsiStateRepository;
+        this.reseedExecutor = reseedExecutor;
+        this.clock = clock;
     }
 
     //Retrieves and calculates RSI data for a given symbol, interval, date range, and period
     public RSIData getRSIData(String symbol, CandlestickInterval interval, long startDate, long endDate, int period) {
-        // Fetch historical candlestick data
-        List<Candlestick> candlesticks = binanceHistoricalDataService.getHistoricalCandlestickData(symbol, interval, startDate, endDate);
-
+        // Fetch historical candles, already sorted by open time and unique per open time
+        CandleSeries candles = binanceHistoricalDataService.getHistoricalCandleSeries(symbol, interval, startDate, endDate);
 
-        if (candlesticks.size() < period) {
+        // The first RSI value needs period price changes, i.e. period + 1 closes
+        if (candles.size() <= period) {
             throw new IllegalArgumentException("Not enough data to calculate RSI");
         }
 
+        double[] rsi = new double[candles.size()];
+        WilderRSI calculator = new WilderRSI(period);
+        calculator.update(candles.closes(), 0, candles.size(), rsi, 0);
 
-        // Sort candlesticks by open time
-        candlesticks.sort(Comparator.comparing(Candlestick::getOpenTime));
-
-        Set<CandlestickWrapper> uniqueCloseTimes = new HashSet<>();
-        List<Double> closePrices = new ArrayList<>();
-        List<String> dates = new ArrayList<>();
-
-        // Extract unique close prices and corresponding dates
-        for (Candlestick candlestick : candlesticks) {
-            CandlestickWrapper wrapper = new CandlestickWrapper(candlestick);
-            if (uniqueCloseTimes.add(wrapper)) {
-                closePrices.add(Double.parseDouble(candlestick.getClose()));
-                dates.add(DateUtils.convertMillisToDate(candlestick.getCloseTime()));
-            }
+        List<String> dates = new ArrayList<>(candles.size() - period);
+        List<Double> rsiValues = new ArrayList<>(candles.size() - period);
+        for (int i = period; i < candles.size(); i++) {
+            dates.add(DateUtils.convertMillisToDate(candles.closeTime(i)));
+            rsiValues.add(rsi[i]);
         }
 
-
-        // Calculate RSI values
-        List<Double> rsiValues = calculateRSI(closePrices, period);
-
+        // A candle that is still open will change, so only a closed one may be continued from, and only a window
+        // ending near now is worth continuing: the stream would otherwise have to catch up the whole gap
+        int last = candles.size() - 1;
+        long now = clock.getAsLong();
+        if (candles.closeTime(last) < now
+                && now - candles.closeTime(last) <= MAX_CATCH_UP_CANDLES * binanceHistoricalDataService.getCandlestickIntervalMillis(interval)) {
+            track(new StateKey(symbol, interval, period), calculator, candles.openTime(last));
+        }
         return new RSIData(dates, rsiValues);
     }
 
-
-    // Calculate RSI values based on the given period
-    private List<Double> calculateRSI(List<Double> closePrices, int period) {
-        List<Double> rsiValues = new ArrayList<>();
-
-        // Check if there is enough data to calculate RSI
-        if (closePrices.size() < period) {
-            throw new IllegalArgumentException("Not enough data to calculate RSI");
+    /**
+     * Continues a stored RSI series with a newly closed candle in constant time. Candles missed since the
+     * stored state are loaded and absorbed first, so only the gap is read instead of the whole window.
+     * A series more than {@link #MAX_CATCH_UP_CANDLES} behind is reseeded from a bounded window on the reseed
+     * executor instead, and answers empty until then.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param period The RSI period.
+     * @param openTime The open time of the closed candle in milliseconds since epoch.
+     * @param close The close of the candle.
+     * @return The RSI at the candle, or empty if no state exists for the series yet, the series is being reseeded,
+     *         or the candle is older than the last one absorbed.
+     */
+    public OptionalDouble onCandleClosed(String symbol, CandlestickInterval interval, int period, long openTime, double close) {
+        StateKey key = new StateKey(symbol, interval, period);
+        TrackedRSI tracked = states.computeIfAbsent(key, this::loadState);
+        if (tracked == null) {
+            return OptionalDouble.empty();
         }
-
-        List<Double> gains = new ArrayList<>();
-        List<Double> losses = new ArrayList<>();
-
-        // Calculate gains and losses
-        for (int i = 1; i < closePrices.size(); i++) {
-            double change = closePrices.get(i) - closePrices.get(i - 1);
-            if (change > 0) {
-                gains.add(change);
-                losses.add(0.0);
-            } else {
-                gains.add(0.0);
-                losses.add(-change);
+        tracked.lock.lock();
+        try {
+            if (openTime == tracked.lastOpenTime) {
+                // Already absorbed, e.g. a repeated close event
+                return OptionalDouble.of(tracked.calculator.current());
+            }
+            if (openTime < tracked.lastOpenTime) {
+                // An out-of-order candle; the state has moved past it and holds the RSI of a later one
+                return OptionalDouble.empty();
             }
+            long intervalMillis = binanceHistoricalDataService.getCandlestickIntervalMillis(interval);
+            long missed = (openTime - tracked.lastOpenTime) / intervalMillis - 1;
+            if (missed > MAX_CATCH_UP_CANDLES) {
+                // Left in place until the reseed replaces it, so further events do not reload it
+                reseed(key, openTime);
+                return OptionalDouble.empty();
+            }
+            if (missed > 0) {
+                catchUp(key, tracked, openTime);
+            }
+            double rsi = tracked.calculator.update(close);
+            tracked.lastOpenTime = openTime;
+            persist(key, tracked);
+            return OptionalDouble.of(rsi);
+        } finally {
+            tracked.lock.unlock();
         }
+    }
 
-        double avgGain = 0;
-        double avgLoss = 0;
-
-        // Calculate average gains and losses for the initial period
-        for (int i = 0; i < period; i++) {
-            avgGain += gains.get(i);
-            avgLoss += losses.get(i);
+    // Continues every RSI series of the symbol and interval that is tracked in memory, whatever its period
+    public void onCandleClosed(String symbol, CandlestickInterval interval, long openTime, double close) {
+        for (StateKey key : states.keySet()) {
+            if (key.symbol().equals(symbol) && key.interval() == interval) {
+                onCandleClosed(symbol, interval, key.period(), openTime, close);
+            }
         }
+    }
 
-        avgGain /= period;
-        avgLoss /= period;
+    // Absorbs the stored candles opening after the tracked state and before the given open time
+    private void catchUp(StateKey key, TrackedRSI tracked, long openTime) {
+        CandleSeries missed = binanceHistoricalDataService.getHistoricalCandleSeries(key.symbol(), key.interval(),
+                tracked.lastOpenTime + 1, openTime - 1);
+        logger.info("Catching up RSI {} with {} missed candles", key, missed.size());
+        for (int i = 0; i < missed.size(); i++) {
+            if (missed.openTime(i) > tracked.lastOpenTime && missed.openTime(i) < openTime) {
+                tracked.calculator.update(missed.close(i));
+                tracked.lastOpenTime = missed.openTime(i);
+            }
+        }
+    }
 
-        double rs = avgGain / avgLoss;
-        double rsi = 100 - (100 / (1 + rs));
-        rsiValues.add(rsi);
+    // Recomputes the series from the window of RESEED_CANDLES ending with the given candle, off the calling thread
+    private void reseed(StateKey key, long openTime) {
+        if (!reseeding.add(key)) {
+            return;
+        }
+        long from = openTime - (RESEED_CANDLES - 1) * binanceHistoricalDataService.getCandlestickIntervalMillis(key.interval());
+        logger.info("Reseeding RSI {} from {} to {}", key, from, openTime);
+        try {
+            reseedExecutor.execute(() -> {
+                try {
+                    getRSIData(key.symbol(), key.interval(), from, openTime, key.period());
+                } catch (RuntimeException e) {
+                    logger.warn("Could not reseed RSI {}", key, e);
+                } finally {
+                    reseeding.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reseeding.remove(key);
+            logger.warn("Could not schedule reseed of RSI {}", key, e);
+        }
+    }
 
-        // Calculate RSI for the rest of the periods
-        for (int i = 0; i < gains.size(); i++) {
-            avgGain = ((avgGain * (period - 1)) + gains.get(i)) / period;
-            avgLoss = ((avgLoss * (period - 1)) + losses.get(i)) / period;
+    // Replaces the tracked state unless it is already further ahead
+    private void track(StateKey key, WilderRSI calculator, long lastOpenTime) {
+        TrackedRSI candidate = new TrackedRSI(calculator, lastOpenTime);
+        TrackedRSI tracked = states.merge(key, candidate, (existing, fresh) -> {
+            existing.lock.lock();
+            try {
+                return existing.lastOpenTime >= fresh.lastOpenTime ? existing : fresh;
+            } finally {
+                existing.lock.unlock();
+            }
+        });
+        if (tracked == candidate) {
+            persist(key, candidate);
+        }
+    }
 
-            rs = avgGain / avgLoss;
-            rsi = 100 - (100 / (1 + rs));
-            rsiValues.add(rsi);
+    private TrackedRSI loadState(StateKey key) {
+        if (rsiStateRepository == null) {
+            return null;
+        }
+        try {
+            return rsiStateRepository.find(key.symbol(), key.interval(), key.period())
+                    .map(state -> new TrackedRSI(WilderRSI.restore(key.period(), state.avgGain(), state.avgLoss(), state.lastClose()),
+                            state.lastOpenTime()))
+                    .orElse(null);
+        } catch (DataAccessException e) {
+            logger.warn("Could not load RSI state {}", key, e);
+            return null;
         }
+    }
 
-        return rsiValues;
+    // The in-memory state stays authoritative if the write fails; the next update writes it again
+    private void persist(StateKey key, TrackedRSI tracked) {
+        if (rsiStateRepository == null) {
+            return;
+        }
+        WilderRSI calculator = tracked.calculator;
+        try {
+            rsiStateRepository.save(key.symbol(), key.interval(), key.period(), new RSIState(tracked.lastOpenTime,
+                    calculator.getAvgGain(), calculator.getAvgLoss(), calculator.getLastClose()));
+        } catch (DataAccessException e) {
+            logger.warn("Could not store RSI state {}", key, e);
+        }
     }
-}
\ No newline at end of file
+}
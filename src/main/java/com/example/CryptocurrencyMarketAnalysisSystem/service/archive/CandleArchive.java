@@ -0,0 +1,367 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.archive;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only file of the candles of one (symbol, interval), read through a memory mapping.
+ * <p>
+ * The file starts with a header of {@link #HEADER_SIZE} bytes, followed by fixed-width records of
+ * {@link #RECORD_SIZE} bytes sorted by open time. Everything is little-endian:
+ * <pre>
+ * header   "CNDA", int32 version, int32 record size, zero padding
+ * record   int64 openTime, int64 closeTime, float64 open, high, low, close, volume, quoteAssetVolume,
+ *          int64 numberOfTrades, float64 takerBuyBaseAssetVolume, float64 takerBuyQuoteAssetVolume
+ * </pre>
+ * The open time of every {@link #INDEX_STRIDE}th record is kept in memory as a sparse index. A read binary
+ * searches the index and then one stride of records, so it touches few pages of a cold file. Appends go
+ * through the channel and are published by mapping the file again; readers keep the mapping they started
+ * with. A record cut short by a crash during an append is truncated when the file is opened.
+ */
+public final class CandleArchive implements AutoCloseable {
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = CandleSeries.BYTES_PER_CANDLE;
+    static final int INDEX_STRIDE = 1024;
+    // One mapping covers the records, so a file holds at most this many; 24 million, 46 years of one minute candles
+    static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private static final byte[] MAGIC = {'C', 'N', 'D', 'A'};
+    private static final int VERSION = 1;
+    private static final int WRITE_CHUNK_RECORDS = 4096;
+
+    private static final int OPEN_TIME = 0;
+    private static final int CLOSE_TIME = 8;
+    private static final int OPEN = 16;
+    private static final int HIGH = 24;
+    private static final int LOW = 32;
+    private static final int CLOSE = 40;
+    private static final int VOLUME = 48;
+    private static final int QUOTE_ASSET_VOLUME = 56;
+    private static final int NUMBER_OF_TRADES = 64;
+    private static final int TAKER_BUY_BASE_ASSET_VOLUME = 72;
+    private static final int TAKER_BUY_QUOTE_ASSET_VOLUME = 80;
+
+    private final Path file;
+    private final FileChannel channel;
+    private volatile Mapping mapping;
+
+    // The mapped records with their sparse index; replaced as a whole by every append
+    private record Mapping(ByteBuffer records, int size, long[] index) {
+
+        long openTime(int record) {
+            return records.getLong(record * RECORD_SIZE + OPEN_TIME);
+        }
+    }
+
+    private CandleArchive(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens an archive file, creating it if it does not exist.
+     *
+     * @param file The archive file.
+     * @return The open archive.
+     * @throws IOException If the file cannot be read or written.
+     * @throws IllegalArgumentException If the file is not a candle archive.
+     */
+    public static CandleArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long length = channel.size();
+            if (length == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.put(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).clear();
+                writeFully(channel, header, 0);
+                channel.force(true);
+                length = HEADER_SIZE;
+            }
+            checkHeader(file, channel, length);
+            long records = (length - HEADER_SIZE) / RECORD_SIZE;
+            if (records > MAX_RECORDS) {
+                throw new IllegalArgumentException("Candle archive " + file + " holds more than " + MAX_RECORDS + " records");
+            }
+            if (HEADER_SIZE + records * RECORD_SIZE != length) {
+                channel.truncate(HEADER_SIZE + records * RECORD_SIZE);
+            }
+            CandleArchive archive = new CandleArchive(file, channel);
+            archive.mapping = map(channel, (int) records, null);
+            return archive;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int size() {
+        return mapping.size();
+    }
+
+    public boolean isEmpty() {
+        return mapping.size() == 0;
+    }
+
+    // Open time of the first record, Long.MAX_VALUE if the archive is empty
+    public long firstOpenTime() {
+        Mapping current = mapping;
+        return current.size() == 0 ? Long.MAX_VALUE : current.openTime(0);
+    }
+
+    // Open time of the last record, Long.MIN_VALUE if the archive is empty
+    public long lastOpenTime() {
+        Mapping current = mapping;
+        return current.size() == 0 ? Long.MIN_VALUE : current.openTime(current.size() - 1);
+    }
+
+    /**
+     * Copies the candles opening between from and to inclusive into a series.
+     *
+     * @param from The first open time in milliseconds since epoch.
+     * @param to The last open time in milliseconds since epoch, inclusive.
+     * @return The candles sorted by open time.
+     */
+    public CandleSeries read(long from, long to) {
+        Mapping current = mapping;
+        if (to < from) {
+            return CandleSeries.empty();
+        }
+        int first = lowerBound(current, from);
+        int last = to == Long.MAX_VALUE ? current.size() : lowerBound(current, to + 1);
+        if (first == last) {
+            return CandleSeries.empty();
+        }
+        ByteBuffer records = current.records();
+        CandleSeries.Builder builder = CandleSeries.builder(last - first);
+        for (int position = first * RECORD_SIZE; position < last * RECORD_SIZE; position += RECORD_SIZE) {
+            builder.add(records.getLong(position + OPEN_TIME), records.getLong(position + CLOSE_TIME),
+                    records.getDouble(position + OPEN), records.getDouble(position + HIGH),
+                    records.getDouble(position + LOW), records.getDouble(position + CLOSE),
+                    records.getDouble(position + VOLUME), records.getDouble(position + QUOTE_ASSET_VOLUME),
+                    records.getLong(position + NUMBER_OF_TRADES), records.getDouble(position + TAKER_BUY_BASE_ASSET_VOLUME),
+                    records.getDouble(position + TAKER_BUY_QUOTE_ASSET_VOLUME));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a cursor over the candles opening between from and to inclusive, which reads the mapped records in
+     * place. Scans through it allocate nothing per candle.
+     *
+     * @param from The first open time in milliseconds since epoch.
+     * @param to The last open time in milliseconds since epoch, inclusive.
+     * @return A cursor before the first candle of the range.
+     */
+    public Cursor cursor(long from, long to) {
+        Mapping current = mapping;
+        if (to < from) {
+            return Cursor.empty();
+        }
+        int first = lowerBound(current, from);
+        int last = to == Long.MAX_VALUE ? current.size() : lowerBound(current, to + 1);
+        return new Cursor(current.records(), first, last);
+    }
+
+    /**
+     * Appends candles after the last archived candle and makes them visible to new reads once they are on disk.
+     *
+     * @param candles The candles to append, all opening after the last archived candle.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If a candle opens at or before the last archived candle.
+     * @throws IllegalStateException If the archive would exceed {@link #MAX_RECORDS}.
+     */
+    public synchronized void append(CandleSeries candles) throws IOException {
+        if (candles.isEmpty()) {
+            return;
+        }
+        Mapping current = mapping;
+        if (current.size() > 0 && candles.firstOpenTime() <= current.openTime(current.size() - 1)) {
+            throw new IllegalArgumentException("Candles must open after the last archived candle");
+        }
+        if ((long) current.size() + candles.size() > MAX_RECORDS) {
+            throw new IllegalStateException("Candle archive " + file + " is full");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Math.min(candles.size(), WRITE_CHUNK_RECORDS) * RECORD_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        long position = HEADER_SIZE + (long) current.size() * RECORD_SIZE;
+        for (int from = 0; from < candles.size(); from += WRITE_CHUNK_RECORDS) {
+            int to = Math.min(candles.size(), from + WRITE_CHUNK_RECORDS);
+            buffer.clear();
+            for (int i = from; i < to; i++) {
+                buffer.putLong(candles.openTime(i)).putLong(candles.closeTime(i))
+                        .putDouble(candles.open(i)).putDouble(candles.high(i)).putDouble(candles.low(i))
+                        .putDouble(candles.close(i)).putDouble(candles.volume(i)).putDouble(candles.quoteAssetVolume(i))
+                        .putLong(candles.numberOfTrades(i)).putDouble(candles.takerBuyBaseAssetVolume(i))
+                        .putDouble(candles.takerBuyQuoteAssetVolume(i));
+            }
+            buffer.flip();
+            position += writeFully(channel, buffer, position);
+        }
+        channel.force(false);
+        mapping = map(channel, current.size() + candles.size(), current);
+    }
+
+    // Reads through existing cursors and series stay valid, the mappings live until they are garbage collected
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Forward-only view of a range of records. The getters read the current record, which {@link #next()}
+     * advances to. Not thread safe.
+     */
+    public static final class Cursor {
+        private final ByteBuffer records;
+        private final int end;
+        private int position;
+
+        private Cursor(ByteBuffer records, int first, int last) {
+            this.records = records;
+            this.end = last * RECORD_SIZE;
+            this.position = first * RECORD_SIZE - RECORD_SIZE;
+        }
+
+        static Cursor empty() {
+            return new Cursor(ByteBuffer.allocate(0), 0, 0);
+        }
+
+        // Moves to the next candle of the range, false once the range is exhausted
+        public boolean next() {
+            if (position + RECORD_SIZE >= end) {
+                position = end;
+                return false;
+            }
+            position += RECORD_SIZE;
+            return true;
+        }
+
+        public long openTime() {
+            return records.getLong(position + OPEN_TIME);
+        }
+
+        public long closeTime() {
+            return records.getLong(position + CLOSE_TIME);
+        }
+
+        public double open() {
+            return records.getDouble(position + OPEN);
+        }
+
+        public double high() {
+            return records.getDouble(position + HIGH);
+        }
+
+        public double low() {
+            return records.getDouble(position + LOW);
+        }
+
+        public double close() {
+            return records.getDouble(position + CLOSE);
+        }
+
+        public double volume() {
+            return records.getDouble(position + VOLUME);
+        }
+
+        public double quoteAssetVolume() {
+            return records.getDouble(position + QUOTE_ASSET_VOLUME);
+        }
+
+        public long numberOfTrades() {
+            return records.getLong(position + NUMBER_OF_TRADES);
+        }
+
+        public double takerBuyBaseAssetVolume() {
+            return records.getDouble(position + TAKER_BUY_BASE_ASSET_VOLUME);
+        }
+
+        public double takerBuyQuoteAssetVolume() {
+            return records.getDouble(position + TAKER_BUY_QUOTE_ASSET_VOLUME);
+        }
+    }
+
+    // Position of the first record opening at or after the given time, size if there is none
+    private static int lowerBound(Mapping mapping, long time) {
+        long[] index = mapping.index();
+        int low = 0;
+        int high = index.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (index[middle] < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        // The record sits in the stride before the first index entry at or after the time
+        int from = low == 0 ? 0 : (low - 1) * INDEX_STRIDE;
+        int to = low == index.length ? mapping.size() : low * INDEX_STRIDE;
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (mapping.openTime(middle) < time) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    // Maps the records; the index entries of a previous mapping stay valid as records are only appended
+    private static Mapping map(FileChannel channel, int size, Mapping previous) throws IOException {
+        ByteBuffer records = size == 0 ? ByteBuffer.allocate(0)
+                : channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, (long) size * RECORD_SIZE);
+        records.order(ByteOrder.LITTLE_ENDIAN);
+        int known = previous == null ? 0 : previous.index().length;
+        long[] index = previous == null ? new long[0] : previous.index();
+        index = Arrays.copyOf(index, (size + INDEX_STRIDE - 1) / INDEX_STRIDE);
+        for (int entry = known; entry < index.length; entry++) {
+            index[entry] = records.getLong(entry * INDEX_STRIDE * RECORD_SIZE + OPEN_TIME);
+        }
+        return new Mapping(records, size, index);
+    }
+
+    private static void checkHeader(Path file, FileChannel channel, long length) throws IOException {
+        if (length < HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a candle archive: " + file);
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IllegalArgumentException("Not a candle archive: " + file);
+            }
+        }
+        header.flip();
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new IllegalArgumentException("Not a candle archive: " + file);
+        }
+        int version = header.getInt();
+        int recordSize = header.getInt();
+        if (version != VERSION || recordSize != RECORD_SIZE) {
+            throw new IllegalArgumentException("Unsupported candle archive version " + version + " of " + file);
+        }
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.archive;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleArchiveProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.repository.CandlestickRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Moves closed months of candles out of candlestick_data into the local archive. A month is appended to the
+ * archive and then deleted from the database, so a reader that queries the database before the archive always
+ * finds it in one of them. Months are moved oldest first, starting with the month of the last archived candle:
+ * candles stored there after it was moved, e.g. by a backfill, are appended or, if they fill gaps before the
+ * last archived candle, left in the database, where reads merge them with the archive.
+ */
+@Component
+public class CandleArchiveCompactor {
+    private static final Logger logger = LoggerFactory.getLogger(CandleArchiveCompactor.class);
+
+    private final CandlestickRepository candlestickRepository;
+    private final CandleArchiveStore candleArchiveStore;
+    private final CandleArchiveProperties properties;
+
+    public CandleArchiveCompactor(CandlestickRepository candlestickRepository, CandleArchiveStore candleArchiveStore,
+                                  CandleArchiveProperties properties) {
+        this.candlestickRepository = candlestickRepository;
+        this.candleArchiveStore = candleArchiveStore;
+        this.properties = properties;
+    }
+
+    // Runs daily after the partition maintenance; only the first run of a month finds a month to move
+    @Scheduled(cron = "${candlestick.archive.cron:0 30 0 * * *}", zone = "UTC")
+    public void compact() {
+        if (properties.isEnabled()) {
+            compact(Instant.now());
+        }
+    }
+
+    /**
+     * Moves the months that ended more than the configured number of months before now.
+     *
+     * @param now The current time.
+     * @return The number of candles moved.
+     */
+    long compact(Instant now) {
+        LocalDate cutoff = now.atOffset(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1).minusMonths(properties.getKeepMonths());
+        long moved = 0;
+        for (CandlestickInterval interval : properties.getIntervals()) {
+            List<String> symbols;
+            try {
+                symbols = candlestickRepository.findSymbols(interval);
+            } catch (DataAccessException e) {
+                logger.error("Archive compaction failed for interval {}", interval, e);
+                continue;
+            }
+            for (String symbol : symbols) {
+                try {
+                    moved += compact(symbol, interval, cutoff);
+                } catch (DataAccessException | UncheckedIOException | IllegalArgumentException e) {
+                    logger.error("Archive compaction failed for {} {}", symbol, interval, e);
+                }
+            }
+        }
+        return moved;
+    }
+
+    // Moves the months of one symbol that start before the cutoff
+    private long compact(String symbol, CandlestickInterval interval, LocalDate cutoff) {
+        long archivedUpTo = candleArchiveStore.lastOpenTime(symbol, interval);
+        LocalDate month;
+        if (archivedUpTo == Long.MIN_VALUE) {
+            OptionalLong first = candlestickRepository.findFirstOpenTime(symbol, interval);
+            if (first.isEmpty()) {
+                return 0;
+            }
+            month = monthOf(first.getAsLong());
+        } else {
+            month = monthOf(archivedUpTo);
+        }
+        long moved = 0;
+        for (; month.isBefore(cutoff); month = month.plusMonths(1)) {
+            long from = toMillis(month);
+            long to = toMillis(month.plusMonths(1)) - 1;
+            CandleSeries stored = candlestickRepository.findSeries(symbol, interval, from, to);
+            if (stored.isEmpty()) {
+                continue;
+            }
+            long lastArchived = candleArchiveStore.lastOpenTime(symbol, interval);
+            CandleSeries older = stored.sliceByOpenTime(from, lastArchived);
+            if (!containsOpenTimes(candleArchiveStore.read(symbol, interval, from, lastArchived), older)) {
+                logger.info("Keeping the {} {} candles of {} in the database, they fill gaps of the archive", symbol, interval, month);
+                continue;
+            }
+            CandleSeries newer = stored.sliceByOpenTime(Math.max(from, lastArchived + 1), to);
+            candleArchiveStore.append(symbol, interval, newer);
+            // A candle stored for this month while it was moved is deleted with it and fetched again when read
+            int deleted = candlestickRepository.deleteSeries(symbol, interval, from, to);
+            moved += newer.size();
+            logger.info("Moved {} {} {} candles of {} to the archive, deleted {} from the database", newer.size(), symbol,
+                    interval, month, deleted);
+        }
+        return moved;
+    }
+
+    // Whether every open time of candles is also in archived; both are sorted
+    private static boolean containsOpenTimes(CandleSeries archived, CandleSeries candles) {
+        int j = 0;
+        for (int i = 0; i < candles.size(); i++) {
+            long openTime = candles.openTime(i);
+            while (j < archived.size() && archived.openTime(j) < openTime) {
+                j++;
+            }
+            if (j == archived.size() || archived.openTime(j) != openTime) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LocalDate monthOf(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atOffset(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1);
+    }
+
+    private static long toMillis(LocalDate date) {
+        return date.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
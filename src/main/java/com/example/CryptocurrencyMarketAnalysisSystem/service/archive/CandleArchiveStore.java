@@ -0,0 +1,189 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.archive;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleArchiveProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * The candle archives of all symbols, one {@link CandleArchive} per (symbol, interval) at
+ * {@code <directory>/<INTERVAL>/<SYMBOL>.cnda}. Files are opened on first use and stay open; reads of a symbol
+ * without a file find no candles.
+ */
+@Component
+public class CandleArchiveStore implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(CandleArchiveStore.class);
+
+    // Symbols become file names, so anything but a plain Binance symbol is refused; such symbols have no archive
+    private static final Pattern SYMBOL = Pattern.compile("[A-Z0-9]{1,32}");
+
+    private final Path directory;
+    private final Set<CandlestickInterval> intervals;
+    private final Map<ArchiveKey, CandleArchive> archives = new ConcurrentHashMap<>();
+
+    private final LongAdder readCandles = new LongAdder();
+    private final LongAdder appendedCandles = new LongAdder();
+
+    private record ArchiveKey(String symbol, CandlestickInterval interval) {
+    }
+
+    @Autowired
+    public CandleArchiveStore(CandleArchiveProperties properties) {
+        this.directory = Paths.get(properties.getDirectory());
+        this.intervals = EnumSet.noneOf(CandlestickInterval.class);
+        if (properties.isEnabled()) {
+            intervals.addAll(properties.getIntervals());
+        }
+    }
+
+    // Archives nothing, e.g. for a data service that only reads the database
+    public static CandleArchiveStore disabled() {
+        CandleArchiveProperties properties = new CandleArchiveProperties();
+        properties.setEnabled(false);
+        return new CandleArchiveStore(properties);
+    }
+
+    public boolean isArchived(CandlestickInterval interval) {
+        return intervals.contains(interval);
+    }
+
+    /**
+     * Reads the archived candles opening between from and to inclusive.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param from The first open time in milliseconds since epoch.
+     * @param to The last open time in milliseconds since epoch, inclusive.
+     * @return The candles sorted by open time; empty if the interval is not archived.
+     */
+    public CandleSeries read(String symbol, CandlestickInterval interval, long from, long to) {
+        CandleArchive archive = find(symbol, interval, false);
+        if (archive == null) {
+            return CandleSeries.empty();
+        }
+        CandleSeries candles = archive.read(from, to);
+        readCandles.add(candles.size());
+        return candles;
+    }
+
+    // Cursor over the archived candles opening between from and to inclusive, for scans that keep no series
+    public CandleArchive.Cursor cursor(String symbol, CandlestickInterval interval, long from, long to) {
+        CandleArchive archive = find(symbol, interval, false);
+        return archive == null ? CandleArchive.Cursor.empty() : archive.cursor(from, to);
+    }
+
+    // Open time of the last archived candle, Long.MIN_VALUE if none is archived
+    public long lastOpenTime(String symbol, CandlestickInterval interval) {
+        CandleArchive archive = find(symbol, interval, false);
+        return archive == null ? Long.MIN_VALUE : archive.lastOpenTime();
+    }
+
+    /**
+     * Appends candles to the archive of a symbol and interval, creating its file if needed.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval An archived interval.
+     * @param candles The candles to append, all opening after the last archived candle.
+     */
+    public void append(String symbol, CandlestickInterval interval, CandleSeries candles) {
+        if (!isArchived(interval)) {
+            throw new IllegalArgumentException(interval + " is not archived");
+        }
+        if (candles.isEmpty()) {
+            return;
+        }
+        try {
+            find(symbol, interval, true).append(candles);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the archive of " + symbol + " " + interval, e);
+        }
+        appendedCandles.add(candles.size());
+    }
+
+    public int getArchiveCount() {
+        return archives.size();
+    }
+
+    public long getReadCandleCount() {
+        return readCandles.sum();
+    }
+
+    public long getAppendedCandleCount() {
+        return appendedCandles.sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        archives.values().forEach(archive -> {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                logger.warn("Could not close candle archive {}", archive.getFile(), e);
+            }
+        });
+        archives.clear();
+    }
+
+    // Returns the open archive, opening its file if it exists or create is set; null for intervals not archived
+    private CandleArchive find(String symbol, CandlestickInterval interval, boolean create) {
+        if (!isArchived(interval)) {
+            return null;
+        }
+        if (!SYMBOL.matcher(symbol).matches()) {
+            if (create) {
+                throw new IllegalArgumentException("Invalid symbol: " + symbol);
+            }
+            return null;
+        }
+        ArchiveKey key = new ArchiveKey(symbol, interval);
+        CandleArchive archive = archives.get(key);
+        if (archive != null) {
+            return archive;
+        }
+        Path file = directory.resolve(interval.name()).resolve(symbol + ".cnda");
+        if (!create && !Files.exists(file)) {
+            return null;
+        }
+        return archives.computeIfAbsent(key, k -> {
+            try {
+                Files.createDirectories(file.getParent());
+                logger.info("Opening candle archive {}", file);
+                return CandleArchive.open(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open candle archive " + file, e);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("candlestick.archive.read", readCandles, LongAdder::sum)
+                .description("Candles read from the local archive")
+                .register(registry);
+        FunctionCounter.builder("candlestick.archive.appended", appendedCandles, LongAdder::sum)
+                .description("Candles moved from the database to the local archive")
+                .register(registry);
+        Gauge.builder("candlestick.archive.files", archives, Map::size)
+                .register(registry);
+    }
+}
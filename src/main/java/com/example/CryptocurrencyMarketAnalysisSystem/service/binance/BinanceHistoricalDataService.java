@@ -1,54 +1,124 @@
 package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
 
-import com.binance.api.client.BinanceApiClientFactory;
-import com.binance.api.client.BinanceApiRestClient;
 import com.binance.api.client.domain.market.Candlestick;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.BinanceGatewayProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
 import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.SingleFlight;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics.IngestionTracer;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.CandlestickGapDetector;
 import com.example.CryptocurrencyMarketAnalysisSystem.util.CandlestickWrapper;
 import com.example.CryptocurrencyMarketAnalysisSystem.util.DateUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
-public class BinanceHistoricalDataService {
+public class BinanceHistoricalDataService implements MeterBinder {
      static final Logger logger = LoggerFactory.getLogger(BinanceHistoricalDataService.class);
 
 
      static final int MAX_CANDLESTICKS_PER_REQUEST = 1000;
-     static final int MAX_REQUESTS_PER_MINUTE = 6000;
-     int requestCount = 0;
-     final BinanceApiRestClient binanceApiClient;
+     final BinanceMarketDataClient binanceApiClient;
      final CandlestickDataService candlestickDataService;
+     final CandlestickBackfillExecutor backfillExecutor;
+     final BinanceRequestWeightLimiter requestWeightLimiter;
+     final IngestionTracer ingestionTracer;
+     final LongSupplier clock;
+     // Concurrent requests for the same window share one read, overlapping ones the pages they both miss
+     final SingleFlight<HistoryRequest, CandleSeries> requests = new SingleFlight<>();
+     final CandlestickPageCoalescer pageCoalescer = new CandlestickPageCoalescer();
+
+    private record HistoryRequest(String symbol, CandlestickInterval interval, long startTime, long endTime) {
+    }
 
-    @Autowired
+    // Fetches missing pages one after another on the calling thread with a private request-weight limiter and gateway
     public BinanceHistoricalDataService(CandlestickDataService candlestickDataService) {
-        BinanceApiClientFactory factory = BinanceApiClientFactory.newInstance();
-        this.binanceApiClient = factory.newRestClient();
+        this(candlestickDataService, new BinanceRequestWeightLimiter(6000, Duration.ofSeconds(2)));
+    }
+
+    private BinanceHistoricalDataService(CandlestickDataService candlestickDataService, BinanceRequestWeightLimiter requestWeightLimiter) {
+        this(candlestickDataService, new CandlestickBackfillExecutor(Runnable::run, CandlestickBackfillExecutor.KLINES_REQUEST_WEIGHT),
+                requestWeightLimiter, new BinanceMarketDataGateway(new BinanceGatewayProperties(), requestWeightLimiter).blockingClient());
+    }
+
+    @Autowired
+    public BinanceHistoricalDataService(CandlestickDataService candlestickDataService, CandlestickBackfillExecutor backfillExecutor,
+                                        BinanceRequestWeightLimiter requestWeightLimiter, BinanceMarketDataClient binanceApiClient) {
+        this(candlestickDataService, backfillExecutor, requestWeightLimiter, binanceApiClient, IngestionTracer.disabled());
+    }
+
+    public BinanceHistoricalDataService(CandlestickDataService candlestickDataService, CandlestickBackfillExecutor backfillExecutor,
+                                        BinanceRequestWeightLimiter requestWeightLimiter, BinanceMarketDataClient binanceApiClient,
+                                        IngestionTracer ingestionTracer) {
+        this(candlestickDataService, backfillExecutor, requestWeightLimiter, binanceApiClient, ingestionTracer, System::currentTimeMillis);
+    }
+
+    BinanceHistoricalDataService(CandlestickDataService candlestickDataService, CandlestickBackfillExecutor backfillExecutor,
+                                 BinanceRequestWeightLimiter requestWeightLimiter, BinanceMarketDataClient binanceApiClient,
+                                 IngestionTracer ingestionTracer, LongSupplier clock) {
+        this.binanceApiClient = binanceApiClient;
         this.candlestickDataService = candlestickDataService;
+        this.backfillExecutor = backfillExecutor;
+        this.requestWeightLimiter = requestWeightLimiter;
+        this.ingestionTracer = ingestionTracer;
+        this.clock = clock;
     }
 
     /**
      * Retrieves historical candlestick data for the specified symbol and interval.
-     * This method fetches existing candlesticks from the database, identifies missing candlesticks,
-     * and retrieves them from the Binance API. It ensures that all missing candlesticks are fetched
-     * and stored in the database.
+     * Converts the columnar result of {@link #getHistoricalCandleSeries} back into Binance candlesticks,
+     * so it is meant for callers at the edge of the application only.
      *
      * @param symbol The trading pair symbol (e.g., BTCUSDT).
      * @param interval The candlestick interval (e.g., ONE_MINUTE, FIVE_MINUTES).
      * @param startTime The start time of the data in milliseconds since epoch.
      * @param endTime The end time of the data in milliseconds since epoch.
-     * @return A list of Candlestick objects with the requested data.
+     * @return A list of Candlestick objects with the requested data, sorted by open time.
      */
     public List<Candlestick> getHistoricalCandlestickData(String symbol, CandlestickInterval interval, Long startTime, Long endTime) {
+        return getHistoricalCandleSeries(symbol, interval, startTime, endTime).toCandlesticks();
+    }
+
+    /**
+     * Retrieves historical candles for the specified symbol and interval in columnar form.
+     * This method reads the existing candles from the database, identifies the missing ranges,
+     * derives what it can of them from stored ONE_MINUTE candles, and retrieves the rest from the Binance API
+     * one page per range, fetching the pages concurrently. Every page is stored in the database as soon as it arrives.
+     * Only closed candles are fetched: the candle still open would be stored with partial values that the
+     * insert-if-absent writes never correct, so it is left to the kline stream.
+     * Callers asking for the same window while it is being read wait for that read; callers whose missing ranges
+     * overlap pages another request is fetching wait for those pages and fetch only the rest.
+     *
+     * @param symbol The trading pair symbol (e.g., BTCUSDT).
+     * @param interval The candlestick interval (e.g., ONE_MINUTE, FIVE_MINUTES).
+     * @param startTime The start time of the data in milliseconds since epoch.
+     * @param endTime The end time of the data in milliseconds since epoch.
+     * @return The stored and fetched candles, sorted by open time.
+     */
+    public CandleSeries getHistoricalCandleSeries(String symbol, CandlestickInterval interval, long startTime, long endTime) {
+        return requests.execute(new HistoryRequest(symbol, interval, startTime, endTime),
+                () -> loadHistoricalCandleSeries(symbol, interval, startTime, endTime));
+    }
+
+    // Reads the stored window, derives or fetches what is missing and merges it all
+    private CandleSeries loadHistoricalCandleSeries(String symbol, CandlestickInterval interval, long startTime, long endTime) {
         Instant startInstant = Instant.ofEpochMilli(startTime);
         Instant endInstant = Instant.ofEpochMilli(endTime);
         validateTimeRange(startInstant, endInstant);
@@ -56,15 +126,23 @@ public class BinanceHistoricalDataService {
         ZonedDateTime startDateTime = DateUtils.convertMillisToUtcZonedDateTime(startTime);
         ZonedDateTime endDateTime = DateUtils.convertMillisToUtcZonedDateTime(endTime);
 
-        Set<CandlestickWrapper> allCandlesticksSet = fetchExistingCandlesticks(symbol, startDateTime, endDateTime, interval);
-        List<Candlestick> missingCandlesticks = findMissingCandlesticks(allCandlesticksSet, startDateTime, endDateTime, interval);
-        Set<Long> processedStartTimes = new HashSet<>();
+        CandleSeries existing = candlestickDataService.getCandleSeries(symbol, startDateTime, endDateTime, interval);
+        // Backfill stops before the candle that is still open
+        long closedEndTime = Math.min(endTime, getOpenCandleOpenTime(interval));
+        if (closedEndTime <= startTime) {
+            return existing;
+        }
+        List<TimeRange> missingRanges = findMissingRanges(existing, startTime, closedEndTime, interval);
 
-        while (!missingCandlesticks.isEmpty()) {
-            missingCandlesticks = processMissingCandlesticks(symbol, interval, startTime, endTime, missingCandlesticks, processedStartTimes, startDateTime, endDateTime, allCandlesticksSet);
+        // Higher intervals are rolled up from stored one minute candles where those cover the missing ranges
+        CandleSeries derived = candlestickDataService.deriveCandleSeries(symbol, interval, missingRanges);
+        if (!derived.isEmpty()) {
+            existing = CandleSeries.merge(List.of(existing, derived));
+            missingRanges = findMissingRanges(existing, startTime, closedEndTime, interval);
         }
 
-        return allCandlesticksSet.stream().map(CandlestickWrapper::candlestick).collect(Collectors.toList());
+        CandleSeries fetched = backfillMissingRanges(symbol, interval, missingRanges);
+        return fetched.isEmpty() ? existing : CandleSeries.merge(List.of(existing, fetched));
     }
 
     /**
@@ -82,97 +160,66 @@ public class BinanceHistoricalDataService {
     }
 
     /**
-     * Fetches existing candlesticks from the database for the specified symbol, time range, and interval.
+     * Fetches all missing ranges from the API concurrently and stores each page in the database as it arrives.
+     * Every range covers at most {@link #MAX_CANDLESTICKS_PER_REQUEST} candles, so one request per range is enough.
+     * Parts of the ranges that a concurrent request is already fetching are awaited rather than fetched again.
      *
      * @param symbol The trading pair symbol.
-     * @param startDateTime The start time as a ZonedDateTime.
-     * @param endDateTime The end time as a ZonedDateTime.
      * @param interval The candlestick interval.
-     * @return A set of CandlestickWrapper objects containing the existing candlestick data.
+     * @param missingRanges The missing ranges as [from, to) in milliseconds since epoch.
+     * @return The candles fetched from the API.
      */
-     Set<CandlestickWrapper> fetchExistingCandlesticks(String symbol, ZonedDateTime startDateTime, ZonedDateTime endDateTime, CandlestickInterval interval) {
-        Set<CandlestickWrapper> allCandlesticksSet = new HashSet<>();
-        logger.info("fetchExistingCandlesticks symbol: {}, startDateTime: {}, endDateTime: {}, interval: {}", symbol, startDateTime, endDateTime, interval);
-        List<Candlestick> existingCandlesticks = candlestickDataService.getCandlestickData(symbol, startDateTime, endDateTime, interval);
-        logger.info("Fetched candlesticks by fetchExistingCandlesticks: " + existingCandlesticks);
-        for (Candlestick candlestick : existingCandlesticks) {
-            allCandlesticksSet.add(new CandlestickWrapper(candlestick));
-        }
-        return allCandlesticksSet;
+    CandleSeries backfillMissingRanges(String symbol, CandlestickInterval interval, List<TimeRange> missingRanges) {
+        return pageCoalescer.backfill(symbol, interval, alignRangeEnds(missingRanges, interval),
+                range -> {
+                    // The API treats endTime as inclusive, the range end is exclusive
+                    List<Candlestick> page = fetchCandlesticksFromApi(symbol, interval, range.from(), range.to() - 1);
+                    validateCandlestickOrder(page);
+                    // The Binance candlesticks stop here, everything downstream works on columns
+                    return CandleSeries.fromCandlesticks(page);
+                },
+                (ranges, pageLoader) -> backfillExecutor.backfill(ranges, pageLoader,
+                        page -> saveCandlesticksToDatabase(symbol, page, interval)));
     }
 
-    /**
-     * Processes the list of missing candlesticks by fetching them from the API and updating the database.
-     *
-     * @param symbol The trading pair symbol.
-     * @param interval The candlestick interval.
-     * @param startTime The start time of the data in milliseconds since epoch.
-     * @param endTime The end time of the data in milliseconds since epoch.
-     * @param missingCandlesticks The list of missing candlesticks.
-     * @param processedStartTimes The set of start times that have been processed.
-     * @param startDateTime The start time as a ZonedDateTime.
-     * @param endDateTime The end time as a ZonedDateTime.
-     * @param allCandlesticksSet The set of all candlesticks.
-     * @return The updated list of missing candlesticks after processing.
-     */
-     List<Candlestick> processMissingCandlesticks(String symbol, CandlestickInterval interval, Long startTime, Long endTime, List<Candlestick> missingCandlesticks, Set<Long> processedStartTimes, ZonedDateTime startDateTime, ZonedDateTime endDateTime, Set<CandlestickWrapper> allCandlesticksSet) {
-        Long missingStartTime = missingCandlesticks.get(0).getOpenTime();
-        if (processedStartTimes.contains(missingStartTime)) {
-            logger.warn("Start time {} has already been processed, breaking out of the loop", missingStartTime);
-            return Collections.emptyList();
+    // Moves range ends up to the next open time, which covers the same candles but lets ranges of different
+    // requests be cut against each other without leaving remainders that hold no candle
+    List<TimeRange> alignRangeEnds(List<TimeRange> ranges, CandlestickInterval interval) {
+        if (interval == CandlestickInterval.MONTHLY) {
+            // Monthly ranges are built from whole calendar months already
+            return ranges;
         }
-        processedStartTimes.add(missingStartTime);
-
-        Long missingEndTime = Math.min(missingStartTime + MAX_CANDLESTICKS_PER_REQUEST * getCandlestickIntervalMillis(interval), endTime);
-
-        if (requestCount >= MAX_REQUESTS_PER_MINUTE) {
-            waitForApiLimitReset();
-            requestCount = 0;
+        long intervalMillis = getCandlestickIntervalMillis(interval);
+        long offset = getCandlestickAlignmentOffsetMillis(interval);
+        List<TimeRange> aligned = new ArrayList<>(ranges.size());
+        for (TimeRange range : ranges) {
+            long remainder = Math.floorMod(range.to() - offset, intervalMillis);
+            aligned.add(remainder == 0 ? range : new TimeRange(range.from(), range.to() - remainder + intervalMillis));
         }
-
-        logger.info("Fetching candlesticks from API: symbol={}, interval={}, start={}, end={}",
-                 symbol, interval, missingStartTime, missingEndTime);
-        List<Candlestick> candlesticksFromApi = fetchCandlesticksFromApi(symbol, interval, missingStartTime, missingEndTime);
-        if (candlesticksFromApi.isEmpty()) {
-            logger.warn("No candlesticks returned from API, breaking out of the loop");
-            return Collections.emptyList();
-        }
-
-        logger.info("Validating candlestick order for symbol={}, interval={}", symbol, interval);
-        validateCandlestickOrder(candlesticksFromApi);
-
-        logger.info("Saving candlesticks to database: symbol={}, interval={}", symbol, interval);
-        saveCandlesticksToDatabase(symbol, candlesticksFromApi, interval);
-
-        logger.info("Updating candlestick set: symbol={}, startDateTime={}, endDateTime={}, interval={}",
-                 symbol, startDateTime, endDateTime, interval);
-        List<Candlestick> newMissingCandlesticks = updateCandlestickSet(symbol, startDateTime, endDateTime, interval, allCandlesticksSet);
-        if (newMissingCandlesticks.isEmpty() || newMissingCandlesticks.equals(missingCandlesticks)) {
-            logger.warn("No progress in fetching missing candlesticks, breaking out of the loop");
-            return Collections.emptyList();
-        }
-
-        return newMissingCandlesticks;
+        return aligned;
     }
 
     /**
      * Fetches candlesticks from the Binance API for the specified symbol, interval, and time range.
+     * The request is traced as a page of the fetch stage, with a sample of its candles logged at DEBUG.
      *
      * @param symbol The trading pair symbol.
      * @param interval The candlestick interval.
      * @param missingStartTime The start time of the missing candlesticks in milliseconds since epoch.
      * @param missingEndTime The end time of the missing candlesticks in milliseconds since epoch.
      * @return A list of Candlestick objects retrieved from the API.
+     * @throws IllegalStateException If the request weight is not available in time.
      */
      List<Candlestick> fetchCandlesticksFromApi(String symbol, CandlestickInterval interval, Long missingStartTime, Long missingEndTime) {
-         logger.info("Fetching missing candlesticks from {} to {}", missingStartTime, missingEndTime);
-         List<Candlestick> candlesticksFromApi = binanceApiClient.getCandlestickBars(symbol, interval, MAX_CANDLESTICKS_PER_REQUEST, missingStartTime, missingEndTime);
-         requestCount += MAX_CANDLESTICKS_PER_REQUEST;
-         logger.info("Candlesticks fetched from API: {}", candlesticksFromApi.size());
-
-         candlesticksFromApi.forEach(c -> logger.info("Fetched candlestick from API: openTime={}, closeTime={}", c.getOpenTime(), c.getCloseTime()));
-
-         return candlesticksFromApi;
+         requestWeightLimiter.acquire(BinanceRequestWeightLimiter.KLINES_WEIGHT);
+         // The end time of the request is inclusive, the span covers open times up to the one after it
+         try (IngestionTracer.Span span = ingestionTracer.start(IngestionTracer.Stage.FETCH, symbol, interval,
+                 missingStartTime, missingEndTime + 1)) {
+             List<Candlestick> candlesticksFromApi = binanceApiClient.getCandlestickBars(symbol, interval, MAX_CANDLESTICKS_PER_REQUEST, missingStartTime, missingEndTime);
+             span.sampleCandles(candlesticksFromApi.size(), candlesticksFromApi::get);
+             span.completed(candlesticksFromApi.size());
+             return candlesticksFromApi;
+         }
     }
 
     /**
@@ -193,47 +240,15 @@ public class BinanceHistoricalDataService {
     }
 
     /**
-     * Saves the candlesticks to the database if they do not already exist.
+     * Saves the candles to the database in one batched write; candles that already exist are skipped
+     * by the unique key on (symbol, interval, open time).
      *
      * @param symbol The trading pair symbol.
-     * @param candlesticksFromApi The list of candlesticks to save.
+     * @param candlesFromApi The page of candles to save.
      * @param interval The candlestick interval.
      */
-     void saveCandlesticksToDatabase(String symbol, List<Candlestick> candlesticksFromApi, CandlestickInterval interval) {
-        for (Candlestick candlestick : candlesticksFromApi) {
-            ZonedDateTime openTime = DateUtils.convertMillisToUtcZonedDateTime(candlestick.getOpenTime());
-            ZonedDateTime closeTime = DateUtils.convertMillisToUtcZonedDateTime(candlestick.getCloseTime());
-            logger.info("Candlestick to be processed: {},CandlestickInterval {}", candlestick, interval);
-
-            boolean exists = candlestickDataService.existsBySymbolAndOpenTime(symbol, openTime, closeTime, interval);
-            logger.info("Checking if candlestick exists: {}", exists);
-
-            if (!exists) {
-                candlestickDataService.saveCandlestickData(symbol, candlestick, interval);
-                logger.info("Saving new candlestick to database: {}", candlestick);
-            } else {
-                logger.info("Candlestick already exists in database: {}", candlestick);
-            }
-        }
-    }
-
-    /**
-     * Updates the set of all candlesticks by fetching the latest data from the database and finding missing candlesticks.
-     *
-     * @param symbol The trading pair symbol.
-     * @param startDateTime The start time as a ZonedDateTime.
-     * @param endDateTime The end time as a ZonedDateTime.
-     * @param interval The candlestick interval.
-     * @param allCandlesticksSet The set of all candlesticks to update.
-     * @return A list of missing candlesticks after updating.
-     */
-     List<Candlestick> updateCandlestickSet(String symbol, ZonedDateTime startDateTime, ZonedDateTime endDateTime, CandlestickInterval interval, Set<CandlestickWrapper> allCandlesticksSet) {
-        List<Candlestick> existingCandlesticks = candlestickDataService.getCandlestickData(symbol, startDateTime, endDateTime, interval);
-        allCandlesticksSet.clear();
-        for (Candlestick candlestick : existingCandlesticks) {
-            allCandlesticksSet.add(new CandlestickWrapper(candlestick));
-        }
-        return findMissingCandlesticks(allCandlesticksSet, startDateTime, endDateTime, interval);
+     void saveCandlesticksToDatabase(String symbol, CandleSeries candlesFromApi, CandlestickInterval interval) {
+        candlestickDataService.saveCandleSeries(symbol, candlesFromApi, interval);
     }
 
     //Adjusts the given time for the specified interval
@@ -257,24 +272,6 @@ public class BinanceHistoricalDataService {
         };
     }
 
-    //Waits for the API limit to reset by sleeping the thread for one minute
-    void waitForApiLimitReset() {
-        long currentTimeMillis = System.currentTimeMillis();
-        long millisUntilNextMinute = 60000 - (currentTimeMillis % 60000);
-
-        logger.info("Waiting for {} milliseconds until the next minute", millisUntilNextMinute);
-        try {
-            sleep(millisUntilNextMinute);
-        } catch (InterruptedException e) {
-            logger.error("Wait for API limit reset interrupted", e);
-            Thread.currentThread().interrupt();
-        }
-    }
-
-    void sleep(long millis) throws InterruptedException {
-        Thread.sleep(millis);
-    }
-
     //Finds missing candlesticks within the given date range and interval that are not present in the provided set
     public List<Candlestick> findMissingCandlesticks(Set<CandlestickWrapper> allCandlesticksSet, ZonedDateTime startDateTime, ZonedDateTime endDateTime, CandlestickInterval interval) {
         List<Candlestick> missingCandlesticks = new ArrayList<>();
@@ -283,12 +280,10 @@ public class BinanceHistoricalDataService {
                 .map(c -> DateUtils.convertMillisToUtcZonedDateTime(c.getCandlestick().getOpenTime()))
                 .collect(Collectors.toSet());
 
-        logger.info("Start date-time: {}", startDateTime);
-        logger.info("End date-time: {}", endDateTime);
-        logger.info("Existing open times: {}", existingOpenTimes);
+        logger.debug("Finding missing {} candlesticks from {} to {} among {} existing", interval, startDateTime, endDateTime,
+                existingOpenTimes.size());
 
         while (currentDateTime.isBefore(endDateTime)) {
-            logger.info("Current date-time: {}", currentDateTime);
             ZonedDateTime currentDateTimeUTC = currentDateTime.withZoneSameInstant(ZoneId.of("UTC"));
             if (!existingOpenTimes.contains(currentDateTimeUTC)) {
                 ZonedDateTime nextDateTime = adjustTimeForInterval(currentDateTime, interval);
@@ -296,35 +291,105 @@ public class BinanceHistoricalDataService {
                 candlestick.setOpenTime(DateUtils.convertZonedDateTimeToMillis(currentDateTimeUTC));
                 candlestick.setCloseTime(DateUtils.convertZonedDateTimeToMillis(nextDateTime.withZoneSameInstant(ZoneId.of("UTC"))) - 1);
                 missingCandlesticks.add(candlestick);
-                logger.info("Missing candlestick added: Candlestick[openTime={}, closeTime={}]", currentDateTime, nextDateTime);
             }
             currentDateTime = adjustTimeForInterval(currentDateTime, interval);
         }
 
-        logger.info("Final list of missing candlesticks: {}", missingCandlesticks.stream()
-                .map(c -> DateUtils.convertMillisToUtcLocalDateTime(c.getOpenTime()))
-                .collect(Collectors.toList()));
+        logger.debug("Found {} missing {} candlesticks", missingCandlesticks.size(), interval);
         return missingCandlesticks;
     }
 
+    /**
+     * Finds the missing ranges within [startTime, endTime) using interval arithmetic on epoch millis.
+     * Each returned range fits into a single API request of {@link #MAX_CANDLESTICKS_PER_REQUEST} candles.
+     *
+     * @param existing The candles that are already stored.
+     * @param startTime The start time in milliseconds since epoch.
+     * @param endTime The exclusive end time in milliseconds since epoch.
+     * @param interval The candlestick interval.
+     * @return The missing ranges in ascending order.
+     */
+    public List<TimeRange> findMissingRanges(CandleSeries existing, long startTime, long endTime, CandlestickInterval interval) {
+        if (interval == CandlestickInterval.MONTHLY) {
+            // Monthly candles follow calendar months, so the fixed-width arithmetic does not apply
+            Set<CandlestickWrapper> allCandlesticksSet = existing.toCandlesticks().stream()
+                    .map(CandlestickWrapper::new)
+                    .collect(Collectors.toSet());
+            return toMissingRanges(findMissingCandlesticks(allCandlesticksSet,
+                    DateUtils.convertMillisToUtcZonedDateTime(startTime), DateUtils.convertMillisToUtcZonedDateTime(endTime), interval));
+        }
+
+        // The gap detector sorts in place, so it gets its own copy of the open time column
+        long[] openTimes = existing.openTimes();
+        List<TimeRange> missingRanges = CandlestickGapDetector.findMissingRanges(openTimes, openTimes.length, startTime, endTime,
+                getCandlestickIntervalMillis(interval), getCandlestickAlignmentOffsetMillis(interval), MAX_CANDLESTICKS_PER_REQUEST);
+        logger.debug("Found {} missing ranges between {} and {} for interval {}", missingRanges.size(), startTime, endTime, interval);
+        return missingRanges;
+    }
+
+    // Merges consecutive placeholder candlesticks into ranges of at most one API page
+    List<TimeRange> toMissingRanges(List<Candlestick> missingCandlesticks) {
+        List<TimeRange> missingRanges = new ArrayList<>();
+        long rangeStart = 0;
+        long rangeEnd = 0;
+        int candlesInRange = 0;
+        for (Candlestick candlestick : missingCandlesticks) {
+            if (candlesInRange > 0 && (candlestick.getOpenTime() != rangeEnd || candlesInRange == MAX_CANDLESTICKS_PER_REQUEST)) {
+                missingRanges.add(new TimeRange(rangeStart, rangeEnd));
+                candlesInRange = 0;
+            }
+            if (candlesInRange == 0) {
+                rangeStart = candlestick.getOpenTime();
+            }
+            rangeEnd = candlestick.getCloseTime() + 1;
+            candlesInRange++;
+        }
+        if (candlesInRange > 0) {
+            missingRanges.add(new TimeRange(rangeStart, rangeEnd));
+        }
+        return missingRanges;
+    }
+
+    // Returns the open time of the candle of the interval that is open now
+    long getOpenCandleOpenTime(CandlestickInterval interval) {
+        long now = clock.getAsLong();
+        if (interval == CandlestickInterval.MONTHLY) {
+            return Instant.ofEpochMilli(now).atZone(ZoneOffset.UTC).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS)
+                    .toInstant().toEpochMilli();
+        }
+        long intervalMillis = getCandlestickIntervalMillis(interval);
+        long offset = getCandlestickAlignmentOffsetMillis(interval);
+        return Math.floorDiv(now - offset, intervalMillis) * intervalMillis + offset;
+    }
+
+    // Returns the offset from the epoch at which candles of the interval open
+    long getCandlestickAlignmentOffsetMillis(CandlestickInterval interval) {
+        // The epoch is a Thursday, weekly candles open on Monday 00:00 UTC
+        return interval == CandlestickInterval.WEEKLY ? 4 * 24 * 60 * 60000L : 0L;
+    }
+
     // Returns the interval duration in milliseconds
-    long getCandlestickIntervalMillis(CandlestickInterval interval) {
-        return switch (interval) {
-            case ONE_MINUTE -> 60000L;
-            case THREE_MINUTES -> 3 * 60000L;
-            case FIVE_MINUTES -> 5 * 60000L;
-            case FIFTEEN_MINUTES -> 15 * 60000L;
-            case HALF_HOURLY -> 30 * 60000L;
-            case HOURLY -> 60 * 60000L;
-            case TWO_HOURLY -> 2 * 60 * 60000L;
-            case FOUR_HOURLY -> 4 * 60 * 60000L;
-            case SIX_HOURLY -> 6 * 60 * 60000L;
-            case EIGHT_HOURLY -> 8 * 60 * 60000L;
-            case TWELVE_HOURLY -> 12 * 60 * 60000L;
-            case DAILY -> 24 * 60 * 60000L;
-            case THREE_DAILY -> 3 * 24 * 60 * 60000L;
-            case WEEKLY -> 7 * 24 * 60 * 60000L;
-            case MONTHLY -> 30 * 24 * 60 * 60000L; // Approximation
-        };
+    public long getCandlestickIntervalMillis(CandlestickInterval interval) {
+        return DateUtils.convertIntervalToMillis(interval);
+    }
+
+    // Number of requests that waited for the same window being read by another
+    public long getCoalescedRequestCount() {
+        return requests.getCoalescedCount();
+    }
+
+    // Number of missing range parts awaited from a concurrent request instead of fetched
+    public long getSharedPageCount() {
+        return pageCoalescer.getSharedPageCount();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("candlestick.history.requests.coalesced", requests, SingleFlight::getCoalescedCount)
+                .description("Historical candle requests that waited for an identical request in flight")
+                .register(registry);
+        FunctionCounter.builder("candlestick.history.pages.shared", pageCoalescer, CandlestickPageCoalescer::getSharedPageCount)
+                .description("Missing candle ranges awaited from an overlapping request instead of fetched")
+                .register(registry);
     }
-}
\ No newline at end of file
+}
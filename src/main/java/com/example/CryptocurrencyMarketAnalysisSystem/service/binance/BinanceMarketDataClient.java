@@ -0,0 +1,43 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.exception.BinanceApiException;
+
+import java.util.List;
+
+/**
+ * The Binance market data endpoints the services call, as blocking requests. Served by
+ * {@link BinanceMarketDataGateway#blockingClient()}, so every service shares the connections of the gateway.
+ * Calls take no request weight; callers take it from {@link BinanceRequestWeightLimiter} themselves.
+ * Every call fails with {@link BinanceApiException} if the API refuses the request or cannot be reached.
+ */
+public interface BinanceMarketDataClient {
+
+    /**
+     * Requests one page of candlesticks.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param limit The most candlesticks to return, at most 1000.
+     * @param startTime The first open time in milliseconds since epoch, or null.
+     * @param endTime The last open time in milliseconds since epoch, inclusive, or null.
+     * @return The candlesticks sorted by open time.
+     */
+    List<Candlestick> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit, Long startTime, Long endTime);
+
+    // Latest price of one symbol
+    TickerPrice getPrice(String symbol);
+
+    // Latest prices of all symbols in one response
+    List<TickerPrice> getAllPrices();
+
+    // Order book snapshot with up to limit levels a side
+    OrderBook getOrderBook(String symbol, Integer limit);
+
+    // Trading rules and status of every symbol
+    ExchangeInfo getExchangeInfo();
+}
@@ -0,0 +1,377 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.general.SymbolStatus;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.exception.BinanceApiException;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.BinanceGatewayProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Non-blocking client of the Binance market data endpoints, shared by every Binance service so that all of them
+ * use one pool of keep-alive connections, over HTTP/2 where the server offers it. Calls return a
+ * {@link CompletableFuture} at once, so fan-out callers such as multi-symbol snapshots overlap their requests
+ * instead of sending them one after another.
+ * <p>
+ * A request still unanswered after the hedge delay is sent once more and the first answer wins; the other is
+ * cancelled. Hedges are limited to a share of all requests and are only sent when their request weight is
+ * available at once, so a slow API is not sent twice the load. Every endpoint served here is a read.
+ * <p>
+ * The asynchronous methods take their request weight from {@link BinanceRequestWeightLimiter}, waiting for it
+ * without blocking a thread. {@link #blockingClient()} serves the same endpoints as blocking calls to the services
+ * that take their weight themselves.
+ */
+@Component
+public class BinanceMarketDataGateway implements MeterBinder {
+    static final String KLINES_PATH = "/api/v3/klines";
+    static final String TICKER_PRICE_PATH = "/api/v3/ticker/price";
+    static final String DEPTH_PATH = "/api/v3/depth";
+    static final String EXCHANGE_INFO_PATH = "/api/v3/exchangeInfo";
+
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final BinanceRequestWeightLimiter requestWeightLimiter;
+    private final Duration hedgeDelay;
+    private final double maxHedgeRatio;
+
+    private final BinanceMarketDataClient blockingClient = new BlockingClient();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public BinanceMarketDataGateway(BinanceGatewayProperties properties, BinanceRequestWeightLimiter requestWeightLimiter) {
+        if (properties.getHedgeDelay().isNegative()) {
+            throw new IllegalArgumentException("Hedge delay must not be negative");
+        }
+        if (properties.getMaxHedgeRatio() < 0 || properties.getMaxHedgeRatio() > 1) {
+            throw new IllegalArgumentException("Max hedge ratio must be between 0 and 1");
+        }
+        this.requestWeightLimiter = requestWeightLimiter;
+        this.hedgeDelay = properties.getHedgeDelay();
+        this.maxHedgeRatio = properties.getMaxHedgeRatio();
+        this.connectionProvider = ConnectionProvider.builder("binance")
+                .maxConnections(properties.getMaxConnections())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .evictInBackground(properties.getMaxIdleTime())
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.getConnectTimeout().toMillis()))
+                .responseTimeout(properties.getResponseTimeout())
+                .keepAlive(true);
+        // HTTP/2 is negotiated during the TLS handshake; a plain HTTP endpoint, e.g. a stub, is spoken to in HTTP/1.1
+        if (properties.isHttp2Enabled() && properties.getBaseUrl().startsWith("https:")) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        this.webClient = WebClient.builder()
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(properties.getMaxResponseBytes()))
+                .build();
+    }
+
+    /**
+     * Requests one page of candlesticks.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param limit The most candlesticks to return, at most 1000.
+     * @param startTime The first open time in milliseconds since epoch, or null.
+     * @param endTime The last open time in milliseconds since epoch, inclusive, or null.
+     * @return The candlesticks sorted by open time; fails with {@link BinanceApiException} if the API refuses the
+     *         request and with {@link IllegalStateException} if the request weight is not available in time.
+     */
+    public CompletableFuture<List<Candlestick>> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit,
+                                                                   Long startTime, Long endTime) {
+        return weighted(BinanceRequestWeightLimiter.KLINES_WEIGHT,
+                candlestickBars(symbol, interval, limit, startTime, endTime)).toFuture();
+    }
+
+    // Latest price of one symbol
+    public CompletableFuture<TickerPrice> getPrice(String symbol) {
+        return weighted(BinanceRequestWeightLimiter.TICKER_PRICE_WEIGHT, price(symbol)).toFuture();
+    }
+
+    // Latest prices of all symbols in one response
+    public CompletableFuture<List<TickerPrice>> getAllPrices() {
+        return weighted(BinanceRequestWeightLimiter.ALL_TICKER_PRICES_WEIGHT, allPrices()).toFuture();
+    }
+
+    // Order book snapshot with up to limit levels a side
+    public CompletableFuture<OrderBook> getOrderBook(String symbol, int limit) {
+        return weighted(BinanceRequestWeightLimiter.depthWeight(limit), orderBook(symbol, limit)).toFuture();
+    }
+
+    // Trading rules and status of every symbol
+    public CompletableFuture<ExchangeInfo> getExchangeInfo() {
+        return weighted(BinanceRequestWeightLimiter.EXCHANGE_INFO_WEIGHT, exchangeInfo()).toFuture();
+    }
+
+    /**
+     * Returns the blocking client of the gateway. Calls block the calling thread until the answer arrives and take
+     * no request weight, which the services take themselves; hedges still take theirs.
+     *
+     * @return A client sharing the connections of the gateway.
+     */
+    public BinanceMarketDataClient blockingClient() {
+        return blockingClient;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    // Hedged requests that were answered before the request they hedged
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+    }
+
+    private Mono<List<Candlestick>> candlestickBars(String symbol, CandlestickInterval interval, Integer limit,
+                                                    Long startTime, Long endTime) {
+        Mono<JsonNode> response = get(uri -> uri.path(KLINES_PATH)
+                .queryParam("symbol", symbol.toUpperCase(Locale.ROOT))
+                .queryParam("interval", interval.getIntervalId())
+                .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                .queryParamIfPresent("startTime", Optional.ofNullable(startTime))
+                .queryParamIfPresent("endTime", Optional.ofNullable(endTime))
+                .build());
+        return hedged(BinanceRequestWeightLimiter.KLINES_WEIGHT, response.map(BinanceMarketDataGateway::toCandlesticks));
+    }
+
+    private Mono<TickerPrice> price(String symbol) {
+        Mono<JsonNode> response = get(uri -> uri.path(TICKER_PRICE_PATH)
+                .queryParam("symbol", symbol.toUpperCase(Locale.ROOT)).build());
+        return hedged(BinanceRequestWeightLimiter.TICKER_PRICE_WEIGHT, response.map(BinanceMarketDataGateway::toTickerPrice));
+    }
+
+    private Mono<List<TickerPrice>> allPrices() {
+        Mono<JsonNode> response = get(uri -> uri.path(TICKER_PRICE_PATH).build());
+        return hedged(BinanceRequestWeightLimiter.ALL_TICKER_PRICES_WEIGHT, response.map(node -> {
+            List<TickerPrice> prices = new ArrayList<>(node.size());
+            node.forEach(price -> prices.add(toTickerPrice(price)));
+            return prices;
+        }));
+    }
+
+    private Mono<OrderBook> orderBook(String symbol, int limit) {
+        Mono<JsonNode> response = get(uri -> uri.path(DEPTH_PATH)
+                .queryParam("symbol", symbol.toUpperCase(Locale.ROOT))
+                .queryParam("limit", limit).build());
+        return hedged(BinanceRequestWeightLimiter.depthWeight(limit), response.map(BinanceMarketDataGateway::toOrderBook));
+    }
+
+    private Mono<ExchangeInfo> exchangeInfo() {
+        Mono<JsonNode> response = get(uri -> uri.path(EXCHANGE_INFO_PATH).build());
+        return hedged(BinanceRequestWeightLimiter.EXCHANGE_INFO_WEIGHT, response.map(BinanceMarketDataGateway::toExchangeInfo));
+    }
+
+    private final class BlockingClient implements BinanceMarketDataClient {
+        @Override
+        public List<Candlestick> getCandlestickBars(String symbol, CandlestickInterval interval, Integer limit,
+                                                    Long startTime, Long endTime) {
+            return candlestickBars(symbol, interval, limit, startTime, endTime).block();
+        }
+
+        @Override
+        public TickerPrice getPrice(String symbol) {
+            return price(symbol).block();
+        }
+
+        @Override
+        public List<TickerPrice> getAllPrices() {
+            return allPrices().block();
+        }
+
+        @Override
+        public OrderBook getOrderBook(String symbol, Integer limit) {
+            return orderBook(symbol, limit).block();
+        }
+
+        @Override
+        public ExchangeInfo getExchangeInfo() {
+            return exchangeInfo().block();
+        }
+
+        @Override
+        public String toString() {
+            return "Blocking client of " + BinanceMarketDataGateway.this;
+        }
+    }
+
+    // Errors of the API, e.g. {"code":-1121,"msg":"Invalid symbol."}, fail with their body
+    private Mono<JsonNode> get(Function<UriBuilder, URI> uri) {
+        return webClient.get()
+                .uri(uri)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, r -> r.bodyToMono(String.class).defaultIfEmpty("")
+                        .map(body -> new BinanceApiException("Binance API returned " + r.statusCode().value() + ": " + body)))
+                .bodyToMono(JsonNode.class);
+    }
+
+    // Takes the request weight before the request is sent, waiting for a reservation on a timer rather than a thread
+    private <T> Mono<T> weighted(int weight, Mono<T> request) {
+        return Mono.defer(() -> {
+            long delayNanos = requestWeightLimiter.tryReserve(weight);
+            if (delayNanos < 0) {
+                return Mono.error(new IllegalStateException("Binance request weight limit reached, try again later"));
+            }
+            return delayNanos == 0 ? request : Mono.delay(Duration.ofNanos(delayNanos)).then(request);
+        });
+    }
+
+    // Sends the request, and once more after the hedge delay if it is still unanswered; the first answer or error wins
+    private <T> Mono<T> hedged(int weight, Mono<T> request) {
+        Mono<T> counted = request
+                .doOnSubscribe(subscription -> requests.increment())
+                .onErrorMap(WebClientRequestException.class, e -> new BinanceApiException("Binance API request failed", e))
+                .doOnError(e -> failures.increment());
+        if (hedgeDelay.isZero()) {
+            return counted;
+        }
+        Mono<T> hedge = Mono.delay(hedgeDelay)
+                .flatMap(tick -> mayHedge(weight) ? counted.doOnNext(value -> hedgeWins.increment()) : Mono.<T>never());
+        return Mono.firstWithSignal(counted, hedge);
+    }
+
+    private boolean mayHedge(int weight) {
+        if (hedges.sum() >= maxHedgeRatio * requests.sum() || !requestWeightLimiter.tryAcquire(weight)) {
+            return false;
+        }
+        hedges.increment();
+        return true;
+    }
+
+    // A kline is an array: open time, open, high, low, close, volume, close time, quote volume, trades, taker base, taker quote
+    static List<Candlestick> toCandlesticks(JsonNode klines) {
+        List<Candlestick> candlesticks = new ArrayList<>(klines.size());
+        for (JsonNode kline : klines) {
+            Candlestick candlestick = new Candlestick();
+            candlestick.setOpenTime(kline.get(0).asLong());
+            candlestick.setOpen(kline.get(1).asText());
+            candlestick.setHigh(kline.get(2).asText());
+            candlestick.setLow(kline.get(3).asText());
+            candlestick.setClose(kline.get(4).asText());
+            candlestick.setVolume(kline.get(5).asText());
+            candlestick.setCloseTime(kline.get(6).asLong());
+            candlestick.setQuoteAssetVolume(kline.get(7).asText());
+            candlestick.setNumberOfTrades(kline.get(8).asLong());
+            candlestick.setTakerBuyBaseAssetVolume(kline.get(9).asText());
+            candlestick.setTakerBuyQuoteAssetVolume(kline.get(10).asText());
+            candlesticks.add(candlestick);
+        }
+        return candlesticks;
+    }
+
+    static TickerPrice toTickerPrice(JsonNode node) {
+        TickerPrice price = new TickerPrice();
+        price.setSymbol(node.get("symbol").asText());
+        price.setPrice(node.get("price").asText());
+        return price;
+    }
+
+    static OrderBook toOrderBook(JsonNode node) {
+        OrderBook orderBook = new OrderBook();
+        orderBook.setLastUpdateId(node.get("lastUpdateId").asLong());
+        orderBook.setBids(toEntries(node.get("bids")));
+        orderBook.setAsks(toEntries(node.get("asks")));
+        return orderBook;
+    }
+
+    // Only the fields the services read; the filters and permissions of the symbols are left out
+    static ExchangeInfo toExchangeInfo(JsonNode node) {
+        ExchangeInfo exchangeInfo = new ExchangeInfo();
+        exchangeInfo.setTimezone(node.path("timezone").asText());
+        exchangeInfo.setServerTime(node.path("serverTime").asLong());
+        List<SymbolInfo> symbols = new ArrayList<>(node.path("symbols").size());
+        for (JsonNode symbol : node.path("symbols")) {
+            SymbolInfo symbolInfo = new SymbolInfo();
+            symbolInfo.setSymbol(symbol.get("symbol").asText());
+            symbolInfo.setStatus(toSymbolStatus(symbol.path("status").asText()));
+            symbolInfo.setBaseAsset(symbol.path("baseAsset").asText());
+            symbolInfo.setQuoteAsset(symbol.path("quoteAsset").asText());
+            symbols.add(symbolInfo);
+        }
+        exchangeInfo.setSymbols(symbols);
+        return exchangeInfo;
+    }
+
+    // A status the library does not know yet is left null, which no caller takes for trading
+    private static SymbolStatus toSymbolStatus(String status) {
+        try {
+            return SymbolStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // A level is an array of price and quantity
+    private static List<OrderBookEntry> toEntries(JsonNode levels) {
+        List<OrderBookEntry> entries = new ArrayList<>(levels.size());
+        for (JsonNode level : levels) {
+            OrderBookEntry entry = new OrderBookEntry();
+            entry.setPrice(level.get(0).asText());
+            entry.setQty(level.get(1).asText());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("binance.gateway.requests", requests, LongAdder::sum)
+                .description("Requests sent to the Binance market data endpoints, hedges included")
+                .register(registry);
+        FunctionCounter.builder("binance.gateway.hedges", hedges, LongAdder::sum)
+                .description("Requests sent again because the first was not answered within the hedge delay")
+                .register(registry);
+        FunctionCounter.builder("binance.gateway.hedge.wins", hedgeWins, LongAdder::sum)
+                .description("Hedged requests answered before the request they hedged")
+                .register(registry);
+        FunctionCounter.builder("binance.gateway.failures", failures, LongAdder::sum)
+                .register(registry);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket that keeps all Binance REST calls under the exchange request-weight limit.
+ * The bucket holds up to one minute of weight and refills continuously. A caller that arrives while
+ * the bucket is short reserves its weight ahead of time and waits only until the reservation is due;
+ * if that would take longer than the caller's deadline, nothing is taken and the call is rejected.
+ */
+@Component
+public class BinanceRequestWeightLimiter implements MeterBinder {
+    // Request weights as documented by Binance for the endpoints in use
+    public static final int KLINES_WEIGHT = 2;
+    public static final int TICKER_PRICE_WEIGHT = 2;
+    public static final int ALL_TICKER_PRICES_WEIGHT = 4;
+    public static final int EXCHANGE_INFO_WEIGHT = 20;
+
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int capacity;
+    private final double weightPerNano;
+    private final Duration defaultMaxWait;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<Bucket> bucket;
+
+    private final LongAdder weightUsed = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder delayedAcquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    // Available weight, negative while reservations are outstanding
+    private record Bucket(double tokens, long refilledAtNanos) {
+    }
+
+    @Autowired
+    public BinanceRequestWeightLimiter(@Value("${binance.rate-limit.weight-per-minute:6000}") int weightPerMinute,
+                                       @Value("${binance.rate-limit.max-wait:2s}") Duration defaultMaxWait) {
+        this(weightPerMinute, defaultMaxWait, System::nanoTime);
+    }
+
+    BinanceRequestWeightLimiter(int weightPerMinute, Duration defaultMaxWait, LongSupplier nanoClock) {
+        if (weightPerMinute <= 0) {
+            throw new IllegalArgumentException("Weight per minute must be positive");
+        }
+        this.capacity = weightPerMinute;
+        this.weightPerNano = (double) weightPerMinute / WINDOW_NANOS;
+        this.defaultMaxWait = defaultMaxWait;
+        this.nanoClock = nanoClock;
+        this.bucket = new AtomicReference<>(new Bucket(weightPerMinute, nanoClock.getAsLong()));
+    }
+
+    // Returns the weight of an order book request, which grows with the requested depth
+    public static int depthWeight(int limit) {
+        if (limit <= 100) {
+            return 5;
+        }
+        if (limit <= 500) {
+            return 25;
+        }
+        if (limit <= 1000) {
+            return 50;
+        }
+        return 250;
+    }
+
+    /**
+     * Reserves the weight without blocking.
+     *
+     * @param weight The request weight to take from the bucket.
+     * @param maxWait The longest the caller is prepared to wait for the reservation to become due.
+     * @return The nanoseconds until the request may be sent, 0 if it may be sent now, or -1 if the weight
+     *         cannot be granted within {@code maxWait}; a rejected call takes nothing from the bucket.
+     */
+    public long tryReserve(int weight, Duration maxWait) {
+        if (weight <= 0 || weight > capacity) {
+            throw new IllegalArgumentException("Weight must be between 1 and " + capacity);
+        }
+        long maxWaitNanos = maxWait.toNanos();
+        while (true) {
+            Bucket current = bucket.get();
+            long now = nanoClock.getAsLong();
+            double tokens = Math.min(capacity, current.tokens() + (now - current.refilledAtNanos()) * weightPerNano);
+            long delayNanos = tokens >= weight ? 0 : (long) Math.ceil((weight - tokens) / weightPerNano);
+            if (delayNanos > maxWaitNanos) {
+                rejections.increment();
+                return -1;
+            }
+            if (bucket.compareAndSet(current, new Bucket(tokens - weight, now))) {
+                weightUsed.add(weight);
+                if (delayNanos > 0) {
+                    delayedAcquisitions.increment();
+                    waitNanos.add(delayNanos);
+                }
+                return delayNanos;
+            }
+        }
+    }
+
+    // Reserves the weight without blocking, for callers that wait asynchronously; -1 if not due within the configured maximum
+    public long tryReserve(int weight) {
+        return tryReserve(weight, defaultMaxWait);
+    }
+
+    // Takes the weight only if it is available right now
+    public boolean tryAcquire(int weight) {
+        return tryReserve(weight, Duration.ZERO) == 0;
+    }
+
+    // Takes the weight, waiting at most maxWait for it; returns false without waiting if the deadline cannot be met
+    public boolean tryAcquire(int weight, Duration maxWait) {
+        long delayNanos = tryReserve(weight, maxWait);
+        if (delayNanos < 0) {
+            return false;
+        }
+        long deadline = nanoClock.getAsLong() + delayNanos;
+        long remaining = delayNanos;
+        while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(this, remaining);
+            remaining = deadline - nanoClock.getAsLong();
+        }
+        return true;
+    }
+
+    /**
+     * Takes the weight, waiting at most the configured maximum.
+     *
+     * @param weight The request weight of the call about to be made.
+     * @throws IllegalStateException If the weight cannot be granted in time.
+     */
+    public void acquire(int weight) {
+        if (!tryAcquire(weight, defaultMaxWait)) {
+            throw new IllegalStateException("Binance request weight limit reached, try again later");
+        }
+    }
+
+    // Returns the weight that could be taken right now without waiting
+    public double availableWeight() {
+        Bucket current = bucket.get();
+        return Math.min(capacity, current.tokens() + (nanoClock.getAsLong() - current.refilledAtNanos()) * weightPerNano);
+    }
+
+    public long getWeightUsed() {
+        return weightUsed.sum();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    public long getWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("binance.rate-limit.weight.used", weightUsed, LongAdder::sum)
+                .description("Request weight granted to Binance calls")
+                .register(registry);
+        FunctionCounter.builder("binance.rate-limit.rejections", rejections, LongAdder::sum)
+                .description("Binance calls rejected because the weight was not available in time")
+                .register(registry);
+        FunctionTimer.builder("binance.rate-limit.wait", this,
+                        limiter -> limiter.delayedAcquisitions.sum(), limiter -> limiter.waitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time Binance calls waited for request weight")
+                .register(registry);
+        Gauge.builder("binance.rate-limit.weight.available", this, BinanceRequestWeightLimiter::availableWeight)
+                .description("Request weight currently available")
+                .register(registry);
+    }
+}
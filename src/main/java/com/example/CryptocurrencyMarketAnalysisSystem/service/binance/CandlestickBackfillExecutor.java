@@ -0,0 +1,156 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fetches the pages of a backfill concurrently on a bounded worker pool.
+ * All missing ranges are handed over at once; workers pull the next range from a shared cursor,
+ * fetch it and persist it as soon as it arrives, so the stored window is never re-read between pages.
+ * The number of requests in flight is capped by a request-weight budget shared by every backfill,
+ * while the per-minute exchange limit is enforced by {@link BinanceRequestWeightLimiter}.
+ */
+@Component
+public class CandlestickBackfillExecutor {
+    static final Logger logger = LoggerFactory.getLogger(CandlestickBackfillExecutor.class);
+
+    static final int KLINES_REQUEST_WEIGHT = BinanceRequestWeightLimiter.KLINES_WEIGHT;
+
+    private final Executor executor;
+    private final Semaphore requestWeightBudget;
+    private final int maxConcurrentRequests;
+
+    @Autowired
+    public CandlestickBackfillExecutor(@Qualifier("applicationTaskExecutor") Executor executor,
+                                       @Value("${binance.backfill.max-request-weight-in-flight:16}") int maxRequestWeightInFlight) {
+        if (maxRequestWeightInFlight < KLINES_REQUEST_WEIGHT) {
+            throw new IllegalArgumentException("Request weight budget must allow at least one klines request");
+        }
+        this.executor = executor;
+        this.requestWeightBudget = new Semaphore(maxRequestWeightInFlight, true);
+        this.maxConcurrentRequests = maxRequestWeightInFlight / KLINES_REQUEST_WEIGHT;
+    }
+
+    /**
+     * Fetches every range with {@code pageLoader} and hands each non-empty page to {@code pageSink} as it arrives.
+     * The calling thread works through the ranges as well, so a backfill makes progress even when the pool is saturated,
+     * rejects further workers or is the pool the caller runs on.
+     *
+     * @param ranges The missing ranges, each of them small enough for a single API page.
+     * @param pageLoader Loads the candles of a single range from the API.
+     * @param pageSink Persists a fetched page; called from worker threads.
+     * @return All fetched candles merged into one series.
+     * @throws RuntimeException The first failure of a page load or sink, after all workers have finished.
+     */
+    public CandleSeries backfill(List<TimeRange> ranges, Function<TimeRange, CandleSeries> pageLoader,
+                                 Consumer<CandleSeries> pageSink) {
+        if (ranges.isEmpty()) {
+            return CandleSeries.empty();
+        }
+
+        AtomicInteger nextRange = new AtomicInteger();
+        int workers = Math.min(maxConcurrentRequests, ranges.size());
+        List<Worker> queued = new ArrayList<>(workers - 1);
+        for (int i = 1; i < workers; i++) {
+            AtomicBoolean started = new AtomicBoolean();
+            try {
+                queued.add(new Worker(started, CompletableFuture.supplyAsync(
+                        () -> started.compareAndSet(false, true) ? drain(ranges, nextRange, pageLoader, pageSink) : List.of(), executor)));
+            } catch (RejectedExecutionException e) {
+                // The pool is saturated; the calling thread drains what the rejected workers would have fetched,
+                // and the workers already started are joined below
+                logger.debug("Backfill worker rejected, continuing with {} workers", queued.size() + 1);
+                break;
+            }
+        }
+        List<CompletableFuture<List<CandleSeries>>> futures = new ArrayList<>(workers);
+        futures.add(CompletableFuture.supplyAsync(() -> drain(ranges, nextRange, pageLoader, pageSink), Runnable::run));
+        // The cursor is exhausted once the caller's own drain returns, so a worker still waiting in the queue has nothing
+        // left to fetch; it is cancelled rather than joined, which would deadlock a backfill running on the pool it queued on
+        for (Worker worker : queued) {
+            if (worker.started().compareAndSet(false, true)) {
+                worker.future().cancel(false);
+            } else {
+                futures.add(worker.future());
+            }
+        }
+
+        List<CandleSeries> pages = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<CandleSeries>> future : futures) {
+                pages.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            // Wait for the remaining workers so no page is written after the caller gives up
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(ex -> null).join();
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        // Pages cover disjoint ranges, so in open time order they concatenate without a sort
+        pages.sort(Comparator.comparingLong(CandleSeries::firstOpenTime));
+        CandleSeries candles = CandleSeries.merge(pages);
+        logger.info("Backfilled {} candlesticks from {} ranges with {} workers", candles.size(), ranges.size(), futures.size());
+        return candles;
+    }
+
+    // A worker queued on the pool; whichever of the worker and the caller sets the flag first decides whether it runs
+    private record Worker(AtomicBoolean started, CompletableFuture<List<CandleSeries>> future) {
+    }
+
+    // Fetches ranges from the shared cursor until none are left
+    private List<CandleSeries> drain(List<TimeRange> ranges, AtomicInteger nextRange,
+                                     Function<TimeRange, CandleSeries> pageLoader, Consumer<CandleSeries> pageSink) {
+        List<CandleSeries> fetched = new ArrayList<>();
+        int index;
+        while ((index = nextRange.getAndIncrement()) < ranges.size()) {
+            TimeRange range = ranges.get(index);
+            try {
+                CandleSeries page = fetchPage(range, pageLoader);
+                if (page.isEmpty()) {
+                    logger.warn("No candlesticks returned from API for range {} - {}", range.from(), range.to());
+                    continue;
+                }
+                pageSink.accept(page);
+                fetched.add(page);
+            } catch (RuntimeException e) {
+                // Stops the other workers from picking up further ranges
+                nextRange.set(ranges.size());
+                throw e;
+            }
+        }
+        return fetched;
+    }
+
+    // Loads a single page while holding its share of the request-weight budget
+    private CandleSeries fetchPage(TimeRange range, Function<TimeRange, CandleSeries> pageLoader) {
+        try {
+            requestWeightBudget.acquire(KLINES_REQUEST_WEIGHT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Backfill interrupted while waiting for request weight", e);
+        }
+        try {
+            return pageLoader.apply(range);
+        } finally {
+            requestWeightBudget.release(KLINES_REQUEST_WEIGHT);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Shares the page fetches of concurrent backfills of the same series. Every backfill claims its missing ranges
+ * against the pages already in flight: the parts other backfills are fetching are awaited, only the rest is fetched,
+ * and the fetched pages are announced to later backfills until they are stored. Ranges are sets of candle open times,
+ * so their bounds must fall on open times for the remainders to be worth a request.
+ */
+final class CandlestickPageCoalescer {
+    private final ConcurrentHashMap<SeriesKey, List<InFlightPage>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder sharedPages = new LongAdder();
+
+    private record SeriesKey(String symbol, CandlestickInterval interval) {
+    }
+
+    // A page one backfill fetches, completed with its candles as soon as they arrive
+    private record InFlightPage(TimeRange range, CompletableFuture<CandleSeries> candles) {
+    }
+
+    // The part of a missing range that another backfill is fetching
+    private record SharedPart(InFlightPage page, TimeRange range) {
+    }
+
+    /**
+     * Backfills the missing ranges of a series, sharing the pages that overlap those of concurrent backfills.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param missingRanges The missing ranges, disjoint and bounded by candle open times.
+     * @param pageLoader Loads the candles of a single range from the API.
+     * @param fetcher Fetches and stores the given ranges with the given page loader, returning the fetched candles.
+     * @return The candles of the missing ranges, fetched by this backfill or shared from others.
+     * @throws RuntimeException The failure of this backfill, or of the backfill fetching a shared page.
+     */
+    CandleSeries backfill(String symbol, CandlestickInterval interval, List<TimeRange> missingRanges,
+                          Function<TimeRange, CandleSeries> pageLoader,
+                          BiFunction<List<TimeRange>, Function<TimeRange, CandleSeries>, CandleSeries> fetcher) {
+        if (missingRanges.isEmpty()) {
+            return CandleSeries.empty();
+        }
+        SeriesKey key = new SeriesKey(symbol, interval);
+        List<InFlightPage> owned = new ArrayList<>();
+        List<SharedPart> shared = new ArrayList<>();
+        inFlight.compute(key, (k, pages) -> {
+            List<InFlightPage> claimed = pages == null ? new ArrayList<>() : pages;
+            claim(claimed, missingRanges, owned, shared);
+            claimed.addAll(owned);
+            return claimed.isEmpty() ? null : claimed;
+        });
+        sharedPages.add(shared.size());
+
+        List<CandleSeries> parts = new ArrayList<>(shared.size() + 1);
+        RuntimeException failure = null;
+        try {
+            List<TimeRange> ownedRanges = owned.stream().map(InFlightPage::range).toList();
+            parts.add(fetcher.apply(ownedRanges, range -> loadPage(owned, range, pageLoader)));
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            // Pages stay announced until the fetcher returns, so no later backfill fetches one that is being stored
+            release(key, owned, failure);
+        }
+        for (SharedPart part : shared) {
+            CandleSeries page = await(part.page().candles());
+            parts.add(page.sliceByOpenTime(part.range().from(), part.range().to() - 1));
+        }
+        return parts.size() == 1 ? parts.get(0) : CandleSeries.merge(parts);
+    }
+
+    // Splits every missing range into the parts already in flight and the remainders this backfill fetches
+    private static void claim(List<InFlightPage> pages, List<TimeRange> missingRanges, List<InFlightPage> owned,
+                              List<SharedPart> shared) {
+        // In-flight pages of a series are disjoint, so in order of their start they can be walked once per range
+        pages.sort(Comparator.comparingLong(page -> page.range().from()));
+        for (TimeRange range : missingRanges) {
+            long cursor = range.from();
+            for (InFlightPage page : pages) {
+                if (page.range().to() <= cursor || page.range().from() >= range.to()) {
+                    continue;
+                }
+                if (page.range().from() > cursor) {
+                    owned.add(new InFlightPage(new TimeRange(cursor, page.range().from()), new CompletableFuture<>()));
+                }
+                long sharedEnd = Math.min(range.to(), page.range().to());
+                shared.add(new SharedPart(page, new TimeRange(Math.max(cursor, page.range().from()), sharedEnd)));
+                cursor = sharedEnd;
+            }
+            if (cursor < range.to()) {
+                owned.add(new InFlightPage(new TimeRange(cursor, range.to()), new CompletableFuture<>()));
+            }
+        }
+    }
+
+    // Loads an owned page and hands its candles to the backfills sharing it
+    private static CandleSeries loadPage(List<InFlightPage> owned, TimeRange range, Function<TimeRange, CandleSeries> pageLoader) {
+        InFlightPage page = owned.stream()
+                .filter(candidate -> candidate.range().equals(range))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Range " + range + " was not claimed"));
+        try {
+            CandleSeries candles = pageLoader.apply(range);
+            page.candles().complete(candles);
+            return candles;
+        } catch (RuntimeException e) {
+            page.candles().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Withdraws the owned pages; those the fetcher never loaded fail the backfills waiting for them
+    private void release(SeriesKey key, List<InFlightPage> owned, RuntimeException failure) {
+        for (InFlightPage page : owned) {
+            page.candles().completeExceptionally(failure != null ? failure
+                    : new IllegalStateException("Page " + page.range() + " was not fetched"));
+        }
+        inFlight.computeIfPresent(key, (k, pages) -> {
+            pages.removeAll(owned);
+            return pages.isEmpty() ? null : pages;
+        });
+    }
+
+    private static CandleSeries await(CompletableFuture<CandleSeries> candles) {
+        try {
+            return candles.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // Number of missing range parts that were awaited from another backfill instead of fetched
+    long getSharedPageCount() {
+        return sharedPages.sum();
+    }
+
+    int getInFlightPageCount() {
+        return inFlight.values().stream().mapToInt(List::size).sum();
+    }
+}
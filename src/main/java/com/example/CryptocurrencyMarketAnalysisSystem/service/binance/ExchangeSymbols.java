@@ -0,0 +1,113 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.general.SymbolStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * The symbols trading on the exchange, loaded from the exchange info and reloaded once the refresh interval has
+ * passed, so an unknown symbol can be rejected before it opens a stream that never delivers. A failed load keeps
+ * the symbols loaded before and is retried after a short delay; until a load has succeeded every symbol is accepted.
+ */
+@Component
+public class ExchangeSymbols {
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeSymbols.class);
+
+    static final long RETRY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final ExchangeSymbols DISABLED = new ExchangeSymbols(null, null, Duration.ZERO, System::nanoTime);
+
+    private final BinanceMarketDataClient binanceApiClient;
+    private final BinanceRequestWeightLimiter requestWeightLimiter;
+    private final long refreshNanos;
+    private final LongSupplier nanoClock;
+    // Serializes reloads only; a lock rather than a monitor, so a reload does not pin a virtual thread to its carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    // Symbols is null while no load has succeeded yet
+    private record Snapshot(Set<String> symbols, long expiresNanos) {
+    }
+
+    @Autowired
+    public ExchangeSymbols(BinanceMarketDataClient binanceApiClient, BinanceRequestWeightLimiter requestWeightLimiter,
+                           @Value("${binance.exchange-info.refresh-interval:1h}") Duration refreshInterval) {
+        this(binanceApiClient, requestWeightLimiter, refreshInterval, System::nanoTime);
+    }
+
+    ExchangeSymbols(BinanceMarketDataClient binanceApiClient, BinanceRequestWeightLimiter requestWeightLimiter,
+                    Duration refreshInterval, LongSupplier nanoClock) {
+        if (refreshInterval.isNegative()) {
+            throw new IllegalArgumentException("Refresh interval must not be negative");
+        }
+        this.binanceApiClient = binanceApiClient;
+        this.requestWeightLimiter = requestWeightLimiter;
+        this.refreshNanos = refreshInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    // Accepts every symbol without loading the exchange info
+    public static ExchangeSymbols disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Tells whether a symbol is trading, loading the exchange info first if it is missing or stale.
+     *
+     * @param symbol The upper case trading pair symbol.
+     * @return True if the symbol is trading, or if no exchange info could be loaded so far.
+     */
+    public boolean isTrading(String symbol) {
+        if (binanceApiClient == null) {
+            return true;
+        }
+        Set<String> symbols = currentSymbols();
+        return symbols == null || symbols.contains(symbol);
+    }
+
+    private Set<String> currentSymbols() {
+        Snapshot current = snapshot;
+        if (current != null && nanoClock.getAsLong() - current.expiresNanos() < 0) {
+            return current.symbols();
+        }
+        reloadLock.lock();
+        try {
+            // Another caller may have reloaded while this one waited
+            current = snapshot;
+            if (current != null && nanoClock.getAsLong() - current.expiresNanos() < 0) {
+                return current.symbols();
+            }
+            Set<String> previous = current == null ? null : current.symbols();
+            try {
+                snapshot = new Snapshot(load(), nanoClock.getAsLong() + refreshNanos);
+            } catch (RuntimeException e) {
+                logger.warn("Could not load the exchange info, retrying in {} s", TimeUnit.NANOSECONDS.toSeconds(RETRY_NANOS), e);
+                snapshot = new Snapshot(previous, nanoClock.getAsLong() + Math.min(RETRY_NANOS, refreshNanos));
+            }
+            return snapshot.symbols();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Set<String> load() {
+        requestWeightLimiter.acquire(BinanceRequestWeightLimiter.EXCHANGE_INFO_WEIGHT);
+        Set<String> symbols = binanceApiClient.getExchangeInfo().getSymbols().stream()
+                .filter(info -> info.getStatus() == SymbolStatus.TRADING)
+                .map(SymbolInfo::getSymbol)
+                .collect(Collectors.toUnmodifiableSet());
+        logger.info("Loaded {} trading symbols from the exchange info", symbols.size());
+        return symbols;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.cache;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Candles of one (symbol, interval) held in sorted, non-overlapping chunks, plus the time ranges for which the
+ * series is known to be complete. A read may only be answered from memory when a single covered range
+ * contains it; anything else has to be loaded from the database first.
+ */
+final class CachedCandleSeries {
+    // Rough footprint of an empty series, so that series of unknown symbols are evicted eventually too
+    static final long OVERHEAD_BYTES = 256;
+
+    private final int chunkSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<CandleChunk> chunks = new ArrayList<>();
+    // Sorted, non-overlapping and non-adjacent half-open ranges
+    private final List<TimeRange> covered = new ArrayList<>();
+    private boolean evicted;
+
+    CachedCandleSeries(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    // Returns the parts of [from, to) that are not covered, in ascending order
+    List<TimeRange> uncovered(long from, long to) {
+        lock.readLock().lock();
+        try {
+            List<TimeRange> missing = new ArrayList<>();
+            long cursor = from;
+            for (TimeRange range : covered) {
+                if (range.to() <= cursor) {
+                    continue;
+                }
+                if (range.from() >= to) {
+                    break;
+                }
+                if (range.from() > cursor) {
+                    missing.add(new TimeRange(cursor, range.from()));
+                }
+                cursor = Math.max(cursor, range.to());
+                if (cursor >= to) {
+                    break;
+                }
+            }
+            if (cursor < to) {
+                missing.add(new TimeRange(cursor, to));
+            }
+            return missing;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds candles that are not cached yet and marks the range as complete. Candles already present keep
+     * their values, matching the insert-if-absent semantics of the database.
+     *
+     * @return The change in allocated bytes, or 0 if the series has already been evicted.
+     */
+    long put(CandleSeries candles, TimeRange coverage) {
+        return put(candles, coverage, false);
+    }
+
+    /**
+     * Adds candles like {@link #put(CandleSeries, TimeRange)}, but candles already present take the new values,
+     * matching the upsert of final candles from the stream.
+     *
+     * @return The change in allocated bytes, or 0 if the series has already been evicted.
+     */
+    long replace(CandleSeries candles, TimeRange coverage) {
+        return put(candles, coverage, true);
+    }
+
+    private long put(CandleSeries candles, TimeRange coverage, boolean replace) {
+        lock.writeLock().lock();
+        try {
+            if (evicted) {
+                return 0;
+            }
+            long before = allocatedBytes();
+            for (int i = 0; i < candles.size(); i++) {
+                insert(candles, i, replace);
+            }
+            addCoverage(coverage);
+            return allocatedBytes() - before;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Returns the candles opening between from and to inclusive, or null if the series has been evicted
+    CandleSeries read(long from, long to) {
+        lock.readLock().lock();
+        try {
+            if (evicted) {
+                return null;
+            }
+            CandleSeries.Builder result = CandleSeries.builder(0);
+            for (int c = firstChunkEndingAtOrAfter(from); c < chunks.size(); c++) {
+                CandleChunk chunk = chunks.get(c);
+                int first = chunk.search(from);
+                first = first >= 0 ? first : -first - 1;
+                int end = chunk.search(to);
+                end = end >= 0 ? end + 1 : -end - 1;
+                chunk.appendTo(result, first, Math.max(first, end));
+                if (end < chunk.size()) {
+                    break;
+                }
+            }
+            return result.build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Marks the series as evicted and returns the bytes it released
+    long evict() {
+        lock.writeLock().lock();
+        try {
+            evicted = true;
+            long released = allocatedBytes();
+            chunks.clear();
+            covered.clear();
+            return released;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long allocatedBytes() {
+        return OVERHEAD_BYTES + (long) chunks.size() * chunkSize * CandleChunk.BYTES_PER_CANDLE;
+    }
+
+    // Inserts the candle, or overwrites the one with the same open time if replace is set
+    private void insert(CandleSeries candles, int candle, boolean replace) {
+        long openTime = candles.openTime(candle);
+        if (chunks.isEmpty()) {
+            chunks.add(new CandleChunk(chunkSize));
+        }
+        // Fast path for appends in open time order
+        CandleChunk last = chunks.get(chunks.size() - 1);
+        if (last.size() == 0 || openTime > last.lastOpenTime()) {
+            if (last.isFull()) {
+                last = new CandleChunk(chunkSize);
+                chunks.add(last);
+            }
+            last.insert(last.size(), candles, candle);
+            return;
+        }
+
+        int c = firstChunkEndingAtOrAfter(openTime);
+        CandleChunk chunk = chunks.get(c);
+        int index = chunk.search(openTime);
+        if (index >= 0) {
+            if (replace) {
+                chunk.set(index, candles, candle);
+            }
+            return;
+        }
+        if (chunk.isFull()) {
+            CandleChunk upper = chunk.splitUpperHalf();
+            chunks.add(c + 1, upper);
+            if (openTime > chunk.lastOpenTime()) {
+                chunk = upper;
+            }
+            index = chunk.search(openTime);
+        }
+        chunk.insert(-index - 1, candles, candle);
+    }
+
+    // Binary search for the first chunk whose last open time is at or after the given time
+    private int firstChunkEndingAtOrAfter(long time) {
+        int low = 0;
+        int high = chunks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            CandleChunk chunk = chunks.get(mid);
+            if (chunk.size() > 0 && chunk.lastOpenTime() < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return Math.min(low, Math.max(chunks.size() - 1, 0));
+    }
+
+    private void addCoverage(TimeRange range) {
+        long from = range.from();
+        long to = range.to();
+        int i = 0;
+        while (i < covered.size() && covered.get(i).to() < from) {
+            i++;
+        }
+        // Absorb every range that overlaps or touches the new one
+        while (i < covered.size() && covered.get(i).from() <= to) {
+            from = Math.min(from, covered.get(i).from());
+            to = Math.max(to, covered.get(i).to());
+            covered.remove(i);
+        }
+        covered.add(i, new TimeRange(from, to));
+    }
+}
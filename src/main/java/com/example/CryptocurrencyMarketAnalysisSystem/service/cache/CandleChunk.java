@@ -0,0 +1,133 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.cache;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+
+import java.util.Arrays;
+
+// Fixed-capacity block of candles stored column by column, sorted by open time
+final class CandleChunk {
+    static final int BYTES_PER_CANDLE = CandleSeries.BYTES_PER_CANDLE;
+
+    private final long[] openTime;
+    private final long[] closeTime;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+    private final double[] quoteAssetVolume;
+    private final long[] numberOfTrades;
+    private final double[] takerBuyBaseAssetVolume;
+    private final double[] takerBuyQuoteAssetVolume;
+    private int size;
+
+    CandleChunk(int capacity) {
+        openTime = new long[capacity];
+        closeTime = new long[capacity];
+        open = new double[capacity];
+        high = new double[capacity];
+        low = new double[capacity];
+        close = new double[capacity];
+        volume = new double[capacity];
+        quoteAssetVolume = new double[capacity];
+        numberOfTrades = new long[capacity];
+        takerBuyBaseAssetVolume = new double[capacity];
+        takerBuyQuoteAssetVolume = new double[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return openTime.length;
+    }
+
+    boolean isFull() {
+        return size == openTime.length;
+    }
+
+    long firstOpenTime() {
+        return openTime[0];
+    }
+
+    long lastOpenTime() {
+        return openTime[size - 1];
+    }
+
+    long openTimeAt(int index) {
+        return openTime[index];
+    }
+
+    // Same contract as Arrays.binarySearch over the stored open times
+    int search(long time) {
+        return Arrays.binarySearch(openTime, 0, size, time);
+    }
+
+    // Inserts the candle at the given position of the series, shifting later candles one slot to the right
+    void insert(int index, CandleSeries series, int candle) {
+        if (isFull()) {
+            throw new IllegalStateException("Chunk is full");
+        }
+        int moved = size - index;
+        if (moved > 0) {
+            System.arraycopy(openTime, index, openTime, index + 1, moved);
+            System.arraycopy(closeTime, index, closeTime, index + 1, moved);
+            System.arraycopy(open, index, open, index + 1, moved);
+            System.arraycopy(high, index, high, index + 1, moved);
+            System.arraycopy(low, index, low, index + 1, moved);
+            System.arraycopy(close, index, close, index + 1, moved);
+            System.arraycopy(volume, index, volume, index + 1, moved);
+            System.arraycopy(quoteAssetVolume, index, quoteAssetVolume, index + 1, moved);
+            System.arraycopy(numberOfTrades, index, numberOfTrades, index + 1, moved);
+            System.arraycopy(takerBuyBaseAssetVolume, index, takerBuyBaseAssetVolume, index + 1, moved);
+            System.arraycopy(takerBuyQuoteAssetVolume, index, takerBuyQuoteAssetVolume, index + 1, moved);
+        }
+        set(index, series, candle);
+        size++;
+    }
+
+    // Overwrites the candle at the given position with the candle of the series, which has the same open time
+    void set(int index, CandleSeries series, int candle) {
+        openTime[index] = series.openTime(candle);
+        closeTime[index] = series.closeTime(candle);
+        open[index] = series.open(candle);
+        high[index] = series.high(candle);
+        low[index] = series.low(candle);
+        close[index] = series.close(candle);
+        volume[index] = series.volume(candle);
+        quoteAssetVolume[index] = series.quoteAssetVolume(candle);
+        numberOfTrades[index] = series.numberOfTrades(candle);
+        takerBuyBaseAssetVolume[index] = series.takerBuyBaseAssetVolume(candle);
+        takerBuyQuoteAssetVolume[index] = series.takerBuyQuoteAssetVolume(candle);
+    }
+
+    // Moves the upper half of this chunk into a new chunk of the same capacity
+    CandleChunk splitUpperHalf() {
+        CandleChunk upper = new CandleChunk(capacity());
+        int from = size / 2;
+        int moved = size - from;
+        System.arraycopy(openTime, from, upper.openTime, 0, moved);
+        System.arraycopy(closeTime, from, upper.closeTime, 0, moved);
+        System.arraycopy(open, from, upper.open, 0, moved);
+        System.arraycopy(high, from, upper.high, 0, moved);
+        System.arraycopy(low, from, upper.low, 0, moved);
+        System.arraycopy(close, from, upper.close, 0, moved);
+        System.arraycopy(volume, from, upper.volume, 0, moved);
+        System.arraycopy(quoteAssetVolume, from, upper.quoteAssetVolume, 0, moved);
+        System.arraycopy(numberOfTrades, from, upper.numberOfTrades, 0, moved);
+        System.arraycopy(takerBuyBaseAssetVolume, from, upper.takerBuyBaseAssetVolume, 0, moved);
+        System.arraycopy(takerBuyQuoteAssetVolume, from, upper.takerBuyQuoteAssetVolume, 0, moved);
+        upper.size = moved;
+        size = from;
+        return upper;
+    }
+
+    // Appends the candles at positions [from, to) to the builder
+    void appendTo(CandleSeries.Builder builder, int from, int to) {
+        for (int i = from; i < to; i++) {
+            builder.add(openTime[i], closeTime[i], open[i], high[i], low[i], close[i], volume[i], quoteAssetVolume[i],
+                    numberOfTrades[i], takerBuyBaseAssetVolume[i], takerBuyQuoteAssetVolume[i]);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.cache;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory columnar cache of stored candlesticks, one series per (symbol, interval).
+ * A read is a hit when the requested window lies inside a range the series has already loaded or written;
+ * otherwise only the uncovered parts are loaded from the database. Writes extend series that are already
+ * cached but never create new ones, so a large backfill of a cold symbol cannot push out the hot set.
+ * Whole series are evicted in least-recently-used order once the memory budget is exceeded.
+ */
+@Component
+public class CandlestickSeriesCache implements MeterBinder {
+    static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final long maxBytes;
+    private final int chunkSize;
+    // Access-ordered, so iteration starts at the least recently used series
+    private final LinkedHashMap<SeriesKey, CachedCandleSeries> series = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record SeriesKey(String symbol, CandlestickInterval interval) {
+    }
+
+    // Loads the stored candles opening between from and to inclusive, both in milliseconds since epoch
+    @FunctionalInterface
+    public interface RangeLoader {
+        CandleSeries load(long from, long to);
+    }
+
+    public CandlestickSeriesCache(@Value("${candlestick.cache.max-size:256MB}") DataSize maxSize,
+                                  @Value("${candlestick.cache.chunk-size:" + DEFAULT_CHUNK_SIZE + "}") int chunkSize) {
+        if (maxSize.isNegative()) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.maxBytes = maxSize.toBytes();
+        this.chunkSize = chunkSize;
+    }
+
+    // Returns a cache that holds nothing and passes every read to the loader
+    public static CandlestickSeriesCache disabled() {
+        return new CandlestickSeriesCache(DataSize.ofBytes(0), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Returns the candles opening between from and to inclusive, loading uncovered parts through the loader.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param from The first open time in milliseconds since epoch.
+     * @param to The last open time in milliseconds since epoch.
+     * @param loader Reads stored candles from the database.
+     * @return The candles sorted by open time.
+     */
+    public CandleSeries getSeries(String symbol, CandlestickInterval interval, long from, long to, RangeLoader loader) {
+        if (to < from) {
+            return CandleSeries.empty();
+        }
+        if (maxBytes == 0) {
+            misses.increment();
+            return loader.load(from, to);
+        }
+        CachedCandleSeries cached = getOrCreate(new SeriesKey(symbol, interval));
+        List<TimeRange> missing = cached.uncovered(from, to + 1);
+        if (missing.isEmpty()) {
+            CandleSeries result = cached.read(from, to);
+            if (result != null) {
+                hits.increment();
+                return result;
+            }
+        }
+        misses.increment();
+
+        for (TimeRange range : missing) {
+            CandleSeries loaded = loader.load(range.from(), range.to() - 1);
+            usedBytes.addAndGet(cached.put(loaded, span(loaded, range)));
+        }
+        CandleSeries result = cached.read(from, to);
+        evictOverBudget();
+        // The series was evicted by a concurrent caller while it was being filled
+        return result != null ? result : loader.load(from, to);
+    }
+
+    // Appends freshly stored candles to the series if it is cached; the written candles' time span becomes covered
+    public void put(String symbol, CandlestickInterval interval, CandleSeries candles) {
+        put(symbol, interval, candles, false);
+    }
+
+    // Like put, but candles already cached take the new values, e.g. a partial candle replaced by its final one
+    public void replace(String symbol, CandlestickInterval interval, CandleSeries candles) {
+        put(symbol, interval, candles, true);
+    }
+
+    private void put(String symbol, CandlestickInterval interval, CandleSeries candles, boolean replace) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        CachedCandleSeries cached;
+        synchronized (series) {
+            cached = series.get(new SeriesKey(symbol, interval));
+        }
+        if (cached == null) {
+            return;
+        }
+        long firstOpenTime = candles.firstOpenTime();
+        TimeRange coverage = span(candles, new TimeRange(firstOpenTime, firstOpenTime + 1));
+        usedBytes.addAndGet(replace ? cached.replace(candles, coverage) : cached.put(candles, coverage));
+        evictOverBudget();
+    }
+
+    // Drops every cached series
+    public void clear() {
+        synchronized (series) {
+            for (CachedCandleSeries cached : series.values()) {
+                usedBytes.addAndGet(-cached.evict());
+            }
+            series.clear();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    // Widens the range to the end of the last candle; as in gap detection, a candle spans its open time up to its close time plus one
+    private static TimeRange span(CandleSeries candles, TimeRange range) {
+        long to = range.to();
+        for (int i = 0; i < candles.size(); i++) {
+            to = Math.max(to, Math.max(candles.openTime(i), candles.closeTime(i)) + 1);
+        }
+        return new TimeRange(range.from(), to);
+    }
+
+    private CachedCandleSeries getOrCreate(SeriesKey key) {
+        synchronized (series) {
+            return series.computeIfAbsent(key, k -> {
+                usedBytes.addAndGet(CachedCandleSeries.OVERHEAD_BYTES);
+                return new CachedCandleSeries(chunkSize);
+            });
+        }
+    }
+
+    private void evictOverBudget() {
+        if (usedBytes.get() <= maxBytes) {
+            return;
+        }
+        synchronized (series) {
+            Iterator<Map.Entry<SeriesKey, CachedCandleSeries>> iterator = series.entrySet().iterator();
+            while (usedBytes.get() > maxBytes && iterator.hasNext()) {
+                CachedCandleSeries eldest = iterator.next().getValue();
+                iterator.remove();
+                usedBytes.addAndGet(-eldest.evict());
+                evictions.increment();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("candlestick.cache.hits", hits, LongAdder::sum)
+                .description("Candle reads answered from memory")
+                .register(registry);
+        FunctionCounter.builder("candlestick.cache.misses", misses, LongAdder::sum)
+                .description("Candle reads that had to load from the database")
+                .register(registry);
+        FunctionCounter.builder("candlestick.cache.evictions", evictions, LongAdder::sum)
+                .description("Series evicted to stay within the memory budget")
+                .register(registry);
+        Gauge.builder("candlestick.cache.size", usedBytes, AtomicLong::get)
+                .description("Bytes allocated to cached candle columns")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
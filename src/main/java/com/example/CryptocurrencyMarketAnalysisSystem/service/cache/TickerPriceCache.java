@@ -0,0 +1,210 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.cache;
+
+import com.binance.api.client.domain.market.TickerPrice;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.PriceCacheProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Latest ticker prices per symbol, served while younger than the freshness window. Concurrent misses of a
+ * symbol share one upstream request, so a symbol costs at most one request per freshness window however
+ * many users read it. A bulk refresh updates every tracked symbol from a single all-tickers response.
+ * Symbols not read for the tracking timeout are dropped.
+ */
+@Component
+public class TickerPriceCache implements MeterBinder {
+
+    private final long freshnessNanos;
+    private final long trackingTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<String, TickerPrice> loads = new SingleFlight<>();
+    private volatile long lastPruneNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder upstreamRequests = new LongAdder();
+    private final LongAdder bulkRefreshes = new LongAdder();
+
+    // A price with the time it was fetched; lastReadNanos keeps the symbol tracked
+    private static final class Entry {
+        private final TickerPrice price;
+        private final long fetchedNanos;
+        private volatile long lastReadNanos;
+
+        private Entry(TickerPrice price, long fetchedNanos, long lastReadNanos) {
+            this.price = price;
+            this.fetchedNanos = fetchedNanos;
+            this.lastReadNanos = lastReadNanos;
+        }
+    }
+
+    @Autowired
+    public TickerPriceCache(PriceCacheProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    TickerPriceCache(PriceCacheProperties properties, LongSupplier nanoClock) {
+        if (properties.getFreshness().isNegative()) {
+            throw new IllegalArgumentException("Freshness must not be negative");
+        }
+        this.freshnessNanos = properties.getFreshness().toNanos();
+        this.trackingTimeoutNanos = properties.getTrackingTimeout().toNanos();
+        this.nanoClock = nanoClock;
+        this.lastPruneNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Returns the cached price of a symbol if it is fresh, and otherwise loads it, sharing the load with
+     * concurrent callers.
+     *
+     * @param symbol The trading pair symbol.
+     * @param loader Requests the price of one symbol upstream.
+     * @return The ticker price.
+     */
+    public TickerPrice get(String symbol, Function<String, TickerPrice> loader) {
+        String key = symbol.trim().toUpperCase(Locale.ROOT);
+        long now = nanoClock.getAsLong();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.fetchedNanos <= freshnessNanos) {
+            entry.lastReadNanos = now;
+            hits.increment();
+            return entry.price;
+        }
+        misses.increment();
+        pruneIfDue(now);
+        return loads.execute(key, () -> {
+            // A load that finished after the freshness check above may have stored a fresh price already
+            Entry current = entries.get(key);
+            long start = nanoClock.getAsLong();
+            if (current != null && start - current.fetchedNanos <= freshnessNanos) {
+                current.lastReadNanos = start;
+                return current.price;
+            }
+            upstreamRequests.increment();
+            TickerPrice price = loader.apply(key);
+            entries.put(key, new Entry(price, nanoClock.getAsLong(), start));
+            return price;
+        });
+    }
+
+    /**
+     * Updates every tracked symbol from one response listing the prices of all symbols. Symbols that are
+     * not tracked are skipped, so the cache holds only what users read.
+     *
+     * @param allPricesLoader Requests the prices of all symbols upstream.
+     * @return The number of symbols updated, 0 without a request if no symbol is tracked.
+     */
+    public int refreshTracked(Supplier<List<TickerPrice>> allPricesLoader) {
+        long now = nanoClock.getAsLong();
+        prune(now);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        upstreamRequests.increment();
+        bulkRefreshes.increment();
+        List<TickerPrice> prices = allPricesLoader.get();
+        long fetched = nanoClock.getAsLong();
+        int updated = 0;
+        for (TickerPrice price : prices) {
+            Entry entry = entries.get(price.getSymbol());
+            if (entry != null) {
+                entries.put(price.getSymbol(), new Entry(price, fetched, entry.lastReadNanos));
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    public Set<String> getTrackedSymbols() {
+        return entries.keySet().stream().collect(Collectors.toUnmodifiableSet());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Requests sent upstream, single symbols and bulk refreshes; lower than the misses by the coalesced ones
+    public long getUpstreamRequests() {
+        return upstreamRequests.sum();
+    }
+
+    public long getCoalescedCount() {
+        return loads.getCoalescedCount();
+    }
+
+    // Share of reads answered from the cache, NaN before the first read
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? Double.NaN : (double) hitCount / total;
+    }
+
+    // Age of the oldest cached price in milliseconds, 0 if the cache is empty
+    public double getMaxStalenessMillis() {
+        long now = nanoClock.getAsLong();
+        long oldest = 0;
+        for (Entry entry : entries.values()) {
+            oldest = Math.max(oldest, now - entry.fetchedNanos);
+        }
+        return oldest / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    // Pruning walks every entry, so reads do it at most once per tracking timeout
+    private void pruneIfDue(long now) {
+        if (now - lastPruneNanos > trackingTimeoutNanos) {
+            prune(now);
+        }
+    }
+
+    private void prune(long now) {
+        lastPruneNanos = now;
+        entries.values().removeIf(entry -> now - entry.lastReadNanos > trackingTimeoutNanos);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("price.cache.hits", hits, LongAdder::sum)
+                .description("Price reads answered from the cache")
+                .register(registry);
+        FunctionCounter.builder("price.cache.misses", misses, LongAdder::sum)
+                .description("Price reads that found no fresh price")
+                .register(registry);
+        FunctionCounter.builder("price.cache.coalesced", loads, SingleFlight::getCoalescedCount)
+                .description("Misses that waited for the request of another read")
+                .register(registry);
+        FunctionCounter.builder("price.cache.upstream.requests", upstreamRequests, LongAdder::sum)
+                .description("Price requests sent to Binance, bulk refreshes included")
+                .register(registry);
+        FunctionCounter.builder("price.cache.bulk.refreshes", bulkRefreshes, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("price.cache.hit.ratio", this, TickerPriceCache::getHitRatio)
+                .register(registry);
+        Gauge.builder("price.cache.staleness.max", this, TickerPriceCache::getMaxStalenessMillis)
+                .description("Age of the oldest cached price")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("price.cache.symbols", entries, Map::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Traces the pages of the candle ingestion pipeline. Every page fetched from the API or written to the store is a
+ * span: its candles and duration are added to the meters of its stage, and it is summarised in one structured log
+ * line, so a backfill logs a line per page of up to a thousand candles instead of one per candle. The candles
+ * themselves are logged at DEBUG under {@code IngestionTracer.candles}, and only one in every
+ * {@code candlestick.trace.candle-sample-every} of a page.
+ */
+@Component
+public class IngestionTracer implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(IngestionTracer.class);
+    private static final Logger candleLogger = LoggerFactory.getLogger(IngestionTracer.class.getName() + ".candles");
+    private static final IngestionTracer DISABLED = new IngestionTracer();
+
+    public enum Stage {
+        FETCH, STORE;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final boolean enabled;
+    private final int candleSampleEvery;
+    private final LongSupplier nanoClock;
+    private final Map<Stage, StageStats> stats = new EnumMap<>(Stage.class);
+
+    // Pages, candles and time of one stage
+    private static final class StageStats {
+        private final LongAdder pages = new LongAdder();
+        private final LongAdder candles = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+
+    @Autowired
+    public IngestionTracer(@Value("${candlestick.trace.candle-sample-every:100}") int candleSampleEvery) {
+        this(candleSampleEvery, System::nanoTime);
+    }
+
+    IngestionTracer(int candleSampleEvery, LongSupplier nanoClock) {
+        if (candleSampleEvery <= 0) {
+            throw new IllegalArgumentException("Candle sample rate must be positive");
+        }
+        this.enabled = true;
+        this.candleSampleEvery = candleSampleEvery;
+        this.nanoClock = nanoClock;
+        for (Stage stage : Stage.values()) {
+            stats.put(stage, new StageStats());
+        }
+    }
+
+    private IngestionTracer() {
+        this.enabled = false;
+        this.candleSampleEvery = Integer.MAX_VALUE;
+        this.nanoClock = () -> 0L;
+    }
+
+    // A tracer that records and logs nothing
+    public static IngestionTracer disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Starts the span of a page.
+     *
+     * @param stage The stage the page passes through.
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param from The open time of the first candle of the page in milliseconds since epoch.
+     * @param to The open time after the last candle of the page in milliseconds since epoch.
+     * @return The span, to be completed with the number of candles and closed when the page is done.
+     */
+    public Span start(Stage stage, String symbol, CandlestickInterval interval, long from, long to) {
+        return new Span(stage, symbol, interval, from, to, nanoClock.getAsLong());
+    }
+
+    public long getPageCount(Stage stage) {
+        return enabled ? stats.get(stage).pages.sum() : 0;
+    }
+
+    public long getCandleCount(Stage stage) {
+        return enabled ? stats.get(stage).candles.sum() : 0;
+    }
+
+    public long getFailureCount(Stage stage) {
+        return enabled ? stats.get(stage).failures.sum() : 0;
+    }
+
+    /**
+     * The span of one page, used by a single thread. A span closed without being completed counts as failed.
+     */
+    public final class Span implements AutoCloseable {
+        private final Stage stage;
+        private final String symbol;
+        private final CandlestickInterval interval;
+        private final long from;
+        private final long to;
+        private final long startNanos;
+        private int candles = -1;
+
+        private Span(Stage stage, String symbol, CandlestickInterval interval, long from, long to, long startNanos) {
+            this.stage = stage;
+            this.symbol = symbol;
+            this.interval = interval;
+            this.from = from;
+            this.to = to;
+            this.startNanos = startNanos;
+        }
+
+        // Marks the page as done with the given number of candles
+        public void completed(int candles) {
+            this.candles = candles;
+        }
+
+        /**
+         * Logs a sample of the candles of the page at DEBUG: the first and then every n-th one. Nothing is
+         * rendered unless the candle logger is enabled.
+         *
+         * @param count The number of candles in the page.
+         * @param candle Returns the candle at the given index, rendered with its {@code toString}.
+         */
+        public void sampleCandles(int count, IntFunction<?> candle) {
+            if (!enabled || !candleLogger.isDebugEnabled()) {
+                return;
+            }
+            for (int i = 0; i < count; i += candleSampleEvery) {
+                candleLogger.debug("stage={} symbol={} interval={} index={} of={} candle={}",
+                        stage.tag, symbol, interval, i, count, candle.apply(i));
+            }
+        }
+
+        // Adds the page to the meters of its stage and logs its summary
+        @Override
+        public void close() {
+            if (!enabled) {
+                return;
+            }
+            long nanos = nanoClock.getAsLong() - startNanos;
+            StageStats stageStats = stats.get(stage);
+            stageStats.pages.increment();
+            stageStats.nanos.add(nanos);
+            boolean failed = candles < 0;
+            if (failed) {
+                stageStats.failures.increment();
+            } else {
+                stageStats.candles.add(candles);
+            }
+            if (logger.isInfoEnabled()) {
+                logger.info("stage={} symbol={} interval={} from={} to={} candles={} durationMs={} outcome={}",
+                        stage.tag, symbol, interval, from, to, failed ? 0 : candles,
+                        TimeUnit.NANOSECONDS.toMillis(nanos), failed ? "failed" : "ok");
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        for (Stage stage : Stage.values()) {
+            StageStats stageStats = stats.get(stage);
+            FunctionTimer.builder("candlestick.ingestion.pages", stageStats,
+                            s -> s.pages.sum(), s -> s.nanos.sum(), TimeUnit.NANOSECONDS)
+                    .tag("stage", stage.tag)
+                    .description("Candle pages fetched from the API or written to the store")
+                    .register(registry);
+            FunctionCounter.builder("candlestick.ingestion.candles", stageStats, s -> s.candles.sum())
+                    .tag("stage", stage.tag)
+                    .description("Candles in the pages that went through the stage")
+                    .register(registry);
+            FunctionCounter.builder("candlestick.ingestion.failures", stageStats, s -> s.failures.sum())
+                    .tag("stage", stage.tag)
+                    .description("Candle pages that failed in the stage")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, which happens when one blocks while it holds
+ * a monitor, e.g. inside the synchronized sections of OkHttp and Retrofit under the Binance client. A pinned
+ * virtual thread blocks a carrier like a platform thread would, and enough of them stall every virtual thread.
+ * <p>
+ * The monitor listens to the {@code jdk.VirtualThreadPinned} events of an in-process JFR stream. Pins longer than
+ * the threshold are counted, and the first pin at each call site is logged with its stack trace; later pins there
+ * are only counted. It runs only while Tomcat and the Binance calls are on virtual threads.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    // Call sites logged with their stack trace, so a pin in a hot loop cannot flood the log
+    private static final int MAX_LOGGED_SITES = 100;
+    private static final int MAX_LOGGED_FRAMES = 24;
+
+    private final Duration threshold;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+    private final LongAdder pins = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(@Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        if (threshold.isNegative()) {
+            throw new IllegalArgumentException("Pinning threshold must not be negative");
+        }
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (recording != null) {
+            return;
+        }
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            recording = stream;
+            logger.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+        } catch (IllegalStateException | SecurityException e) {
+            // JFR may be unavailable or disabled in this runtime; the application runs without the diagnostics
+            logger.warn("Could not start the JFR stream for virtual thread pinning", e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public long getPinnedCount() {
+        return pins.sum();
+    }
+
+    public double getPinnedMillis() {
+        return pinnedNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pins.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = callSite(frames);
+        if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+            logger.warn("Virtual thread pinned for {} ms at {}\n{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(MAX_LOGGED_FRAMES).map(frame -> "\tat " + format(frame))
+                            .collect(Collectors.joining("\n")));
+        }
+    }
+
+    // The first frame outside the JDK, where the blocking call was made; the top frame if there is none
+    private static String callSite(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return format(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : format(frames.get(0));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("jvm.threads.virtual.pinned", this,
+                        monitor -> monitor.pins.sum(), monitor -> monitor.pinnedNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Virtual threads pinned to their carrier for longer than the threshold")
+                .register(registry);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.export;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The columns of a {@link CandleSeries} as the candle API exports them, in their default order. Times and
+ * trade counts are 64-bit integers, prices and volumes 64-bit floats.
+ */
+public enum CandleColumn {
+    OPEN_TIME("openTime", CandleSeries::openTimes, null),
+    CLOSE_TIME("closeTime", CandleSeries::closeTimes, null),
+    OPEN("open", null, CandleSeries::opens),
+    HIGH("high", null, CandleSeries::highs),
+    LOW("low", null, CandleSeries::lows),
+    CLOSE("close", null, CandleSeries::closes),
+    VOLUME("volume", null, CandleSeries::volumes),
+    QUOTE_ASSET_VOLUME("quoteAssetVolume", null, CandleSeries::quoteAssetVolumes),
+    NUMBER_OF_TRADES("numberOfTrades", CandleSeries::numbersOfTrades, null),
+    TAKER_BUY_BASE_ASSET_VOLUME("takerBuyBaseAssetVolume", null, CandleSeries::takerBuyBaseAssetVolumes),
+    TAKER_BUY_QUOTE_ASSET_VOLUME("takerBuyQuoteAssetVolume", null, CandleSeries::takerBuyQuoteAssetVolumes);
+
+    // Copies a column of a series; writers copy slices of a bounded size rather than a whole column
+    @FunctionalInterface
+    interface LongColumn {
+        long[] copy(CandleSeries series);
+    }
+
+    @FunctionalInterface
+    interface DoubleColumn {
+        double[] copy(CandleSeries series);
+    }
+
+    private final String fieldName;
+    private final LongColumn longs;
+    private final DoubleColumn doubles;
+
+    CandleColumn(String fieldName, LongColumn longs, DoubleColumn doubles) {
+        this.fieldName = fieldName;
+        this.longs = longs;
+        this.doubles = doubles;
+    }
+
+    // Name of the column in both formats, as in the Binance candle fields
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public boolean isInteger() {
+        return longs != null;
+    }
+
+    long[] copyLongs(CandleSeries series) {
+        return longs.copy(series);
+    }
+
+    double[] copyDoubles(CandleSeries series) {
+        return doubles.copy(series);
+    }
+
+    /**
+     * Parses a comma-separated list of field names, e.g. {@code openTime,close,volume}.
+     *
+     * @param names The field names, or null or blank for every column.
+     * @return The columns in the order given.
+     */
+    public static List<CandleColumn> parse(String names) {
+        if (names == null || names.isBlank()) {
+            return List.of(values());
+        }
+        List<CandleColumn> columns = new ArrayList<>();
+        EnumSet<CandleColumn> seen = EnumSet.noneOf(CandleColumn.class);
+        for (String name : names.split(",")) {
+            CandleColumn column = byFieldName(name.trim());
+            if (!seen.add(column)) {
+                throw new IllegalArgumentException("Column " + column.fieldName + " is requested twice");
+            }
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    private static CandleColumn byFieldName(String name) {
+        for (CandleColumn column : values()) {
+            if (column.fieldName.equals(name) || column.name().equals(name.toUpperCase(Locale.ROOT))) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column: " + name);
+    }
+}
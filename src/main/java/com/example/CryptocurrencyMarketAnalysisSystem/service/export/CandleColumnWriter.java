@@ -0,0 +1,144 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.export;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes the columns of a {@link CandleSeries} to a stream, as binary or as JSON, straight from its primitive
+ * arrays. No object is created per candle: each column is copied out in chunks of {@link #CHUNK_ROWS} values,
+ * which the binary format moves into one little-endian buffer in bulk and the JSON format writes as arrays.
+ * <p>
+ * The binary format is little-endian throughout:
+ * <pre>
+ * magic        4 bytes   "CNDL"
+ * version      int32     1
+ * rows         int32     number of candles
+ * columns      int32     number of columns
+ * per column   uint8     type, 0 for int64 and 1 for float64
+ *              uint8     length of the name
+ *              bytes     the name in ASCII, e.g. "openTime"
+ * padding      0 to 7 zero bytes, so the data starts at a multiple of 8
+ * per column   rows values of 8 bytes each, in the order of the header
+ * </pre>
+ * In numpy, a column is {@code np.frombuffer(data, '<i8' or '<f8', rows, offset)}. The JSON format has the same
+ * columns as arrays: {@code {"rows":n,"columns":{"openTime":[...],"close":[...]}}}.
+ */
+public final class CandleColumnWriter {
+    public static final byte[] MAGIC = {'C', 'N', 'D', 'L'};
+    public static final int VERSION = 1;
+    public static final byte TYPE_INT64 = 0;
+    public static final byte TYPE_FLOAT64 = 1;
+    // 64 KB of values per write
+    static final int CHUNK_ROWS = 8192;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private CandleColumnWriter() {
+    }
+
+    // Size of the binary form of a series, for the Content-Length of a response
+    public static long binarySize(int rows, List<CandleColumn> columns) {
+        return headerSize(columns) + (long) rows * columns.size() * Long.BYTES;
+    }
+
+    /**
+     * Writes the columns of a series in the binary format described above.
+     *
+     * @param series The candles to write.
+     * @param columns The columns to write, in order.
+     * @param out The stream to write to; it is neither flushed nor closed.
+     * @throws IOException If the stream fails.
+     */
+    public static void writeBinary(CandleSeries series, List<CandleColumn> columns, OutputStream out) throws IOException {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        ByteBuffer header = ByteBuffer.allocate(headerSize(columns)).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC).putInt(VERSION).putInt(series.size()).putInt(columns.size());
+        for (CandleColumn column : columns) {
+            byte[] name = column.getFieldName().getBytes(StandardCharsets.US_ASCII);
+            header.put(column.isInteger() ? TYPE_INT64 : TYPE_FLOAT64).put((byte) name.length).put(name);
+        }
+        out.write(header.array());
+
+        int rows = series.size();
+        ByteBuffer chunk = ByteBuffer.allocate(Math.min(rows, CHUNK_ROWS) * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (CandleColumn column : columns) {
+            for (int from = 0; from < rows; from += CHUNK_ROWS) {
+                int to = Math.min(rows, from + CHUNK_ROWS);
+                chunk.clear();
+                CandleSeries slice = series.slice(from, to);
+                if (column.isInteger()) {
+                    chunk.asLongBuffer().put(column.copyLongs(slice));
+                } else {
+                    chunk.asDoubleBuffer().put(column.copyDoubles(slice));
+                }
+                out.write(chunk.array(), 0, (to - from) * Long.BYTES);
+            }
+        }
+    }
+
+    /**
+     * Writes the columns of a series as JSON arrays, streaming the numbers without building a tree.
+     *
+     * @param series The candles to write.
+     * @param columns The columns to write, in order.
+     * @param out The stream to write to; it is flushed but not closed.
+     * @throws IOException If the stream fails.
+     */
+    public static void writeJson(CandleSeries series, List<CandleColumn> columns, OutputStream out) throws IOException {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column is required");
+        }
+        int rows = series.size();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartObject();
+            generator.writeNumberField("rows", rows);
+            generator.writeObjectFieldStart("columns");
+            for (CandleColumn column : columns) {
+                generator.writeArrayFieldStart(column.getFieldName());
+                for (int from = 0; from < rows; from += CHUNK_ROWS) {
+                    CandleSeries slice = series.slice(from, Math.min(rows, from + CHUNK_ROWS));
+                    if (column.isInteger()) {
+                        writeNumbers(generator, column.copyLongs(slice));
+                    } else {
+                        writeNumbers(generator, column.copyDoubles(slice));
+                    }
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeNumbers(JsonGenerator generator, long[] values) throws IOException {
+        for (long value : values) {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeNumbers(JsonGenerator generator, double[] values) throws IOException {
+        for (double value : values) {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static int headerSize(List<CandleColumn> columns) {
+        int size = MAGIC.length + 3 * Integer.BYTES;
+        for (CandleColumn column : columns) {
+            size += 2 + column.getFieldName().length();
+        }
+        return (size + Long.BYTES - 1) / Long.BYTES * Long.BYTES;
+    }
+}
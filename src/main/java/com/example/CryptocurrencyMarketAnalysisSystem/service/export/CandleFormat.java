@@ -0,0 +1,21 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.export;
+
+import org.springframework.http.MediaType;
+
+/** Output formats of the candle API. */
+public enum CandleFormat {
+    /** The little-endian columnar layout of {@link CandleColumnWriter}. */
+    BINARY(MediaType.APPLICATION_OCTET_STREAM),
+    /** The same columns as JSON arrays. */
+    JSON(MediaType.APPLICATION_JSON);
+
+    private final MediaType mediaType;
+
+    CandleFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import java.util.List;
+
+// Wilder-smoothed true range; the first value is the mean of the true ranges of candles 1 to period
+public final class AverageTrueRange implements Indicator {
+    private final int period;
+
+    public AverageTrueRange(int period) {
+        this.period = Indicators.requirePositive(period);
+    }
+
+    @Override
+    public String getName() {
+        return "ATR(" + period + ")";
+    }
+
+    @Override
+    public int getLookback() {
+        return period;
+    }
+
+    @Override
+    public List<String> getOutputs() {
+        return List.of("atr");
+    }
+
+    @Override
+    public IndicatorKernel bind(PriceColumns columns, double[][] outputs) {
+        double[] high = columns.high();
+        double[] low = columns.low();
+        double[] close = columns.close();
+        double[] out = outputs[0];
+        return new IndicatorKernel() {
+            private double atr;
+
+            @Override
+            public void compute(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    computeAt(i);
+                }
+            }
+
+            private void computeAt(int i) {
+                if (i == 0) {
+                    // Without a previous close the first candle has no true range
+                    out[i] = Double.NaN;
+                    return;
+                }
+                double previousClose = close[i - 1];
+                double trueRange = Math.max(high[i] - low[i],
+                        Math.max(Math.abs(high[i] - previousClose), Math.abs(low[i] - previousClose)));
+                if (i < period) {
+                    atr += trueRange;
+                    out[i] = Double.NaN;
+                } else if (i == period) {
+                    atr = (atr + trueRange) / period;
+                    out[i] = atr;
+                } else {
+                    atr = (atr * (period - 1) + trueRange) / period;
+                    out[i] = atr;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Simple moving average of the closes with bands a number of population standard deviations away
+public final class BollingerBands implements Indicator {
+    private final int period;
+    private final double deviations;
+
+    public BollingerBands(int period, double deviations) {
+        this.period = Indicators.requirePositive(period);
+        if (!(deviations > 0) || Double.isInfinite(deviations)) {
+            throw new IllegalArgumentException("Bollinger band width must be positive");
+        }
+        this.deviations = deviations;
+    }
+
+    @Override
+    public String getName() {
+        return "BOLLINGER(" + period + "," + BigDecimal.valueOf(deviations).stripTrailingZeros().toPlainString() + ")";
+    }
+
+    @Override
+    public int getLookback() {
+        return period - 1;
+    }
+
+    @Override
+    public List<String> getOutputs() {
+        return List.of("middle", "upper", "lower");
+    }
+
+    @Override
+    public IndicatorKernel bind(PriceColumns columns, double[][] outputs) {
+        double[] close = columns.close();
+        double[] middleOut = outputs[0];
+        double[] upperOut = outputs[1];
+        double[] lowerOut = outputs[2];
+        return new IndicatorKernel() {
+            private double sum;
+            private double sumOfSquares;
+
+            @Override
+            public void compute(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    computeAt(i);
+                }
+            }
+
+            private void computeAt(int i) {
+                double c = close[i];
+                sum += c;
+                sumOfSquares += c * c;
+                if (i >= period) {
+                    double dropped = close[i - period];
+                    sum -= dropped;
+                    sumOfSquares -= dropped * dropped;
+                }
+                if (i < period - 1) {
+                    middleOut[i] = upperOut[i] = lowerOut[i] = Double.NaN;
+                    return;
+                }
+                double mean = sum / period;
+                // Cancellation in the running sums can leave a tiny negative variance for a flat window
+                double width = deviations * Math.sqrt(Math.max(0, sumOfSquares / period - mean * mean));
+                middleOut[i] = mean;
+                upperOut[i] = mean + width;
+                lowerOut[i] = mean - width;
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+// Exponential moving average seeded with the simple mean of its first period values
+final class ExponentialAverage {
+    private final int period;
+    private final double alpha;
+    private int count;
+    private double value;
+
+    ExponentialAverage(int period) {
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    // Absorbs the next value and returns the average, or NaN until period values were absorbed
+    double next(double x) {
+        if (count < period) {
+            value += x;
+            if (++count < period) {
+                return Double.NaN;
+            }
+            value /= period;
+            return value;
+        }
+        value += alpha * (x - value);
+        return value;
+    }
+}
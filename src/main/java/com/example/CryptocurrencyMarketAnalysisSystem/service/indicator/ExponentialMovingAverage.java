@@ -0,0 +1,39 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import java.util.List;
+
+// Exponential moving average of the closes with smoothing 2 / (period + 1)
+public final class ExponentialMovingAverage implements Indicator {
+    private final int period;
+
+    public ExponentialMovingAverage(int period) {
+        this.period = Indicators.requirePositive(period);
+    }
+
+    @Override
+    public String getName() {
+        return "EMA(" + period + ")";
+    }
+
+    @Override
+    public int getLookback() {
+        return period - 1;
+    }
+
+    @Override
+    public List<String> getOutputs() {
+        return List.of("ema");
+    }
+
+    @Override
+    public IndicatorKernel bind(PriceColumns columns, double[][] outputs) {
+        double[] close = columns.close();
+        double[] out = outputs[0];
+        ExponentialAverage ema = new ExponentialAverage(period);
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                out[i] = ema.next(close[i]);
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import java.util.List;
+
+/**
+ * A technical indicator computed over the primitive columns of a candle series.
+ * An indicator only describes itself; {@link #bind} creates the kernel holding the running state of one
+ * evaluation, so the same indicator can be evaluated concurrently over different series.
+ */
+public interface Indicator {
+
+    // Name the indicator is reported under, including its parameters, e.g. "EMA(20)"
+    String getName();
+
+    // Number of leading candles for which the indicator has no value yet
+    int getLookback();
+
+    // Names of the lines the indicator produces, in the order of the output arrays
+    List<String> getOutputs();
+
+    /**
+     * Binds the indicator to the columns of one series.
+     *
+     * @param columns The price columns to read.
+     * @param outputs One array per output line, each at least as long as the series.
+     * @return A kernel writing the value of output o at candle i to outputs[o][i], NaN within the lookback.
+     */
+    IndicatorKernel bind(PriceColumns columns, double[][] outputs);
+}
@@ -0,0 +1,66 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates any number of indicators over one series in a single fused pass. The series is walked in blocks
+ * small enough to stay in cache and every kernel runs over a block before the pass moves on, so the columns
+ * are read from memory once for all indicators instead of once per indicator, while each kernel still runs
+ * a tight loop of its own.
+ */
+public final class IndicatorEvaluator {
+    // Candles per block; the price columns and outputs of a block fit in the L2 cache
+    static final int BLOCK_SIZE = 1024;
+
+    private IndicatorEvaluator() {
+    }
+
+    // Largest lookback of the indicators, i.e. the first index at which all of them have a value
+    public static int lookback(List<Indicator> indicators) {
+        int lookback = 0;
+        for (Indicator indicator : indicators) {
+            lookback = Math.max(lookback, indicator.getLookback());
+        }
+        return lookback;
+    }
+
+    /**
+     * Evaluates the indicators over the whole series.
+     *
+     * @param candles The candles, sorted by open time.
+     * @param indicators The indicators to evaluate.
+     * @return One array per output line, as long as the series, keyed by {@link #outputKey}, in indicator order.
+     */
+    public static Map<String, double[]> evaluate(CandleSeries candles, List<Indicator> indicators) {
+        int size = candles.size();
+        PriceColumns columns = new PriceColumns(candles);
+        Map<String, double[]> values = new LinkedHashMap<>();
+        IndicatorKernel[] kernels = new IndicatorKernel[indicators.size()];
+        for (int k = 0; k < kernels.length; k++) {
+            Indicator indicator = indicators.get(k);
+            List<String> outputs = indicator.getOutputs();
+            double[][] arrays = new double[outputs.size()][size];
+            for (int o = 0; o < arrays.length; o++) {
+                values.put(outputKey(indicator, outputs.get(o)), arrays[o]);
+            }
+            kernels[k] = indicator.bind(columns, arrays);
+        }
+
+        for (int from = 0; from < size; from += BLOCK_SIZE) {
+            int to = Math.min(size, from + BLOCK_SIZE);
+            for (IndicatorKernel kernel : kernels) {
+                kernel.compute(from, to);
+            }
+        }
+        return values;
+    }
+
+    // An indicator with one line is reported under its name, the lines of others as name.line
+    public static String outputKey(Indicator indicator, String output) {
+        return indicator.getOutputs().size() == 1 ? indicator.getName() : indicator.getName() + "." + output;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+// Running state of one indicator over one series; called with consecutive index ranges starting at 0
+@FunctionalInterface
+public interface IndicatorKernel {
+
+    // Computes the values of the candles from the first index up to the last index exclusive
+    void compute(int from, int to);
+}
@@ -0,0 +1,66 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Creates indicators from a textual specification such as {@code "EMA:20,MACD:12:26:9,VWAP"}.
+ * Each entry is an indicator name followed by its colon-separated parameters; omitted parameters take
+ * the customary defaults. Entries resolving to the same indicator are evaluated once.
+ */
+public final class Indicators {
+    public static final String DEFAULT_SPECIFICATION = "SMA:20,EMA:20,MACD:12:26:9,BOLLINGER:20:2,ATR:14,VWAP,STOCHASTIC:14:3,RSI:14";
+
+    private Indicators() {
+    }
+
+    public static List<Indicator> parse(String specification) {
+        if (specification == null || specification.isBlank()) {
+            throw new IllegalArgumentException("At least one indicator is required");
+        }
+        Map<String, Indicator> indicators = new LinkedHashMap<>();
+        for (String entry : specification.split(",")) {
+            Indicator indicator = parseEntry(entry.trim());
+            indicators.putIfAbsent(indicator.getName(), indicator);
+        }
+        return new ArrayList<>(indicators.values());
+    }
+
+    private static Indicator parseEntry(String entry) {
+        String[] parts = entry.split(":");
+        String name = parts[0].trim().toUpperCase(Locale.ROOT);
+        try {
+            return switch (name) {
+                case "SMA" -> new SimpleMovingAverage(intParameter(parts, 1, 20));
+                case "EMA" -> new ExponentialMovingAverage(intParameter(parts, 1, 20));
+                case "MACD" -> new MACD(intParameter(parts, 1, 12), intParameter(parts, 2, 26), intParameter(parts, 3, 9));
+                case "BOLLINGER", "BB" -> new BollingerBands(intParameter(parts, 1, 20), doubleParameter(parts, 2, 2));
+                case "ATR" -> new AverageTrueRange(intParameter(parts, 1, 14));
+                case "VWAP" -> new VWAP();
+                case "STOCHASTIC", "STOCH" -> new StochasticOscillator(intParameter(parts, 1, 14), intParameter(parts, 2, 3));
+                case "RSI" -> new RelativeStrengthIndex(intParameter(parts, 1, 14));
+                default -> throw new IllegalArgumentException("Unknown indicator: " + parts[0].trim());
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid indicator parameters: " + entry, e);
+        }
+    }
+
+    private static int intParameter(String[] parts, int index, int defaultValue) {
+        return index < parts.length ? Integer.parseInt(parts[index].trim()) : defaultValue;
+    }
+
+    private static double doubleParameter(String[] parts, int index, double defaultValue) {
+        return index < parts.length ? Double.parseDouble(parts[index].trim()) : defaultValue;
+    }
+
+    static int requirePositive(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        return period;
+    }
+}
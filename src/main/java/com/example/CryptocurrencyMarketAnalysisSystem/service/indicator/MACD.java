@@ -0,0 +1,55 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import java.util.List;
+
+// Difference of a fast and a slow close EMA, with an EMA of that difference as signal line
+public final class MACD implements Indicator {
+    private final int fastPeriod;
+    private final int slowPeriod;
+    private final int signalPeriod;
+
+    public MACD(int fastPeriod, int slowPeriod, int signalPeriod) {
+        this.fastPeriod = Indicators.requirePositive(fastPeriod);
+        this.slowPeriod = Indicators.requirePositive(slowPeriod);
+        this.signalPeriod = Indicators.requirePositive(signalPeriod);
+        if (fastPeriod >= slowPeriod) {
+            throw new IllegalArgumentException("MACD fast period must be shorter than the slow period");
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "MACD(" + fastPeriod + "," + slowPeriod + "," + signalPeriod + ")";
+    }
+
+    @Override
+    public int getLookback() {
+        return slowPeriod + signalPeriod - 2;
+    }
+
+    @Override
+    public List<String> getOutputs() {
+        return List.of("macd", "signal", "histogram");
+    }
+
+    @Override
+    public IndicatorKernel bind(PriceColumns columns, double[][] outputs) {
+        double[] close = columns.close();
+        double[] macdOut = outputs[0];
+        double[] signalOut = outputs[1];
+        double[] histogramOut = outputs[2];
+        ExponentialAverage fast = new ExponentialAverage(fastPeriod);
+        ExponentialAverage slow = new ExponentialAverage(slowPeriod);
+        ExponentialAverage signal = new ExponentialAverage(signalPeriod);
+        return (from, to) -> {
+            for (int i = from; i < to; i++) {
+                double macd = fast.next(close[i]) - slow.next(close[i]);
+                // The signal line only starts once the slow average is seeded
+                double signalValue = Double.isNaN(macd) ? Double.NaN : signal.next(macd);
+                macdOut[i] = macd;
+                signalOut[i] = signalValue;
+                histogramOut[i] = macd - signalValue;
+            }
+        };
+    }
+}
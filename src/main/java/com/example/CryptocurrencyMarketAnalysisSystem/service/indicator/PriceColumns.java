@@ -0,0 +1,59 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+
+/**
+ * The price columns of a candle series as plain arrays. A column is copied out of the series the first time
+ * an indicator asks for it, so evaluating indicators that only read closes copies nothing else.
+ */
+public final class PriceColumns {
+    private final CandleSeries series;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+
+    public PriceColumns(CandleSeries series) {
+        this.series = series;
+    }
+
+    public int size() {
+        return series.size();
+    }
+
+    public double[] open() {
+        if (open == null) {
+            open = series.opens();
+        }
+        return open;
+    }
+
+    public double[] high() {
+        if (high == null) {
+            high = series.highs();
+        }
+        return high;
+    }
+
+    public double[] low() {
+        if (low == null) {
+            low = series.lows();
+        }
+        return low;
+    }
+
+    public double[] close() {
+        if (close == null) {
+            close = series.closes();
+        }
+        return close;
+    }
+
+    public double[] volume() {
+        if (volume == null) {
+            volume = series.volumes();
+        }
+        return volume;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.util.WilderRSI;
+
+import java.util.List;
+
+// The RSI of RSIService as an indicator, so it can be evaluated in the same pass as the others
+public final class RelativeStrengthIndex implements Indicator {
+    private final int period;
+
+    public RelativeStrengthIndex(int period) {
+        this.period = Indicators.requirePositive(period);
+    }
+
+    @Override
+    public String getName() {
+        return "RSI(" + period + ")";
+    }
+
+    @Override
+    public int getLookback() {
+        return period;
+    }
+
+    @Override
+    public List<String> getOutputs() {
+        return List.of("rsi");
+    }
+
+    @Override
+    public IndicatorKernel bind(PriceColumns columns, double[][] outputs) {
+        double[] close = columns.close();
+        double[] out = outputs[0];
+        WilderRSI rsi = new WilderRSI(period);
+        return (from, to) -> rsi.update(close, from, to, out, from);
+    }
+}
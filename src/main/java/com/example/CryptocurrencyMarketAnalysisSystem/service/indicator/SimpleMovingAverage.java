@@ -0,0 +1,47 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import java.util.List;
+
+// Mean of the last period closes, kept as a running sum
+public final class SimpleMovingAverage implements Indicator {
+    private final int period;
+
+    public SimpleMovingAverage(int period) {
+        this.period = Indicators.requirePositive(period);
+    }
+
+    @Override
+    public String getName() {
+        return "SMA(" + period + ")";
+    }
+
+    @Override
+    public int getLookback() {
+        return period - 1;
+    }
+
+    @Override
+    public List<String> getOutputs() {
+        return List.of("sma");
+    }
+
+    @Override
+    public IndicatorKernel bind(PriceColumns columns, double[][] outputs) {
+        double[] close = columns.close();
+        double[] out = outputs[0];
+        return new IndicatorKernel() {
+            private double sum;
+
+            @Override
+            public void compute(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    sum += close[i];
+                    if (i >= period) {
+                        sum -= close[i - period];
+                    }
+                    out[i] = i >= period - 1 ? sum / period : Double.NaN;
+                }
+            }
+        };
+    }
+}
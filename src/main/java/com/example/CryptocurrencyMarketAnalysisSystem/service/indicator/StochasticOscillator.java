@@ -0,0 +1,108 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import java.util.List;
+
+/**
+ * Position of the close within the high-low range of the last kPeriod candles (%K), with a simple moving
+ * average of %K over dPeriod candles (%D). The window extremes are tracked with monotonic deques, so each
+ * candle costs amortised constant time whatever the window length.
+ */
+public final class StochasticOscillator implements Indicator {
+    private final int kPeriod;
+    private final int dPeriod;
+
+    public StochasticOscillator(int kPeriod, int dPeriod) {
+        this.kPeriod = Indicators.requirePositive(kPeriod);
+        this.dPeriod = Indicators.requirePositive(dPeriod);
+    }
+
+    @Override
+    public String getName() {
+        return "STOCHASTIC(" + kPeriod + "," + dPeriod + ")";
+    }
+
+    @Override
+    public int getLookback() {
+        return kPeriod + dPeriod - 2;
+    }
+
+    @Override
+    public List<String> getOutputs() {
+        return List.of("k", "d");
+    }
+
+    @Override
+    public IndicatorKernel bind(PriceColumns columns, double[][] outputs) {
+        double[] high = columns.high();
+        double[] low = columns.low();
+        double[] close = columns.close();
+        double[] kOut = outputs[0];
+        double[] dOut = outputs[1];
+        return new IndicatorKernel() {
+            private final WindowExtreme highest = new WindowExtreme(high, kPeriod, true);
+            private final WindowExtreme lowest = new WindowExtreme(low, kPeriod, false);
+            private double kSum;
+
+            @Override
+            public void compute(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    computeAt(i);
+                }
+            }
+
+            private void computeAt(int i) {
+                double highestHigh = highest.push(i);
+                double lowestLow = lowest.push(i);
+                if (i < kPeriod - 1) {
+                    kOut[i] = dOut[i] = Double.NaN;
+                    return;
+                }
+                double range = highestHigh - lowestLow;
+                // A window without any range puts the close in the middle
+                double k = range > 0 ? (close[i] - lowestLow) / range * 100 : 50;
+                kOut[i] = k;
+                kSum += k;
+                int first = kPeriod - 1;
+                if (i - dPeriod >= first) {
+                    kSum -= kOut[i - dPeriod];
+                }
+                dOut[i] = i - first >= dPeriod - 1 ? kSum / dPeriod : Double.NaN;
+            }
+        };
+    }
+
+    // Maximum or minimum of the last window values, as a deque of indices with monotonic values
+    private static final class WindowExtreme {
+        private final double[] values;
+        private final int window;
+        private final boolean maximum;
+        private final int[] indices;
+        private int head;
+        private int size;
+
+        private WindowExtreme(double[] values, int window, boolean maximum) {
+            this.values = values;
+            this.window = window;
+            this.maximum = maximum;
+            this.indices = new int[window];
+        }
+
+        private double push(int index) {
+            if (size > 0 && indices[head] <= index - window) {
+                head = (head + 1) % window;
+                size--;
+            }
+            double value = values[index];
+            while (size > 0 && dominates(value, values[indices[(head + size - 1) % window]])) {
+                size--;
+            }
+            indices[(head + size) % window] = index;
+            size++;
+            return values[indices[head]];
+        }
+
+        private boolean dominates(double value, double other) {
+            return maximum ? value >= other : value <= other;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import java.util.List;
+
+// Volume-weighted average of the typical price (high + low + close) / 3, cumulative from the first candle
+public final class VWAP implements Indicator {
+
+    @Override
+    public String getName() {
+        return "VWAP";
+    }
+
+    @Override
+    public int getLookback() {
+        return 0;
+    }
+
+    @Override
+    public List<String> getOutputs() {
+        return List.of("vwap");
+    }
+
+    @Override
+    public IndicatorKernel bind(PriceColumns columns, double[][] outputs) {
+        double[] high = columns.high();
+        double[] low = columns.low();
+        double[] close = columns.close();
+        double[] volume = columns.volume();
+        double[] out = outputs[0];
+        return new IndicatorKernel() {
+            private double priceVolume;
+            private double totalVolume;
+
+            @Override
+            public void compute(int from, int to) {
+                for (int i = from; i < to; i++) {
+                    computeAt(i);
+                }
+            }
+
+            private void computeAt(int i) {
+                double typicalPrice = (high[i] + low[i] + close[i]) / 3;
+                priceVolume += typicalPrice * volume[i];
+                totalVolume += volume[i];
+                // Until anything traded the typical price is the best estimate
+                out[i] = totalVolume > 0 ? priceVolume / totalVolume : typicalPrice;
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Kline streams from Binance through the WebSocket client of binance-java-api
+public class BinanceKlineStreamSource implements KlineStreamSource {
+
+    private final BinanceApiWebSocketClient webSocketClient;
+
+    public BinanceKlineStreamSource(BinanceApiWebSocketClient webSocketClient) {
+        this.webSocketClient = webSocketClient;
+    }
+
+    @Override
+    public Closeable subscribe(Collection<String> symbols, CandlestickInterval interval, BinanceApiCallback<CandlestickEvent> callback) {
+        // The client opens one combined stream for a comma-separated list of lower-case symbols
+        String streams = symbols.stream().map(symbol -> symbol.toLowerCase(Locale.ROOT)).collect(Collectors.joining(","));
+        return webSocketClient.onCandlestickEvent(streams, interval, callback);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion;
+
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes closed candles from the stream callbacks to the candle store on a thread of its own.
+ * Candles are collected until a batch is full or the oldest one has waited for the flush interval, and
+ * each batch is upserted as one series per (symbol, interval), so a final candle replaces any partial one
+ * stored or cached while it was open. A full queue blocks the submitting stream
+ * callback, which pushes back on the connection instead of dropping candles.
+ */
+public class CandleBatchWriter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CandleBatchWriter.class);
+    // Longest an idle writer waits before checking whether it was closed
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final CandlestickDataService candlestickDataService;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<PendingCandle> queue;
+    private final Thread thread;
+    // Receives the delay between the event time of every written candle and the end of its write
+    private final LongConsumer latencyListener;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean running = true;
+
+    private record PendingCandle(CandlestickInterval interval, CandlestickEvent event) {
+    }
+
+    private record SeriesKey(String symbol, CandlestickInterval interval) {
+    }
+
+    public CandleBatchWriter(CandlestickDataService candlestickDataService, int batchSize, Duration flushInterval,
+                             int queueCapacity, LongConsumer latencyListener) {
+        if (batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Batch size and queue capacity must be positive");
+        }
+        this.candlestickDataService = candlestickDataService;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.latencyListener = latencyListener;
+        this.thread = new Thread(this::run, "Kline-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    // Queues a closed candle, waiting for space if the writer is behind
+    public void submit(CandlestickInterval interval, CandlestickEvent event) {
+        if (!running) {
+            throw new IllegalStateException("Candle writer is closed");
+        }
+        try {
+            queue.put(new PendingCandle(interval, event));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a closed candle", e);
+        }
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    // Stops accepting candles and writes everything already queued
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<PendingCandle> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCandle first = queue.poll(Math.min(flushIntervalNanos, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize && running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingCandle next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingCandle> batch) {
+        Map<SeriesKey, CandleSeries.Builder> series = new LinkedHashMap<>();
+        for (PendingCandle pending : batch) {
+            CandlestickEvent event = pending.event();
+            try {
+                double open = Double.parseDouble(event.getOpen());
+                double high = Double.parseDouble(event.getHigh());
+                double low = Double.parseDouble(event.getLow());
+                double close = Double.parseDouble(event.getClose());
+                double volume = Double.parseDouble(event.getVolume());
+                double quoteAssetVolume = Double.parseDouble(event.getQuoteAssetVolume());
+                double takerBuyBaseAssetVolume = Double.parseDouble(event.getTakerBuyBaseAssetVolume());
+                double takerBuyQuoteAssetVolume = Double.parseDouble(event.getTakerBuyQuoteAssetVolume());
+                series.computeIfAbsent(new SeriesKey(event.getSymbol(), pending.interval()), key -> CandleSeries.builder(batch.size()))
+                        .add(event.getOpenTime(), event.getCloseTime(), open, high, low, close, volume, quoteAssetVolume,
+                                event.getNumberOfTrades(), takerBuyBaseAssetVolume, takerBuyQuoteAssetVolume);
+            } catch (RuntimeException e) {
+                failed.increment();
+                logger.error("Skipping malformed closed candle of {} at {}", event.getSymbol(), event.getOpenTime(), e);
+            }
+        }
+        series.forEach((key, builder) -> {
+            CandleSeries candles = builder.build();
+            try {
+                // Final candles overwrite a partial one stored while the candle was still open
+                candlestickDataService.replaceCandleSeries(key.symbol(), candles, key.interval());
+                written.add(candles.size());
+            } catch (RuntimeException e) {
+                // Reads find the candles missing and fetch them from the API, so the batch is not retried here
+                failed.add(candles.size());
+                logger.error("Could not write {} closed candles of {} {} from {} to {}", candles.size(), key.symbol(),
+                        key.interval(), candles.firstOpenTime(), candles.lastOpenTime(), e);
+            }
+        });
+        batches.increment();
+        long now = System.currentTimeMillis();
+        for (PendingCandle pending : batch) {
+            latencyListener.accept(now - pending.event().getEventTime());
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.KlineIngestionProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.RSIService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the candle store current from live kline streams, so reads of recent ranges find the candles
+ * already stored instead of fetching them over REST. Closed candles are handed to a {@link CandleBatchWriter}
+ * and to the RSI series tracked in memory. A failed connection is reopened with exponential backoff; when the
+ * first closed candle after an outage does not follow the last one seen, the candles in between are fetched
+ * through {@link BinanceHistoricalDataService}, which stores them like any other backfill.
+ */
+@Service
+public class KlineIngestionService implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(KlineIngestionService.class);
+
+    private final KlineIngestionProperties properties;
+    private final KlineStreamSource streamSource;
+    private final CandlestickDataService candlestickDataService;
+    private final BinanceHistoricalDataService binanceHistoricalDataService;
+    private final RSIService rsiService;
+
+    // Open time of the last closed candle seen per series, to recognise replays and gaps
+    private final Map<SeriesKey, Long> lastClosedOpenTimes = new ConcurrentHashMap<>();
+    private final Map<CandlestickInterval, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private final LongAdder closedCandles = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final LongAdder repairs = new LongAdder();
+    private volatile Timer latencyTimer;
+
+    // Reconnects and gap repairs run apart, so a long repair does not hold back a reconnect
+    private ScheduledExecutorService scheduler;
+    private ExecutorService repairExecutor;
+    private CandleBatchWriter writer;
+    private volatile boolean running;
+
+    private record SeriesKey(String symbol, CandlestickInterval interval) {
+    }
+
+    // The connection of one interval; callback identifies the current connection among failed ones
+    private static final class Subscription {
+        private final CandlestickInterval interval;
+        private volatile Closeable handle;
+        private volatile BinanceApiCallback<CandlestickEvent> callback;
+        private volatile int failures;
+
+        private Subscription(CandlestickInterval interval) {
+            this.interval = interval;
+        }
+    }
+
+    public KlineIngestionService(KlineIngestionProperties properties, KlineStreamSource streamSource,
+                                 CandlestickDataService candlestickDataService,
+                                 BinanceHistoricalDataService binanceHistoricalDataService, RSIService rsiService) {
+        this.properties = properties;
+        this.streamSource = streamSource;
+        this.candlestickDataService = candlestickDataService;
+        this.binanceHistoricalDataService = binanceHistoricalDataService;
+        this.rsiService = rsiService;
+    }
+
+    // Subscribes once the application has started, if ingestion is enabled and any symbol is configured
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running || !properties.isEnabled() || properties.getSymbols().isEmpty()) {
+            return;
+        }
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Kline-ingestion");
+            thread.setDaemon(true);
+            return thread;
+        });
+        repairExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Kline-repair");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer = new CandleBatchWriter(candlestickDataService, properties.getBatchSize(), properties.getFlushInterval(),
+                properties.getQueueCapacity(), this::recordLatency);
+        for (CandlestickInterval interval : properties.getIntervals()) {
+            Subscription subscription = new Subscription(interval);
+            subscriptions.put(interval, subscription);
+            connect(subscription);
+        }
+        logger.info("Kline ingestion started for {} at {}", properties.getSymbols(), properties.getIntervals());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdownNow();
+        repairExecutor.shutdownNow();
+        subscriptions.values().forEach(subscription -> closeQuietly(subscription.handle));
+        subscriptions.clear();
+        writer.close();
+        logger.info("Kline ingestion stopped");
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Closed candles written to the store so far
+    public long getWrittenCount() {
+        return writer == null ? 0 : writer.getWrittenCount();
+    }
+
+    private void connect(Subscription subscription) {
+        if (!running) {
+            return;
+        }
+        List<String> symbols = properties.getSymbols().stream().map(symbol -> symbol.toUpperCase(Locale.ROOT)).toList();
+        BinanceApiCallback<CandlestickEvent> callback = new BinanceApiCallback<>() {
+            @Override
+            public void onResponse(CandlestickEvent event) {
+                onEvent(subscription, event);
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                onDisconnect(subscription, this, cause);
+            }
+        };
+        subscription.callback = callback;
+        try {
+            subscription.handle = streamSource.subscribe(symbols, subscription.interval, callback);
+        } catch (RuntimeException e) {
+            onDisconnect(subscription, callback, e);
+        }
+    }
+
+    private void onEvent(Subscription subscription, CandlestickEvent event) {
+        subscription.failures = 0;
+        if (!running || !Boolean.TRUE.equals(event.getBarFinal())) {
+            return;
+        }
+        CandlestickInterval interval = subscription.interval;
+        SeriesKey key = new SeriesKey(event.getSymbol(), interval);
+        long openTime = event.getOpenTime();
+        // Events of one stream arrive in order on one thread, so the read and the write below do not race
+        Long previous = lastClosedOpenTimes.get(key);
+        if (previous != null && openTime <= previous) {
+            return;
+        }
+        lastClosedOpenTimes.put(key, openTime);
+        closedCandles.increment();
+        writer.submit(interval, event);
+
+        long intervalMillis = binanceHistoricalDataService.getCandlestickIntervalMillis(interval);
+        if (previous != null && openTime - previous > intervalMillis) {
+            scheduleRepair(key, previous + intervalMillis, openTime - 1);
+        }
+        try {
+            rsiService.onCandleClosed(key.symbol(), interval, openTime, Double.parseDouble(event.getClose()));
+        } catch (RuntimeException e) {
+            logger.warn("Could not update RSI of {} {}", key.symbol(), interval, e);
+        }
+    }
+
+    // Only the first failure of the current connection schedules a reconnect
+    private synchronized void onDisconnect(Subscription subscription, BinanceApiCallback<CandlestickEvent> callback, Throwable cause) {
+        if (!running || subscription.callback != callback) {
+            return;
+        }
+        subscription.callback = null;
+        long delay = Math.min(properties.getReconnectMaxDelay().toMillis(),
+                properties.getReconnectInitialDelay().toMillis() << Math.min(subscription.failures++, 20));
+        logger.warn("Kline stream {} disconnected, reconnecting in {} ms", subscription.interval, delay, cause);
+        closeQuietly(subscription.handle);
+        reconnects.increment();
+        scheduler.schedule(() -> connect(subscription), delay, TimeUnit.MILLISECONDS);
+    }
+
+    // Fetches the candles that closed while the stream was down; the historical service stores them
+    private void scheduleRepair(SeriesKey key, long from, long to) {
+        logger.info("Repairing {} {} from {} to {} after a stream gap", key.symbol(), key.interval(), from, to);
+        repairs.increment();
+        repairExecutor.execute(() -> {
+            try {
+                binanceHistoricalDataService.getHistoricalCandleSeries(key.symbol(), key.interval(), from, to);
+            } catch (RuntimeException e) {
+                logger.error("Could not repair {} {} from {} to {}", key.symbol(), key.interval(), from, to, e);
+            }
+        });
+    }
+
+    private void recordLatency(long millis) {
+        Timer timer = latencyTimer;
+        if (timer != null) {
+            timer.record(Duration.ofMillis(Math.max(0, millis)));
+        }
+    }
+
+    private static void closeQuietly(Closeable handle) {
+        if (handle == null) {
+            return;
+        }
+        try {
+            handle.close();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not close kline stream", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("kline.ingestion.closed", closedCandles, LongAdder::sum)
+                .description("Closed candles received from the kline streams").register(registry);
+        FunctionCounter.builder("kline.ingestion.written", this, KlineIngestionService::getWrittenCount)
+                .description("Closed candles written to the candle store").register(registry);
+        FunctionCounter.builder("kline.ingestion.reconnects", reconnects, LongAdder::sum).register(registry);
+        FunctionCounter.builder("kline.ingestion.repairs", repairs, LongAdder::sum).register(registry);
+        Gauge.builder("kline.ingestion.queued", this, service -> service.writer == null ? 0 : service.writer.getQueuedCount())
+                .register(registry);
+        latencyTimer = Timer.builder("kline.ingestion.latency")
+                .description("Delay from the kline event time to the end of its write")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+
+import java.io.Closeable;
+import java.util.Collection;
+
+// A live feed of kline events in the shape of the Binance kline stream
+public interface KlineStreamSource {
+
+    /**
+     * Subscribes to the kline streams of the symbols for one interval over a single connection.
+     * Every update of the current candle is delivered, the last one of a candle has barFinal set.
+     * onFailure is called once when the connection fails or is closed by the server, not after close().
+     *
+     * @param symbols The trading pair symbols.
+     * @param interval The candlestick interval.
+     * @param callback Receives the kline events and the failure of the connection.
+     * @return A handle that closes the connection.
+     */
+    Closeable subscribe(Collection<String> symbols, CandlestickInterval interval, BinanceApiCallback<CandlestickEvent> callback);
+}
@@ -0,0 +1,107 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.Disposable;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Kline streams from any endpoint speaking the Binance combined stream protocol at a configurable base URL,
+ * e.g. {@code wss://stream.binance.com:9443} or a local replay server. The binance-java-api client always
+ * connects to Binance itself, so this source is what points ingestion at anything else.
+ */
+public class WebSocketKlineStreamSource implements KlineStreamSource {
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketKlineStreamSource.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final URI baseUri;
+    private final WebSocketClient webSocketClient;
+
+    public WebSocketKlineStreamSource(URI baseUri) {
+        this(baseUri, new ReactorNettyWebSocketClient());
+    }
+
+    public WebSocketKlineStreamSource(URI baseUri, WebSocketClient webSocketClient) {
+        this.baseUri = baseUri;
+        this.webSocketClient = webSocketClient;
+    }
+
+    @Override
+    public Closeable subscribe(Collection<String> symbols, CandlestickInterval interval, BinanceApiCallback<CandlestickEvent> callback) {
+        String streams = symbols.stream()
+                .map(symbol -> symbol.toLowerCase(Locale.ROOT) + "@kline_" + interval.getIntervalId())
+                .collect(Collectors.joining("/"));
+        URI uri = baseUri.resolve("/stream?streams=" + streams);
+        Disposable connection = webSocketClient.execute(uri, session -> session.receive()
+                        .map(WebSocketMessage::getPayloadAsText)
+                        .doOnNext(frame -> deliver(frame, callback))
+                        .then())
+                .subscribe(null, callback::onFailure, () -> callback.onFailure(new EOFException("Kline stream closed by the server")));
+        return connection::dispose;
+    }
+
+    // A malformed frame is skipped rather than failing the connection
+    private static void deliver(String frame, BinanceApiCallback<CandlestickEvent> callback) {
+        CandlestickEvent event;
+        try {
+            event = parseFrame(frame);
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Skipping malformed kline frame: {}", frame, e);
+            return;
+        }
+        if (event != null) {
+            callback.onResponse(event);
+        }
+    }
+
+    /**
+     * Parses a kline frame, either a raw stream event or one wrapped as {"stream": ..., "data": ...}.
+     *
+     * @param frame The text of the frame.
+     * @return The kline event, or null for any other kind of frame.
+     * @throws JsonProcessingException If the frame is not valid JSON.
+     */
+    static CandlestickEvent parseFrame(String frame) throws JsonProcessingException {
+        JsonNode root = objectMapper.readTree(frame);
+        JsonNode data = root.has("data") ? root.get("data") : root;
+        if (!"kline".equals(data.path("e").asText()) || !data.has("k")) {
+            return null;
+        }
+        JsonNode kline = data.get("k");
+        CandlestickEvent event = new CandlestickEvent();
+        event.setEventType("kline");
+        event.setEventTime(data.path("E").asLong());
+        event.setSymbol(data.path("s").asText());
+        event.setOpenTime(kline.path("t").asLong());
+        event.setCloseTime(kline.path("T").asLong());
+        event.setIntervalId(kline.path("i").asText());
+        event.setFirstTradeId(kline.path("f").asLong());
+        event.setLastTradeId(kline.path("L").asLong());
+        event.setOpen(kline.path("o").asText());
+        event.setClose(kline.path("c").asText());
+        event.setHigh(kline.path("h").asText());
+        event.setLow(kline.path("l").asText());
+        event.setVolume(kline.path("v").asText());
+        event.setNumberOfTrades(kline.path("n").asLong());
+        event.setBarFinal(kline.path("x").asBoolean());
+        event.setQuoteAssetVolume(kline.path("q").asText());
+        event.setTakerBuyBaseAssetVolume(kline.path("V").asText());
+        event.setTakerBuyQuoteAssetVolume(kline.path("Q").asText());
+        return event;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.BinanceApiWebSocketClient;
+import com.binance.api.client.domain.event.DepthEvent;
+
+import java.io.Closeable;
+import java.util.Locale;
+
+// Diff-depth streams from Binance through the WebSocket client of binance-java-api
+public class BinanceDepthStreamSource implements DepthStreamSource {
+
+    private final BinanceApiWebSocketClient webSocketClient;
+
+    public BinanceDepthStreamSource(BinanceApiWebSocketClient webSocketClient) {
+        this.webSocketClient = webSocketClient;
+    }
+
+    @Override
+    public Closeable subscribe(String symbol, BinanceApiCallback<DepthEvent> callback) {
+        return webSocketClient.onDepthEvent(symbol.toLowerCase(Locale.ROOT), callback);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.DepthEvent;
+
+import java.io.Closeable;
+
+// A live feed of diff-depth events in the shape of the Binance diff-depth stream
+public interface DepthStreamSource {
+
+    /**
+     * Subscribes to the diff-depth stream of one symbol.
+     * onFailure is called once when the connection fails or is closed by the server, not after close().
+     *
+     * @param symbol The trading pair symbol.
+     * @param callback Receives the depth events and the failure of the connection.
+     * @return A handle that closes the connection.
+     */
+    Closeable subscribe(String symbol, BinanceApiCallback<DepthEvent> callback);
+}
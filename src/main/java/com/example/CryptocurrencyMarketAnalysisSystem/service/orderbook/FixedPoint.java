@@ -0,0 +1,86 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+/**
+ * Decimal strings of the Binance API as longs with eight fraction digits, the most any price or quantity has.
+ * Parsing and formatting avoid BigDecimal and the rounding of binary doubles, so prices compare exactly.
+ */
+final class FixedPoint {
+    static final int DIGITS = 8;
+    static final long SCALE = 100_000_000L;
+    // Largest integer part that still fits after scaling
+    private static final long MAX_INTEGER = Long.MAX_VALUE / SCALE;
+
+    private FixedPoint() {
+    }
+
+    // Parses a non-negative decimal such as "42000.01000000"; fraction digits past the eighth are cut off
+    static long parse(String value) {
+        int length = value.length();
+        if (length == 0) {
+            throw new NumberFormatException("Empty decimal");
+        }
+        long integer = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean point = false;
+        boolean digits = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (c >= '0' && c <= '9') {
+                digits = true;
+                if (!point) {
+                    integer = integer * 10 + (c - '0');
+                    if (integer > MAX_INTEGER) {
+                        throw new NumberFormatException("Decimal out of range: " + value);
+                    }
+                } else if (fractionDigits < DIGITS) {
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                }
+            } else {
+                throw new NumberFormatException("Invalid decimal: " + value);
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Invalid decimal: " + value);
+        }
+        for (int i = fractionDigits; i < DIGITS; i++) {
+            fraction *= 10;
+        }
+        if (fraction > Long.MAX_VALUE - integer * SCALE) {
+            throw new NumberFormatException("Decimal out of range: " + value);
+        }
+        return integer * SCALE + fraction;
+    }
+
+    static double toDouble(long value) {
+        return value / (double) SCALE;
+    }
+
+    static long fromDouble(double value) {
+        return Math.round(value * SCALE);
+    }
+
+    // Formats with all eight fraction digits, as the API does; digits are written backwards into one buffer
+    static String format(long value) {
+        boolean negative = value < 0;
+        long remaining = negative ? -value : value;
+        char[] digits = new char[21];
+        int position = digits.length;
+        for (int i = 0; i < DIGITS; i++) {
+            digits[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        digits[--position] = '.';
+        do {
+            digits[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        if (negative) {
+            digits[--position] = '-';
+        }
+        return new String(digits, position, digits.length - position);
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.FillEstimate;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.OrderBookDepth;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.OrderBookMetrics;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.SpreadPoint;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Order book of one symbol kept current from a REST snapshot and the diff-depth stream, following the
+ * Binance procedure: events are buffered until a snapshot is loaded, events ending at or before the snapshot
+ * are dropped, and every applied event must start at or before the update after the last one applied and end
+ * after it. An event that leaves a gap puts the book out of sync until the next snapshot, buffering events
+ * again meanwhile. All methods are synchronized; reads copy what they return.
+ * <p>
+ * The sides keep running sums of their depth up to date with every event, so the depth, imbalance and fill
+ * metrics are binary searches over them rather than walks over the levels. The best bid and ask after each
+ * event are kept in a spread history of fixed size.
+ */
+public class LocalOrderBook {
+
+    /** Outcome of an event handed to the book. */
+    public enum Result {
+        /** The event was applied to the book. */
+        APPLIED,
+        /** The event ends at or before the last update applied. */
+        STALE,
+        /** The book waits for a snapshot and buffered the event. */
+        BUFFERED,
+        /** The event does not follow the last update applied; the book needs a new snapshot. */
+        GAP
+    }
+
+    // Spread history at 100 ms updates covers ten minutes
+    public static final int DEFAULT_SPREAD_HISTORY_SIZE = 6000;
+    private static final double BPS = 10_000;
+
+    private final String symbol;
+    private final int maxBufferedEvents;
+    private final OrderBookSide bids;
+    private final OrderBookSide asks;
+    private final SpreadHistory spreadHistory;
+    private final ArrayDeque<DepthEvent> buffered = new ArrayDeque<>();
+    private long lastUpdateId;
+    private long lastEventTime;
+    private boolean synced;
+
+    public LocalOrderBook(String symbol, int maxBufferedEvents) {
+        this(symbol, maxBufferedEvents, DEFAULT_SPREAD_HISTORY_SIZE);
+    }
+
+    public LocalOrderBook(String symbol, int maxBufferedEvents, int spreadHistorySize) {
+        if (maxBufferedEvents < 1) {
+            throw new IllegalArgumentException("At least one event must be buffered");
+        }
+        this.symbol = symbol;
+        this.maxBufferedEvents = maxBufferedEvents;
+        this.bids = new OrderBookSide(true, 1024);
+        this.asks = new OrderBookSide(false, 1024);
+        this.spreadHistory = new SpreadHistory(spreadHistorySize);
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Applies a diff-depth event, or buffers it while the book waits for a snapshot.
+     *
+     * @param event The diff-depth event.
+     * @return What became of the event; on {@link Result#GAP} the book is out of sync and buffers the event.
+     */
+    public synchronized Result onEvent(DepthEvent event) {
+        if (!synced) {
+            buffer(event);
+            return Result.BUFFERED;
+        }
+        Result result = apply(event);
+        if (result == Result.GAP) {
+            desync();
+            buffer(event);
+        }
+        return result;
+    }
+
+    /**
+     * Loads a snapshot and applies the events buffered since the stream was opened.
+     *
+     * @param snapshot The REST order book snapshot.
+     * @return True if the book is in sync, false if the buffered events do not continue the snapshot and a
+     *         newer snapshot is needed.
+     */
+    public synchronized boolean onSnapshot(OrderBook snapshot) {
+        bids.clear();
+        asks.clear();
+        try {
+            for (OrderBookEntry entry : snapshot.getBids()) {
+                bids.set(FixedPoint.parse(entry.getPrice()), quantity(entry));
+            }
+            for (OrderBookEntry entry : snapshot.getAsks()) {
+                asks.set(FixedPoint.parse(entry.getPrice()), quantity(entry));
+            }
+        } catch (NumberFormatException e) {
+            desync();
+            throw new IllegalArgumentException("Malformed order book snapshot of " + symbol, e);
+        }
+        bids.updateSums();
+        asks.updateSums();
+        lastUpdateId = snapshot.getLastUpdateId();
+        synced = true;
+        while (!buffered.isEmpty()) {
+            if (apply(buffered.peekFirst()) == Result.GAP) {
+                // The gap event stays buffered for the next snapshot
+                desync();
+                return false;
+            }
+            buffered.pollFirst();
+        }
+        return true;
+    }
+
+    // Drops the levels and waits for a new snapshot, e.g. after the stream was reconnected
+    public synchronized void reset() {
+        desync();
+        buffered.clear();
+    }
+
+    public synchronized boolean isSynced() {
+        return synced;
+    }
+
+    public synchronized long getLastUpdateId() {
+        return lastUpdateId;
+    }
+
+    // Event time of the last applied event in milliseconds since epoch, 0 before the first one
+    public synchronized long getLastEventTime() {
+        return lastEventTime;
+    }
+
+    public synchronized int getBidLevels() {
+        return bids.size();
+    }
+
+    public synchronized int getAskLevels() {
+        return asks.size();
+    }
+
+    // Best bid price, or NaN if there are no bids
+    public synchronized double getBestBid() {
+        return bids.size() == 0 ? Double.NaN : FixedPoint.toDouble(bids.price(0));
+    }
+
+    // Best ask price, or NaN if there are no asks
+    public synchronized double getBestAsk() {
+        return asks.size() == 0 ? Double.NaN : FixedPoint.toDouble(asks.price(0));
+    }
+
+    /**
+     * Copies the best levels into the form of the REST API, best price first.
+     *
+     * @param limit The maximum number of levels per side.
+     * @return The order book with at most limit bids and asks, or empty if the book is not in sync.
+     */
+    public synchronized Optional<OrderBook> toOrderBook(int limit) {
+        if (!synced) {
+            return Optional.empty();
+        }
+        OrderBook orderBook = new OrderBook();
+        orderBook.setLastUpdateId(lastUpdateId);
+        orderBook.setBids(entries(bids, limit));
+        orderBook.setAsks(entries(asks, limit));
+        return Optional.of(orderBook);
+    }
+
+    /**
+     * Measures the liquidity within each of the given distances from the mid price, with one binary search
+     * per side and distance.
+     *
+     * @param bps The distances from the mid price in basis points.
+     * @return The top of the book with the depth at each distance, or empty if the book is not in sync or
+     *         one of its sides is empty.
+     */
+    public synchronized Optional<OrderBookMetrics> metrics(double... bps) {
+        if (!synced || bids.size() == 0 || asks.size() == 0) {
+            return Optional.empty();
+        }
+        double bestBid = FixedPoint.toDouble(bids.price(0));
+        double bestAsk = FixedPoint.toDouble(asks.price(0));
+        double mid = (bestBid + bestAsk) / 2;
+        List<OrderBookDepth> depth = new ArrayList<>(bps.length);
+        for (double distance : bps) {
+            int bidLevels = bids.levelsWithin(FixedPoint.fromDouble(mid * (1 - distance / BPS)));
+            int askLevels = asks.levelsWithin(FixedPoint.fromDouble(mid * (1 + distance / BPS)));
+            double bidQuantity = bids.quantityOfBest(bidLevels);
+            double askQuantity = asks.quantityOfBest(askLevels);
+            double total = bidQuantity + askQuantity;
+            depth.add(new OrderBookDepth(distance, bidLevels, bidQuantity, bids.notionalOfBest(bidLevels),
+                    askLevels, askQuantity, asks.notionalOfBest(askLevels),
+                    total == 0 ? 0 : (bidQuantity - askQuantity) / total));
+        }
+        return Optional.of(new OrderBookMetrics(symbol, lastUpdateId, lastEventTime, bestBid, bestAsk, mid,
+                (bestAsk - bestBid) / mid * BPS, depth));
+    }
+
+    /**
+     * Estimates the cost of a market order of the given quantity, with one binary search over the side it takes.
+     *
+     * @param side BUY to take the asks, SELL to take the bids.
+     * @param quantity The base asset quantity of the order.
+     * @return The fill estimate, or empty if the book is not in sync or the side is empty.
+     */
+    public synchronized Optional<FillEstimate> estimateFill(OrderSide side, double quantity) {
+        OrderBookSide levels = side == OrderSide.BUY ? asks : bids;
+        if (!synced || levels.size() == 0) {
+            return Optional.empty();
+        }
+        int count = levels.levelsToFill(quantity);
+        boolean complete = count > 0;
+        double filled;
+        double cost;
+        if (complete) {
+            // Every level but the worst one taken is filled in full
+            double worstPrice = FixedPoint.toDouble(levels.price(count - 1));
+            filled = quantity;
+            cost = levels.notionalOfBest(count - 1) + (quantity - levels.quantityOfBest(count - 1)) * worstPrice;
+        } else {
+            count = levels.size();
+            filled = levels.quantityOfBest(count);
+            cost = levels.notionalOfBest(count);
+        }
+        double bestPrice = FixedPoint.toDouble(levels.price(0));
+        double averagePrice = cost / filled;
+        return Optional.of(new FillEstimate(symbol, lastUpdateId, side, quantity, filled, count, cost, averagePrice,
+                FixedPoint.toDouble(levels.price(count - 1)), Math.abs(averagePrice - bestPrice) / bestPrice * BPS,
+                complete));
+    }
+
+    // Best bid and ask after each applied event with startTime <= event time <= endTime, oldest first
+    public synchronized List<SpreadPoint> getSpreadHistory(long startTime, long endTime) {
+        return spreadHistory.range(startTime, endTime);
+    }
+
+    private Result apply(DepthEvent event) {
+        if (event.getFinalUpdateId() <= lastUpdateId) {
+            return Result.STALE;
+        }
+        if (event.getFirstUpdateId() > lastUpdateId + 1) {
+            return Result.GAP;
+        }
+        try {
+            for (OrderBookEntry entry : event.getBids()) {
+                bids.set(FixedPoint.parse(entry.getPrice()), quantity(entry));
+            }
+            for (OrderBookEntry entry : event.getAsks()) {
+                asks.set(FixedPoint.parse(entry.getPrice()), quantity(entry));
+            }
+        } catch (NumberFormatException e) {
+            // Part of the event may be applied already, so only a new snapshot restores the book
+            return Result.GAP;
+        }
+        bids.updateSums();
+        asks.updateSums();
+        lastUpdateId = event.getFinalUpdateId();
+        lastEventTime = event.getEventTime();
+        if (bids.size() > 0 && asks.size() > 0) {
+            spreadHistory.add(lastEventTime, FixedPoint.toDouble(bids.price(0)), FixedPoint.toDouble(asks.price(0)));
+        }
+        return Result.APPLIED;
+    }
+
+    private void buffer(DepthEvent event) {
+        if (buffered.size() == maxBufferedEvents) {
+            // The oldest events are the first a new snapshot would make stale
+            buffered.pollFirst();
+        }
+        buffered.addLast(event);
+    }
+
+    private void desync() {
+        synced = false;
+        bids.clear();
+        asks.clear();
+    }
+
+    // Quantities go through the same strict parser as prices, which rejects signs and exponents
+    private static double quantity(OrderBookEntry entry) {
+        return FixedPoint.toDouble(FixedPoint.parse(entry.getQty()));
+    }
+
+    private static List<OrderBookEntry> entries(OrderBookSide side, int limit) {
+        int count = Math.min(limit, side.size());
+        List<OrderBookEntry> entries = new ArrayList<>(count);
+        for (int rank = 0; rank < count; rank++) {
+            OrderBookEntry entry = new OrderBookEntry();
+            entry.setPrice(FixedPoint.format(side.price(rank)));
+            entry.setQty(FixedPoint.format(FixedPoint.fromDouble(side.quantity(rank))));
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
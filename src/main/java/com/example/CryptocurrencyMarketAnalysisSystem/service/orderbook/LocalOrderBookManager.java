@@ -0,0 +1,268 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.OrderBookProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opens, synchronizes and closes the local order books. Each book has its own diff-depth stream; its snapshot
+ * is loaded once the stream is open, so the events in between are buffered by the book, and again whenever the
+ * book reports a gap. A failed stream is reopened after the resync delay. Snapshots are loaded and streams
+ * reopened on one scheduler thread, which keeps the snapshots of many books from bursting the request weight.
+ */
+public class LocalOrderBookManager implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LocalOrderBookManager.class);
+
+    private final DepthStreamSource streamSource;
+    private final Function<String, OrderBook> snapshotLoader;
+    private final OrderBookProperties properties;
+    private final Set<String> pinnedSymbols;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, ManagedBook> books = new ConcurrentHashMap<>();
+
+    private final LongAdder appliedEvents = new LongAdder();
+    private final LongAdder gaps = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+
+    // A book with its stream; callback identifies the current connection among failed ones
+    private static final class ManagedBook {
+        private final LocalOrderBook book;
+        private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+        private volatile Closeable handle;
+        private volatile BinanceApiCallback<DepthEvent> callback;
+        private volatile long lastReadNanos = System.nanoTime();
+        private volatile boolean closed;
+
+        private ManagedBook(LocalOrderBook book) {
+            this.book = book;
+        }
+    }
+
+    /**
+     * @param streamSource The diff-depth streams.
+     * @param snapshotLoader Loads the REST snapshot of a symbol with the configured number of levels.
+     * @param properties The order book settings.
+     */
+    public LocalOrderBookManager(DepthStreamSource streamSource, Function<String, OrderBook> snapshotLoader,
+                                 OrderBookProperties properties) {
+        this.streamSource = streamSource;
+        this.snapshotLoader = snapshotLoader;
+        this.properties = properties;
+        this.pinnedSymbols = properties.getSymbols().stream().map(LocalOrderBookManager::normalize).collect(Collectors.toSet());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Order-book");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Opens the books of the configured symbols and starts closing idle ones
+    public void start() {
+        pinnedSymbols.forEach(this::getBook);
+        long period = Math.max(1000, Math.min(properties.getIdleTimeout().toMillis(), 60_000));
+        scheduler.scheduleAtFixedRate(this::closeIdleBooks, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the book of a symbol, opening it on first use. A newly opened book is not in sync until its
+     * snapshot has been loaded.
+     *
+     * @param symbol The trading pair symbol.
+     * @return The local book of the symbol.
+     */
+    public LocalOrderBook getBook(String symbol) {
+        ManagedBook managed = books.computeIfAbsent(normalize(symbol), this::open);
+        managed.lastReadNanos = System.nanoTime();
+        return managed.book;
+    }
+
+    /**
+     * Returns the book of a symbol only if it is already open and in sync. Unlike {@link #getBook(String)} it never
+     * opens a book, so it subscribes no stream and schedules no snapshot.
+     *
+     * @param symbol The trading pair symbol.
+     * @return The local book of the symbol, or empty if it is not open or not in sync.
+     */
+    public Optional<LocalOrderBook> peekBook(String symbol) {
+        ManagedBook managed = books.get(normalize(symbol));
+        if (managed == null || managed.closed || !managed.book.isSynced()) {
+            return Optional.empty();
+        }
+        managed.lastReadNanos = System.nanoTime();
+        return Optional.of(managed.book);
+    }
+
+    public int getBookCount() {
+        return books.size();
+    }
+
+    public long getAppliedEventCount() {
+        return appliedEvents.sum();
+    }
+
+    public long getGapCount() {
+        return gaps.sum();
+    }
+
+    public long getSnapshotCount() {
+        return snapshots.sum();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        books.values().forEach(this::closeBook);
+        books.clear();
+    }
+
+    private ManagedBook open(String symbol) {
+        logger.info("Opening local order book of {}", symbol);
+        ManagedBook managed = new ManagedBook(new LocalOrderBook(symbol, properties.getMaxBufferedEvents(),
+                properties.getSpreadHistorySize()));
+        scheduler.execute(() -> connect(managed));
+        return managed;
+    }
+
+    private void connect(ManagedBook managed) {
+        if (managed.closed) {
+            return;
+        }
+        BinanceApiCallback<DepthEvent> callback = new BinanceApiCallback<>() {
+            @Override
+            public void onResponse(DepthEvent event) {
+                onEvent(managed, event);
+            }
+
+            @Override
+            public void onFailure(Throwable cause) {
+                onDisconnect(managed, this, cause);
+            }
+        };
+        managed.callback = callback;
+        try {
+            managed.handle = streamSource.subscribe(managed.book.getSymbol(), callback);
+        } catch (RuntimeException e) {
+            onDisconnect(managed, callback, e);
+            return;
+        }
+        requestSnapshot(managed, 0);
+    }
+
+    private void onEvent(ManagedBook managed, DepthEvent event) {
+        LocalOrderBook.Result result = managed.book.onEvent(event);
+        if (result == LocalOrderBook.Result.APPLIED) {
+            appliedEvents.increment();
+        } else if (result == LocalOrderBook.Result.GAP) {
+            gaps.increment();
+            logger.warn("Gap in the depth stream of {} after update {}, resynchronizing", managed.book.getSymbol(),
+                    managed.book.getLastUpdateId());
+            requestSnapshot(managed, 0);
+        }
+    }
+
+    // Only the first failure of the current connection reconnects
+    private void onDisconnect(ManagedBook managed, BinanceApiCallback<DepthEvent> callback, Throwable cause) {
+        synchronized (managed) {
+            if (managed.closed || managed.callback != callback) {
+                return;
+            }
+            managed.callback = null;
+        }
+        logger.warn("Depth stream of {} disconnected, reconnecting", managed.book.getSymbol(), cause);
+        closeQuietly(managed.handle);
+        managed.book.reset();
+        scheduler.schedule(() -> connect(managed), properties.getResyncDelay().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // At most one snapshot of a book is pending; a gap while it loads is covered by the events it buffers
+    private void requestSnapshot(ManagedBook managed, long delayMillis) {
+        if (managed.snapshotScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> loadSnapshot(managed), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void loadSnapshot(ManagedBook managed) {
+        String symbol = managed.book.getSymbol();
+        RuntimeException failure = null;
+        try {
+            if (!managed.closed) {
+                managed.book.onSnapshot(snapshotLoader.apply(symbol));
+                snapshots.increment();
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            managed.snapshotScheduled.set(false);
+        }
+        if (managed.closed) {
+            return;
+        }
+        if (failure != null && !pinnedSymbols.contains(symbol)) {
+            // E.g. an unknown symbol; the next read opens the book again
+            logger.error("Could not load the order book snapshot of {}, closing its book", symbol, failure);
+            books.remove(symbol, managed);
+            closeBook(managed);
+        } else if (failure != null) {
+            logger.error("Could not load the order book snapshot of {}, retrying", symbol, failure);
+            requestSnapshot(managed, properties.getResyncDelay().toMillis());
+        } else if (managed.book.isSynced()) {
+            logger.info("Local order book of {} in sync at update {}", symbol, managed.book.getLastUpdateId());
+        } else {
+            // The buffered events start after the snapshot, or a gap came while it was applied
+            requestSnapshot(managed, properties.getResyncDelay().toMillis());
+        }
+    }
+
+    private void closeIdleBooks() {
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        long now = System.nanoTime();
+        books.forEach((symbol, managed) -> {
+            if (!pinnedSymbols.contains(symbol) && now - managed.lastReadNanos > idleNanos && books.remove(symbol, managed)) {
+                logger.info("Closing idle local order book of {}", symbol);
+                closeBook(managed);
+            }
+        });
+    }
+
+    private void closeBook(ManagedBook managed) {
+        synchronized (managed) {
+            managed.closed = true;
+            managed.callback = null;
+        }
+        closeQuietly(managed.handle);
+        managed.book.reset();
+    }
+
+    private static void closeQuietly(Closeable handle) {
+        if (handle == null) {
+            return;
+        }
+        try {
+            handle.close();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not close depth stream", e);
+        }
+    }
+
+    private static String normalize(String symbol) {
+        return symbol.trim().toUpperCase(Locale.ROOT);
+    }
+}
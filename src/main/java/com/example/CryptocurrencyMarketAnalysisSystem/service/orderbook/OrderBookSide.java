@@ -0,0 +1,162 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import java.util.Arrays;
+
+/**
+ * The price levels of one side of a book in two parallel primitive arrays. Levels are kept from the worst
+ * price to the best, so the best is the last entry: diff-depth updates mostly change levels near the top of
+ * the book, and inserting or removing there shifts only the few levels above it. Asks are stored by negated
+ * price, which makes both sides ascending towards the best price. Not thread safe.
+ * <p>
+ * Running sums of quantity and notional from the worst level up are kept next to the levels. A change
+ * invalidates the sums from its index up to the best level, which {@link #updateSums()} recomputes once per
+ * event, so keeping them costs about the distance of the changed levels from the top. The depth of the best
+ * levels is the total less the sum below them, which makes every depth and fill query a binary search.
+ */
+final class OrderBookSide {
+    private final boolean bids;
+    private long[] keys;
+    private double[] quantities;
+    // Sums over the levels from index 0 up to and including each index
+    private double[] cumulativeQuantities;
+    private double[] cumulativeNotionals;
+    private int size;
+    // Lowest index whose sums are out of date, size if all are current
+    private int dirtyFrom;
+
+    OrderBookSide(boolean bids, int initialCapacity) {
+        this.bids = bids;
+        this.keys = new long[Math.max(16, initialCapacity)];
+        this.quantities = new double[keys.length];
+        this.cumulativeQuantities = new double[keys.length];
+        this.cumulativeNotionals = new double[keys.length];
+    }
+
+    // Sets the quantity at a price; a zero quantity removes the level
+    void set(long price, double quantity) {
+        long key = bids ? price : -price;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            if (quantity == 0) {
+                System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+                System.arraycopy(quantities, index + 1, quantities, index, size - index - 1);
+                size--;
+            } else {
+                quantities[index] = quantity;
+            }
+            dirtyFrom = Math.min(dirtyFrom, index);
+        } else if (quantity != 0) {
+            int insertion = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                quantities = Arrays.copyOf(quantities, size * 2);
+                cumulativeQuantities = Arrays.copyOf(cumulativeQuantities, size * 2);
+                cumulativeNotionals = Arrays.copyOf(cumulativeNotionals, size * 2);
+            }
+            System.arraycopy(keys, insertion, keys, insertion + 1, size - insertion);
+            System.arraycopy(quantities, insertion, quantities, insertion + 1, size - insertion);
+            keys[insertion] = key;
+            quantities[insertion] = quantity;
+            size++;
+            dirtyFrom = Math.min(dirtyFrom, insertion);
+        }
+        dirtyFrom = Math.min(dirtyFrom, size);
+    }
+
+    // Recomputes the running sums invalidated since the last call
+    void updateSums() {
+        double quantitySum = dirtyFrom == 0 ? 0 : cumulativeQuantities[dirtyFrom - 1];
+        double notionalSum = dirtyFrom == 0 ? 0 : cumulativeNotionals[dirtyFrom - 1];
+        for (int i = dirtyFrom; i < size; i++) {
+            quantitySum += quantities[i];
+            notionalSum += FixedPoint.toDouble(bids ? keys[i] : -keys[i]) * quantities[i];
+            cumulativeQuantities[i] = quantitySum;
+            cumulativeNotionals[i] = notionalSum;
+        }
+        dirtyFrom = size;
+    }
+
+    void clear() {
+        size = 0;
+        dirtyFrom = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Price of the level at the given rank, the best level having rank 0
+    long price(int rank) {
+        long key = keys[size - 1 - rank];
+        return bids ? key : -key;
+    }
+
+    double quantity(int rank) {
+        return quantities[size - 1 - rank];
+    }
+
+    // Quantity at a price, or 0 if there is no level at it
+    double quantityAt(long price) {
+        int index = Arrays.binarySearch(keys, 0, size, bids ? price : -price);
+        return index >= 0 ? quantities[index] : 0;
+    }
+
+    // Number of levels at the given price or better, i.e. bids at or above it and asks at or below it
+    int levelsWithin(long price) {
+        long key = bids ? price : -price;
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return size - low;
+    }
+
+    // Total quantity of the given number of best levels
+    double quantityOfBest(int levels) {
+        return sumOfBest(cumulativeQuantities, levels);
+    }
+
+    // Total price times quantity of the given number of best levels
+    double notionalOfBest(int levels) {
+        return sumOfBest(cumulativeNotionals, levels);
+    }
+
+    /**
+     * Finds how many of the best levels it takes to fill a quantity.
+     *
+     * @param quantity The quantity to fill.
+     * @return The smallest number of best levels holding at least the quantity, or -1 if the side holds less.
+     */
+    int levelsToFill(double quantity) {
+        if (size == 0 || quantity > cumulativeQuantities[size - 1]) {
+            return -1;
+        }
+        // The levels below index j are left over when the best ones fill the quantity; find the highest such j
+        double leftOver = cumulativeQuantities[size - 1] - quantity;
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeQuantities[middle] <= leftOver) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return Math.max(1, size - low);
+    }
+
+    private double sumOfBest(double[] cumulative, int levels) {
+        if (levels <= 0 || size == 0) {
+            return 0;
+        }
+        double total = cumulative[size - 1];
+        return levels >= size ? total : total - cumulative[size - levels - 1];
+    }
+}
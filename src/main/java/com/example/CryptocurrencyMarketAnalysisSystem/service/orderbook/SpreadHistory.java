@@ -0,0 +1,77 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.SpreadPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The best bid and ask after each of the latest depth updates, in a ring of primitive arrays that overwrites
+ * the oldest entry when full. Event times only grow, so a time range is found by binary search. Not thread safe.
+ */
+final class SpreadHistory {
+    private final long[] times;
+    private final double[] bestBids;
+    private final double[] bestAsks;
+    // Index of the oldest entry
+    private int head;
+    private int size;
+
+    SpreadHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Spread history must hold at least one entry");
+        }
+        this.times = new long[capacity];
+        this.bestBids = new double[capacity];
+        this.bestAsks = new double[capacity];
+    }
+
+    void add(long time, double bestBid, double bestAsk) {
+        int index;
+        if (size < times.length) {
+            index = (head + size) % times.length;
+            size++;
+        } else {
+            index = head;
+            head = (head + 1) % times.length;
+        }
+        times[index] = time;
+        bestBids[index] = bestBid;
+        bestAsks[index] = bestAsk;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Entries with startTime <= time <= endTime, oldest first
+    List<SpreadPoint> range(long startTime, long endTime) {
+        int first = firstAtOrAfter(startTime);
+        List<SpreadPoint> points = new ArrayList<>();
+        for (int position = first; position < size; position++) {
+            int index = (head + position) % times.length;
+            if (times[index] > endTime) {
+                break;
+            }
+            double mid = (bestBids[index] + bestAsks[index]) / 2;
+            points.add(new SpreadPoint(times[index], bestBids[index], bestAsks[index],
+                    (bestAsks[index] - bestBids[index]) / mid * 10_000));
+        }
+        return points;
+    }
+
+    // Position, counted from the oldest entry, of the first entry at or after the time
+    private int firstAtOrAfter(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (times[(head + middle) % times.length] < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.Disposable;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Diff-depth streams at 100 ms from any endpoint speaking the Binance combined stream protocol at a
+ * configurable base URL, e.g. {@code wss://stream.binance.com:9443} or a local replay server.
+ */
+public class WebSocketDepthStreamSource implements DepthStreamSource {
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketDepthStreamSource.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final URI baseUri;
+    private final WebSocketClient webSocketClient;
+
+    public WebSocketDepthStreamSource(URI baseUri) {
+        this(baseUri, new ReactorNettyWebSocketClient());
+    }
+
+    public WebSocketDepthStreamSource(URI baseUri, WebSocketClient webSocketClient) {
+        this.baseUri = baseUri;
+        this.webSocketClient = webSocketClient;
+    }
+
+    @Override
+    public Closeable subscribe(String symbol, BinanceApiCallback<DepthEvent> callback) {
+        URI uri = baseUri.resolve("/stream?streams=" + symbol.toLowerCase(Locale.ROOT) + "@depth@100ms");
+        Disposable connection = webSocketClient.execute(uri, session -> session.receive()
+                        .map(WebSocketMessage::getPayloadAsText)
+                        .doOnNext(frame -> deliver(frame, callback))
+                        .then())
+                .subscribe(null, callback::onFailure, () -> callback.onFailure(new EOFException("Depth stream closed by the server")));
+        return connection::dispose;
+    }
+
+    // A malformed frame fails the event rather than the connection; the book notices the missing updates
+    private static void deliver(String frame, BinanceApiCallback<DepthEvent> callback) {
+        DepthEvent event;
+        try {
+            event = parseFrame(frame);
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Skipping malformed depth frame: {}", frame, e);
+            return;
+        }
+        if (event != null) {
+            callback.onResponse(event);
+        }
+    }
+
+    /**
+     * Parses a diff-depth frame, either a raw stream event or one wrapped as {"stream": ..., "data": ...}.
+     *
+     * @param frame The text of the frame.
+     * @return The depth event, or null for any other kind of frame.
+     * @throws JsonProcessingException If the frame is not valid JSON.
+     */
+    public static DepthEvent parseFrame(String frame) throws JsonProcessingException {
+        JsonNode root = objectMapper.readTree(frame);
+        JsonNode data = root.has("data") ? root.get("data") : root;
+        if (!"depthUpdate".equals(data.path("e").asText())) {
+            return null;
+        }
+        DepthEvent event = new DepthEvent();
+        event.setEventType("depthUpdate");
+        event.setEventTime(data.path("E").asLong());
+        event.setSymbol(data.path("s").asText());
+        event.setFirstUpdateId(data.path("U").asLong());
+        event.setFinalUpdateId(data.path("u").asLong());
+        event.setBids(entries(data.path("b")));
+        event.setAsks(entries(data.path("a")));
+        return event;
+    }
+
+    private static List<OrderBookEntry> entries(JsonNode levels) {
+        List<OrderBookEntry> entries = new ArrayList<>(levels.size());
+        for (JsonNode level : levels) {
+            OrderBookEntry entry = new OrderBookEntry();
+            entry.setPrice(level.get(0).asText());
+            entry.setQty(level.get(1).asText());
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.rollup;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+
+/**
+ * Streaming OHLCV aggregation of base candles into buckets of a higher interval: the first open, the highest
+ * high, the lowest low, the last close and the sums of volumes and trades. Base candles are folded in as they
+ * come, in ascending open time, and a bucket is emitted as soon as its last base candle arrives. Only complete
+ * buckets are emitted; a bucket with a base candle missing is dropped, since its values would not match the
+ * candle Binance reports for it. Not thread safe.
+ */
+public final class CandleRollup {
+    private final long baseMillis;
+    private final long bucketMillis;
+    private final long offsetMillis;
+    private final int candlesPerBucket;
+
+    // The bucket being folded; count is 0 while there is none
+    private long bucketStart;
+    private int count;
+    private long lastOpenTime = Long.MIN_VALUE;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+    private double quoteAssetVolume;
+    private long numberOfTrades;
+    private double takerBuyBaseAssetVolume;
+    private double takerBuyQuoteAssetVolume;
+
+    /**
+     * @param baseMillis The duration of a base candle in milliseconds.
+     * @param bucketMillis The duration of a bucket in milliseconds, a multiple of the base duration.
+     * @param offsetMillis The offset from the epoch at which buckets open, e.g. Monday for weekly candles.
+     */
+    public CandleRollup(long baseMillis, long bucketMillis, long offsetMillis) {
+        if (baseMillis <= 0 || bucketMillis <= baseMillis || bucketMillis % baseMillis != 0) {
+            throw new IllegalArgumentException("Bucket must be a multiple of at least two base candles");
+        }
+        this.baseMillis = baseMillis;
+        this.bucketMillis = bucketMillis;
+        this.offsetMillis = offsetMillis;
+        this.candlesPerBucket = (int) (bucketMillis / baseMillis);
+    }
+
+    /**
+     * Rolls a run of base candles up into the complete buckets it contains.
+     *
+     * @param base The base candles, sorted by open time.
+     * @param baseMillis The duration of a base candle in milliseconds.
+     * @param bucketMillis The duration of a bucket in milliseconds.
+     * @param offsetMillis The offset from the epoch at which buckets open.
+     * @return The complete buckets, sorted by open time.
+     */
+    public static CandleSeries rollup(CandleSeries base, long baseMillis, long bucketMillis, long offsetMillis) {
+        CandleRollup rollup = new CandleRollup(baseMillis, bucketMillis, offsetMillis);
+        CandleSeries.Builder buckets = CandleSeries.builder(Math.toIntExact(base.size() / rollup.candlesPerBucket + 1));
+        rollup.addAll(base, buckets);
+        return buckets.build();
+    }
+
+    // Folds in every candle of the series and appends the buckets it completes
+    public void addAll(CandleSeries base, CandleSeries.Builder buckets) {
+        for (int i = 0; i < base.size(); i++) {
+            add(base, i, buckets);
+        }
+    }
+
+    /**
+     * Folds in one base candle. A candle opening at or before the last one folded in is ignored, and one of a
+     * later bucket drops the current bucket if it is incomplete.
+     *
+     * @param base The series holding the candle.
+     * @param index The position of the candle.
+     * @param buckets Receives the bucket the candle completes, if any.
+     * @return True if the candle completed a bucket.
+     */
+    public boolean add(CandleSeries base, int index, CandleSeries.Builder buckets) {
+        long openTime = base.openTime(index);
+        if (openTime <= lastOpenTime) {
+            return false;
+        }
+        lastOpenTime = openTime;
+        long start = Math.floorDiv(openTime - offsetMillis, bucketMillis) * bucketMillis + offsetMillis;
+        if (count > 0 && start != bucketStart) {
+            count = 0;
+        }
+        if ((openTime - start) % baseMillis != 0) {
+            // Not aligned to the base interval, so the bucket cannot be complete
+            count = 0;
+            return false;
+        }
+        if (count == 0) {
+            bucketStart = start;
+            open = base.open(index);
+            high = base.high(index);
+            low = base.low(index);
+            volume = 0;
+            quoteAssetVolume = 0;
+            numberOfTrades = 0;
+            takerBuyBaseAssetVolume = 0;
+            takerBuyQuoteAssetVolume = 0;
+        }
+        high = Math.max(high, base.high(index));
+        low = Math.min(low, base.low(index));
+        close = base.close(index);
+        volume += base.volume(index);
+        quoteAssetVolume += base.quoteAssetVolume(index);
+        numberOfTrades += base.numberOfTrades(index);
+        takerBuyBaseAssetVolume += base.takerBuyBaseAssetVolume(index);
+        takerBuyQuoteAssetVolume += base.takerBuyQuoteAssetVolume(index);
+        count++;
+        // Base candles are distinct and aligned, so the count is complete exactly at the last one of the bucket
+        if (count < candlesPerBucket) {
+            return false;
+        }
+        buckets.add(bucketStart, bucketStart + bucketMillis - 1, open, high, low, close, volume, quoteAssetVolume,
+                numberOfTrades, takerBuyBaseAssetVolume, takerBuyQuoteAssetVolume);
+        count = 0;
+        return true;
+    }
+}
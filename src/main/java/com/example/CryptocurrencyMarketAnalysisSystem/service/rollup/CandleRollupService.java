@@ -0,0 +1,164 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.rollup;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleRollupProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.CandlestickSeriesCache;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.DateUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Derives candles of higher intervals from stored ONE_MINUTE candles, so a symbol that has its one minute
+ * history stored needs no requests and no storage for its hourly or daily candles. Derived candles are not
+ * written to the database; they are materialized in the candle cache, where the series of the interval
+ * keeps them for later reads. While one minute candles arrive in order, e.g. from live ingestion, each
+ * interval folds them in as they are stored and puts every bucket they complete into the cache.
+ */
+@Component
+public class CandleRollupService implements MeterBinder {
+    private static final long ONE_MINUTE = 60_000L;
+    // The epoch is a Thursday, weekly candles open on Monday 00:00 UTC
+    private static final long WEEKLY_OFFSET = 4 * 24 * 60 * ONE_MINUTE;
+
+    private final CandlestickSeriesCache candlestickSeriesCache;
+    private final Set<CandlestickInterval> intervals;
+    // The bucket each (symbol, interval) is folding from the stored one minute candles
+    private final Map<RollupKey, CandleRollup> rollups = new ConcurrentHashMap<>();
+
+    private final LongAdder derivedCandles = new LongAdder();
+    private final LongAdder baseCandles = new LongAdder();
+    private final LongAdder materializedCandles = new LongAdder();
+
+    private record RollupKey(String symbol, CandlestickInterval interval) {
+    }
+
+    @Autowired
+    public CandleRollupService(CandlestickSeriesCache candlestickSeriesCache, CandleRollupProperties properties) {
+        this.candlestickSeriesCache = candlestickSeriesCache;
+        this.intervals = EnumSet.noneOf(CandlestickInterval.class);
+        if (properties.isEnabled()) {
+            for (CandlestickInterval interval : properties.getIntervals()) {
+                // MONTHLY candles follow calendar months, which no fixed bucket length matches
+                if (interval == CandlestickInterval.ONE_MINUTE || interval == CandlestickInterval.MONTHLY) {
+                    throw new IllegalArgumentException(interval + " cannot be rolled up from one minute candles");
+                }
+                intervals.add(interval);
+            }
+        }
+    }
+
+    // Derives nothing, e.g. for a data service without a candle cache
+    public static CandleRollupService disabled() {
+        CandleRollupProperties properties = new CandleRollupProperties();
+        properties.setEnabled(false);
+        return new CandleRollupService(CandlestickSeriesCache.disabled(), properties);
+    }
+
+    public boolean isDerived(CandlestickInterval interval) {
+        return intervals.contains(interval);
+    }
+
+    /**
+     * Rolls up the one minute candles stored in each range into candles of the interval. Buckets with a one
+     * minute candle missing are left out, so they stay missing for the caller to fetch.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The interval to derive.
+     * @param ranges The ranges to derive as [from, to) in milliseconds since epoch.
+     * @param baseLoader Reads the stored one minute candles opening between two times inclusive.
+     * @return The derived candles, sorted by open time; empty if the interval is not derived.
+     */
+    public CandleSeries derive(String symbol, CandlestickInterval interval, List<TimeRange> ranges,
+                               CandlestickSeriesCache.RangeLoader baseLoader) {
+        if (!isDerived(interval) || ranges.isEmpty()) {
+            return CandleSeries.empty();
+        }
+        long bucketMillis = DateUtils.convertIntervalToMillis(interval);
+        long offsetMillis = offsetMillis(interval);
+        List<CandleSeries> parts = new ArrayList<>(ranges.size());
+        for (TimeRange range : ranges) {
+            CandleSeries base = baseLoader.load(range.from(), range.to() - 1);
+            baseCandles.add(base.size());
+            CandleSeries derived = CandleRollup.rollup(base, ONE_MINUTE, bucketMillis, offsetMillis);
+            if (!derived.isEmpty()) {
+                parts.add(derived);
+            }
+        }
+        if (parts.isEmpty()) {
+            return CandleSeries.empty();
+        }
+        CandleSeries derived = CandleSeries.merge(parts);
+        derivedCandles.add(derived.size());
+        candlestickSeriesCache.put(symbol, interval, derived);
+        return derived;
+    }
+
+    /**
+     * Folds freshly stored one minute candles into every derived interval and puts the candles they complete
+     * into the cache. Candles opening at or before the last one folded in, e.g. from a backfill of older
+     * history, are skipped; reads derive those ranges on demand.
+     *
+     * @param symbol The trading pair symbol.
+     * @param candles The stored one minute candles, sorted by open time.
+     */
+    public void onBaseCandles(String symbol, CandleSeries candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+        for (CandlestickInterval interval : intervals) {
+            CandleRollup rollup = rollups.computeIfAbsent(new RollupKey(symbol, interval),
+                    key -> new CandleRollup(ONE_MINUTE, DateUtils.convertIntervalToMillis(interval), offsetMillis(interval)));
+            CandleSeries.Builder completed = CandleSeries.builder(0);
+            synchronized (rollup) {
+                rollup.addAll(candles, completed);
+            }
+            if (completed.size() > 0) {
+                CandleSeries buckets = completed.build();
+                materializedCandles.add(buckets.size());
+                candlestickSeriesCache.put(symbol, interval, buckets);
+            }
+        }
+    }
+
+    public long getDerivedCandleCount() {
+        return derivedCandles.sum();
+    }
+
+    public long getBaseCandleCount() {
+        return baseCandles.sum();
+    }
+
+    public long getMaterializedCandleCount() {
+        return materializedCandles.sum();
+    }
+
+    private static long offsetMillis(CandlestickInterval interval) {
+        return interval == CandlestickInterval.WEEKLY ? WEEKLY_OFFSET : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("candlestick.rollup.derived", derivedCandles, LongAdder::sum)
+                .description("Candles of higher intervals derived from stored one minute candles on read")
+                .register(registry);
+        FunctionCounter.builder("candlestick.rollup.base", baseCandles, LongAdder::sum)
+                .description("Stored one minute candles read to derive higher intervals")
+                .register(registry);
+        FunctionCounter.builder("candlestick.rollup.materialized", materializedCandles, LongAdder::sum)
+                .description("Candles of higher intervals completed by freshly stored one minute candles")
+                .register(registry);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.screener;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicator;
+
+import java.util.List;
+
+/**
+ * One scan of the screener.
+ *
+ * @param symbols The symbols to scan; empty scans every symbol quoted in the configured quote asset.
+ * @param interval The candlestick interval the indicators are evaluated on.
+ * @param indicators The indicators to evaluate.
+ * @param sortBy The indicator output the rows are ranked by, e.g. {@code RSI(14)} or {@code MACD(12,26,9).histogram}.
+ * @param descending Whether the highest values rank first, e.g. to find overbought symbols.
+ * @param min The lowest value of sortBy a row may have.
+ * @param max The highest value of sortBy a row may have.
+ * @param limit The number of rows returned.
+ */
+public record ScreenerQuery(List<String> symbols, CandlestickInterval interval, List<Indicator> indicators, String sortBy,
+                            boolean descending, double min, double max, int limit) {
+    public ScreenerQuery {
+        if (symbols == null || interval == null || indicators == null || sortBy == null) {
+            throw new IllegalArgumentException("Symbols, interval, indicators and sort key must not be null");
+        }
+        if (indicators.isEmpty()) {
+            throw new IllegalArgumentException("At least one indicator is required");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        if (min > max) {
+            throw new IllegalArgumentException("Minimum must not be above maximum");
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.screener;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.ScreenerProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ScreenerResult;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ScreenerRow;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.SingleFlight;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicator;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.IndicatorEvaluator;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.DateUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates indicators at the last closed candle of every symbol in a universe and ranks the symbols by one
+ * indicator output, e.g. to find the most oversold USDT pairs by RSI. The universe is split in halves on a
+ * fork-join pool of its own until a task holds a few symbols, so the evaluation spreads over every core and idle
+ * workers steal from busy ones. A symbol whose candles are stored, typically served from the series cache,
+ * costs no request weight. A cold symbol is fetched from Binance only while the weight budget of the scan lasts,
+ * and the fetch runs as a managed block so the pool adds a worker instead of losing one to the wait; cold symbols
+ * beyond the budget are reported as skipped.
+ */
+@Service
+public class ScreenerService implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenerService.class);
+
+    // Symbols a task screens itself instead of splitting further
+    static final int LEAF_SIZE = 4;
+
+    private static final String UNIVERSE_KEY = "universe";
+
+    private final BinanceHistoricalDataService binanceHistoricalDataService;
+    private final CandlestickDataService candlestickDataService;
+    private final BinanceRequestWeightLimiter requestWeightLimiter;
+    private final BinanceMarketDataClient binanceApiClient;
+    private final ScreenerProperties properties;
+    private final LongSupplier clock;
+    private final ForkJoinPool pool;
+
+    private final SingleFlight<String, List<String>> universeLoads = new SingleFlight<>();
+    private volatile Universe universe;
+
+    private final LongAdder scans = new LongAdder();
+    private final LongAdder scanNanos = new LongAdder();
+    private final LongAdder screenedSymbols = new LongAdder();
+    private final LongAdder coldFetches = new LongAdder();
+    private final LongAdder skippedSymbols = new LongAdder();
+
+    private record Universe(List<String> symbols, long loadedAtMillis) {
+    }
+
+    @Autowired
+    public ScreenerService(BinanceHistoricalDataService binanceHistoricalDataService, CandlestickDataService candlestickDataService,
+                           BinanceRequestWeightLimiter requestWeightLimiter, BinanceMarketDataClient binanceApiClient,
+                           ScreenerProperties properties) {
+        this(binanceHistoricalDataService, candlestickDataService, requestWeightLimiter, binanceApiClient, properties,
+                System::currentTimeMillis);
+    }
+
+    ScreenerService(BinanceHistoricalDataService binanceHistoricalDataService, CandlestickDataService candlestickDataService,
+                    BinanceRequestWeightLimiter requestWeightLimiter, BinanceMarketDataClient binanceApiClient,
+                    ScreenerProperties properties, LongSupplier clock) {
+        if (properties.getParallelism() < 0) {
+            throw new IllegalArgumentException("Parallelism must not be negative");
+        }
+        if (properties.getMaxSymbols() <= 0 || properties.getCandles() <= 0) {
+            throw new IllegalArgumentException("Maximum symbols and candles must be positive");
+        }
+        if (properties.getColdWeightBudget() < 0) {
+            throw new IllegalArgumentException("Cold weight budget must not be negative");
+        }
+        this.binanceHistoricalDataService = binanceHistoricalDataService;
+        this.candlestickDataService = candlestickDataService;
+        this.requestWeightLimiter = requestWeightLimiter;
+        this.binanceApiClient = binanceApiClient;
+        this.properties = properties;
+        this.clock = clock;
+        int parallelism = properties.getParallelism() == 0 ? Runtime.getRuntime().availableProcessors() : properties.getParallelism();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            worker.setName("Screener-" + worker.getPoolIndex());
+            return worker;
+        }, null, false);
+    }
+
+    /**
+     * Screens the symbols of the query and ranks them.
+     *
+     * @param query The symbols, indicators and ranking.
+     * @return Up to limit rows in rank order, and every symbol that has no row because it could not be evaluated.
+     * @throws IllegalArgumentException If the sort key is not an output of the indicators or there are too many symbols.
+     */
+    public ScreenerResult scan(ScreenerQuery query) {
+        List<String> outputKeys = new ArrayList<>();
+        for (Indicator indicator : query.indicators()) {
+            for (String output : indicator.getOutputs()) {
+                outputKeys.add(IndicatorEvaluator.outputKey(indicator, output));
+            }
+        }
+        if (!outputKeys.contains(query.sortBy())) {
+            throw new IllegalArgumentException("Unknown sort key " + query.sortBy() + ", expected one of " + outputKeys);
+        }
+        List<String> symbols = query.symbols().isEmpty() ? universe() : normalize(query.symbols());
+
+        long start = System.nanoTime();
+        Scan scan = new Scan(symbols, query.interval(), query.indicators());
+        pool.invoke(new ScreenTask(scan, 0, symbols.size()));
+
+        Map<String, String> skipped = new LinkedHashMap<>();
+        List<ScreenerRow> rows = new ArrayList<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            if (scan.rows[i] != null) {
+                rows.add(scan.rows[i]);
+            } else {
+                skipped.put(symbols.get(i), scan.skipReasons[i]);
+            }
+        }
+        scans.increment();
+        scanNanos.add(System.nanoTime() - start);
+        screenedSymbols.add(rows.size());
+        skippedSymbols.add(skipped.size());
+        logger.info("Screened {} symbols on {} in {} ms, {} skipped", symbols.size(), query.interval(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), skipped.size());
+        return new ScreenerResult(symbols.size(), rank(rows, query), skipped);
+    }
+
+    // Keeps the rows whose sort value lies within the bounds and orders them by it
+    private static List<ScreenerRow> rank(List<ScreenerRow> rows, ScreenerQuery query) {
+        Comparator<ScreenerRow> order = Comparator.comparingDouble(row -> row.values().get(query.sortBy()));
+        return rows.stream()
+                .filter(row -> {
+                    double value = row.values().get(query.sortBy());
+                    return !Double.isNaN(value) && value >= query.min() && value <= query.max();
+                })
+                .sorted(query.descending() ? order.reversed() : order)
+                .limit(query.limit())
+                .toList();
+    }
+
+    private List<String> normalize(List<String> symbols) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                unique.add(symbol.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        if (unique.size() > properties.getMaxSymbols()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxSymbols() + " symbols can be screened at once");
+        }
+        return new ArrayList<>(unique);
+    }
+
+    // Symbols quoted in the quote asset, read from the all-tickers endpoint at most once per refresh interval
+    private List<String> universe() {
+        Universe current = universe;
+        if (current != null && clock.getAsLong() - current.loadedAtMillis() < properties.getUniverseRefresh().toMillis()) {
+            return current.symbols();
+        }
+        return universeLoads.execute(UNIVERSE_KEY, () -> {
+            requestWeightLimiter.acquire(BinanceRequestWeightLimiter.ALL_TICKER_PRICES_WEIGHT);
+            String quoteAsset = properties.getQuoteAsset().toUpperCase(Locale.ROOT);
+            List<String> symbols = binanceApiClient.getAllPrices().stream()
+                    .map(TickerPrice::getSymbol)
+                    .filter(symbol -> symbol.endsWith(quoteAsset) && symbol.length() > quoteAsset.length())
+                    .sorted()
+                    .limit(properties.getMaxSymbols())
+                    .toList();
+            universe = new Universe(symbols, clock.getAsLong());
+            return symbols;
+        });
+    }
+
+    public long getScanCount() {
+        return scans.sum();
+    }
+
+    public long getColdFetchCount() {
+        return coldFetches.sum();
+    }
+
+    public long getSkippedCount() {
+        return skippedSymbols.sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    // State of one scan; every task writes only the slots of its own symbols
+    private final class Scan {
+        private final List<String> symbols;
+        private final CandlestickInterval interval;
+        private final List<Indicator> indicators;
+        private final int lookback;
+        private final long intervalMillis;
+        // Window of closed candles, open times from startTime to lastOpenTime inclusive
+        private final long startTime;
+        private final long lastOpenTime;
+        private final AtomicInteger coldWeightLeft;
+        private final ScreenerRow[] rows;
+        private final String[] skipReasons;
+
+        private Scan(List<String> symbols, CandlestickInterval interval, List<Indicator> indicators) {
+            this.symbols = symbols;
+            this.interval = interval;
+            this.indicators = indicators;
+            this.lookback = IndicatorEvaluator.lookback(indicators);
+            this.intervalMillis = binanceHistoricalDataService.getCandlestickIntervalMillis(interval);
+            // A candle opening at or before now minus one interval has closed
+            this.lastOpenTime = clock.getAsLong() - intervalMillis;
+            this.startTime = lastOpenTime - (long) Math.max(properties.getCandles(), lookback + 1) * intervalMillis;
+            this.coldWeightLeft = new AtomicInteger(properties.getColdWeightBudget());
+            this.rows = new ScreenerRow[symbols.size()];
+            this.skipReasons = new String[symbols.size()];
+        }
+
+        private void screen(int index) {
+            String symbol = symbols.get(index);
+            try {
+                CandleSeries candles = load(symbol);
+                if (candles == null) {
+                    skipReasons[index] = "Cold symbol beyond the request weight budget of the scan";
+                    return;
+                }
+                candles = candles.sliceByOpenTime(startTime, lastOpenTime);
+                if (candles.size() <= lookback) {
+                    skipReasons[index] = "Not enough data to calculate indicators";
+                    return;
+                }
+                rows[index] = evaluate(symbol, candles);
+            } catch (RuntimeException e) {
+                // A failed symbol, e.g. one the request weight limit turned away, must not fail the scan
+                logger.warn("Could not screen {} on {}: {}", symbol, interval, e.getMessage());
+                skipReasons[index] = e.getMessage() != null ? e.getMessage() : e.toString();
+            }
+        }
+
+        // The stored candles if they cover the window, otherwise the fetched ones, or null if the budget is spent
+        private CandleSeries load(String symbol) {
+            CandleSeries stored = candlestickDataService.getCandleSeries(symbol, DateUtils.convertMillisToUtcZonedDateTime(startTime),
+                    DateUtils.convertMillisToUtcZonedDateTime(lastOpenTime), interval);
+            List<TimeRange> missing = binanceHistoricalDataService.findMissingRanges(stored, startTime, lastOpenTime + 1, interval);
+            if (missing.isEmpty()) {
+                return stored;
+            }
+            if (!claimColdWeight(missing.size() * BinanceRequestWeightLimiter.KLINES_WEIGHT)) {
+                return null;
+            }
+            coldFetches.increment();
+            return block(() -> binanceHistoricalDataService.getHistoricalCandleSeries(symbol, interval, startTime, lastOpenTime));
+        }
+
+        // Takes the weight from the budget of the scan only if all of it is left
+        private boolean claimColdWeight(int weight) {
+            while (true) {
+                int left = coldWeightLeft.get();
+                if (left < weight) {
+                    return false;
+                }
+                if (coldWeightLeft.compareAndSet(left, left - weight)) {
+                    return true;
+                }
+            }
+        }
+
+        private ScreenerRow evaluate(String symbol, CandleSeries candles) {
+            Map<String, double[]> evaluated = IndicatorEvaluator.evaluate(candles, indicators);
+            int last = candles.size() - 1;
+            Map<String, Double> values = new LinkedHashMap<>();
+            evaluated.forEach((key, series) -> values.put(key, series[last]));
+            return new ScreenerRow(symbol, candles.openTime(last), candles.close(last), values);
+        }
+    }
+
+    // Splits its range of symbols in halves until it is small enough to screen directly
+    private static final class ScreenTask extends RecursiveAction {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+
+        private ScreenTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    scan.screen(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScreenTask(scan, from, middle), new ScreenTask(scan, middle, to));
+        }
+    }
+
+    // Runs a call that waits on the network as a managed block, so the pool keeps its parallelism meanwhile
+    private static CandleSeries block(Supplier<CandleSeries> call) {
+        BlockingCall blocker = new BlockingCall(call);
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching candles", e);
+        }
+        return blocker.result;
+    }
+
+    private static final class BlockingCall implements ForkJoinPool.ManagedBlocker {
+        private final Supplier<CandleSeries> call;
+        private CandleSeries result;
+
+        private BlockingCall(Supplier<CandleSeries> call) {
+            this.call = call;
+        }
+
+        @Override
+        public boolean block() {
+            result = call.get();
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return result != null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("screener.scans", this, service -> service.scans.sum(), service -> service.scanNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Screener scans and the time they took")
+                .register(registry);
+        FunctionCounter.builder("screener.symbols.screened", screenedSymbols, LongAdder::sum)
+                .description("Symbols evaluated by the screener")
+                .register(registry);
+        FunctionCounter.builder("screener.symbols.cold", coldFetches, LongAdder::sum)
+                .description("Symbols the screener fetched from Binance because their candles were not stored")
+                .register(registry);
+        FunctionCounter.builder("screener.symbols.skipped", skippedSymbols, LongAdder::sum)
+                .description("Symbols the screener could not evaluate")
+                .register(registry);
+    }
+}
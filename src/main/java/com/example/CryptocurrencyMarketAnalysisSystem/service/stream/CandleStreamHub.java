@@ -0,0 +1,300 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.stream;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleStreamProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleUpdate;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.RSIUpdate;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.RSIService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.ExchangeSymbols;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.KlineStreamSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Fans live candle and RSI updates out to any number of subscribers. Each symbol and interval has one
+ * upstream kline stream, opened for the first subscriber and closed a grace period after the last one left,
+ * which also drops the feed; each RSI period derives one shared feed from it. Only symbols trading on the
+ * exchange are streamed. New subscribers start with the latest update. Every
+ * subscriber has a bounded buffer of its own: one that reads slower than the feed loses its oldest updates
+ * instead of holding up the upstream and the other subscribers.
+ */
+@Service
+public class CandleStreamHub implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(CandleStreamHub.class);
+    private static final Pattern SYMBOL = Pattern.compile("[A-Z0-9]{2,20}");
+
+    private final KlineStreamSource streamSource;
+    private final RSIService rsiService;
+    private final BinanceHistoricalDataService binanceHistoricalDataService;
+    private final CandleStreamProperties properties;
+    private final ExchangeSymbols exchangeSymbols;
+
+    private final Map<FeedKey, Flux<CandleUpdate>> candleFeeds = new ConcurrentHashMap<>();
+    private final Map<RSIFeedKey, Flux<RSIUpdate>> rsiFeeds = new ConcurrentHashMap<>();
+
+    private final AtomicInteger upstreams = new AtomicInteger();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final LongAdder upstreamConnects = new LongAdder();
+    private final LongAdder droppedUpdates = new LongAdder();
+
+    private record FeedKey(String symbol, CandlestickInterval interval) {
+    }
+
+    private record RSIFeedKey(String symbol, CandlestickInterval interval, int period) {
+    }
+
+    // Streams any symbol of valid form
+    public CandleStreamHub(KlineStreamSource streamSource, RSIService rsiService,
+                           BinanceHistoricalDataService binanceHistoricalDataService, CandleStreamProperties properties) {
+        this(streamSource, rsiService, binanceHistoricalDataService, properties, ExchangeSymbols.disabled());
+    }
+
+    @Autowired
+    public CandleStreamHub(KlineStreamSource streamSource, RSIService rsiService,
+                           BinanceHistoricalDataService binanceHistoricalDataService, CandleStreamProperties properties,
+                           ExchangeSymbols exchangeSymbols) {
+        this.streamSource = streamSource;
+        this.rsiService = rsiService;
+        this.binanceHistoricalDataService = binanceHistoricalDataService;
+        this.properties = properties;
+        this.exchangeSymbols = exchangeSymbols;
+    }
+
+    /**
+     * Subscribes to the updates of the current candle of a symbol and interval, closed and still open.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @return The updates, starting with the latest one if the feed is already connected.
+     * @throws IllegalArgumentException If the symbol is not a trading pair symbol trading on the exchange.
+     */
+    public Flux<CandleUpdate> candles(String symbol, CandlestickInterval interval) {
+        FeedKey key = new FeedKey(normalize(symbol), requireInterval(interval));
+        return subscriber(Flux.defer(() -> candleFeed(key)));
+    }
+
+    /**
+     * Subscribes to the RSI of a symbol and interval at every closed candle.
+     *
+     * @param symbol The trading pair symbol.
+     * @param interval The candlestick interval.
+     * @param period The RSI period.
+     * @return The RSI updates, starting with the latest one if the feed is already connected.
+     * @throws IllegalArgumentException If the symbol is not trading on the exchange or the period is not positive.
+     */
+    public Flux<RSIUpdate> rsi(String symbol, CandlestickInterval interval, int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("RSI period must be positive");
+        }
+        RSIFeedKey key = new RSIFeedKey(normalize(symbol), requireInterval(interval), period);
+        return subscriber(Flux.defer(() -> rsiFeeds.computeIfAbsent(key, this::openRSIFeed)));
+    }
+
+    // Upstream kline streams currently connected
+    public int getUpstreamCount() {
+        return upstreams.get();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedUpdates.sum();
+    }
+
+    // Candle and RSI feeds currently shared; a feed is dropped once its upstream has been closed
+    public int getFeedCount() {
+        return candleFeeds.size() + rsiFeeds.size();
+    }
+
+    private Flux<CandleUpdate> candleFeed(FeedKey key) {
+        return candleFeeds.computeIfAbsent(key, this::openCandleFeed);
+    }
+
+    private Flux<CandleUpdate> openCandleFeed(FeedKey key) {
+        AtomicReference<Flux<CandleUpdate>> feed = new AtomicReference<>();
+        feed.set(Flux.<CandleUpdate>create(sink -> {
+                    Closeable handle = streamSource.subscribe(List.of(key.symbol()), key.interval(), new BinanceApiCallback<>() {
+                        @Override
+                        public void onResponse(CandlestickEvent event) {
+                            CandleUpdate update = toUpdate(event);
+                            if (update != null) {
+                                sink.next(update);
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Throwable cause) {
+                            sink.error(cause);
+                        }
+                    });
+                    upstreams.incrementAndGet();
+                    upstreamConnects.increment();
+                    logger.info("Opened candle stream {} {}", key.symbol(), key.interval());
+                    sink.onDispose(() -> {
+                        upstreams.decrementAndGet();
+                        closeQuietly(handle);
+                        logger.info("Closed candle stream {} {}", key.symbol(), key.interval());
+                    });
+                }, FluxSink.OverflowStrategy.LATEST)
+                // A connection that delivered updates before it failed starts again from the initial delay
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.getReconnectInitialDelay())
+                        .maxBackoff(properties.getReconnectMaxDelay())
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> logger.warn("Candle stream {} {} failed, reconnecting", key.symbol(),
+                                key.interval(), signal.failure())))
+                // Cancelled once the grace period has passed without subscribers; the next subscriber opens a new feed
+                .transform(connection -> mapped(connection, candleFeeds, key, feed))
+                .replay(1)
+                .refCount(1, properties.getUpstreamGracePeriod()));
+        return feed.get();
+    }
+
+    // Continues the RSI with every closed candle of the shared candle feed, after seeding it from stored candles
+    private Flux<RSIUpdate> openRSIFeed(RSIFeedKey key) {
+        // Looked up on subscription, so the feed is not held on to after it has been dropped
+        Flux<CandleUpdate> closedCandles = Flux.defer(() -> candleFeed(new FeedKey(key.symbol(), key.interval())))
+                .filter(CandleUpdate::closed);
+        AtomicReference<Flux<RSIUpdate>> feed = new AtomicReference<>();
+        feed.set(Mono.fromRunnable(() -> seed(key))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenMany(buffered(closedCandles))
+                // A candle missed by the RSI state is loaded before it continues, which may block
+                .publishOn(Schedulers.boundedElastic())
+                .<RSIUpdate>handle((update, sink) -> {
+                    try {
+                        OptionalDouble rsi = rsiService.onCandleClosed(key.symbol(), key.interval(), key.period(),
+                                update.openTime(), update.close());
+                        if (rsi.isPresent()) {
+                            sink.next(new RSIUpdate(key.symbol(), update.openTime(), key.period(), rsi.getAsDouble()));
+                        }
+                    } catch (RuntimeException e) {
+                        logger.warn("Could not update RSI {} at {}", key, update.openTime(), e);
+                    }
+                })
+                .transform(connection -> mapped(connection, rsiFeeds, key, feed))
+                .replay(1)
+                .refCount(1, properties.getUpstreamGracePeriod()));
+        return feed.get();
+    }
+
+    // Keeps a feed in its map while any of its connections is live. A subscriber that looked the feed up just before its
+    // last connection ended reconnects it; the ending connection then must not drop the feed the new one is serving.
+    // Both run under the lock of the key, so a connection and the end of another are never interleaved.
+    static <K, T> Flux<T> mapped(Flux<T> connection, Map<K, Flux<T>> feeds, K key, AtomicReference<Flux<T>> feed) {
+        AtomicInteger connections = new AtomicInteger();
+        return connection
+                .doOnSubscribe(subscription -> feeds.compute(key, (k, current) -> {
+                    connections.incrementAndGet();
+                    return current == null ? feed.get() : current;
+                }))
+                .doFinally(signal -> feeds.compute(key, (k, current) ->
+                        connections.decrementAndGet() == 0 && current == feed.get() ? null : current));
+    }
+
+    // Calculates the RSI over recent closed candles, which leaves its state ready to be continued
+    private void seed(RSIFeedKey key) {
+        long intervalMillis = binanceHistoricalDataService.getCandlestickIntervalMillis(key.interval());
+        // The candle open at endTime - 1 interval has closed by now, so the state is kept
+        long endTime = System.currentTimeMillis() - intervalMillis;
+        long startTime = endTime - intervalMillis * (long) key.period() * properties.getRsiSeedPeriods();
+        try {
+            rsiService.getRSIData(key.symbol(), key.interval(), startTime, endTime, key.period());
+        } catch (RuntimeException e) {
+            logger.warn("Could not seed RSI {}, it starts once its state exists", key, e);
+        }
+    }
+
+    // The feed is looked up on subscription, so a subscriber never reconnects a feed dropped since it was handed out
+    private <T> Flux<T> subscriber(Flux<T> feed) {
+        return buffered(feed)
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    // Requests everything from the shared feed, so a slow reader only ever delays itself
+    private <T> Flux<T> buffered(Flux<T> feed) {
+        return feed.onBackpressureBuffer(properties.getSubscriberBufferSize(), dropped -> droppedUpdates.increment(),
+                BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    private static CandleUpdate toUpdate(CandlestickEvent event) {
+        try {
+            return new CandleUpdate(event.getSymbol(), event.getOpenTime(), event.getCloseTime(),
+                    Double.parseDouble(event.getOpen()), Double.parseDouble(event.getHigh()),
+                    Double.parseDouble(event.getLow()), Double.parseDouble(event.getClose()),
+                    Double.parseDouble(event.getVolume()), Boolean.TRUE.equals(event.getBarFinal()));
+        } catch (RuntimeException e) {
+            logger.warn("Skipping malformed candle update of {} at {}", event.getSymbol(), event.getOpenTime(), e);
+            return null;
+        }
+    }
+
+    private String normalize(String symbol) {
+        String normalized = symbol == null ? "" : symbol.trim().toUpperCase(Locale.ROOT);
+        if (!SYMBOL.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Invalid symbol: " + symbol);
+        }
+        // An unknown symbol would hold an upstream that never delivers and reconnects for as long as it is subscribed
+        if (!exchangeSymbols.isTrading(normalized)) {
+            throw new IllegalArgumentException("Unknown symbol: " + symbol);
+        }
+        return normalized;
+    }
+
+    private static CandlestickInterval requireInterval(CandlestickInterval interval) {
+        if (interval == null) {
+            throw new IllegalArgumentException("Interval must not be null");
+        }
+        return interval;
+    }
+
+    private static void closeQuietly(Closeable handle) {
+        try {
+            handle.close();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not close candle stream", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("candle.stream.upstreams", upstreams, AtomicInteger::get)
+                .description("Upstream kline streams connected for live subscribers").register(registry);
+        Gauge.builder("candle.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Live candle and RSI subscribers").register(registry);
+        Gauge.builder("candle.stream.feeds", this, CandleStreamHub::getFeedCount)
+                .description("Candle and RSI feeds shared by subscribers").register(registry);
+        FunctionCounter.builder("candle.stream.connects", upstreamConnects, LongAdder::sum).register(registry);
+        FunctionCounter.builder("candle.stream.dropped", droppedUpdates, LongAdder::sum)
+                .description("Updates dropped for subscribers reading slower than the feed").register(registry);
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.warmset;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.WarmSetProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the latest closed candles of the warm set stored and in the series cache, so the first viewer of a
+ * tracked pair reads them instead of waiting for a backfill. The first refresh of a pair reads its whole window,
+ * which fetches whatever is not stored yet; every later refresh reads only the candles that closed since the last
+ * one it saw, so a pair costs at most one klines request per cycle, and none while its interval has not moved on.
+ * Each pair has a fixed slot in the cycle, the slots evenly spread over it, and every refresh is delayed by a
+ * random jitter, so the requests of a large warm set trickle through the weight window instead of arriving at once.
+ */
+@Component
+public class WarmSetScheduler implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(WarmSetScheduler.class);
+
+    private final BinanceHistoricalDataService binanceHistoricalDataService;
+    private final BinanceRequestWeightLimiter requestWeightLimiter;
+    private final WarmSetProperties properties;
+    private final LongSupplier clock;
+    private final Random random;
+    private final long cycleMillis;
+    private final long jitterMillis;
+    // Only the scheduler thread touches the pairs; a fixed-delay task never overlaps itself
+    private final List<TrackedPair> pairs = new ArrayList<>();
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshedCandles = new LongAdder();
+    private final LongAdder deferrals = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    // A pair of the warm set with the open time of the last closed candle it has stored
+    private static final class TrackedPair {
+        private final String symbol;
+        private final CandlestickInterval interval;
+        private long lastOpenTime = Long.MIN_VALUE;
+        // Start of the pair's slot in the current cycle, and the jittered time within it the refresh runs at
+        private long slotMillis;
+        private long dueMillis;
+
+        private TrackedPair(String symbol, CandlestickInterval interval) {
+            this.symbol = symbol;
+            this.interval = interval;
+        }
+    }
+
+    @Autowired
+    public WarmSetScheduler(BinanceHistoricalDataService binanceHistoricalDataService,
+                            BinanceRequestWeightLimiter requestWeightLimiter, WarmSetProperties properties) {
+        this(binanceHistoricalDataService, requestWeightLimiter, properties, System::currentTimeMillis, new Random());
+    }
+
+    WarmSetScheduler(BinanceHistoricalDataService binanceHistoricalDataService, BinanceRequestWeightLimiter requestWeightLimiter,
+                     WarmSetProperties properties, LongSupplier clock, Random random) {
+        if (properties.getCandles() <= 0) {
+            throw new IllegalArgumentException("Candles must be positive");
+        }
+        if (properties.getCycle().isNegative() || properties.getCycle().isZero()) {
+            throw new IllegalArgumentException("Cycle must be positive");
+        }
+        if (properties.getJitter().isNegative() || properties.getJitter().compareTo(properties.getCycle()) >= 0) {
+            throw new IllegalArgumentException("Jitter must be between zero and the cycle");
+        }
+        this.binanceHistoricalDataService = binanceHistoricalDataService;
+        this.requestWeightLimiter = requestWeightLimiter;
+        this.properties = properties;
+        this.clock = clock;
+        this.random = random;
+        this.cycleMillis = properties.getCycle().toMillis();
+        this.jitterMillis = properties.getJitter().toMillis();
+
+        Set<String> symbols = new LinkedHashSet<>();
+        properties.getSymbols().forEach(symbol -> symbols.add(symbol.trim().toUpperCase(Locale.ROOT)));
+        for (String symbol : symbols) {
+            for (CandlestickInterval interval : properties.getIntervals()) {
+                pairs.add(new TrackedPair(symbol, interval));
+            }
+        }
+        long now = clock.getAsLong();
+        for (int i = 0; i < pairs.size(); i++) {
+            TrackedPair pair = pairs.get(i);
+            pair.slotMillis = now + i * cycleMillis / pairs.size();
+            pair.dueMillis = pair.slotMillis + jitter();
+        }
+    }
+
+    // Refreshes the pairs whose slot has come, if enabled
+    @Scheduled(fixedDelayString = "#{@warmSetProperties.tick.toMillis()}")
+    public void refreshDue() {
+        if (properties.isEnabled()) {
+            refreshDue(clock.getAsLong());
+        }
+    }
+
+    /**
+     * Refreshes every pair due at the given time and moves it to its slot in the next cycle.
+     *
+     * @param now The current time in milliseconds since epoch.
+     * @return The number of pairs whose new closed candles were read.
+     */
+    int refreshDue(long now) {
+        int refreshed = 0;
+        for (TrackedPair pair : pairs) {
+            if (pair.dueMillis > now) {
+                continue;
+            }
+            if (requestWeightLimiter.availableWeight() < properties.getMinAvailableWeight()) {
+                // Tried again in the next cycle; user requests keep the weight that is left
+                deferrals.increment();
+            } else if (refresh(pair, now)) {
+                refreshed++;
+            }
+            // A scheduler that fell behind skips the missed cycles rather than running them back to back
+            do {
+                pair.slotMillis += cycleMillis;
+            } while (pair.slotMillis <= now);
+            pair.dueMillis = pair.slotMillis + jitter();
+        }
+        return refreshed;
+    }
+
+    // Reads the candles that closed since the last refresh, which stores and caches those missing; false if none had
+    // closed or the read failed
+    private boolean refresh(TrackedPair pair, long now) {
+        long intervalMillis = binanceHistoricalDataService.getCandlestickIntervalMillis(pair.interval);
+        // A candle opening at or before now minus one interval has closed
+        long lastClosedOpenTime = now - intervalMillis;
+        long from = pair.lastOpenTime == Long.MIN_VALUE
+                ? lastClosedOpenTime - (long) (properties.getCandles() - 1) * intervalMillis
+                : pair.lastOpenTime + 1;
+        if (pair.lastOpenTime != Long.MIN_VALUE && lastClosedOpenTime - pair.lastOpenTime < intervalMillis) {
+            // No candle has closed since the last refresh
+            return false;
+        }
+        try {
+            // The end is exclusive for the missing range search, which must include a candle opening right at it
+            CandleSeries candles = binanceHistoricalDataService.getHistoricalCandleSeries(pair.symbol, pair.interval, from,
+                    lastClosedOpenTime + 1);
+            refreshes.increment();
+            if (!candles.isEmpty()) {
+                refreshedCandles.add(candles.size());
+                pair.lastOpenTime = Math.max(pair.lastOpenTime, candles.lastOpenTime());
+            }
+            return true;
+        } catch (RuntimeException e) {
+            // The same tail is read again in the next cycle
+            failures.increment();
+            logger.warn("Could not refresh warm set pair {} {}: {}", pair.symbol, pair.interval, e.getMessage());
+            return false;
+        }
+    }
+
+    private long jitter() {
+        return jitterMillis == 0 ? 0 : random.nextLong(jitterMillis + 1);
+    }
+
+    public int getPairCount() {
+        return pairs.size();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getRefreshedCandleCount() {
+        return refreshedCandles.sum();
+    }
+
+    public long getDeferralCount() {
+        return deferrals.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("candlestick.warm-set.refreshes", refreshes, LongAdder::sum)
+                .description("Warm set refreshes that read closed candles")
+                .register(registry);
+        FunctionCounter.builder("candlestick.warm-set.candles", refreshedCandles, LongAdder::sum)
+                .description("Closed candles read by warm set refreshes")
+                .register(registry);
+        FunctionCounter.builder("candlestick.warm-set.deferrals", deferrals, LongAdder::sum)
+                .description("Warm set refreshes put off for lack of request weight")
+                .register(registry);
+        FunctionCounter.builder("candlestick.warm-set.failures", failures, LongAdder::sum)
+                .description("Warm set refreshes that failed")
+                .register(registry);
+        Gauge.builder("candlestick.warm-set.pairs", pairs, List::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.util;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+
+/**
+ * Reduces a run of candles to at most a given number of points for a chart of that many pixels, in one
+ * pass over the columns of the series. OHLC downsampling merges candles into buckets of a whole number of
+ * intervals, which keeps the price extremes of every bucket; Largest-Triangle-Three-Buckets keeps the close
+ * prices that shape a line chart the most.
+ */
+public final class CandleDownsampler {
+
+    private CandleDownsampler() {
+    }
+
+    /**
+     * Merges the candles into buckets of the smallest whole number of intervals that leaves at most
+     * {@code maxPoints} buckets. Buckets are counted from the first candle, so a bucket spans the same time
+     * with or without missing candles. A bucket takes the open of its first candle, the close of its last,
+     * its highest high and lowest low, and the sums of volumes and trades.
+     *
+     * @param series The candles, sorted by open time.
+     * @param intervalMillis The duration of one candle in milliseconds.
+     * @param maxPoints The maximum number of buckets, at least 1.
+     * @return The merged candles, or the series itself if it has at most {@code maxPoints} candles.
+     */
+    public static CandleSeries ohlc(CandleSeries series, long intervalMillis, int maxPoints) {
+        if (maxPoints < 1) {
+            throw new IllegalArgumentException("At least one point is required");
+        }
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        int size = series.size();
+        if (size <= maxPoints) {
+            return series;
+        }
+        long first = series.firstOpenTime();
+        long span = series.lastOpenTime() - first + intervalMillis;
+        long bucketMillis = bucketMillis(span, intervalMillis, maxPoints);
+
+        CandleSeries.Builder builder = CandleSeries.builder(Math.min(maxPoints, size));
+        int start = 0;
+        while (start < size) {
+            long bucketStart = first + (series.openTime(start) - first) / bucketMillis * bucketMillis;
+            long bucketEnd = bucketStart + bucketMillis;
+            double high = series.high(start);
+            double low = series.low(start);
+            double volume = 0;
+            double quoteAssetVolume = 0;
+            long numberOfTrades = 0;
+            double takerBuyBaseAssetVolume = 0;
+            double takerBuyQuoteAssetVolume = 0;
+            int end = start;
+            while (end < size && series.openTime(end) < bucketEnd) {
+                high = Math.max(high, series.high(end));
+                low = Math.min(low, series.low(end));
+                volume += series.volume(end);
+                quoteAssetVolume += series.quoteAssetVolume(end);
+                numberOfTrades += series.numberOfTrades(end);
+                takerBuyBaseAssetVolume += series.takerBuyBaseAssetVolume(end);
+                takerBuyQuoteAssetVolume += series.takerBuyQuoteAssetVolume(end);
+                end++;
+            }
+            builder.add(bucketStart, series.closeTime(end - 1),
+                    series.open(start), high, low, series.close(end - 1), volume, quoteAssetVolume, numberOfTrades,
+                    takerBuyBaseAssetVolume, takerBuyQuoteAssetVolume);
+            start = end;
+        }
+        return builder.build();
+    }
+
+    // Smallest whole number of intervals per bucket that fits the span into maxPoints buckets
+    public static long bucketMillis(long span, long intervalMillis, int maxPoints) {
+        long intervalsPerBucket = Math.max(1, Math.ceilDiv(Math.ceilDiv(span, intervalMillis), maxPoints));
+        return intervalsPerBucket * intervalMillis;
+    }
+
+    /**
+     * Selects at most {@code maxPoints} candles whose close prices best keep the shape of the close line, with
+     * Largest-Triangle-Three-Buckets: the first and last candles are always kept, the others are split into
+     * {@code maxPoints - 2} buckets, and each bucket keeps the candle forming the largest triangle with the
+     * candle kept from the previous bucket and the average of the next bucket.
+     *
+     * @param series The candles, sorted by open time.
+     * @param maxPoints The maximum number of points, at least 3.
+     * @return The positions of the selected candles in ascending order.
+     */
+    public static int[] lttb(CandleSeries series, int maxPoints) {
+        if (maxPoints < 3) {
+            throw new IllegalArgumentException("At least three points are required");
+        }
+        int size = series.size();
+        if (size <= maxPoints) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        // Times relative to the first candle keep the triangle areas exact in double precision
+        long origin = series.firstOpenTime();
+        int[] selected = new int[maxPoints];
+        double bucketSize = (double) (size - 2) / (maxPoints - 2);
+        int previous = 0;
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            boolean last = bucket == maxPoints - 3;
+            int from = (int) (bucket * bucketSize) + 1;
+            int to = last ? size - 1 : (int) ((bucket + 1) * bucketSize) + 1;
+
+            // Average of the next bucket, which is the last candle alone for the last bucket
+            int nextFrom = last ? size - 1 : to;
+            int nextTo = last ? size : Math.min((int) ((bucket + 2) * bucketSize) + 1, size - 1);
+            double averageTime = 0;
+            double averageClose = 0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                averageTime += series.openTime(i) - origin;
+                averageClose += series.close(i);
+            }
+            averageTime /= nextTo - nextFrom;
+            averageClose /= nextTo - nextFrom;
+
+            double previousTime = series.openTime(previous) - origin;
+            double previousClose = series.close(previous);
+            double largestArea = -1;
+            int largest = from;
+            for (int i = from; i < to; i++) {
+                // Twice the triangle area; only the comparison matters
+                double area = Math.abs((previousTime - averageTime) * (series.close(i) - previousClose)
+                        - (previousTime - (series.openTime(i) - origin)) * (averageClose - previousClose));
+                if (area > largestArea) {
+                    largestArea = area;
+                    largest = i;
+                }
+            }
+            selected[bucket + 1] = largest;
+            previous = largest;
+        }
+        selected[maxPoints - 1] = size - 1;
+        return selected;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.util;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds missing candlesticks with plain epoch-millis arithmetic.
+ * Instead of walking the requested window one interval at a time, the detector sorts the stored
+ * open times once and emits the holes between them as compact {@code [from, to)} ranges.
+ * Each range covers at most {@code maxCandlesPerRange} candles, so it maps onto a single API page.
+ */
+public final class CandlestickGapDetector {
+
+    private CandlestickGapDetector() {
+    }
+
+    /**
+     * Finds missing ranges for intervals aligned to the epoch.
+     *
+     * @see #findMissingRanges(long[], int, long, long, long, long, int)
+     */
+    public static List<TimeRange> findMissingRanges(long[] openTimes, int count, long startTime, long endTime,
+                                                    long intervalMillis, int maxCandlesPerRange) {
+        return findMissingRanges(openTimes, count, startTime, endTime, intervalMillis, 0L, maxCandlesPerRange);
+    }
+
+    /**
+     * Finds the ranges of candlesticks missing between {@code startTime} (inclusive) and {@code endTime} (exclusive).
+     * The first {@code count} elements of {@code openTimes} are sorted in place; no objects are created per candle.
+     *
+     * @param openTimes The open times of the stored candlesticks in milliseconds since epoch.
+     * @param count The number of valid elements in {@code openTimes}.
+     * @param startTime The start of the requested window in milliseconds since epoch.
+     * @param endTime The exclusive end of the requested window in milliseconds since epoch.
+     * @param intervalMillis The candlestick interval duration in milliseconds.
+     * @param alignmentOffsetMillis The offset from the epoch at which candles of this interval open.
+     * @param maxCandlesPerRange The maximum number of candles a single returned range may cover.
+     * @return The missing ranges in ascending order.
+     */
+    public static List<TimeRange> findMissingRanges(long[] openTimes, int count, long startTime, long endTime,
+                                                    long intervalMillis, long alignmentOffsetMillis, int maxCandlesPerRange) {
+        if (openTimes == null) {
+            throw new IllegalArgumentException("Open times must not be null");
+        }
+        if (count < 0 || count > openTimes.length) {
+            throw new IllegalArgumentException("Count is out of bounds");
+        }
+        if (intervalMillis <= 0 || maxCandlesPerRange <= 0) {
+            throw new IllegalArgumentException("Interval and range size must be positive");
+        }
+
+        List<TimeRange> missingRanges = new ArrayList<>();
+        if (startTime >= endTime) {
+            return missingRanges;
+        }
+
+        Arrays.sort(openTimes, 0, count);
+        long rangeSpan = intervalMillis * maxCandlesPerRange;
+        long cursor = alignUp(startTime, intervalMillis, alignmentOffsetMillis);
+
+        for (int i = 0; i < count && cursor < endTime; i++) {
+            long openTime = openTimes[i];
+            if (openTime < cursor) {
+                // Before the window, a duplicate, or already covered by the previous slot
+                continue;
+            }
+            if (openTime >= endTime) {
+                break;
+            }
+            long slotStart = alignDown(openTime, intervalMillis, alignmentOffsetMillis);
+            if (slotStart > cursor) {
+                addSplitRange(missingRanges, cursor, slotStart, rangeSpan);
+            }
+            cursor = slotStart + intervalMillis;
+        }
+
+        if (cursor < endTime) {
+            addSplitRange(missingRanges, cursor, endTime, rangeSpan);
+        }
+        return missingRanges;
+    }
+
+    // Adds [from, to) to the list, split into chunks of at most rangeSpan milliseconds
+    private static void addSplitRange(List<TimeRange> ranges, long from, long to, long rangeSpan) {
+        for (long chunkStart = from; chunkStart < to; chunkStart += rangeSpan) {
+            ranges.add(new TimeRange(chunkStart, Math.min(chunkStart + rangeSpan, to)));
+        }
+    }
+
+    // Rounds the timestamp up to the next candle open time
+    static long alignUp(long timestamp, long intervalMillis, long alignmentOffsetMillis) {
+        long remainder = Math.floorMod(timestamp - alignmentOffsetMillis, intervalMillis);
+        return remainder == 0 ? timestamp : timestamp - remainder + intervalMillis;
+    }
+
+    // Rounds the timestamp down to the open time of the candle that contains it
+    static long alignDown(long timestamp, long intervalMillis, long alignmentOffsetMillis) {
+        return timestamp - Math.floorMod(timestamp - alignmentOffsetMillis, intervalMillis);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.CryptocurrencyMarketAnalysisSystem.util;
 
+import com.binance.api.client.domain.market.CandlestickInterval;
+
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 
@@ -56,6 +58,28 @@ public class DateUtils {
         return zonedDateTime.toInstant().toEpochMilli();
     }
 
+    // Returns the duration of a candlestick interval in milliseconds; MONTHLY candles follow calendar months,
+    // so their 30 days are an approximation that must not be used to align or bucket monthly candles
+    public static long convertIntervalToMillis(CandlestickInterval interval) {
+        return switch (interval) {
+            case ONE_MINUTE -> 60000L;
+            case THREE_MINUTES -> 3 * 60000L;
+            case FIVE_MINUTES -> 5 * 60000L;
+            case FIFTEEN_MINUTES -> 15 * 60000L;
+            case HALF_HOURLY -> 30 * 60000L;
+            case HOURLY -> 60 * 60000L;
+            case TWO_HOURLY -> 2 * 60 * 60000L;
+            case FOUR_HOURLY -> 4 * 60 * 60000L;
+            case SIX_HOURLY -> 6 * 60 * 60000L;
+            case EIGHT_HOURLY -> 8 * 60 * 60000L;
+            case TWELVE_HOURLY -> 12 * 60 * 60000L;
+            case DAILY -> 24 * 60 * 60000L;
+            case THREE_DAILY -> 3 * 24 * 60 * 60000L;
+            case WEEKLY -> 7 * 24 * 60 * 60000L;
+            case MONTHLY -> 30 * 24 * 60 * 60000L;
+        };
+    }
+
     private static void millisNotNullAndInRange(Long millis) {
         if (millis == null) {
             throw new IllegalArgumentException("Millis must not be null");
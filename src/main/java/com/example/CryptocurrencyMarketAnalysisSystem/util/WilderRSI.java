@@ -0,0 +1,143 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.util;
+
+import java.util.Objects;
+
+/**
+ * Relative Strength Index with Wilder's smoothing over primitive closes.
+ * The first {@code period} price changes seed the averages with their simple mean; every later change
+ * updates them as {@code avg = (avg * (period - 1) + value) / period}. The first RSI value therefore belongs
+ * to the close at index {@code period}. The state is three doubles, so a calculator can be stored and
+ * resumed with {@link #restore} to absorb each newly closed candle in constant time.
+ */
+public final class WilderRSI {
+    private final int period;
+    private double avgGain;
+    private double avgLoss;
+    private double lastClose = Double.NaN;
+    // Price changes absorbed so far, capped at the period once the averages are seeded
+    private int changes;
+
+    public WilderRSI(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        this.period = period;
+    }
+
+    // Resumes a seeded calculator from its stored averages and the close they end at
+    public static WilderRSI restore(int period, double avgGain, double avgLoss, double lastClose) {
+        if (avgGain < 0 || avgLoss < 0 || Double.isNaN(avgGain) || Double.isNaN(avgLoss) || Double.isNaN(lastClose)) {
+            throw new IllegalArgumentException("Stored RSI state is invalid");
+        }
+        WilderRSI rsi = new WilderRSI(period);
+        rsi.avgGain = avgGain;
+        rsi.avgLoss = avgLoss;
+        rsi.lastClose = lastClose;
+        rsi.changes = period;
+        return rsi;
+    }
+
+    /**
+     * Calculates the RSI of every close in one pass.
+     *
+     * @param closes The closes in chronological order.
+     * @param count The number of closes to read from the start of the array.
+     * @param period The number of price changes to smooth over.
+     * @param out Receives the RSI of close i at index i; the first {@code period} entries are NaN.
+     */
+    public static void calculate(double[] closes, int count, int period, double[] out) {
+        new WilderRSI(period).update(closes, 0, count, out, 0);
+    }
+
+    // Absorbs the next close and returns the RSI at it, or NaN while the averages are still being seeded
+    public double update(double close) {
+        if (Double.isNaN(lastClose)) {
+            lastClose = close;
+            return Double.NaN;
+        }
+        double change = close - lastClose;
+        lastClose = close;
+        double gain = change > 0 ? change : 0;
+        double loss = change < 0 ? -change : 0;
+        if (changes < period) {
+            avgGain += gain;
+            avgLoss += loss;
+            if (++changes < period) {
+                return Double.NaN;
+            }
+            avgGain /= period;
+            avgLoss /= period;
+        } else {
+            avgGain = (avgGain * (period - 1) + gain) / period;
+            avgLoss = (avgLoss * (period - 1) + loss) / period;
+        }
+        return rsi(avgGain, avgLoss);
+    }
+
+    /**
+     * Absorbs closes[from, to) and writes the RSI at each of them to the output array, without allocating.
+     *
+     * @param closes The closes in chronological order.
+     * @param from The first close to absorb.
+     * @param to The end of the closes to absorb, exclusive.
+     * @param out Receives the RSI of closes[from + i] at out[outOffset + i], NaN while seeding.
+     * @param outOffset The position of the first value in the output array.
+     */
+    public void update(double[] closes, int from, int to, double[] out, int outOffset) {
+        Objects.checkFromToIndex(from, to, closes.length);
+        Objects.checkFromIndexSize(outOffset, to - from, out.length);
+        int i = from;
+        // Seeding goes through the general path, it covers at most period + 1 closes
+        while (i < to && changes < period) {
+            out[outOffset++] = update(closes[i++]);
+        }
+        double gainAverage = avgGain;
+        double lossAverage = avgLoss;
+        double previous = lastClose;
+        int decay = period - 1;
+        for (; i < to; i++) {
+            double close = closes[i];
+            double change = close - previous;
+            previous = close;
+            gainAverage = (gainAverage * decay + (change > 0 ? change : 0)) / period;
+            lossAverage = (lossAverage * decay + (change < 0 ? -change : 0)) / period;
+            out[outOffset++] = rsi(gainAverage, lossAverage);
+        }
+        avgGain = gainAverage;
+        avgLoss = lossAverage;
+        lastClose = previous;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public boolean isSeeded() {
+        return changes == period;
+    }
+
+    public double getAvgGain() {
+        return avgGain;
+    }
+
+    public double getAvgLoss() {
+        return avgLoss;
+    }
+
+    public double getLastClose() {
+        return lastClose;
+    }
+
+    // Returns the RSI at the last absorbed close, or NaN while seeding
+    public double current() {
+        return isSeeded() ? rsi(avgGain, avgLoss) : Double.NaN;
+    }
+
+    // A market without losses is at 100, one that did not move at all sits in the middle
+    private static double rsi(double avgGain, double avgLoss) {
+        if (avgLoss == 0) {
+            return avgGain == 0 ? 50 : 100;
+        }
+        return 100 - 100 / (1 + avgGain / avgLoss);
+    }
+}
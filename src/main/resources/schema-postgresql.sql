@@ -0,0 +1,160 @@
+-- Natural-key layout for candlestick_data, partitioned by LIST (candlestick_interval) and then by
+-- RANGE (open_time). The script is idempotent and runs on every startup, so it both creates fresh tables
+-- and migrates tables created by earlier versions. Only the interval partitions and their DEFAULT
+-- partitions are created here; monthly or yearly range partitions are created and dropped by
+-- CandlestickPartitionManager. Statements are separated by @@ because the migration blocks contain semicolons.
+
+DO $$
+DECLARE
+    existing_constraint RECORD;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_class
+                   WHERE oid = to_regclass('candlestick_data') AND relkind = 'r') THEN
+        RETURN;
+    END IF;
+
+    -- Earlier versions used a surrogate id, a unique constraint over every column and a VARCHAR interval
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'candlestick_data' AND column_name = 'id') THEN
+        FOR existing_constraint IN
+            SELECT conname FROM pg_constraint
+            WHERE conrelid = 'candlestick_data'::regclass AND contype IN ('p', 'u')
+        LOOP
+            EXECUTE format('ALTER TABLE candlestick_data DROP CONSTRAINT %I', existing_constraint.conname);
+        END LOOP;
+        DROP INDEX IF EXISTS idx_symbol_open_time_close_time_interval;
+
+        -- Keep the first stored row for every natural key
+        DELETE FROM candlestick_data newer
+        USING candlestick_data older
+        WHERE newer.symbol = older.symbol
+          AND newer.candlestick_interval = older.candlestick_interval
+          AND newer.open_time = older.open_time
+          AND newer.id > older.id;
+
+        ALTER TABLE candlestick_data DROP COLUMN id;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'candlestick_data'
+                 AND column_name = 'candlestick_interval' AND data_type = 'character varying') THEN
+        -- EnumType.STRING also left a CHECK listing the enum names, which the codes below would violate
+        FOR existing_constraint IN
+            SELECT c.conname FROM pg_constraint c
+            JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+            WHERE c.conrelid = 'candlestick_data'::regclass AND c.contype = 'c' AND a.attname = 'candlestick_interval'
+        LOOP
+            EXECUTE format('ALTER TABLE candlestick_data DROP CONSTRAINT %I', existing_constraint.conname);
+        END LOOP;
+
+        -- Codes are the CandlestickInterval ordinals stored by CandlestickEntity
+        ALTER TABLE candlestick_data ALTER COLUMN candlestick_interval TYPE SMALLINT USING
+            CASE candlestick_interval
+                WHEN 'ONE_MINUTE' THEN 0
+                WHEN 'THREE_MINUTES' THEN 1
+                WHEN 'FIVE_MINUTES' THEN 2
+                WHEN 'FIFTEEN_MINUTES' THEN 3
+                WHEN 'HALF_HOURLY' THEN 4
+                WHEN 'HOURLY' THEN 5
+                WHEN 'TWO_HOURLY' THEN 6
+                WHEN 'FOUR_HOURLY' THEN 7
+                WHEN 'SIX_HOURLY' THEN 8
+                WHEN 'EIGHT_HOURLY' THEN 9
+                WHEN 'TWELVE_HOURLY' THEN 10
+                WHEN 'DAILY' THEN 11
+                WHEN 'THREE_DAILY' THEN 12
+                WHEN 'WEEKLY' THEN 13
+                WHEN 'MONTHLY' THEN 14
+            END;
+        ALTER TABLE candlestick_data
+            ADD CONSTRAINT candlestick_data_interval_check CHECK (candlestick_interval BETWEEN 0 AND 14);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'candlestick_data'::regclass AND contype = 'p') THEN
+        ALTER TABLE candlestick_data
+            ADD CONSTRAINT candlestick_data_pkey PRIMARY KEY (symbol, candlestick_interval, open_time);
+    END IF;
+END $$
+@@
+
+DO $$
+BEGIN
+    -- Tables created before partitioning are moved aside and copied into the partitioned table below
+    IF EXISTS (SELECT 1 FROM pg_class
+               WHERE oid = to_regclass('candlestick_data') AND relkind = 'r') THEN
+        ALTER TABLE candlestick_data RENAME TO candlestick_data_unpartitioned;
+        ALTER TABLE candlestick_data_unpartitioned
+            RENAME CONSTRAINT candlestick_data_pkey TO candlestick_data_unpartitioned_pkey;
+    END IF;
+END $$
+@@
+
+CREATE TABLE IF NOT EXISTS candlestick_data (
+    symbol                       VARCHAR(20)                 NOT NULL,
+    candlestick_interval         SMALLINT                    NOT NULL,
+    open_time                    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    close_time                   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    open                         DOUBLE PRECISION            NOT NULL,
+    close                        DOUBLE PRECISION            NOT NULL,
+    high                         DOUBLE PRECISION            NOT NULL,
+    low                          DOUBLE PRECISION            NOT NULL,
+    volume                       DOUBLE PRECISION            NOT NULL,
+    quote_asset_volume           DOUBLE PRECISION            NOT NULL,
+    number_of_trades             BIGINT                      NOT NULL,
+    taker_buy_base_asset_volume  DOUBLE PRECISION            NOT NULL,
+    taker_buy_quote_asset_volume DOUBLE PRECISION            NOT NULL,
+    CONSTRAINT candlestick_data_pkey PRIMARY KEY (symbol, candlestick_interval, open_time),
+    CONSTRAINT candlestick_data_interval_check CHECK (candlestick_interval BETWEEN 0 AND 14)
+) PARTITION BY LIST (candlestick_interval)
+@@
+
+DO $$
+BEGIN
+    -- Partitioned tables created before the interval check was declared
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'candlestick_data'::regclass AND conname = 'candlestick_data_interval_check') THEN
+        ALTER TABLE candlestick_data
+            ADD CONSTRAINT candlestick_data_interval_check CHECK (candlestick_interval BETWEEN 0 AND 14);
+    END IF;
+END $$
+@@
+
+DO $$
+BEGIN
+    -- One partition per CandlestickInterval ordinal, each split by open_time; rows outside every range
+    -- partition land in the DEFAULT partition until CandlestickPartitionManager moves them out
+    FOR interval_code IN 0..14 LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS candlestick_data_i%s PARTITION OF candlestick_data '
+                       'FOR VALUES IN (%s) PARTITION BY RANGE (open_time)', interval_code, interval_code);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS candlestick_data_i%s_default PARTITION OF candlestick_data_i%s DEFAULT',
+                       interval_code, interval_code);
+    END LOOP;
+END $$
+@@
+
+DO $$
+BEGIN
+    IF to_regclass('candlestick_data_unpartitioned') IS NOT NULL THEN
+        INSERT INTO candlestick_data
+        SELECT symbol, candlestick_interval, open_time, close_time, open, close, high, low, volume,
+               quote_asset_volume, number_of_trades, taker_buy_base_asset_volume, taker_buy_quote_asset_volume
+        FROM candlestick_data_unpartitioned
+        ON CONFLICT DO NOTHING;
+        DROP TABLE candlestick_data_unpartitioned;
+    END IF;
+END $$
+@@
+
+-- Wilder smoothing state of every RSI series that RSIService keeps up to date candle by candle
+CREATE TABLE IF NOT EXISTS rsi_state (
+    symbol               VARCHAR(255)             NOT NULL,
+    candlestick_interval SMALLINT                 NOT NULL,
+    period               INTEGER                  NOT NULL,
+    last_open_time       TIMESTAMP WITH TIME ZONE NOT NULL,
+    avg_gain             DOUBLE PRECISION         NOT NULL,
+    avg_loss             DOUBLE PRECISION         NOT NULL,
+    last_close           DOUBLE PRECISION         NOT NULL,
+    CONSTRAINT rsi_state_pkey PRIMARY KEY (symbol, candlestick_interval, period)
+)
+@@
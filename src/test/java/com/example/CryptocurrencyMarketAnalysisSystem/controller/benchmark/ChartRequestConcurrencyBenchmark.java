@@ -0,0 +1,253 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.controller.benchmark;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleStreamProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.TaskExecutorConfig;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.WebConfig;
+import com.example.CryptocurrencyMarketAnalysisSystem.controller.ChartController;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ChartService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.CandlestickBackfillExecutor;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test of the chart endpoint with Tomcat handlers and Binance calls on platform threads or on virtual
+ * threads. Each operation sends a burst of concurrent chart requests to embedded Tomcat, each for a range that is
+ * not stored, so every request fetches one page from a stub Binance API that holds each call for a fixed latency.
+ * The request-weight budget of the backfill executor is either the default, which caps the API calls in flight,
+ * or large enough for every request of a burst. The score is the time until all responses of a burst have
+ * arrived; the most chart requests and API calls in flight at once are printed after each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChartRequestConcurrencyBenchmark {
+    private static final long START = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final int PAGE_CANDLES = 1000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"1000"})
+    public int requests;
+
+    @Param({"100"})
+    public int apiLatencyMillis;
+
+    @Param({"16", "2000"})
+    public int maxRequestWeightInFlight;
+
+    private ConfigurableApplicationContext context;
+    private StubBinanceApi stubApi;
+    private InFlightFilter inFlightFilter;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private int burst;
+
+    // Stands in for the Binance klines endpoint: answers every page after the latency and counts the calls in flight
+    public static class StubBinanceApi {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private volatile long latencyMillis;
+
+        public BinanceMarketDataClient client() {
+            return (BinanceMarketDataClient) Proxy.newProxyInstance(BinanceMarketDataClient.class.getClassLoader(),
+                    new Class<?>[]{BinanceMarketDataClient.class}, (proxy, method, args) -> {
+                        if (!method.getName().equals("getCandlestickBars") || args == null || args.length != 5) {
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                        return getCandlestickBars((Integer) args[2], (Long) args[3], (Long) args[4]);
+                    });
+        }
+
+        private List<Candlestick> getCandlestickBars(int limit, long startTime, long endTime) throws InterruptedException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latencyMillis);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            List<Candlestick> page = new ArrayList<>(limit);
+            for (long openTime = startTime; openTime <= endTime && page.size() < limit; openTime += ONE_MINUTE) {
+                Candlestick candlestick = new Candlestick();
+                candlestick.setOpenTime(openTime);
+                candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+                candlestick.setOpen("42000.5");
+                candlestick.setHigh("42100.0");
+                candlestick.setLow("41900.0");
+                candlestick.setClose("42050.25");
+                candlestick.setVolume("12.5");
+                candlestick.setQuoteAssetVolume("525000.0");
+                candlestick.setNumberOfTrades(120L);
+                candlestick.setTakerBuyBaseAssetVolume("6.0");
+                candlestick.setTakerBuyQuoteAssetVolume("252000.0");
+                page.add(candlestick);
+            }
+            return page;
+        }
+
+        public int takeMaxInFlight() {
+            return maxInFlight.getAndSet(0);
+        }
+    }
+
+    // Counts the chart requests between arrival at the servlet container and the end of the response
+    public static class InFlightFilter extends OncePerRequestFilter {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        public int takeMaxInFlight() {
+            return maxInFlight.getAndSet(0);
+        }
+    }
+
+    // Not a @Configuration, so component scans of the application in other tests do not pick it up
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class, DispatcherServletAutoConfiguration.class})
+    @Import({WebConfig.class, TaskExecutorConfig.class, ChartController.class, ChartService.class})
+    public static class ChartServer {
+
+        @Bean
+        public CandleStreamProperties candleStreamProperties() {
+            return new CandleStreamProperties();
+        }
+
+        @Bean
+        public StubBinanceApi stubBinanceApi() {
+            return new StubBinanceApi();
+        }
+
+        @Bean
+        public InFlightFilter inFlightFilter() {
+            return new InFlightFilter();
+        }
+
+        @Bean
+        public BinanceHistoricalDataService binanceHistoricalDataService(StubBinanceApi stubBinanceApi,
+                                                                         @Qualifier("applicationTaskExecutor") Executor executor,
+                                                                         @Value("${binance.backfill.max-request-weight-in-flight}") int maxRequestWeightInFlight) {
+            // Nothing is stored, so every chart request goes to the API; the rate limit is not under test
+            CandlestickDataService nothingStored = new CandlestickDataService(null) {
+                @Override
+                public CandleSeries getCandleSeries(String symbol, ZonedDateTime startTime, ZonedDateTime endTime,
+                                                    CandlestickInterval interval) {
+                    return CandleSeries.empty();
+                }
+
+                @Override
+                public CandleSeries deriveCandleSeries(String symbol, CandlestickInterval interval, List<TimeRange> ranges) {
+                    return CandleSeries.empty();
+                }
+
+                @Override
+                public void saveCandleSeries(String symbol, CandleSeries candles, CandlestickInterval interval) {
+                }
+            };
+            return new BinanceHistoricalDataService(nothingStored, new CandlestickBackfillExecutor(executor, maxRequestWeightInFlight),
+                    new BinanceRequestWeightLimiter(Integer.MAX_VALUE, Duration.ofSeconds(2)), stubBinanceApi.client());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        // Arguments, so they take precedence over the application.properties on the classpath
+        context = new SpringApplicationBuilder(ChartServer.class)
+                .run("--server.port=0", "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--binance.backfill.max-request-weight-in-flight=" + maxRequestWeightInFlight, "--logging.level.root=WARN");
+        stubApi = context.getBean(StubBinanceApi.class);
+        stubApi.latencyMillis = apiLatencyMillis;
+        inFlightFilter = context.getBean(InFlightFilter.class);
+        baseUrl = "http://127.0.0.1:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Benchmark
+    public int chartRequests() {
+        // Every request of every burst asks for a range of its own, so none of them is answered without the API
+        long first = START + (long) burst++ * requests * PAGE_CANDLES * ONE_MINUTE;
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            long startTime = first + (long) i * PAGE_CANDLES * ONE_MINUTE;
+            long endTime = startTime + PAGE_CANDLES * ONE_MINUTE - 1;
+            URI uri = URI.create(baseUrl + "/api/chart/BTCUSDT/ONE_MINUTE?startTime=" + startTime + "&endTime=" + endTime);
+            responses.add(httpClient.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() != 200) {
+                throw new IllegalStateException("Chart request failed with " + response.join().statusCode());
+            }
+            ok++;
+        }
+        return ok;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        System.out.printf("virtualThreads=%b requests=%d weight budget=%d max chart requests in flight=%d max API calls in flight=%d%n",
+                virtualThreads, requests, maxRequestWeightInFlight, inFlightFilter.takeMaxInFlight(), stubApi.takeMaxInFlight());
+        context.close();
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
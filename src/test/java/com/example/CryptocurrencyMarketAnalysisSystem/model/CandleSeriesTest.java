@@ -0,0 +1,170 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model;
+
+import com.binance.api.client.domain.market.Candlestick;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandleSeriesTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    //Positive Tests
+
+    @Test
+    public void testFromCandlesticksParsesEveryColumn() {
+        CandleSeries series = CandleSeries.fromCandlesticks(List.of(createCandlestick(START, "1.5")));
+
+        assertEquals(1, series.size());
+        assertEquals(START, series.openTime(0));
+        assertEquals(START + ONE_MINUTE - 1, series.closeTime(0));
+        assertEquals(1.0, series.open(0));
+        assertEquals(2.0, series.high(0));
+        assertEquals(0.5, series.low(0));
+        assertEquals(1.5, series.close(0));
+        assertEquals(1000.0, series.volume(0));
+        assertEquals(2000.0, series.quoteAssetVolume(0));
+        assertEquals(500L, series.numberOfTrades(0));
+        assertEquals(700.0, series.takerBuyBaseAssetVolume(0));
+        assertEquals(1400.0, series.takerBuyQuoteAssetVolume(0));
+    }
+
+    @Test
+    public void testUnsortedInputIsSortedAndDeduplicated() {
+        List<Candlestick> candlesticks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            candlesticks.add(createCandlestick(minute(i), "1.5"));
+        }
+        Collections.shuffle(candlesticks, new Random(42));
+        // A later duplicate must not replace the candle added first
+        candlesticks.add(createCandlestick(minute(7), "9.0"));
+
+        CandleSeries series = CandleSeries.fromCandlesticks(candlesticks);
+
+        assertEquals(100, series.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(minute(i), series.openTime(i));
+        }
+        assertEquals(1.5, series.close(7));
+    }
+
+    @Test
+    public void testSlicesAreViews() {
+        CandleSeries series = createSeries(0, 10);
+
+        CandleSeries slice = series.slice(2, 8).slice(1, 4);
+
+        assertEquals(3, slice.size());
+        assertEquals(minute(3), slice.firstOpenTime());
+        assertEquals(minute(5), slice.lastOpenTime());
+        assertArrayEquals(new long[]{minute(3), minute(4), minute(5)}, slice.openTimes());
+        assertEquals(1, slice.indexOfOpenTime(minute(4)));
+    }
+
+    @Test
+    public void testSliceByOpenTimeIsInclusive() {
+        CandleSeries series = createSeries(0, 10);
+
+        CandleSeries slice = series.sliceByOpenTime(minute(2) - 1, minute(5));
+
+        assertEquals(4, slice.size());
+        assertEquals(minute(2), slice.firstOpenTime());
+        assertEquals(minute(5), slice.lastOpenTime());
+    }
+
+    @Test
+    public void testMergeKeepsEarlierSeriesOnCollision() {
+        CandleSeries stored = CandleSeries.fromCandlesticks(List.of(createCandlestick(minute(5), "1.5")));
+        CandleSeries fetched = CandleSeries.fromCandlesticks(List.of(
+                createCandlestick(minute(4), "3.0"), createCandlestick(minute(5), "3.0"), createCandlestick(minute(6), "3.0")));
+
+        CandleSeries merged = CandleSeries.merge(List.of(stored, fetched));
+
+        assertArrayEquals(new long[]{minute(4), minute(5), minute(6)}, merged.openTimes());
+        assertArrayEquals(new double[]{3.0, 1.5, 3.0}, merged.closes());
+    }
+
+    @Test
+    public void testToCandlesticksRoundTrip() {
+        Candlestick candlestick = createCandlestick(START, "1.5");
+
+        Candlestick converted = CandleSeries.fromCandlesticks(List.of(candlestick)).toCandlesticks().get(0);
+
+        assertEquals(candlestick.getOpenTime(), converted.getOpenTime());
+        assertEquals(candlestick.getCloseTime(), converted.getCloseTime());
+        assertEquals(candlestick.getClose(), converted.getClose());
+        assertEquals(candlestick.getNumberOfTrades(), converted.getNumberOfTrades());
+        assertEquals(candlestick.getTakerBuyQuoteAssetVolume(), converted.getTakerBuyQuoteAssetVolume());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testIndexOutsideViewIsRejected() {
+        CandleSeries slice = createSeries(0, 10).slice(2, 4);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.close(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.openTime(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.slice(1, 3));
+    }
+
+    @Test
+    public void testNegativeExpectedSize() {
+        assertThrows(IllegalArgumentException.class, () -> CandleSeries.builder(-1));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testEmptySeries() {
+        CandleSeries empty = CandleSeries.fromCandlesticks(List.of());
+
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.openTimes().length);
+        assertTrue(empty.toCandlesticks().isEmpty());
+        assertEquals(-1, empty.indexOfOpenTime(START));
+    }
+
+    @Test
+    public void testInvertedOpenTimeWindowIsEmpty() {
+        CandleSeries series = createSeries(0, 10);
+
+        assertTrue(series.sliceByOpenTime(minute(5), minute(4)).isEmpty());
+        assertTrue(series.sliceByOpenTime(minute(20), Long.MAX_VALUE).isEmpty());
+        assertEquals(10, series.sliceByOpenTime(Long.MIN_VALUE, Long.MAX_VALUE).size());
+    }
+
+    private static long minute(int index) {
+        return START + index * ONE_MINUTE;
+    }
+
+    // Builds consecutive one-minute candles from the first index up to the last index exclusive
+    private static CandleSeries createSeries(int from, int to) {
+        CandleSeries.Builder builder = CandleSeries.builder(0);
+        for (int i = from; i < to; i++) {
+            builder.add(createCandlestick(minute(i), "1.5"));
+        }
+        return builder.build();
+    }
+
+    private static Candlestick createCandlestick(long openTime, String close) {
+        Candlestick candlestick = new Candlestick();
+        candlestick.setOpenTime(openTime);
+        candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+        candlestick.setOpen("1.0");
+        candlestick.setClose(close);
+        candlestick.setHigh("2.0");
+        candlestick.setLow("0.5");
+        candlestick.setVolume("1000.0");
+        candlestick.setQuoteAssetVolume("2000.0");
+        candlestick.setNumberOfTrades(500L);
+        candlestick.setTakerBuyBaseAssetVolume("700.0");
+        candlestick.setTakerBuyQuoteAssetVolume("1400.0");
+        return candlestick;
+    }
+}
@@ -345,6 +345,23 @@ public class CandlestickEntityTest {
         });
     }
 
+    @Test
+    public void testNaturalKeyIdentifiesCandlestick() {
+        ZonedDateTime openTime = ZonedDateTime.of(2023, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        CandlestickEntity entity = new CandlestickEntity("BTCUSDT", openTime, openTime.plusMinutes(1), 100.0, 110.0, 120.0, 90.0, 1000.0, 2000.0, 100L, 500.0, 1000.0, CandlestickInterval.ONE_MINUTE);
+
+        assertEquals(new CandlestickId("BTCUSDT", CandlestickInterval.ONE_MINUTE, openTime), entity.getId());
+        assertTrue(entity.isNew());
+    }
+
+    @Test
+    public void testIntervalOrdinalsMatchMigrationScript() {
+        // schema-postgresql.sql converts stored interval names to these ordinals
+        assertEquals(0, CandlestickInterval.ONE_MINUTE.ordinal());
+        assertEquals(11, CandlestickInterval.DAILY.ordinal());
+        assertEquals(14, CandlestickInterval.MONTHLY.ordinal());
+    }
+
     @Test
     public void testInitialization() {
         ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
@@ -0,0 +1,166 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model.benchmark;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.RSIData;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.RSIService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.CandlestickWrapper;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.DateUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark comparing the List&lt;Candlestick&gt; pipeline with the columnar CandleSeries pipeline.
+ * The RSI benchmarks run from the candles returned by the historical data service to the finished RSIData:
+ * the baseline repeats what RSIService did before (sort, wrapper set, parsing closes, boxed gains),
+ * the other calls the current RSIService on a series. The retained heap of one million candles in
+ * either representation is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CandleSeriesBenchmark {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final int RSI_PERIOD = 14;
+
+    @Param({"10000", "1000000"})
+    public int candles;
+
+    private List<Candlestick> candlesticks;
+    private CandleSeries series;
+    private RSIService rsiService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        candlesticks = createCandlesticks(candles);
+        series = CandleSeries.fromCandlesticks(candlesticks);
+        rsiService = new RSIService(new BinanceHistoricalDataService(null) {
+            @Override
+            public CandleSeries getHistoricalCandleSeries(String symbol, CandlestickInterval interval, long startTime, long endTime) {
+                return series;
+            }
+        });
+
+        long listBytes = retainedBytes(() -> createCandlesticks(1_000_000));
+        long seriesBytes = retainedBytes(() -> CandleSeries.fromCandlesticks(createCandlesticks(1_000_000)));
+        System.out.printf("%nRetained heap per million candles: List<Candlestick> %.1f MB, CandleSeries %.1f MB%n",
+                listBytes / 1e6, seriesBytes / 1e6);
+    }
+
+    @Benchmark
+    public RSIData rsiFromCandlesticks() {
+        return legacyRSIData(new ArrayList<>(candlesticks), RSI_PERIOD);
+    }
+
+    @Benchmark
+    public RSIData rsiFromCandleSeries() {
+        return rsiService.getRSIData("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, START + candles * ONE_MINUTE, RSI_PERIOD);
+    }
+
+    @Benchmark
+    public CandleSeries convertPageToCandleSeries() {
+        return CandleSeries.fromCandlesticks(candlesticks);
+    }
+
+    // RSIService.getRSIData as it was before the switch to CandleSeries
+    private static RSIData legacyRSIData(List<Candlestick> candlesticks, int period) {
+        candlesticks.sort(Comparator.comparing(Candlestick::getOpenTime));
+
+        Set<CandlestickWrapper> uniqueCloseTimes = new HashSet<>();
+        List<Double> closePrices = new ArrayList<>();
+        List<String> dates = new ArrayList<>();
+        for (Candlestick candlestick : candlesticks) {
+            if (uniqueCloseTimes.add(new CandlestickWrapper(candlestick))) {
+                closePrices.add(Double.parseDouble(candlestick.getClose()));
+                dates.add(DateUtils.convertMillisToDate(candlestick.getCloseTime()));
+            }
+        }
+
+        List<Double> gains = new ArrayList<>();
+        List<Double> losses = new ArrayList<>();
+        for (int i = 1; i < closePrices.size(); i++) {
+            double change = closePrices.get(i) - closePrices.get(i - 1);
+            gains.add(change > 0 ? change : 0.0);
+            losses.add(change > 0 ? 0.0 : -change);
+        }
+        double avgGain = 0;
+        double avgLoss = 0;
+        for (int i = 0; i < period; i++) {
+            avgGain += gains.get(i);
+            avgLoss += losses.get(i);
+        }
+        avgGain /= period;
+        avgLoss /= period;
+        List<Double> rsiValues = new ArrayList<>();
+        rsiValues.add(100 - (100 / (1 + avgGain / avgLoss)));
+        for (int i = 0; i < gains.size(); i++) {
+            avgGain = ((avgGain * (period - 1)) + gains.get(i)) / period;
+            avgLoss = ((avgLoss * (period - 1)) + losses.get(i)) / period;
+            rsiValues.add(100 - (100 / (1 + avgGain / avgLoss)));
+        }
+        return new RSIData(dates, rsiValues);
+    }
+
+    // A random walk of one-minute candles with the eight-decimal strings the Binance API returns
+    private static List<Candlestick> createCandlesticks(int count) {
+        Random random = new Random(42);
+        List<Candlestick> candlesticks = new ArrayList<>(count);
+        double price = 20000;
+        for (int i = 0; i < count; i++) {
+            double open = price;
+            price = Math.max(1, price + random.nextGaussian() * 20);
+            long openTime = START + i * ONE_MINUTE;
+            Candlestick candlestick = new Candlestick();
+            candlestick.setOpenTime(openTime);
+            candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+            candlestick.setOpen(String.format(Locale.ROOT, "%.8f", open));
+            candlestick.setHigh(String.format(Locale.ROOT, "%.8f", Math.max(open, price) + 5));
+            candlestick.setLow(String.format(Locale.ROOT, "%.8f", Math.min(open, price) - 5));
+            candlestick.setClose(String.format(Locale.ROOT, "%.8f", price));
+            candlestick.setVolume(String.format(Locale.ROOT, "%.8f", random.nextDouble() * 100));
+            candlestick.setQuoteAssetVolume(String.format(Locale.ROOT, "%.8f", random.nextDouble() * 2_000_000));
+            candlestick.setNumberOfTrades((long) random.nextInt(5000));
+            candlestick.setTakerBuyBaseAssetVolume(String.format(Locale.ROOT, "%.8f", random.nextDouble() * 50));
+            candlestick.setTakerBuyQuoteAssetVolume(String.format(Locale.ROOT, "%.8f", random.nextDouble() * 1_000_000));
+            candlesticks.add(candlestick);
+        }
+        return candlesticks;
+    }
+
+    // Heap still in use after a full collection while the created object is reachable
+    private static long retainedBytes(Supplier<Object> factory) {
+        long before = usedHeapAfterGc();
+        Object retained = factory.get();
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(retained);
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.model.benchmark;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.util.WilderRSI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the boxed RSI calculation RSIService used before with the WilderRSI kernel.
+ * The batch benchmark fills a preallocated output array, the streaming benchmark measures the constant
+ * time update applied to every newly closed candle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RSICalculationBenchmark {
+    private static final int RSI_PERIOD = 14;
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int points;
+
+    private double[] closes;
+    private double[] out;
+    private WilderRSI seeded;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        closes = new double[points];
+        double price = 20000;
+        for (int i = 0; i < points; i++) {
+            price = Math.max(1, price + random.nextGaussian() * 20);
+            closes[i] = price;
+        }
+        out = new double[points];
+        seeded = new WilderRSI(RSI_PERIOD);
+        seeded.update(closes, 0, RSI_PERIOD + 1, out, 0);
+    }
+
+    @Benchmark
+    public List<Double> boxedRSI() {
+        List<Double> gains = new ArrayList<>();
+        List<Double> losses = new ArrayList<>();
+        for (int i = 1; i < closes.length; i++) {
+            double change = closes[i] - closes[i - 1];
+            gains.add(change > 0 ? change : 0.0);
+            losses.add(change > 0 ? 0.0 : -change);
+        }
+        double avgGain = 0;
+        double avgLoss = 0;
+        for (int i = 0; i < RSI_PERIOD; i++) {
+            avgGain += gains.get(i);
+            avgLoss += losses.get(i);
+        }
+        avgGain /= RSI_PERIOD;
+        avgLoss /= RSI_PERIOD;
+        List<Double> rsiValues = new ArrayList<>();
+        rsiValues.add(100 - (100 / (1 + avgGain / avgLoss)));
+        for (int i = RSI_PERIOD; i < gains.size(); i++) {
+            avgGain = ((avgGain * (RSI_PERIOD - 1)) + gains.get(i)) / RSI_PERIOD;
+            avgLoss = ((avgLoss * (RSI_PERIOD - 1)) + losses.get(i)) / RSI_PERIOD;
+            rsiValues.add(100 - (100 / (1 + avgGain / avgLoss)));
+        }
+        return rsiValues;
+    }
+
+    @Benchmark
+    public double[] batchIntoPreallocatedArray() {
+        WilderRSI.calculate(closes, closes.length, RSI_PERIOD, out);
+        return out;
+    }
+
+    // One closed candle absorbed by a seeded calculator; the closes are replayed cyclically
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double streamingUpdate() {
+        if (++next == closes.length) {
+            next = 0;
+        }
+        return seeded.update(closes[next]);
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
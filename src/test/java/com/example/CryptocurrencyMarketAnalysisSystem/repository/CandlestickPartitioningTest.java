@@ -0,0 +1,212 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.repository;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.PostgreSQLContainerTest;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the partitioned candlestick_data layout against the PostgreSQL container of {@link PostgreSQLContainerTest}.
+ * The 50M row latency scenario takes several minutes and only runs with {@code -Dcandlestick.partitioning.large=true}.
+ */
+@Testcontainers
+@SpringBootTest
+public class CandlestickPartitioningTest {
+    private static final long ONE_MINUTE = 60_000L;
+
+    // Same statement Hibernate generates for CandlestickRepository.findBySymbolAndOpenTimeBetweenAndInterval
+    private static final String RANGE_QUERY = "SELECT c.* FROM candlestick_data c " +
+            "WHERE c.symbol = ? AND c.open_time BETWEEN ? AND ? AND c.candlestick_interval = ?";
+
+    // Range partition names in a plan, without their index names
+    private static final Pattern PARTITION_NAME = Pattern.compile("candlestick_data_i\\d+_(\\d+|default)(?!\\w)");
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = PostgreSQLContainerTest.postgresContainer;
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CandlestickRepository candlestickRepository;
+
+    @Autowired
+    private CandlestickDataService candlestickDataService;
+
+    @Autowired
+    private CandlestickPartitionManager partitionManager;
+
+    //Positive Tests
+
+    @Test
+    public void testRangeQueryPrunesToOneMonthlyPartition() {
+        Instant start = Instant.parse("2023-01-01T00:00:00Z");
+        partitionManager.ensurePartitions(CandlestickInterval.ONE_MINUTE, start, Instant.parse("2023-03-31T23:59:00Z"));
+        candlestickRepository.insertIgnoringDuplicates("PRUNEUSDT", CandlestickInterval.ONE_MINUTE,
+                createCandlesticks(start.toEpochMilli(), 90 * 24 * 60));
+
+        List<String> plan = explain(RANGE_QUERY, "PRUNEUSDT", utc("2023-02-10T00:00:00Z"), utc("2023-02-10T23:59:59Z"),
+                (short) CandlestickInterval.ONE_MINUTE.ordinal());
+
+        String planText = String.join("\n", plan);
+        assertTrue(planText.contains("candlestick_data_i0_202302"), planText);
+        assertFalse(planText.contains("candlestick_data_i0_202301"), planText);
+        assertFalse(planText.contains("candlestick_data_i0_202303"), planText);
+        assertFalse(planText.contains("_default"), planText);
+        assertFalse(planText.contains("candlestick_data_i1"), planText);
+
+        List<Candlestick> candlesticks = candlestickDataService.getCandlestickData("PRUNEUSDT",
+                ZonedDateTime.parse("2023-02-10T00:00:00Z"), ZonedDateTime.parse("2023-02-10T23:59:59Z"), CandlestickInterval.ONE_MINUTE);
+        assertEquals(24 * 60, candlesticks.size());
+    }
+
+    @Test
+    public void testDefaultPartitionRowsAreMovedIntoRangePartition() {
+        long start = Instant.parse("2019-05-03T00:00:00Z").toEpochMilli();
+        candlestickRepository.insertIgnoringDuplicates("MOVEUSDT", CandlestickInterval.FIVE_MINUTES, createCandlesticks(start, 10));
+        assertEquals(10, countRows("candlestick_data_i2_default", "MOVEUSDT"));
+
+        partitionManager.maintainPartitions(Instant.parse("2023-06-15T00:00:00Z"));
+
+        assertEquals(0, countRows("candlestick_data_i2_default", "MOVEUSDT"));
+        assertEquals(10, countRows("candlestick_data_i2_201905", "MOVEUSDT"));
+        assertTrue(partitionManager.listRangePartitions(CandlestickInterval.FIVE_MINUTES).contains("candlestick_data_i2_202308"));
+    }
+
+    @Test
+    public void testPartitionsPastRetentionAreDropped() {
+        // application.properties keeps one-minute candles for two years
+        partitionManager.ensurePartitions(CandlestickInterval.ONE_MINUTE,
+                Instant.parse("2020-01-01T00:00:00Z"), Instant.parse("2020-01-01T00:00:00Z"));
+
+        partitionManager.maintainPartitions(Instant.parse("2023-06-15T00:00:00Z"));
+
+        List<String> partitions = partitionManager.listRangePartitions(CandlestickInterval.ONE_MINUTE);
+        assertFalse(partitions.contains("candlestick_data_i0_202001"), partitions.toString());
+        assertTrue(partitions.contains("candlestick_data_i0_202306"), partitions.toString());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testEnsurePartitionsWithInvertedWindow() {
+        assertThrows(IllegalArgumentException.class, () -> partitionManager.ensurePartitions(CandlestickInterval.ONE_MINUTE,
+                Instant.parse("2023-02-01T00:00:00Z"), Instant.parse("2023-01-01T00:00:00Z")));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testLongIntervalsArePartitionedByYear() {
+        partitionManager.ensurePartitions(CandlestickInterval.DAILY,
+                Instant.parse("2022-12-31T00:00:00Z"), Instant.parse("2023-01-01T00:00:00Z"));
+
+        List<String> partitions = partitionManager.listRangePartitions(CandlestickInterval.DAILY);
+        assertTrue(partitions.containsAll(List.of("candlestick_data_i11_2022", "candlestick_data_i11_2023")), partitions.toString());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "candlestick.partitioning.large", matches = "true")
+    public void testOneDayQueryLatencyWithFiftyMillionRows() {
+        // 50 symbols with 1M one-minute candles each, spread over roughly two years of monthly partitions
+        int symbols = 50;
+        int candlesPerSymbol = 1_000_000;
+        LocalDate firstDay = LocalDate.now(ZoneOffset.UTC).minusDays(candlesPerSymbol / (24 * 60) + 10);
+        OffsetDateTime start = firstDay.atStartOfDay().atOffset(ZoneOffset.UTC);
+        partitionManager.ensurePartitions(CandlestickInterval.ONE_MINUTE, start.toInstant(),
+                start.plusMinutes(candlesPerSymbol).toInstant());
+        jdbcTemplate.execute("INSERT INTO candlestick_data SELECT 'LOAD' || s || 'USDT', 0, " +
+                "TIMESTAMPTZ '" + start + "' + m * INTERVAL '1 minute', " +
+                "TIMESTAMPTZ '" + start + "' + (m + 1) * INTERVAL '1 minute' - INTERVAL '1 millisecond', " +
+                "1.0 + m % 7, 2.0 + m % 5, 3.0 + m % 11, 0.5, 1000, 2000, 500, 700, 1400 " +
+                "FROM generate_series(1, " + symbols + ") s, generate_series(0, " + (candlesPerSymbol - 1) + ") m");
+        jdbcTemplate.execute("ANALYZE candlestick_data");
+
+        ZonedDateTime from = start.plusDays(300).toZonedDateTime();
+        ZonedDateTime to = from.plusDays(1).minusSeconds(1);
+        String planText = String.join("\n", explain(RANGE_QUERY, "LOAD25USDT", from.toOffsetDateTime(), to.toOffsetDateTime(), (short) 0));
+        Set<String> scannedPartitions = PARTITION_NAME.matcher(planText).results()
+                .map(MatchResult::group)
+                .collect(Collectors.toSet());
+        assertEquals(1, scannedPartitions.size(), planText);
+
+        long[] latencies = new long[50];
+        for (int i = 0; i < latencies.length; i++) {
+            long startNanos = System.nanoTime();
+            List<Candlestick> candlesticks = candlestickDataService.getCandlestickData("LOAD25USDT", from, to, CandlestickInterval.ONE_MINUTE);
+            latencies[i] = System.nanoTime() - startNanos;
+            assertEquals(24 * 60, candlesticks.size());
+        }
+        Arrays.sort(latencies);
+        double medianMillis = latencies[latencies.length / 2] / 1e6;
+        double p95Millis = latencies[latencies.length * 95 / 100] / 1e6;
+        assertTrue(medianMillis < 250, "Median latency " + medianMillis + " ms, p95 " + p95Millis + " ms over " + (long) symbols * candlesPerSymbol + " rows");
+    }
+
+    private List<String> explain(String query, Object... arguments) {
+        return jdbcTemplate.queryForList("EXPLAIN " + query, String.class, arguments);
+    }
+
+    private int countRows(String table, String symbol) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE symbol = ?", Integer.class, symbol);
+        return count == null ? 0 : count;
+    }
+
+    private static OffsetDateTime utc(String instant) {
+        return OffsetDateTime.parse(instant);
+    }
+
+    // Creates consecutive one-minute candles starting at startTime
+    private static List<Candlestick> createCandlesticks(long startTime, int count) {
+        List<Candlestick> candlesticks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long openTime = startTime + i * ONE_MINUTE;
+            Candlestick candlestick = new Candlestick();
+            candlestick.setOpenTime(openTime);
+            candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+            candlestick.setOpen("1.0");
+            candlestick.setClose("2.0");
+            candlestick.setHigh("3.0");
+            candlestick.setLow("0.5");
+            candlestick.setVolume("1000");
+            candlestick.setQuoteAssetVolume("2000");
+            candlestick.setNumberOfTrades(500L);
+            candlestick.setTakerBuyBaseAssetVolume("700");
+            candlestick.setTakerBuyQuoteAssetVolume("1400");
+            candlesticks.add(candlestick);
+        }
+        return candlesticks;
+    }
+}
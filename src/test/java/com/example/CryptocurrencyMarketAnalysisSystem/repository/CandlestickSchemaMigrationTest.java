@@ -0,0 +1,131 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.repository;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.PostgreSQLContainerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs schema-postgresql.sql against a candlestick_data table created by the baseline Hibernate mapping:
+ * an IDENTITY id, a unique constraint over every column and an {@code EnumType.STRING} interval, which Hibernate
+ * declares with a CHECK listing the enum names. Each test starts from a fresh schema of the shared container.
+ */
+@Testcontainers
+public class CandlestickSchemaMigrationTest {
+    private static final String SCHEMA = "schema_migration";
+
+    // DDL Hibernate generated for the baseline CandlestickEntity
+    private static final List<String> BASELINE_DDL = List.of(
+            "CREATE TABLE candlestick_data (id BIGINT GENERATED BY DEFAULT AS IDENTITY, " +
+                    "candlestick_interval VARCHAR(255) NOT NULL CHECK (candlestick_interval IN ('ONE_MINUTE','THREE_MINUTES'," +
+                    "'FIVE_MINUTES','FIFTEEN_MINUTES','HALF_HOURLY','HOURLY','TWO_HOURLY','FOUR_HOURLY','SIX_HOURLY'," +
+                    "'EIGHT_HOURLY','TWELVE_HOURLY','DAILY','THREE_DAILY','WEEKLY','MONTHLY')), " +
+                    "close FLOAT(53) NOT NULL, close_time TIMESTAMP(6) WITH TIME ZONE NOT NULL, high FLOAT(53) NOT NULL, " +
+                    "low FLOAT(53) NOT NULL, number_of_trades BIGINT NOT NULL, open FLOAT(53) NOT NULL, " +
+                    "open_time TIMESTAMP(6) WITH TIME ZONE NOT NULL, quote_asset_volume FLOAT(53) NOT NULL, " +
+                    "symbol VARCHAR(255) NOT NULL, taker_buy_base_asset_volume FLOAT(53) NOT NULL, " +
+                    "taker_buy_quote_asset_volume FLOAT(53) NOT NULL, volume FLOAT(53) NOT NULL, PRIMARY KEY (id))",
+            "ALTER TABLE candlestick_data ADD CONSTRAINT uk_candlestick_data_all_columns UNIQUE (symbol, open_time, " +
+                    "close_time, open, close, high, low, volume, quote_asset_volume, number_of_trades, " +
+                    "taker_buy_base_asset_volume, taker_buy_quote_asset_volume, candlestick_interval)",
+            "CREATE INDEX idx_symbol_open_time_close_time_interval ON candlestick_data " +
+                    "(symbol, open_time, close_time, candlestick_interval)");
+
+    @Container
+    static PostgreSQLContainer<?> postgresContainer = PostgreSQLContainerTest.postgresContainer;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        new JdbcTemplate(new DriverManagerDataSource(postgresContainer.getJdbcUrl(), postgresContainer.getUsername(),
+                postgresContainer.getPassword())).execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE; CREATE SCHEMA " + SCHEMA);
+        dataSource = new DriverManagerDataSource(postgresContainer.getJdbcUrl() + "&currentSchema=" + SCHEMA,
+                postgresContainer.getUsername(), postgresContainer.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        BASELINE_DDL.forEach(jdbcTemplate::execute);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testBaselineTableIsMigrated() throws SQLException {
+        insertBaselineRow("BTCUSDT", "DAILY", "2023-01-01T00:00:00Z", 42000.0);
+        insertBaselineRow("BTCUSDT", "ONE_MINUTE", "2023-01-01T00:00:00Z", 42000.0);
+        // Same natural key with different values; the first stored row is kept
+        insertBaselineRow("BTCUSDT", "ONE_MINUTE", "2023-01-01T00:00:00Z", 42001.0);
+
+        runMigration();
+
+        assertEquals(List.of(0, 11), jdbcTemplate.queryForList(
+                "SELECT candlestick_interval FROM candlestick_data ORDER BY candlestick_interval", Integer.class));
+        assertEquals(42000.0, jdbcTemplate.queryForObject(
+                "SELECT open FROM candlestick_data WHERE candlestick_interval = 0", Double.class));
+        assertEquals("smallint", jdbcTemplate.queryForObject("SELECT data_type FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = 'candlestick_data' AND column_name = 'candlestick_interval'",
+                String.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT to_regclass('candlestick_data_unpartitioned')::text", String.class));
+    }
+
+    @Test
+    public void testIntervalRangeCheckIsRecreated() throws SQLException {
+        runMigration();
+
+        assertEquals("CHECK (((candlestick_interval >= 0) AND (candlestick_interval <= 14)))", jdbcTemplate.queryForObject(
+                "SELECT pg_get_constraintdef(oid) FROM pg_constraint " +
+                        "WHERE conrelid = 'candlestick_data'::regclass AND conname = 'candlestick_data_interval_check'", String.class));
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testUnknownIntervalCodeIsRejected() throws SQLException {
+        runMigration();
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO candlestick_data VALUES ('BTCUSDT', 15, now(), now(), 1, 1, 1, 1, 1, 1, 1, 1, 1)"));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testMigrationRunsAgainOnMigratedTable() throws SQLException {
+        insertBaselineRow("ETHUSDT", "HOURLY", "2023-01-01T00:00:00Z", 1200.0);
+
+        runMigration();
+        runMigration();
+
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT candlestick_interval FROM candlestick_data", Integer.class));
+    }
+
+    private void runMigration() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(new ClassPathResource("schema-postgresql.sql")),
+                    false, false, ScriptUtils.DEFAULT_COMMENT_PREFIX, "@@",
+                    ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER, ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+        }
+    }
+
+    private void insertBaselineRow(String symbol, String interval, String openTime, double open) {
+        jdbcTemplate.update("INSERT INTO candlestick_data (symbol, candlestick_interval, open_time, close_time, open, close, " +
+                        "high, low, volume, quote_asset_volume, number_of_trades, taker_buy_base_asset_volume, " +
+                        "taker_buy_quote_asset_volume) VALUES (?, ?, ?::timestamptz, ?::timestamptz + interval '1 minute', " +
+                        "?, 1, 1, 1, 1, 1, 1, 1, 1)",
+                symbol, interval, openTime, openTime, open);
+    }
+}
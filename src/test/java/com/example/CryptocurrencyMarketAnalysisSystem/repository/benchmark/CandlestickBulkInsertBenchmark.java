@@ -0,0 +1,102 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.repository.benchmark;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.CryptocurrencyMarketAnalysisSystemApplication;
+import com.example.CryptocurrencyMarketAnalysisSystem.repository.CandlestickRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rows/sec of the batched {@code INSERT ... ON CONFLICT DO NOTHING} path for 1k, 100k and 1M candles.
+ * Runs against the datasource configured in application.properties; rows are written under a dedicated
+ * symbol that is cleared before every invocation. The rows counter reports the throughput in rows per second.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CandlestickBulkInsertBenchmark {
+    private static final String SYMBOL = "BENCHUSDT";
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    @Param({"1000", "100000", "1000000"})
+    public int candles;
+
+    private ConfigurableApplicationContext context;
+    private CandlestickRepository repository;
+    private JdbcTemplate jdbcTemplate;
+    private List<Candlestick> candlesticks;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CryptocurrencyMarketAnalysisSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        repository = context.getBean(CandlestickRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        candlesticks = new ArrayList<>(candles);
+        for (int i = 0; i < candles; i++) {
+            candlesticks.add(createTestCandlestick(START + i * ONE_MINUTE));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearRows() {
+        jdbcTemplate.update("DELETE FROM candlestick_data WHERE symbol = ?", SYMBOL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clearRows();
+        context.close();
+    }
+
+    @Benchmark
+    public void benchmarkInsertIgnoringDuplicates(RowCounter counter) {
+        repository.insertIgnoringDuplicates(SYMBOL, CandlestickInterval.ONE_MINUTE, candlesticks);
+        counter.rows += candles;
+    }
+
+    private Candlestick createTestCandlestick(long openTime) {
+        Candlestick candlestick = new Candlestick();
+        candlestick.setOpenTime(openTime);
+        candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+        candlestick.setOpen("1.0");
+        candlestick.setClose("2.0");
+        candlestick.setHigh("3.0");
+        candlestick.setLow("0.5");
+        candlestick.setVolume("1000");
+        candlestick.setQuoteAssetVolume("2000");
+        candlestick.setNumberOfTrades(500L);
+        candlestick.setTakerBuyBaseAssetVolume("700");
+        candlestick.setTakerBuyQuoteAssetVolume("1400");
+        return candlestick;
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
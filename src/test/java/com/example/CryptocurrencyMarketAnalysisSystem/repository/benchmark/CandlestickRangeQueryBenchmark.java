@@ -0,0 +1,111 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.repository.benchmark;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.CryptocurrencyMarketAnalysisSystemApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Before/after comparison of the findBySymbolAndOpenTimeBetweenAndInterval range query on 10M rows.
+ * The legacy layout reproduces the surrogate id, the 13-column unique constraint, the
+ * (symbol, open_time, close_time, interval) index and the VARCHAR interval; the compact layout is the
+ * natural-key table created by schema-postgresql.sql. Both are filled server-side with generate_series
+ * in scratch tables of the configured database and dropped after the trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CandlestickRangeQueryBenchmark {
+    private static final int SYMBOLS = 10;
+    private static final int CANDLES_PER_SYMBOL = 1_000_000;
+    private static final OffsetDateTime START = OffsetDateTime.of(2023, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Param({"legacy", "compact"})
+    public String layout;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private String query;
+    private Object[] queryArguments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CryptocurrencyMarketAnalysisSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        // One day of one-minute candles for a symbol in the middle of the data set
+        OffsetDateTime from = START.plusDays(300);
+        OffsetDateTime to = from.plusDays(1).minusNanos(1);
+        if (layout.equals("legacy")) {
+            createLegacyTable();
+            query = "SELECT * FROM candlestick_bench_legacy WHERE symbol = ? AND open_time BETWEEN ? AND ? AND candlestick_interval = ?";
+            queryArguments = new Object[]{"SYM5USDT", from, to, "ONE_MINUTE"};
+        } else {
+            createCompactTable();
+            query = "SELECT * FROM candlestick_bench_compact WHERE symbol = ? AND candlestick_interval = ? AND open_time BETWEEN ? AND ?";
+            queryArguments = new Object[]{"SYM5USDT", (short) CandlestickInterval.ONE_MINUTE.ordinal(), from, to};
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS candlestick_bench_legacy");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS candlestick_bench_compact");
+        context.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> benchmarkOneDayRangeQuery() {
+        return jdbcTemplate.queryForList(query, queryArguments);
+    }
+
+    private void createLegacyTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS candlestick_bench_legacy");
+        jdbcTemplate.execute("CREATE TABLE candlestick_bench_legacy (id BIGSERIAL PRIMARY KEY, symbol VARCHAR(255) NOT NULL, " +
+                "candlestick_interval VARCHAR(255) NOT NULL, open_time TIMESTAMP(6) WITH TIME ZONE NOT NULL, " +
+                "close_time TIMESTAMP(6) WITH TIME ZONE NOT NULL, open DOUBLE PRECISION NOT NULL, close DOUBLE PRECISION NOT NULL, " +
+                "high DOUBLE PRECISION NOT NULL, low DOUBLE PRECISION NOT NULL, volume DOUBLE PRECISION NOT NULL, " +
+                "quote_asset_volume DOUBLE PRECISION NOT NULL, number_of_trades BIGINT NOT NULL, " +
+                "taker_buy_base_asset_volume DOUBLE PRECISION NOT NULL, taker_buy_quote_asset_volume DOUBLE PRECISION NOT NULL, " +
+                "UNIQUE (symbol, open_time, close_time, open, close, high, low, volume, quote_asset_volume, number_of_trades, " +
+                "taker_buy_base_asset_volume, taker_buy_quote_asset_volume, candlestick_interval))");
+        jdbcTemplate.execute("CREATE INDEX idx_bench_legacy_symbol_open_time_close_time_interval " +
+                "ON candlestick_bench_legacy (symbol, open_time, close_time, candlestick_interval)");
+        fill("candlestick_bench_legacy", "'ONE_MINUTE'");
+    }
+
+    private void createCompactTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS candlestick_bench_compact");
+        jdbcTemplate.execute("CREATE TABLE candlestick_bench_compact (LIKE candlestick_data INCLUDING ALL)");
+        fill("candlestick_bench_compact", String.valueOf(CandlestickInterval.ONE_MINUTE.ordinal()));
+    }
+
+    private void fill(String table, String intervalValue) {
+        jdbcTemplate.execute("INSERT INTO " + table + " (symbol, candlestick_interval, open_time, close_time, open, close, high, low, " +
+                "volume, quote_asset_volume, number_of_trades, taker_buy_base_asset_volume, taker_buy_quote_asset_volume) " +
+                "SELECT 'SYM' || s || 'USDT', " + intervalValue + ", " +
+                "TIMESTAMPTZ '" + START + "' + m * INTERVAL '1 minute', " +
+                "TIMESTAMPTZ '" + START + "' + (m + 1) * INTERVAL '1 minute' - INTERVAL '1 millisecond', " +
+                "1.0 + m % 7, 2.0 + m % 5, 3.0 + m % 11, 0.5, 1000, 2000, 500, 700, 1400 " +
+                "FROM generate_series(1, " + SYMBOLS + ") s, generate_series(0, " + (CANDLES_PER_SYMBOL - 1) + ") m");
+        jdbcTemplate.execute("ANALYZE " + table);
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service;
+
+import com.binance.api.client.domain.market.TickerPrice;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.PriceCacheProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.TickerPriceCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BinancePriceServiceTest {
+
+    private BinanceMarketDataClient binanceApiClient;
+    private BinanceRequestWeightLimiter requestWeightLimiter;
+    private PriceCacheProperties properties;
+    private BinancePriceService priceService;
+
+    @BeforeEach
+    public void setup() {
+        binanceApiClient = mock(BinanceMarketDataClient.class);
+        requestWeightLimiter = mock(BinanceRequestWeightLimiter.class);
+        properties = new PriceCacheProperties();
+        properties.setFreshness(Duration.ofMinutes(1));
+        priceService = new BinancePriceService(requestWeightLimiter, binanceApiClient, new TickerPriceCache(properties), properties);
+        when(binanceApiClient.getPrice(anyString())).thenAnswer(invocation -> price(invocation.getArgument(0), "42000.00"));
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testRepeatedReadsSendOneRequest() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals("42000.00", priceService.getCurrentPrice("BTCUSDT").getPrice());
+        }
+
+        verify(binanceApiClient, times(1)).getPrice("BTCUSDT");
+        verify(requestWeightLimiter, times(1)).acquire(BinanceRequestWeightLimiter.TICKER_PRICE_WEIGHT);
+    }
+
+    @Test
+    public void testBulkRefreshUsesAllTickers() {
+        properties.setBulkRefreshEnabled(true);
+        properties.setFreshness(Duration.ZERO);
+        TickerPriceCache cache = new TickerPriceCache(properties);
+        priceService = new BinancePriceService(requestWeightLimiter, binanceApiClient, cache, properties);
+        priceService.getCurrentPrice("BTCUSDT");
+        when(binanceApiClient.getAllPrices()).thenReturn(List.of(price("BTCUSDT", "42100.00"), price("ETHUSDT", "2200.00")));
+
+        priceService.refreshTrackedPrices();
+
+        verify(binanceApiClient, times(1)).getAllPrices();
+        verify(requestWeightLimiter, times(1)).acquire(BinanceRequestWeightLimiter.ALL_TICKER_PRICES_WEIGHT);
+        assertEquals(2, cache.getUpstreamRequests());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testFailedBulkRefreshIsSwallowed() {
+        properties.setBulkRefreshEnabled(true);
+        priceService.getCurrentPrice("BTCUSDT");
+        when(binanceApiClient.getAllPrices()).thenThrow(new IllegalStateException("Request weight exhausted"));
+
+        assertDoesNotThrow(() -> priceService.refreshTrackedPrices());
+        assertEquals("42000.00", priceService.getCurrentPrice("BTCUSDT").getPrice());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testBulkRefreshDisabled() {
+        priceService.getCurrentPrice("BTCUSDT");
+
+        priceService.refreshTrackedPrices();
+
+        verify(binanceApiClient, never()).getAllPrices();
+    }
+
+    private static TickerPrice price(String symbol, String price) {
+        TickerPrice tickerPrice = new TickerPrice();
+        tickerPrice.setSymbol(symbol);
+        tickerPrice.setPrice(price);
+        return tickerPrice;
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -132,6 +133,14 @@ public class CandlestickDataServiceTest {
         return candlestick;
     }
 
+    // Creates a valid one-minute candlestick opening at the given time
+    private static Candlestick getCandlestickAt(long openTime) {
+        Candlestick candlestick = getCandlestick();
+        candlestick.setOpenTime(openTime);
+        candlestick.setCloseTime(openTime + 59_999L);
+        return candlestick;
+    }
+
     @Test
     public void testExistsBySymbolAndOpenTime() {
         String symbol = "BTCUSDT";
@@ -158,8 +167,43 @@ public class CandlestickDataServiceTest {
         assertTrue(exists);
     }
 
+    @Test
+    public void testSaveCandlesticksSkipsExistingOpenTimes() {
+        String symbol = "BTCUSDT";
+        CandlestickInterval interval = CandlestickInterval.ONE_MINUTE;
+        Candlestick first = getCandlestickAt(1609459200000L); // 2021-01-01 00:00:00 UTC
+        Candlestick second = getCandlestickAt(1609459260000L); // 2021-01-01 00:01:00 UTC
+        Candlestick third = getCandlestickAt(1609459320000L); // 2021-01-01 00:02:00 UTC
+
+        candlestickDataService.saveCandlesticks(symbol, List.of(first, second), interval);
+        candlestickDataService.saveCandlesticks(symbol, List.of(second, third), interval);
+
+        ZonedDateTime startTime = DateUtils.convertMillisToUtcZonedDateTime(1609459200000L);
+        ZonedDateTime endTime = DateUtils.convertMillisToUtcZonedDateTime(1609459320000L);
+        List<Candlestick> retrievedCandlesticks = candlestickDataService.getCandlestickData(symbol, startTime, endTime, interval);
+        assertEquals(3, retrievedCandlesticks.size());
+    }
+
     //Negative Tests
 
+    @Test
+    public void testSaveCandlesticksWithNullElement() {
+        List<Candlestick> candlesticks = new ArrayList<>();
+        candlesticks.add(getCandlestickAt(1609459200000L));
+        candlesticks.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> candlestickDataService.saveCandlesticks("BTCUSDT", candlesticks, CandlestickInterval.ONE_MINUTE));
+    }
+
+    @Test
+    public void testSaveCandlesticksWithInvalidCandlestick() {
+        Candlestick invalid = getCandlestickAt(1609459200000L);
+        invalid.setHigh("1.00");
+
+        assertThrows(IllegalArgumentException.class, () -> candlestickDataService.saveCandlesticks("BTCUSDT", List.of(invalid), CandlestickInterval.ONE_MINUTE));
+        assertEquals(0, candlestickRepository.count());
+    }
+
     @Test
     public void testSaveCandlestickDataWithNullOpenTime() {
         String symbol = "BTCUSDT";
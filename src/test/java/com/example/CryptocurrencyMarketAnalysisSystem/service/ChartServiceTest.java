@@ -0,0 +1,102 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ChartData;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ChartServiceTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final String SYMBOL = "BTCUSDT";
+    private static final CandlestickInterval INTERVAL = CandlestickInterval.ONE_MINUTE;
+    // A month of one minute candles
+    private static final int CANDLES = 30 * 24 * 60;
+
+    private BinanceHistoricalDataService historicalDataService;
+    private ChartService chartService;
+
+    @BeforeEach
+    public void setup() {
+        historicalDataService = mock(BinanceHistoricalDataService.class);
+        when(historicalDataService.getCandlestickIntervalMillis(INTERVAL)).thenReturn(ONE_MINUTE);
+        when(historicalDataService.getHistoricalCandleSeries(SYMBOL, INTERVAL, START, START + CANDLES * ONE_MINUTE))
+                .thenReturn(createSeries(CANDLES));
+        chartService = new ChartService(historicalDataService);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testOhlcChartIsBoundedByWidth() {
+        ChartData chartData = chartService.getChartData("btcusdt", INTERVAL, START, START + CANDLES * ONE_MINUTE, 1000,
+                ChartService.Mode.OHLC);
+
+        // 43200 minutes over 1000 pixels round up to buckets of 44 minutes
+        assertEquals(44 * ONE_MINUTE, chartData.bucketMillis());
+        assertEquals(Math.ceilDiv(CANDLES, 44), chartData.openTime().length);
+        assertEquals(CANDLES, chartData.candles());
+        assertEquals("OHLC", chartData.mode());
+        assertEquals(chartData.openTime().length, chartData.high().length);
+        assertEquals(chartData.openTime().length, chartData.volume().length);
+    }
+
+    @Test
+    public void testLineChartHasClosesOnly() {
+        ChartData chartData = chartService.getChartData(SYMBOL, INTERVAL, START, START + CANDLES * ONE_MINUTE, 800,
+                ChartService.Mode.LINE);
+
+        assertEquals(800, chartData.openTime().length);
+        assertEquals(800, chartData.close().length);
+        assertNull(chartData.open());
+        assertNull(chartData.volume());
+        assertEquals(START, chartData.openTime()[0]);
+        assertEquals(START + (CANDLES - 1) * ONE_MINUTE, chartData.openTime()[799]);
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testWidthOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> chartService.getChartData(SYMBOL, INTERVAL, START,
+                START + ONE_MINUTE, 2, ChartService.Mode.OHLC));
+        assertThrows(IllegalArgumentException.class, () -> chartService.getChartData(SYMBOL, INTERVAL, START,
+                START + ONE_MINUTE, ChartService.MAX_WIDTH + 1, ChartService.Mode.OHLC));
+        verify(historicalDataService, never()).getHistoricalCandleSeries(any(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testStartAfterEnd() {
+        assertThrows(IllegalArgumentException.class, () -> chartService.getChartData(SYMBOL, INTERVAL, START + ONE_MINUTE,
+                START, 100, ChartService.Mode.OHLC));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testShortRangeIsNotDownsampled() {
+        when(historicalDataService.getHistoricalCandleSeries(SYMBOL, INTERVAL, START, START + 50 * ONE_MINUTE))
+                .thenReturn(createSeries(50));
+
+        ChartData chartData = chartService.getChartData(SYMBOL, INTERVAL, START, START + 50 * ONE_MINUTE, 100,
+                ChartService.Mode.OHLC);
+
+        assertEquals(ONE_MINUTE, chartData.bucketMillis());
+        assertEquals(50, chartData.openTime().length);
+    }
+
+    private static CandleSeries createSeries(int size) {
+        CandleSeries.Builder builder = CandleSeries.builder(size);
+        for (int i = 0; i < size; i++) {
+            double price = 20000 + 500 * Math.sin(i / 1000.0);
+            builder.add(START + i * ONE_MINUTE, START + (i + 1) * ONE_MINUTE - 1, price, price + 10, price - 10,
+                    price + 5, 3, 60000, 40, 1, 20000);
+        }
+        return builder.build();
+    }
+}
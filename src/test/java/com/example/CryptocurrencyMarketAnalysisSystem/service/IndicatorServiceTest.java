@@ -0,0 +1,101 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.IndicatorData;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.IndicatorEvaluator;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicators;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class IndicatorServiceTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final String SYMBOL = "BTCUSDT";
+    private static final CandlestickInterval INTERVAL = CandlestickInterval.ONE_MINUTE;
+
+    private BinanceHistoricalDataService binanceHistoricalDataService;
+    private IndicatorService indicatorService;
+
+    @BeforeEach
+    public void setup() {
+        binanceHistoricalDataService = mock(BinanceHistoricalDataService.class);
+        indicatorService = new IndicatorService(binanceHistoricalDataService);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testCandlesAreFetchedOnceForAllIndicators() {
+        CandleSeries candles = createSeries(100);
+        when(binanceHistoricalDataService.getHistoricalCandleSeries(SYMBOL, INTERVAL, START, START + 100 * ONE_MINUTE))
+                .thenReturn(candles);
+
+        IndicatorData indicatorData = indicatorService.getIndicatorData(SYMBOL, INTERVAL, START, START + 100 * ONE_MINUTE,
+                Indicators.parse(Indicators.DEFAULT_SPECIFICATION));
+
+        verify(binanceHistoricalDataService, times(1)).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+        // MACD(12,26,9) has the longest lookback, its signal line starts at index 33
+        assertEquals(100 - 33, indicatorData.openTimes().length);
+        assertEquals(START + 33 * ONE_MINUTE, indicatorData.openTimes()[0]);
+        assertEquals(13, indicatorData.values().size());
+        Map<String, double[]> expected = IndicatorEvaluator.evaluate(candles, Indicators.parse(Indicators.DEFAULT_SPECIFICATION));
+        expected.forEach((key, values) -> {
+            double[] reported = indicatorData.values().get(key);
+            assertArrayEquals(Arrays.copyOfRange(values, 33, 100), reported, key);
+            assertTrue(Arrays.stream(reported).noneMatch(Double::isNaN), key);
+        });
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testNotEnoughData() {
+        when(binanceHistoricalDataService.getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong()))
+                .thenReturn(createSeries(20));
+
+        assertThrows(IllegalArgumentException.class, () -> indicatorService.getIndicatorData(SYMBOL, INTERVAL, START,
+                START + 20 * ONE_MINUTE, Indicators.parse("SMA:20,EMA:21")));
+    }
+
+    @Test
+    public void testNoIndicators() {
+        assertThrows(IllegalArgumentException.class,
+                () -> indicatorService.getIndicatorData(SYMBOL, INTERVAL, START, START + ONE_MINUTE, List.of()));
+        verifyNoInteractions(binanceHistoricalDataService);
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testOneCandleAfterLookback() {
+        when(binanceHistoricalDataService.getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong()))
+                .thenReturn(createSeries(20));
+
+        IndicatorData indicatorData = indicatorService.getIndicatorData(SYMBOL, INTERVAL, START, START + 20 * ONE_MINUTE,
+                Indicators.parse("SMA:20"));
+
+        assertArrayEquals(new long[]{START + 19 * ONE_MINUTE}, indicatorData.openTimes());
+        assertEquals(10.5, indicatorData.values().get("SMA(20)")[0], 1e-9);
+    }
+
+    // Candles with closes 1, 2, 3, ...
+    private static CandleSeries createSeries(int count) {
+        CandleSeries.Builder builder = CandleSeries.builder(count);
+        for (int i = 0; i < count; i++) {
+            double close = i + 1;
+            builder.add(START + i * ONE_MINUTE, START + (i + 1) * ONE_MINUTE - 1, close, close + 1, close - 1, close,
+                    10, 10 * close, 1, 5, 5 * close);
+        }
+        return builder.build();
+    }
+}
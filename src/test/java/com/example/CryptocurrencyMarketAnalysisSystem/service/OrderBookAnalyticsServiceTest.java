@@ -0,0 +1,88 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service;
+
+import com.binance.api.client.domain.OrderSide;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.OrderBookMetrics;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.DepthRecording;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.LocalOrderBook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OrderBookAnalyticsServiceTest {
+
+    private OrderBookService orderBookService;
+    private OrderBookAnalyticsService analyticsService;
+    private LocalOrderBook book;
+
+    @BeforeEach
+    public void setup() {
+        orderBookService = mock(OrderBookService.class);
+        analyticsService = new OrderBookAnalyticsService(orderBookService);
+        book = new LocalOrderBook("BTCUSDT", 100);
+        book.onSnapshot(DepthRecording.snapshot());
+        when(orderBookService.getLocalOrderBook("BTCUSDT")).thenReturn(book);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testDepthCurveIsCumulative() {
+        OrderBookMetrics curve = analyticsService.getDepthCurve("btcusdt", 10, 5);
+
+        assertEquals(5, curve.depth().size());
+        assertEquals(2, curve.depth().get(0).bps(), 1e-9);
+        assertEquals(10, curve.depth().get(4).bps(), 1e-9);
+        for (int i = 1; i < 5; i++) {
+            assertTrue(curve.depth().get(i).bidQuantity() >= curve.depth().get(i - 1).bidQuantity());
+            assertTrue(curve.depth().get(i).askQuantity() >= curve.depth().get(i - 1).askQuantity());
+        }
+        assertEquals(41999.99, curve.bestBid(), 1e-9);
+        assertEquals(42000.01, curve.bestAsk(), 1e-9);
+    }
+
+    @Test
+    public void testDepthAndFill() {
+        OrderBookMetrics depth = analyticsService.getDepth("BTCUSDT", 10, 100);
+
+        assertEquals(2, depth.depth().size());
+        assertTrue(analyticsService.estimateFill("BTCUSDT", OrderSide.BUY, 1).complete());
+        verify(orderBookService, times(2)).getLocalOrderBook("BTCUSDT");
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testBookNotInSync() {
+        when(orderBookService.getLocalOrderBook("ETHUSDT")).thenReturn(new LocalOrderBook("ETHUSDT", 100));
+
+        assertThrows(IllegalStateException.class, () -> analyticsService.getDepth("ETHUSDT", 10));
+        assertThrows(IllegalStateException.class, () -> analyticsService.estimateFill("ETHUSDT", OrderSide.SELL, 1));
+        assertTrue(analyticsService.getSpreadHistory("ETHUSDT", 0, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getDepth("BTC/USDT", 10));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getDepth("BTCUSDT"));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getDepth("BTCUSDT", -1));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getDepthCurve("BTCUSDT", Double.NaN, 10));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.estimateFill("BTCUSDT", OrderSide.BUY, 0));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.estimateFill("BTCUSDT", null, 1));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getSpreadHistory("BTCUSDT", 2, 1));
+        verify(orderBookService, never()).getLocalOrderBook(anyString());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testDistanceAndStepLimits() {
+        assertEquals(1, analyticsService.getDepthCurve("BTCUSDT", 10_000, 1).depth().size());
+        assertEquals(200, analyticsService.getDepthCurve("BTCUSDT", 100, 200).depth().size());
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getDepthCurve("BTCUSDT", 10_001, 1));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getDepthCurve("BTCUSDT", 100, 201));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.getDepthCurve("BTCUSDT", 100, 0));
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service;
+
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.exception.BinanceApiException;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.OrderBookProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataGateway;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.DepthRecording;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.StubDepthStreamSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class OrderBookServiceTest {
+
+    private BinanceMarketDataClient binanceApiClient;
+    private BinanceRequestWeightLimiter requestWeightLimiter;
+    private StubDepthStreamSource streamSource;
+    private OrderBookProperties properties;
+    private OrderBookService orderBookService;
+
+    @BeforeEach
+    public void setup() {
+        binanceApiClient = mock(BinanceMarketDataClient.class);
+        requestWeightLimiter = mock(BinanceRequestWeightLimiter.class);
+        streamSource = new StubDepthStreamSource();
+        properties = new OrderBookProperties();
+        properties.setSnapshotLimit(1000);
+        when(binanceApiClient.getOrderBook(anyString(), anyInt())).thenAnswer(invocation -> DepthRecording.snapshot());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (orderBookService != null) {
+            orderBookService.stop();
+        }
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testSyncedBookIsReadWithoutRequests() throws Exception {
+        orderBookService = new OrderBookService(requestWeightLimiter, binanceApiClient, streamSource, properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        orderBookService.bindTo(registry);
+        orderBookService.getOrderBook("BTCUSDT", 100);
+        awaitTrue(() -> registry.get("order.book.local.snapshots").functionCounter().count() == 1);
+
+        for (int i = 0; i < 50; i++) {
+            OrderBook orderBook = orderBookService.getOrderBook("btcusdt", 100);
+            assertEquals(100, orderBook.getBids().size());
+            assertEquals("41999.99000000", orderBook.getBids().get(0).getPrice());
+        }
+
+        // The snapshot of the local book, plus at most the first read if it came before the book was in sync
+        verify(binanceApiClient, atMost(2)).getOrderBook(anyString(), anyInt());
+        verify(binanceApiClient, times(1)).getOrderBook("BTCUSDT", 1000);
+        assertEquals(50, registry.get("order.book.reads").tag("source", "local").functionCounter().count());
+    }
+
+    @Test
+    public void testSnapshotsOfSeveralSymbolsAreRequestedTogether() {
+        properties.setLocalEnabled(false);
+        BinanceMarketDataGateway gateway = mock(BinanceMarketDataGateway.class);
+        List<CompletableFuture<OrderBook>> pending = new CopyOnWriteArrayList<>();
+        when(gateway.getOrderBook(anyString(), anyInt())).thenAnswer(invocation -> {
+            CompletableFuture<OrderBook> orderBook = new CompletableFuture<>();
+            pending.add(orderBook);
+            return orderBook;
+        });
+        orderBookService = new OrderBookService(requestWeightLimiter, binanceApiClient, gateway, streamSource, properties);
+
+        // Answers the snapshots only once all of them have been requested
+        CompletableFuture<Map<String, OrderBook>> read = CompletableFuture.supplyAsync(
+                () -> orderBookService.getOrderBooks(List.of("ethusdt", "BTCUSDT", "ETHUSDT"), 100));
+        verify(gateway, timeout(5000)).getOrderBook("BTCUSDT", 100);
+        verify(gateway, times(1)).getOrderBook("ETHUSDT", 100);
+        pending.forEach(orderBook -> orderBook.complete(DepthRecording.snapshot()));
+
+        Map<String, OrderBook> orderBooks = read.join();
+        assertEquals(List.of("ETHUSDT", "BTCUSDT"), List.copyOf(orderBooks.keySet()));
+        verify(binanceApiClient, never()).getOrderBook(anyString(), anyInt());
+    }
+
+    @Test
+    public void testSeveralSymbolsReadOnlyBooksAlreadyInSync() throws Exception {
+        BinanceMarketDataGateway gateway = mock(BinanceMarketDataGateway.class);
+        when(gateway.getOrderBook(anyString(), anyInt())).thenAnswer(invocation -> CompletableFuture.completedFuture(DepthRecording.snapshot()));
+        orderBookService = new OrderBookService(requestWeightLimiter, binanceApiClient, gateway, streamSource, properties);
+        awaitTrue(() -> orderBookService.getLocalOrderBook("BTCUSDT").isSynced());
+
+        Map<String, OrderBook> orderBooks = orderBookService.getOrderBooks(List.of("BTCUSDT", "ETHUSDT", "BNBUSDT"), 100);
+
+        assertEquals(3, orderBooks.size());
+        assertEquals(100, orderBooks.get("BTCUSDT").getBids().size());
+        verify(gateway, never()).getOrderBook(eq("BTCUSDT"), anyInt());
+        verify(gateway, times(1)).getOrderBook("ETHUSDT", 100);
+        verify(gateway, times(1)).getOrderBook("BNBUSDT", 100);
+        // No book was opened for the symbols read through the gateway
+        assertEquals(1, streamSource.getSubscriptionCount());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testSeveralSymbolsWithoutGatewayUseRest() {
+        properties.setLocalEnabled(false);
+        orderBookService = new OrderBookService(requestWeightLimiter, binanceApiClient, streamSource, properties);
+
+        Map<String, OrderBook> orderBooks = orderBookService.getOrderBooks(List.of("BTCUSDT", "ETHUSDT"), 100);
+
+        assertEquals(2, orderBooks.size());
+        verify(binanceApiClient, times(1)).getOrderBook("BTCUSDT", 100);
+        verify(binanceApiClient, times(1)).getOrderBook("ETHUSDT", 100);
+    }
+
+    @Test
+    public void testFailedSnapshotFailsTheRead() {
+        properties.setLocalEnabled(false);
+        BinanceMarketDataGateway gateway = mock(BinanceMarketDataGateway.class);
+        when(gateway.getOrderBook(anyString(), anyInt())).thenReturn(CompletableFuture.completedFuture(DepthRecording.snapshot()));
+        when(gateway.getOrderBook("XXXUSDT", 100)).thenReturn(CompletableFuture.failedFuture(new BinanceApiException("Invalid symbol")));
+        orderBookService = new OrderBookService(requestWeightLimiter, binanceApiClient, gateway, streamSource, properties);
+
+        assertThrows(BinanceApiException.class, () -> orderBookService.getOrderBooks(List.of("BTCUSDT", "XXXUSDT"), 100));
+    }
+
+    @Test
+    public void testUnsyncedBookFallsBackToRest() {
+        // The snapshot of the local book never arrives
+        when(binanceApiClient.getOrderBook("BTCUSDT", 1000)).thenThrow(new IllegalStateException("Request weight exhausted"));
+        orderBookService = new OrderBookService(requestWeightLimiter, binanceApiClient, streamSource, properties);
+
+        OrderBook orderBook = orderBookService.getOrderBook("BTCUSDT", 100);
+
+        assertEquals(1000, orderBook.getBids().size());
+        verify(binanceApiClient, times(1)).getOrderBook("BTCUSDT", 100);
+        verify(requestWeightLimiter, times(1)).acquire(BinanceRequestWeightLimiter.depthWeight(100));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testDeeperThanSnapshotUsesRest() {
+        properties.setSnapshotLimit(100);
+        orderBookService = new OrderBookService(requestWeightLimiter, binanceApiClient, streamSource, properties);
+
+        orderBookService.getOrderBook("BTCUSDT", 500);
+
+        verify(binanceApiClient, times(1)).getOrderBook("BTCUSDT", 500);
+        assertEquals(0, streamSource.getSubscriptionCount());
+    }
+
+    @Test
+    public void testSymbolCountIsLimited() {
+        orderBookService = new OrderBookService(requestWeightLimiter, binanceApiClient, streamSource, properties);
+        List<String> tooMany = new ArrayList<>();
+        for (int i = 0; i <= OrderBookService.MAX_SYMBOLS; i++) {
+            tooMany.add("SYM" + i);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> orderBookService.getOrderBooks(List.of(), 100));
+        assertThrows(IllegalArgumentException.class, () -> orderBookService.getOrderBooks(tooMany, 100));
+        verifyNoInteractions(binanceApiClient);
+    }
+
+    @Test
+    public void testLocalBooksDisabled() {
+        properties.setLocalEnabled(false);
+        orderBookService = new OrderBookService(requestWeightLimiter, binanceApiClient, streamSource, properties);
+
+        orderBookService.getOrderBook("BTCUSDT", 100);
+        orderBookService.getOrderBook("BTCUSDT", 100);
+
+        verify(binanceApiClient, times(2)).getOrderBook("BTCUSDT", 100);
+        assertEquals(0, streamSource.getSubscriptionCount());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.RSIData;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.RSIState;
+import com.example.CryptocurrencyMarketAnalysisSystem.repository.RSIStateRepository;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.DateUtils;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.WilderRSI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class RSIServiceTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final String SYMBOL = "BTCUSDT";
+    private static final CandlestickInterval INTERVAL = CandlestickInterval.ONE_MINUTE;
+    private static final int PERIOD = 14;
+
+    private BinanceHistoricalDataService binanceHistoricalDataService;
+    private RSIStateRepository rsiStateRepository;
+    private RSIService rsiService;
+    private double[] closes;
+    private final List<Runnable> reseeds = new ArrayList<>();
+    // Just after the close of the candle at index 100
+    private long now = minute(101);
+
+    @BeforeEach
+    public void setup() {
+        binanceHistoricalDataService = mock(BinanceHistoricalDataService.class);
+        rsiStateRepository = mock(RSIStateRepository.class);
+        when(binanceHistoricalDataService.getCandlestickIntervalMillis(INTERVAL)).thenReturn(ONE_MINUTE);
+        when(rsiStateRepository.find(anyString(), any(CandlestickInterval.class), anyInt())).thenReturn(Optional.empty());
+        rsiService = new RSIService(binanceHistoricalDataService, rsiStateRepository, reseeds::add, () -> now);
+
+        Random random = new Random(42);
+        closes = new double[2000];
+        double price = 20000;
+        for (int i = 0; i < closes.length; i++) {
+            price += random.nextGaussian() * 20;
+            closes[i] = price;
+        }
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testGetRSIDataStartsAfterSeedWindow() {
+        stubHistory(0, 100);
+
+        RSIData rsiData = rsiService.getRSIData(SYMBOL, INTERVAL, minute(0), minute(99), PERIOD);
+
+        double[] expected = new double[100];
+        WilderRSI.calculate(closes, 100, PERIOD, expected);
+        assertEquals(100 - PERIOD, rsiData.rsiValues().size());
+        assertEquals(100 - PERIOD, rsiData.dates().size());
+        assertEquals(DateUtils.convertMillisToDate(minute(PERIOD + 1) - 1), rsiData.dates().get(0));
+        for (int i = PERIOD; i < 100; i++) {
+            assertEquals(expected[i], rsiData.rsiValues().get(i - PERIOD), 1e-9);
+        }
+        verify(rsiStateRepository).save(eq(SYMBOL), eq(INTERVAL), eq(PERIOD), argThat(state -> state.lastOpenTime() == minute(99)));
+    }
+
+    @Test
+    public void testClosedCandleContinuesWithoutRefetching() {
+        stubHistory(0, 100);
+        rsiService.getRSIData(SYMBOL, INTERVAL, minute(0), minute(99), PERIOD);
+
+        OptionalDouble rsi = rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(100), closes[100]);
+
+        assertEquals(expectedRSI(101), rsi.orElseThrow(), 1e-9);
+        verify(binanceHistoricalDataService, times(1)).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+        verify(rsiStateRepository).save(eq(SYMBOL), eq(INTERVAL), eq(PERIOD), argThat(state -> state.lastOpenTime() == minute(100)));
+    }
+
+    @Test
+    public void testStoredStateIsResumed() {
+        WilderRSI stored = new WilderRSI(PERIOD);
+        stored.update(closes, 0, 100, new double[100], 0);
+        when(rsiStateRepository.find(SYMBOL, INTERVAL, PERIOD)).thenReturn(Optional.of(
+                new RSIState(minute(99), stored.getAvgGain(), stored.getAvgLoss(), stored.getLastClose())));
+
+        OptionalDouble rsi = rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(100), closes[100]);
+
+        assertEquals(expectedRSI(101), rsi.orElseThrow(), 1e-9);
+        verify(binanceHistoricalDataService, never()).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testMissedCandlesAreCaughtUp() {
+        stubHistory(0, 100);
+        rsiService.getRSIData(SYMBOL, INTERVAL, minute(0), minute(99), PERIOD);
+        stubHistory(100, 150);
+
+        OptionalDouble rsi = rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(150), closes[150]);
+
+        assertEquals(expectedRSI(151), rsi.orElseThrow(), 1e-9);
+        verify(binanceHistoricalDataService).getHistoricalCandleSeries(SYMBOL, INTERVAL, minute(99) + 1, minute(150) - 1);
+    }
+
+    @Test
+    public void testSeriesTooFarBehindIsReseededOffTheStream() {
+        WilderRSI stored = new WilderRSI(PERIOD);
+        stored.update(closes, 0, 100, new double[100], 0);
+        when(rsiStateRepository.find(SYMBOL, INTERVAL, PERIOD)).thenReturn(Optional.of(
+                new RSIState(minute(99), stored.getAvgGain(), stored.getAvgLoss(), stored.getLastClose())));
+        now = minute(1501);
+
+        OptionalDouble rsi = rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(1500), closes[1500]);
+
+        // The gap is neither caught up nor fetched on the stream thread
+        assertTrue(rsi.isEmpty());
+        verify(binanceHistoricalDataService, never()).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+        assertEquals(1, reseeds.size());
+
+        stubHistory(501, 1501);
+        reseeds.get(0).run();
+
+        verify(binanceHistoricalDataService).getHistoricalCandleSeries(SYMBOL, INTERVAL, minute(501), minute(1500));
+        verify(rsiStateRepository).save(eq(SYMBOL), eq(INTERVAL), eq(PERIOD), argThat(state -> state.lastOpenTime() == minute(1500)));
+        assertTrue(rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(1501), closes[1501]).isPresent());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testNotEnoughData() {
+        stubHistory(0, PERIOD);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> rsiService.getRSIData(SYMBOL, INTERVAL, minute(0), minute(PERIOD - 1), PERIOD));
+    }
+
+    @Test
+    public void testClosedCandleWithoutState() {
+        assertTrue(rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(100), closes[100]).isEmpty());
+    }
+
+    @Test
+    public void testOldWindowIsNotTracked() {
+        stubHistory(0, 100);
+        now = minute(100 + RSIService.MAX_CATCH_UP_CANDLES + 1);
+
+        rsiService.getRSIData(SYMBOL, INTERVAL, minute(0), minute(99), PERIOD);
+
+        verify(rsiStateRepository, never()).save(anyString(), any(), anyInt(), any());
+        assertTrue(rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(100), closes[100]).isEmpty());
+    }
+
+    @Test
+    public void testOutOfOrderCandleIsNotAnswered() {
+        stubHistory(0, 100);
+        rsiService.getRSIData(SYMBOL, INTERVAL, minute(0), minute(99), PERIOD);
+        rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(100), closes[100]);
+
+        assertTrue(rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(98), closes[98]).isEmpty());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testRepeatedCandleIsAbsorbedOnce() {
+        stubHistory(0, 100);
+        rsiService.getRSIData(SYMBOL, INTERVAL, minute(0), minute(99), PERIOD);
+
+        double first = rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(100), closes[100]).orElseThrow();
+        double repeated = rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(100), closes[100]).orElseThrow();
+
+        assertEquals(first, repeated, 1e-9);
+        assertEquals(expectedRSI(101), repeated, 1e-9);
+    }
+
+    @Test
+    public void testReseedIsScheduledOnce() {
+        when(rsiStateRepository.find(SYMBOL, INTERVAL, PERIOD)).thenReturn(Optional.of(new RSIState(minute(0), 1, 1, closes[0])));
+        now = minute(1600);
+
+        rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(1500), closes[1500]);
+        rsiService.onCandleClosed(SYMBOL, INTERVAL, PERIOD, minute(1501), closes[1501]);
+
+        assertEquals(1, reseeds.size());
+    }
+
+    private double expectedRSI(int count) {
+        double[] out = new double[count];
+        WilderRSI.calculate(closes, count, PERIOD, out);
+        return out[count - 1];
+    }
+
+    // Answers every history request with the candles from the first index up to the last index exclusive
+    private void stubHistory(int from, int to) {
+        CandleSeries.Builder builder = CandleSeries.builder(to - from);
+        for (int i = from; i < to; i++) {
+            builder.add(minute(i), minute(i + 1) - 1, closes[i], closes[i], closes[i], closes[i], 1, 1, 1, 1, 1);
+        }
+        when(binanceHistoricalDataService.getHistoricalCandleSeries(anyString(), any(CandlestickInterval.class), anyLong(), anyLong()))
+                .thenReturn(builder.build());
+    }
+
+    private static long minute(int index) {
+        return START + index * ONE_MINUTE;
+    }
+}
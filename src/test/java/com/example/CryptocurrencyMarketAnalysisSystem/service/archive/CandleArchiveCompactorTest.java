@@ -0,0 +1,179 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.archive;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleArchiveProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.repository.CandlestickRepository;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.CandlestickSeriesCache;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.rollup.CandleRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CandleArchiveCompactorTest {
+    private static final CandlestickInterval INTERVAL = CandlestickInterval.ONE_MINUTE;
+    private static final long ONE_MINUTE = 60_000L;
+    private static final long JANUARY = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final long FEBRUARY = 1706745600000L; // 2024-02-01T00:00:00Z
+    private static final long MARCH = 1709251200000L; // 2024-03-01T00:00:00Z
+    private static final long APRIL = 1711929600000L; // 2024-04-01T00:00:00Z
+
+    @TempDir
+    Path directory;
+
+    private CandlestickRepository repository;
+    private CandleArchiveStore store;
+    private CandleArchiveCompactor compactor;
+    // The rows of candlestick_data behind the mocked repository
+    private CandleSeries database = CandleSeries.empty();
+
+    @BeforeEach
+    public void setUp() {
+        CandleArchiveProperties properties = new CandleArchiveProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setKeepMonths(1);
+        store = new CandleArchiveStore(properties);
+
+        repository = mock(CandlestickRepository.class);
+        when(repository.findSymbols(INTERVAL)).thenReturn(List.of("BTCUSDT"));
+        when(repository.findFirstOpenTime("BTCUSDT", INTERVAL)).thenAnswer(invocation ->
+                database.isEmpty() ? OptionalLong.empty() : OptionalLong.of(database.firstOpenTime()));
+        when(repository.findSeries(eq("BTCUSDT"), eq(INTERVAL), anyLong(), anyLong())).thenAnswer(invocation ->
+                database.sliceByOpenTime(invocation.getArgument(2), invocation.getArgument(3)));
+        when(repository.deleteSeries(eq("BTCUSDT"), eq(INTERVAL), anyLong(), anyLong())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(2);
+            long to = invocation.getArgument(3);
+            CandleSeries.Builder kept = CandleSeries.builder(database.size());
+            for (int i = 0; i < database.size(); i++) {
+                if (database.openTime(i) < from || database.openTime(i) > to) {
+                    kept.add(database, i);
+                }
+            }
+            int deleted = database.size() - kept.size();
+            database = kept.build();
+            return deleted;
+        });
+        compactor = new CandleArchiveCompactor(repository, store, properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testClosedMonthsMoveToArchive() {
+        store(JANUARY, APRIL + 10 * ONE_MINUTE, 30 * ONE_MINUTE);
+
+        // In April, March is kept in the database and January and February move
+        long moved = compactor.compact(Instant.ofEpochMilli(APRIL + 5 * ONE_MINUTE));
+
+        assertEquals((MARCH - JANUARY) / (30 * ONE_MINUTE), moved);
+        assertEquals(MARCH, database.firstOpenTime());
+        assertEquals(MARCH - 30 * ONE_MINUTE, store.lastOpenTime("BTCUSDT", INTERVAL));
+        verify(repository).deleteSeries("BTCUSDT", INTERVAL, JANUARY, FEBRUARY - 1);
+        verify(repository).deleteSeries("BTCUSDT", INTERVAL, FEBRUARY, MARCH - 1);
+    }
+
+    @Test
+    public void testNextRunStartsAfterArchive() {
+        store(JANUARY, APRIL + 10 * ONE_MINUTE, 30 * ONE_MINUTE);
+        compactor.compact(Instant.ofEpochMilli(MARCH + ONE_MINUTE));
+        assertEquals(FEBRUARY, database.firstOpenTime());
+
+        compactor.compact(Instant.ofEpochMilli(APRIL + ONE_MINUTE));
+
+        assertEquals(MARCH, database.firstOpenTime());
+        assertEquals((MARCH - JANUARY) / (30 * ONE_MINUTE), store.read("BTCUSDT", INTERVAL, JANUARY, MARCH).size());
+        // January is only checked again for candles stored after it was moved
+        verify(repository, times(2)).findSeries("BTCUSDT", INTERVAL, JANUARY, FEBRUARY - 1);
+        verify(repository, times(1)).deleteSeries("BTCUSDT", INTERVAL, JANUARY, FEBRUARY - 1);
+    }
+
+    @Test
+    public void testInterruptedMoveIsFinished() {
+        store(JANUARY, MARCH, 30 * ONE_MINUTE);
+        // January reached the archive, but the run ended before it was deleted from the database
+        store.append("BTCUSDT", INTERVAL, database.sliceByOpenTime(JANUARY, FEBRUARY - 1));
+
+        compactor.compact(Instant.ofEpochMilli(MARCH + ONE_MINUTE));
+
+        assertEquals(FEBRUARY, database.firstOpenTime());
+        assertEquals((FEBRUARY - JANUARY) / (30 * ONE_MINUTE), store.read("BTCUSDT", INTERVAL, JANUARY, MARCH).size());
+    }
+
+    @Test
+    public void testDataServiceMergesArchiveAndDatabase() {
+        store(JANUARY, APRIL, 30 * ONE_MINUTE);
+        CandleSeries all = database;
+        compactor.compact(Instant.ofEpochMilli(APRIL));
+        CandlestickDataService dataService = new CandlestickDataService(repository, CandlestickSeriesCache.disabled(),
+                CandleRollupService.disabled(), store);
+
+        CandleSeries read = dataService.getCandleSeries("BTCUSDT", utc(JANUARY + 10 * ONE_MINUTE), utc(MARCH + 10 * ONE_MINUTE), INTERVAL);
+
+        assertFalse(database.isEmpty());
+        assertArrayEquals(all.sliceByOpenTime(JANUARY + 10 * ONE_MINUTE, MARCH + 10 * ONE_MINUTE).openTimes(), read.openTimes());
+        assertTrue(store.getReadCandleCount() > 0);
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testCandlesFillingArchiveGapsStayInDatabase() {
+        // January is archived without its first hour, which a later backfill stored
+        store(JANUARY + 60 * ONE_MINUTE, FEBRUARY, 30 * ONE_MINUTE);
+        compactor.compact(Instant.ofEpochMilli(MARCH));
+        store(JANUARY, JANUARY + 60 * ONE_MINUTE, 30 * ONE_MINUTE);
+
+        compactor.compact(Instant.ofEpochMilli(MARCH));
+
+        assertEquals(2, database.size());
+        assertEquals(JANUARY, database.firstOpenTime());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testOpenMonthsStay() {
+        store(MARCH, APRIL + 10 * ONE_MINUTE, 30 * ONE_MINUTE);
+        int stored = database.size();
+
+        assertEquals(0, compactor.compact(Instant.ofEpochMilli(APRIL + ONE_MINUTE)));
+
+        assertEquals(stored, database.size());
+        verify(repository, never()).deleteSeries(anyString(), any(), anyLong(), anyLong());
+    }
+
+    // Adds candles opening every step from from up to before to to the database
+    private void store(long from, long to, long step) {
+        List<CandleSeries> parts = new ArrayList<>(List.of(database));
+        CandleSeries.Builder builder = CandleSeries.builder(0);
+        for (long openTime = from; openTime < to; openTime += step) {
+            builder.add(openTime, openTime + ONE_MINUTE - 1, 100, 101, 99, 100.5, 10, 1000, 20, 5, 500);
+        }
+        parts.add(builder.build());
+        database = CandleSeries.merge(parts);
+    }
+
+    private static ZonedDateTime utc(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC);
+    }
+}
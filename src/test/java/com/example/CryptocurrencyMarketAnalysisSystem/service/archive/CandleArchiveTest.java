@@ -0,0 +1,184 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.archive;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandleArchiveTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    @TempDir
+    Path directory;
+
+    //Positive Tests
+
+    @Test
+    public void testAppendedCandlesReadBack() throws IOException {
+        CandleSeries candles = createSeries(0, 100);
+        try (CandleArchive archive = CandleArchive.open(directory.resolve("BTCUSDT.cnda"))) {
+            archive.append(candles);
+
+            assertSeriesEquals(candles, archive.read(START, Long.MAX_VALUE));
+            assertSeriesEquals(candles.slice(10, 21), archive.read(START + 10 * ONE_MINUTE, START + 20 * ONE_MINUTE));
+            assertEquals(START, archive.firstOpenTime());
+            assertEquals(START + 99 * ONE_MINUTE, archive.lastOpenTime());
+        }
+    }
+
+    @Test
+    public void testCandlesSurviveReopening() throws IOException {
+        Path file = directory.resolve("BTCUSDT.cnda");
+        try (CandleArchive archive = CandleArchive.open(file)) {
+            archive.append(createSeries(0, 50));
+            archive.append(createSeries(50, 50));
+        }
+
+        try (CandleArchive archive = CandleArchive.open(file)) {
+            assertEquals(100, archive.size());
+            assertSeriesEquals(createSeries(0, 100), archive.read(Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+        assertEquals(CandleArchive.HEADER_SIZE + 100L * CandleArchive.RECORD_SIZE, Files.size(file));
+    }
+
+    @Test
+    public void testRangesAcrossIndexStridesMatchSlices() throws IOException {
+        // Every other minute, so ranges also start and end between candles
+        CandleSeries.Builder builder = CandleSeries.builder(0);
+        for (int i = 0; i < 5 * CandleArchive.INDEX_STRIDE; i++) {
+            addCandle(builder, 2 * i);
+        }
+        CandleSeries candles = builder.build();
+        Random random = new Random(42);
+        try (CandleArchive archive = CandleArchive.open(directory.resolve("BTCUSDT.cnda"))) {
+            archive.append(candles.slice(0, 3000));
+            archive.append(candles.slice(3000, candles.size()));
+
+            for (int i = 0; i < 200; i++) {
+                long from = START + random.nextInt(11_000) * ONE_MINUTE;
+                long to = from + random.nextInt(4000) * ONE_MINUTE;
+                assertSeriesEquals(candles.sliceByOpenTime(from, to), archive.read(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void testCursorReadsRecordsInPlace() throws IOException {
+        CandleSeries candles = createSeries(0, 2000);
+        try (CandleArchive archive = CandleArchive.open(directory.resolve("BTCUSDT.cnda"))) {
+            archive.append(candles);
+
+            CandleArchive.Cursor cursor = archive.cursor(START + 100 * ONE_MINUTE, START + 1499 * ONE_MINUTE);
+            int i = 100;
+            while (cursor.next()) {
+                assertEquals(candles.openTime(i), cursor.openTime());
+                assertEquals(candles.close(i), cursor.close());
+                assertEquals(candles.numberOfTrades(i), cursor.numberOfTrades());
+                assertEquals(candles.takerBuyQuoteAssetVolume(i), cursor.takerBuyQuoteAssetVolume());
+                i++;
+            }
+            assertEquals(1500, i);
+            assertFalse(cursor.next());
+        }
+    }
+
+    @Test
+    public void testTornRecordIsTruncatedOnOpen() throws IOException {
+        Path file = directory.resolve("BTCUSDT.cnda");
+        try (CandleArchive archive = CandleArchive.open(file)) {
+            archive.append(createSeries(0, 10));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[CandleArchive.RECORD_SIZE / 2]));
+        }
+
+        try (CandleArchive archive = CandleArchive.open(file)) {
+            assertEquals(10, archive.size());
+            archive.append(createSeries(10, 1));
+            assertSeriesEquals(createSeries(0, 11), archive.read(Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testAppendBeforeLastCandleIsRejected() throws IOException {
+        try (CandleArchive archive = CandleArchive.open(directory.resolve("BTCUSDT.cnda"))) {
+            archive.append(createSeries(10, 10));
+
+            assertThrows(IllegalArgumentException.class, () -> archive.append(createSeries(19, 2)));
+            assertEquals(10, archive.size());
+        }
+    }
+
+    @Test
+    public void testOtherFileIsRejected() throws IOException {
+        Path file = directory.resolve("notes.cnda");
+        Files.writeString(file, "not a candle archive, but longer than the header of one".repeat(3));
+
+        assertThrows(IllegalArgumentException.class, () -> CandleArchive.open(file));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testEmptyArchive() throws IOException {
+        try (CandleArchive archive = CandleArchive.open(directory.resolve("BTCUSDT.cnda"))) {
+            assertTrue(archive.isEmpty());
+            assertEquals(Long.MIN_VALUE, archive.lastOpenTime());
+            assertTrue(archive.read(Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+            assertFalse(archive.cursor(Long.MIN_VALUE, Long.MAX_VALUE).next());
+        }
+    }
+
+    @Test
+    public void testRangeOutsideArchive() throws IOException {
+        try (CandleArchive archive = CandleArchive.open(directory.resolve("BTCUSDT.cnda"))) {
+            archive.append(createSeries(0, 10));
+
+            assertTrue(archive.read(START - 10 * ONE_MINUTE, START - 1).isEmpty());
+            assertTrue(archive.read(START + 10 * ONE_MINUTE, Long.MAX_VALUE).isEmpty());
+            assertTrue(archive.read(START + ONE_MINUTE, START).isEmpty());
+        }
+    }
+
+    private static void assertSeriesEquals(CandleSeries expected, CandleSeries actual) {
+        assertArrayEquals(expected.openTimes(), actual.openTimes());
+        assertArrayEquals(expected.closeTimes(), actual.closeTimes());
+        assertArrayEquals(expected.opens(), actual.opens());
+        assertArrayEquals(expected.highs(), actual.highs());
+        assertArrayEquals(expected.lows(), actual.lows());
+        assertArrayEquals(expected.closes(), actual.closes());
+        assertArrayEquals(expected.volumes(), actual.volumes());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.quoteAssetVolume(i), actual.quoteAssetVolume(i));
+            assertEquals(expected.numberOfTrades(i), actual.numberOfTrades(i));
+            assertEquals(expected.takerBuyBaseAssetVolume(i), actual.takerBuyBaseAssetVolume(i));
+            assertEquals(expected.takerBuyQuoteAssetVolume(i), actual.takerBuyQuoteAssetVolume(i));
+        }
+    }
+
+    private static CandleSeries createSeries(int firstMinute, int size) {
+        CandleSeries.Builder builder = CandleSeries.builder(size);
+        for (int minute = firstMinute; minute < firstMinute + size; minute++) {
+            addCandle(builder, minute);
+        }
+        return builder.build();
+    }
+
+    private static void addCandle(CandleSeries.Builder builder, int minute) {
+        double price = 20_000 + minute * 0.5;
+        builder.add(START + minute * ONE_MINUTE, START + (minute + 1) * ONE_MINUTE - 1, price, price + 4, price - 3,
+                price + 1, 10 + minute % 7, 200_000 + minute, 100 + minute, 5 + minute % 3, 100_000 + minute);
+    }
+}
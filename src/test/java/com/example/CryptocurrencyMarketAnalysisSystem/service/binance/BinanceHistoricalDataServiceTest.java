@@ -1,9 +1,10 @@
 package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
 
-import com.binance.api.client.BinanceApiRestClient;
 import com.binance.api.client.domain.market.Candlestick;
 import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
 import com.example.CryptocurrencyMarketAnalysisSystem.model.CandlestickEntity;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
 import com.example.CryptocurrencyMarketAnalysisSystem.repository.CandlestickRepository;
 import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
 import com.example.CryptocurrencyMarketAnalysisSystem.util.CandlestickWrapper;
@@ -45,7 +46,7 @@ public class BinanceHistoricalDataServiceTest {
     private CandlestickRepository candlestickRepository;
 
     @Mock
-    private BinanceApiRestClient binanceApiClient;
+    private BinanceMarketDataClient binanceApiClient;
 
     private AutoCloseable closeable;
 
@@ -167,16 +168,6 @@ public class BinanceHistoricalDataServiceTest {
         assertEquals(30 * 24 * 60 * 60000L, binanceHistoricalDataService.getCandlestickIntervalMillis(CandlestickInterval.MONTHLY));
     }
 
-    @Test
-    void testWaitForApiLimitReset() throws InterruptedException {
-        BinanceHistoricalDataService spyService = spy(binanceHistoricalDataService);
-        doNothing().when(spyService).sleep(anyLong());
-
-        spyService.waitForApiLimitReset();
-
-        verify(spyService, times(1)).sleep(anyLong());
-    }
-
     @Test
     void testFindMissingCandlesticks() {
         ZonedDateTime startDateTime = ZonedDateTime.parse("2023-01-01T00:00:00Z");
@@ -227,50 +218,29 @@ public class BinanceHistoricalDataServiceTest {
                 createTestCandlestick("2023-01-01T00:05:00Z", "2023-01-01T00:05:59Z")
         );
 
-        // Create CandlestickWrapper for each Candlestick and collect into a Set
-        Set<CandlestickWrapper> testCandlestickWrappers = testCandlesticks.stream()
-                .map(CandlestickWrapper::new)
-                .collect(Collectors.toSet());
+        // Stored candles come back from the data service as a series
+        CandleSeries storedCandles = CandleSeries.fromCandlesticks(new ArrayList<>(testCandlesticks));
+        doReturn(storedCandles).when(candlestickDataServiceSpy).getCandleSeries(eq(symbol), any(ZonedDateTime.class), any(ZonedDateTime.class), eq(interval));
 
         List<Candlestick> testCandlesticksList = new ArrayList<>(testCandlesticks);
 
-        // Mock fetchExistingCandlesticks to return testCandlestickWrappers
-        doReturn(testCandlestickWrappers).when(binanceHistoricalDataServiceSpy).fetchExistingCandlesticks(eq(symbol), any(ZonedDateTime.class), any(ZonedDateTime.class), eq(interval));
-
-        // Mock processMissingCandlesticks to return an empty list
-        doReturn(new ArrayList<Candlestick>()).when(binanceHistoricalDataServiceSpy)
-                .processMissingCandlesticks(
-                        anyString(),  // For symbol
-                        any(CandlestickInterval.class),  // For interval
-                        anyLong(),  // For startTime
-                        anyLong(),  // For endTime
-                        anyList(),  // For missingCandlesticks
-                        anySet(),  // For processedStartTimes
-                        any(ZonedDateTime.class),  // For startDateTime
-                        any(ZonedDateTime.class),  // For endDateTime
-                        anySet()   // For allCandlesticksSet
-                );
-
-        // Mock findMissingCandlesticks to return an empty list
-        doReturn(new ArrayList<Candlestick>()).when(binanceHistoricalDataServiceSpy).findMissingCandlesticks(testCandlestickWrappers, startTime, endTime, interval);
-
         // Call the method under test
         List<Candlestick> apiCandlesticks = binanceHistoricalDataServiceSpy.getHistoricalCandlestickData(symbol, interval, startTime.toInstant().toEpochMilli(), endTime.toInstant().toEpochMilli());
 
-        // Verify the fetchExistingCandlesticks method was called correctly
-        verify(binanceHistoricalDataServiceSpy).fetchExistingCandlesticks(
-                eq(symbol),
-                any(ZonedDateTime.class),
-                any(ZonedDateTime.class),
-                eq(interval)
-        );
+        // Verify the stored window was read once and nothing had to be fetched
+        verify(candlestickDataServiceSpy, times(1)).getCandleSeries(eq(symbol), any(ZonedDateTime.class), any(ZonedDateTime.class), eq(interval));
+        verify(binanceHistoricalDataServiceSpy, never()).fetchCandlesticksFromApi(anyString(), any(CandlestickInterval.class), anyLong(), anyLong());
 
-        // Sort both lists before comparison
-        apiCandlesticks.sort(Comparator.comparing(Candlestick::getOpenTime));
+        // The result is sorted by open time
         testCandlesticksList.sort(Comparator.comparing(Candlestick::getOpenTime));
 
         // Assert that the returned list matches the expected list
-        assertEquals(testCandlesticksList, apiCandlesticks, "The candlestick list returned by getHistoricalCandlestickData should match the expected list.");
+        assertEquals(testCandlesticksList.size(), apiCandlesticks.size());
+        for (int i = 0; i < testCandlesticksList.size(); i++) {
+            assertEquals(testCandlesticksList.get(i).getOpenTime(), apiCandlesticks.get(i).getOpenTime());
+            assertEquals(testCandlesticksList.get(i).getCloseTime(), apiCandlesticks.get(i).getCloseTime());
+            assertEquals(Double.parseDouble(testCandlesticksList.get(i).getClose()), Double.parseDouble(apiCandlesticks.get(i).getClose()));
+        }
     }
 
 
@@ -288,161 +258,25 @@ public class BinanceHistoricalDataServiceTest {
     }
 
     @Test
-    void testFetchExistingCandlesticks() {
-        String symbol = "BTCUSDT";
-        ZonedDateTime start = ZonedDateTime.parse("2023-01-01T00:00:00Z");
-        ZonedDateTime end = ZonedDateTime.parse("2023-01-01T01:00:00Z");
-        CandlestickInterval interval = CandlestickInterval.ONE_MINUTE;
-
-        // Creating a list of candlesticks with sample data
-        List<Candlestick> candlestickList = IntStream.range(0, 5)
-                .mapToObj(i -> {
-                    ZonedDateTime openTime = start.plusMinutes(i);
-                    ZonedDateTime closeTime = openTime.plusMinutes(1);
-
-                    Candlestick candlestick = new Candlestick();
-                    candlestick.setOpenTime(openTime.toInstant().toEpochMilli());
-                    candlestick.setCloseTime(closeTime.toInstant().toEpochMilli());
-                    candlestick.setOpen("100.0");
-                    candlestick.setClose("105.0");
-                    candlestick.setHigh("105.0");
-                    candlestick.setLow("95.0");
-                    candlestick.setVolume("1000.0");
-                    candlestick.setQuoteAssetVolume("1000.0");
-                    candlestick.setNumberOfTrades(10L);
-                    candlestick.setTakerBuyBaseAssetVolume("500.0");
-                    candlestick.setTakerBuyQuoteAssetVolume("500.0");
-
-                    return candlestick;
-                })
-                .toList();
-
-        // Creating a set of candlestick wrappers with sample data
-        Set<CandlestickWrapper> candlestickSet = IntStream.range(0, 5)
-                .mapToObj(i -> {
-                    ZonedDateTime openTime = start.plusMinutes(i);
-                    ZonedDateTime closeTime = openTime.plusMinutes(1);
-
-                    Candlestick candlestick = new Candlestick();
-                    candlestick.setOpenTime(openTime.toInstant().toEpochMilli());
-                    candlestick.setCloseTime(closeTime.toInstant().toEpochMilli());
-                    candlestick.setOpen("100.0");
-                    candlestick.setClose("105.0");
-                    candlestick.setHigh("105.0");
-                    candlestick.setLow("95.0");
-                    candlestick.setVolume("1000.0");
-                    candlestick.setQuoteAssetVolume("1000.0");
-                    candlestick.setNumberOfTrades(10L);
-                    candlestick.setTakerBuyBaseAssetVolume("500.0");
-                    candlestick.setTakerBuyQuoteAssetVolume("500.0");
-
-                    return new CandlestickWrapper(candlestick);
-                })
-                .collect(Collectors.toSet());
-
-        logger.info("candlestickList: " + candlestickList);
-        logger.info("candlestickSet: " + candlestickSet);
-
-        // Creating spies for the services
-        CandlestickDataService candlestickDataServiceSpy = Mockito.spy(new CandlestickDataService(candlestickRepository));
-        BinanceHistoricalDataService binanceHistoricalDataServiceSpy = Mockito.spy(new BinanceHistoricalDataService(candlestickDataServiceSpy));
-
-        // Mocking the getCandlestickData method to return the candlestick list
-        when(candlestickDataServiceSpy.getCandlestickData(symbol, start, end, interval)).thenReturn(candlestickList);
-
-        // Invoking the method under test
-        Set<CandlestickWrapper> result = binanceHistoricalDataServiceSpy.fetchExistingCandlesticks(symbol, start, end, interval);
-
-        // Verifying that getCandlestickData was called once with the specified parameters
-        verify(candlestickDataServiceSpy, times(1)).getCandlestickData(
-                eq(symbol),
-                eq(start),
-                eq(end),
-                eq(interval)
-        );
-
-        // Asserting that the returned set matches the expected set
-        assertEquals(candlestickSet, result);
+    void testFindMissingRangesFromCandleSeries() {
+        long start = ZonedDateTime.parse("2023-01-01T00:00:00Z").toInstant().toEpochMilli();
+        long end = ZonedDateTime.parse("2023-01-01T01:00:00Z").toInstant().toEpochMilli();
+
+        // The first five minutes of the hour are stored
+        CandleSeries existing = CandleSeries.fromCandlesticks(IntStream.range(0, 5)
+                .mapToObj(i -> createTestCandlestick(ZonedDateTime.parse("2023-01-01T00:00:00Z").plusMinutes(i).toString(),
+                        ZonedDateTime.parse("2023-01-01T00:01:00Z").plusMinutes(i).toString()))
+                .toList());
+
+        List<TimeRange> missingRanges = binanceHistoricalDataService.findMissingRanges(existing, start, end, CandlestickInterval.ONE_MINUTE);
+
+        assertEquals(List.of(new TimeRange(start + 5 * 60000L, end)), missingRanges);
+        // The series itself is left untouched by the in-place sort of the gap detector
+        assertEquals(5, existing.size());
+        assertEquals(start, existing.firstOpenTime());
     }
 
 
-    @Test
-    void testProcessMissingCandlesticks() {
-        // Test parameters
-        String symbol = "BTCUSDT";
-        CandlestickInterval interval = CandlestickInterval.ONE_MINUTE;
-        ZonedDateTime start = ZonedDateTime.parse("2023-01-01T00:00:00Z");
-        ZonedDateTime end = ZonedDateTime.parse("2023-01-01T00:10:00Z");
-
-        // Mock candlestick data
-        List<Candlestick> mockCandlesticks = List.of(
-                createTestCandlestick("2023-01-01T00:00:00Z", "2023-01-01T00:00:59Z"),
-                createTestCandlestick("2023-01-01T00:01:00Z", "2023-01-01T00:01:59Z")
-        );
-
-        // Mocking the Binance API client
-        when(binanceApiClient.getCandlestickBars(eq(symbol), eq(interval), anyInt(), eq(start.toInstant().toEpochMilli()), eq(end.toInstant().toEpochMilli())))
-                .thenReturn(mockCandlesticks);
-
-        // Existing candlesticks
-        List<Candlestick> existingCandlesticks = List.of(
-                createTestCandlestick("2023-01-01T00:02:00Z", "2023-01-01T00:02:59Z")
-        );
-
-        Set<Long> processedStartTimes = new HashSet<>();
-
-        // Creating a spy on binanceHistoricalDataService
-        BinanceHistoricalDataService spyService = Mockito.spy(binanceHistoricalDataService);
-
-        // Mocking the updateCandlestickSet method in the spy
-        Mockito.doAnswer(invocation -> {
-            // Log parameters of the call for verification
-            Object[] args = invocation.getArguments();
-            logger.info("updateCandlestickSet called with params: symbol={}, startDateTime={}, endDateTime={}, interval={}, allCandlesticksSet={}",
-                    args[0], args[1], args[2], args[3], args[4]);
-            return new ArrayList<>(); // Return an empty list for further checks
-        }).when(spyService).updateCandlestickSet(anyString(), any(ZonedDateTime.class), any(ZonedDateTime.class), any(CandlestickInterval.class), any(Set.class));
-
-        // Invoke the method under test
-        spyService.processMissingCandlesticks(
-                symbol,
-                interval,
-                start.toInstant().toEpochMilli(),
-                end.toInstant().toEpochMilli(),
-                existingCandlesticks,
-                processedStartTimes,
-                start,
-                end,
-                new HashSet<>()
-        );
-
-        // Verify that the fetchCandlesticksFromApi method was called with correct parameters
-        verify(spyService, atLeastOnce()).fetchCandlesticksFromApi(
-                eq(symbol),
-                eq(interval),
-                anyLong(),
-                anyLong()
-        );
-
-        // Verify that the updateCandlestickSet method was called with correct parameters
-        verify(spyService, atLeastOnce()).updateCandlestickSet(
-                eq(symbol),
-                eq(start),
-                eq(end),
-                eq(interval),
-                anySet()
-        );
-
-        // Verify the number of calls to updateCandlestickSet
-        verify(spyService, times(1)).updateCandlestickSet(
-                eq(symbol),
-                eq(start),
-                eq(end),
-                eq(interval),
-                anySet()
-        );
-    }
-
     @Test
     void testFetchCandlesticksFromApi() {
         String symbol = "BTCUSDT";
@@ -498,11 +332,11 @@ public class BinanceHistoricalDataServiceTest {
 
     @Test
     void testSaveCandlesticksToDatabase() {
-        // Create a list of candlesticks for the test
-        List<Candlestick> candlesticks = Arrays.asList(
+        // Create a page of candles for the test
+        CandleSeries candlesticks = CandleSeries.fromCandlesticks(Arrays.asList(
                 createTestCandlestick("2024-01-01T00:00:00Z", "2024-01-01T00:01:00Z"),
                 createTestCandlestick("2024-01-01T00:01:00Z", "2024-01-01T00:02:00Z")
-        );
+        ));
 
         String symbol = "BTCUSDT";
         CandlestickInterval interval = CandlestickInterval.ONE_MINUTE;
@@ -522,78 +356,16 @@ public class BinanceHistoricalDataServiceTest {
                 eq(interval)
         );
 
-        // Verify that saveCandlestickData was called twice with the correct parameters
-        verify(candlestickDataServiceSpy, times(2)).saveCandlestickData(
+        // Verify that the whole page was written with a single bulk insert
+        verify(candlestickDataServiceSpy, times(1)).saveCandleSeries(
                 eq(symbol),
-                any(Candlestick.class),
-                eq(interval)
-        );
-    }
-
-    @Test
-    void testUpdateCandlestickSet() {
-        // Create a spy for CandlestickDataService
-        CandlestickDataService candlestickDataServiceSpy = spy(new CandlestickDataService(candlestickRepository));
-
-        // Create a spy for BinanceHistoricalDataService using the spy of CandlestickDataService
-        BinanceHistoricalDataService binanceHistoricalDataServiceSpy = spy(new BinanceHistoricalDataService(candlestickDataServiceSpy));
-
-        // Prepare data for the test
-        String symbol = "BTCUSDT";
-        ZonedDateTime startDateTime = ZonedDateTime.parse("2023-01-01T00:00:00Z");
-        ZonedDateTime endDateTime = ZonedDateTime.parse("2023-01-01T00:05:00Z");
-        CandlestickInterval interval = CandlestickInterval.ONE_MINUTE;
-
-        // Create CandlestickWrappers with full data
-        CandlestickWrapper candlestickWrapper1 = new CandlestickWrapper(createTestCandlestick("2023-01-01T00:00:00Z", "2023-01-01T00:00:59Z"));
-        CandlestickWrapper candlestickWrapper2 = new CandlestickWrapper(createTestCandlestick("2023-01-01T00:01:00Z", "2023-01-01T00:01:59Z"));
-        CandlestickWrapper candlestickWrapper3 = new CandlestickWrapper(createTestCandlestick("2023-01-01T00:02:00Z", "2023-01-01T00:02:59Z"));
-
-        Set<CandlestickWrapper> allCandlesticksSet = new HashSet<>();
-        allCandlesticksSet.add(candlestickWrapper1);
-
-        List<CandlestickWrapper> newCandlestickWrappers = List.of(
-                candlestickWrapper1,
-                candlestickWrapper2,
-                candlestickWrapper3
-        );
-
-        Set<CandlestickWrapper> newCandlestickWrapperSet = new HashSet<>(newCandlestickWrappers);
-
-        List<Candlestick> existingCandlesticks = newCandlestickWrappers.stream()
-                .map(CandlestickWrapper::candlestick)
-                .collect(Collectors.toList());
-
-        // Mocking the getCandlestickData method
-        when(candlestickDataServiceSpy.getCandlestickData(symbol, startDateTime, endDateTime, interval)).thenReturn(existingCandlesticks);
-
-        // Call the method to be tested
-        binanceHistoricalDataServiceSpy.updateCandlestickSet(
-                symbol,
-                startDateTime,
-                endDateTime,
-                interval,
-                allCandlesticksSet
-        );
-
-        // Verify that getCandlestickData was called once with the correct parameters
-        verify(candlestickDataServiceSpy).getCandlestickData(
-                eq(symbol),
-                eq(startDateTime),
-                eq(endDateTime),
-                eq(interval)
-        );
-
-        // Verify that findMissingCandlesticks was called once with the correct parameters
-        verify(binanceHistoricalDataServiceSpy).findMissingCandlesticks(
-                eq(newCandlestickWrapperSet),
-                eq(startDateTime),
-                eq(endDateTime),
+                eq(candlesticks),
                 eq(interval)
         );
+        verify(candlestickRepository, times(1)).insertIgnoringDuplicates(symbol, interval, candlesticks);
+        verify(candlestickDataServiceSpy, never()).existsBySymbolAndOpenTime(anyString(), any(ZonedDateTime.class), any(ZonedDateTime.class), any(CandlestickInterval.class));
     }
 
-
     private Candlestick createTestCandlestick(String openTime, String closeTime) {
         Candlestick candlestick = new Candlestick();
         candlestick.setOpenTime(ZonedDateTime.parse(openTime).toInstant().toEpochMilli());
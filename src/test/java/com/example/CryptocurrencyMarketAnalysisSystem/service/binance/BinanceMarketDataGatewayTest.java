@@ -0,0 +1,247 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.SymbolStatus;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.binance.api.client.exception.BinanceApiException;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.BinanceGatewayProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinanceMarketDataGatewayTest {
+
+    private static final String KLINES = "[[1704067200000,\"42283.58\",\"42298.62\",\"42283.57\",\"42298.61\",\"35.92724\","
+            + "1704067259999,\"1519373.3\",1327,\"17.9\",\"757059.6\",\"0\"],"
+            + "[1704067260000,\"42298.62\",\"42320.00\",\"42290.10\",\"42300.00\",\"21.5\","
+            + "1704067319999,\"909505.1\",801,\"10.2\",\"431300.0\",\"0\"]]";
+    private static final String DEPTH = "{\"lastUpdateId\":1027024,\"bids\":[[\"4.00000000\",\"431.00000000\"]],"
+            + "\"asks\":[[\"4.00000200\",\"12.00000000\"],[\"4.00000300\",\"1.50000000\"]]}";
+    private static final String EXCHANGE_INFO = "{\"timezone\":\"UTC\",\"serverTime\":1704067200000,\"symbols\":["
+            + "{\"symbol\":\"BTCUSDT\",\"status\":\"TRADING\",\"baseAsset\":\"BTC\",\"quoteAsset\":\"USDT\",\"filters\":[]},"
+            + "{\"symbol\":\"LUNAUSDT\",\"status\":\"BREAK\",\"baseAsset\":\"LUNA\",\"quoteAsset\":\"USDT\",\"filters\":[]}]}";
+
+    private HttpServer server;
+    private final Queue<String> queries = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    // Delay of the first request only, for hedging
+    private volatile long firstRequestDelayMillis;
+    private BinanceGatewayProperties properties;
+    private BinanceRequestWeightLimiter requestWeightLimiter;
+    private BinanceMarketDataGateway gateway;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/v3/klines", exchange -> respond(exchange, 200, KLINES));
+        server.createContext("/api/v3/depth", exchange -> respond(exchange, 200, DEPTH));
+        server.createContext("/api/v3/exchangeInfo", exchange -> respond(exchange, 200, EXCHANGE_INFO));
+        server.createContext("/api/v3/ticker/price", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            if (query == null) {
+                respond(exchange, 200, "[{\"symbol\":\"BTCUSDT\",\"price\":\"42000.10\"},{\"symbol\":\"ETHUSDT\",\"price\":\"2300.50\"}]");
+            } else if (query.contains("XXXUSDT")) {
+                respond(exchange, 400, "{\"code\":-1121,\"msg\":\"Invalid symbol.\"}");
+            } else {
+                respond(exchange, 200, "{\"symbol\":\"BTCUSDT\",\"price\":\"42000.10\"}");
+            }
+        });
+        server.start();
+
+        properties = new BinanceGatewayProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setHedgeDelay(Duration.ZERO);
+        requestWeightLimiter = new BinanceRequestWeightLimiter(6000, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (gateway != null) {
+            gateway.close();
+        }
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testCandlestickBarsAreParsed() {
+        gateway = new BinanceMarketDataGateway(properties, requestWeightLimiter);
+
+        List<Candlestick> candlesticks = gateway.getCandlestickBars("btcusdt", CandlestickInterval.ONE_MINUTE, 1000,
+                1704067200000L, 1704067319999L).join();
+
+        assertEquals(2, candlesticks.size());
+        Candlestick first = candlesticks.get(0);
+        assertEquals(1704067200000L, first.getOpenTime());
+        assertEquals(1704067259999L, first.getCloseTime());
+        assertEquals("42283.58", first.getOpen());
+        assertEquals("42298.61", first.getClose());
+        assertEquals(1327L, first.getNumberOfTrades());
+        assertEquals("757059.6", first.getTakerBuyQuoteAssetVolume());
+        assertEquals("symbol=BTCUSDT&interval=1m&limit=1000&startTime=1704067200000&endTime=1704067319999", queries.peek());
+        assertEquals(BinanceRequestWeightLimiter.KLINES_WEIGHT, requestWeightLimiter.getWeightUsed());
+    }
+
+    @Test
+    public void testOrderBookAndPricesAreParsed() {
+        gateway = new BinanceMarketDataGateway(properties, requestWeightLimiter);
+
+        OrderBook orderBook = gateway.getOrderBook("BTCUSDT", 100).join();
+        TickerPrice price = gateway.getPrice("BTCUSDT").join();
+        List<TickerPrice> prices = gateway.getAllPrices().join();
+
+        assertEquals(1027024, orderBook.getLastUpdateId());
+        assertEquals("431.00000000", orderBook.getBids().get(0).getQty());
+        assertEquals(2, orderBook.getAsks().size());
+        assertEquals("42000.10", price.getPrice());
+        assertEquals("ETHUSDT", prices.get(1).getSymbol());
+        assertEquals(BinanceRequestWeightLimiter.depthWeight(100) + BinanceRequestWeightLimiter.TICKER_PRICE_WEIGHT
+                + BinanceRequestWeightLimiter.ALL_TICKER_PRICES_WEIGHT, requestWeightLimiter.getWeightUsed());
+        assertEquals(3, gateway.getRequestCount());
+    }
+
+    @Test
+    public void testBlockingClientTakesNoWeight() {
+        gateway = new BinanceMarketDataGateway(properties, requestWeightLimiter);
+        BinanceMarketDataClient restClient = gateway.blockingClient();
+
+        assertEquals("42000.10", restClient.getPrice("BTCUSDT").getPrice());
+        assertEquals(2, restClient.getCandlestickBars("BTCUSDT", CandlestickInterval.ONE_MINUTE, 1000, 0L, 1L).size());
+        assertEquals(0, requestWeightLimiter.getWeightUsed());
+    }
+
+    @Test
+    public void testExchangeInfoIsParsed() {
+        gateway = new BinanceMarketDataGateway(properties, requestWeightLimiter);
+
+        ExchangeInfo exchangeInfo = gateway.getExchangeInfo().join();
+
+        assertEquals(1704067200000L, exchangeInfo.getServerTime());
+        assertEquals(2, exchangeInfo.getSymbols().size());
+        assertEquals("BTC", exchangeInfo.getSymbols().get(0).getBaseAsset());
+        assertEquals(SymbolStatus.BREAK, exchangeInfo.getSymbols().get(1).getStatus());
+        assertEquals(BinanceRequestWeightLimiter.EXCHANGE_INFO_WEIGHT, requestWeightLimiter.getWeightUsed());
+    }
+
+    @Test
+    public void testExchangeSymbolsAreLoadedThroughBlockingClient() {
+        gateway = new BinanceMarketDataGateway(properties, requestWeightLimiter);
+        ExchangeSymbols exchangeSymbols = new ExchangeSymbols(gateway.blockingClient(), requestWeightLimiter, Duration.ofHours(1));
+
+        assertTrue(exchangeSymbols.isTrading("BTCUSDT"));
+        assertFalse(exchangeSymbols.isTrading("XXXUSDT"));
+        assertFalse(exchangeSymbols.isTrading("LUNAUSDT"));
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testSlowRequestIsHedged() {
+        properties.setHedgeDelay(Duration.ofMillis(100));
+        properties.setMaxHedgeRatio(1);
+        firstRequestDelayMillis = 3000;
+        gateway = new BinanceMarketDataGateway(properties, requestWeightLimiter);
+
+        long start = System.nanoTime();
+        OrderBook orderBook = gateway.getOrderBook("BTCUSDT", 100).join();
+
+        assertEquals(1027024, orderBook.getLastUpdateId());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(2000), "The hedge should have answered first");
+        assertEquals(1, gateway.getHedgeCount());
+        assertEquals(1, gateway.getHedgeWinCount());
+        assertEquals(2, requests.get());
+        // The hedge takes its own weight
+        assertEquals(2 * BinanceRequestWeightLimiter.depthWeight(100), requestWeightLimiter.getWeightUsed());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testApiErrorFailsWithItsMessage() {
+        gateway = new BinanceMarketDataGateway(properties, requestWeightLimiter);
+
+        CompletionException e = assertThrows(CompletionException.class, () -> gateway.getPrice("XXXUSDT").join());
+        assertInstanceOf(BinanceApiException.class, e.getCause());
+        assertTrue(e.getCause().getMessage().contains("-1121"));
+        assertThrows(BinanceApiException.class, () -> gateway.blockingClient().getPrice("XXXUSDT"));
+        assertEquals(2, gateway.getFailureCount());
+    }
+
+    @Test
+    public void testRequestIsRejectedWithoutWeight() {
+        gateway = new BinanceMarketDataGateway(properties, new BinanceRequestWeightLimiter(2, Duration.ZERO));
+
+        gateway.getPrice("BTCUSDT").join();
+        CompletionException e = assertThrows(CompletionException.class, () -> gateway.getPrice("BTCUSDT").join());
+
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        assertEquals(1, requests.get());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testNoHedgeBeyondRatio() {
+        properties.setHedgeDelay(Duration.ofMillis(100));
+        properties.setMaxHedgeRatio(0);
+        firstRequestDelayMillis = 500;
+        gateway = new BinanceMarketDataGateway(properties, requestWeightLimiter);
+
+        gateway.getOrderBook("BTCUSDT", 100).join();
+
+        assertEquals(0, gateway.getHedgeCount());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testInvalidHedgeSettingsAreRejected() {
+        properties.setHedgeDelay(Duration.ofMillis(-1));
+        assertThrows(IllegalArgumentException.class, () -> new BinanceMarketDataGateway(properties, requestWeightLimiter));
+
+        properties.setHedgeDelay(Duration.ZERO);
+        properties.setMaxHedgeRatio(1.5);
+        assertThrows(IllegalArgumentException.class, () -> new BinanceMarketDataGateway(properties, requestWeightLimiter));
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        if (requests.getAndIncrement() == 0 && firstRequestDelayMillis > 0) {
+            try {
+                Thread.sleep(firstRequestDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        queries.add(String.valueOf(exchange.getRequestURI().getQuery()));
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(status, bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            // The client cancelled the losing request of a hedge
+        }
+    }
+}
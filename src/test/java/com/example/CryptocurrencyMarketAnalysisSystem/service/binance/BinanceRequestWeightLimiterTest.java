@@ -0,0 +1,167 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinanceRequestWeightLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    //Positive Tests
+
+    @Test
+    public void testAcquireWithinCapacity() {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(10, Duration.ZERO, clock::get);
+
+        assertTrue(limiter.tryAcquire(4));
+        assertTrue(limiter.tryAcquire(6));
+        assertEquals(10, limiter.getWeightUsed());
+        assertEquals(0, limiter.availableWeight(), 1e-9);
+    }
+
+    @Test
+    public void testBucketRefillsOverTime() {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(60, Duration.ZERO, clock::get);
+        assertTrue(limiter.tryAcquire(60));
+
+        // One unit of weight refills every second
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        assertTrue(limiter.tryAcquire(5));
+        assertFalse(limiter.tryAcquire(1));
+    }
+
+    @Test
+    public void testRefillIsCappedAtCapacity() {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(60, Duration.ZERO, clock::get);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+
+        assertEquals(60, limiter.availableWeight(), 1e-9);
+    }
+
+    @Test
+    public void testReservationReturnsDelayUntilDue() {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(60, Duration.ZERO, clock::get);
+        assertTrue(limiter.tryAcquire(60));
+
+        long delayNanos = limiter.tryReserve(2, Duration.ofSeconds(5));
+
+        assertEquals(TimeUnit.SECONDS.toNanos(2), delayNanos, 1000);
+        assertEquals(delayNanos, limiter.getWaitNanos());
+        // The reservation is taken, so the next caller has to wait behind it
+        assertEquals(TimeUnit.SECONDS.toNanos(3), limiter.tryReserve(1, Duration.ofSeconds(5)), 1000);
+    }
+
+    @Test
+    public void testConcurrentCallersNeverExceedCapacity() throws Exception {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(500, Duration.ZERO, clock::get);
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Integer>> callers = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                callers.add(() -> {
+                    int granted = 0;
+                    for (int j = 0; j < 100; j++) {
+                        if (limiter.tryAcquire(1)) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                });
+            }
+            int granted = 0;
+            for (Future<Integer> future : executorService.invokeAll(callers)) {
+                granted += future.get();
+            }
+
+            assertEquals(500, granted);
+            assertEquals(500, limiter.getWeightUsed());
+            assertEquals(1100, limiter.getRejections());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMetricsAreRegistered() {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(10, Duration.ZERO, clock::get);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+
+        limiter.tryAcquire(8);
+        limiter.tryAcquire(8);
+
+        assertEquals(8, registry.get("binance.rate-limit.weight.used").functionCounter().count());
+        assertEquals(1, registry.get("binance.rate-limit.rejections").functionCounter().count());
+        assertEquals(2, registry.get("binance.rate-limit.weight.available").gauge().value(), 1e-9);
+    }
+
+    @Test
+    public void testDepthWeightGrowsWithLimit() {
+        assertEquals(5, BinanceRequestWeightLimiter.depthWeight(100));
+        assertEquals(25, BinanceRequestWeightLimiter.depthWeight(500));
+        assertEquals(50, BinanceRequestWeightLimiter.depthWeight(1000));
+        assertEquals(250, BinanceRequestWeightLimiter.depthWeight(5000));
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testRejectedWhenDeadlineCannotBeMet() {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(60, Duration.ZERO, clock::get);
+        assertTrue(limiter.tryAcquire(60));
+
+        assertEquals(-1, limiter.tryReserve(2, Duration.ofSeconds(1)));
+        assertEquals(1, limiter.getRejections());
+        // A rejected call takes nothing from the bucket
+        assertEquals(0, limiter.availableWeight(), 1e-9);
+    }
+
+    @Test
+    public void testAcquireThrowsWhenLimitReached() {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(10, Duration.ZERO, clock::get);
+        limiter.acquire(10);
+
+        assertThrows(IllegalStateException.class, () -> limiter.acquire(1));
+    }
+
+    @Test
+    public void testInvalidWeight() {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(10, Duration.ZERO, clock::get);
+
+        assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire(0));
+        assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire(11));
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BinanceRequestWeightLimiter(0, Duration.ZERO, clock::get));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testAcquireWaitsForReservation() {
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(6000, Duration.ZERO);
+        assertTrue(limiter.tryAcquire(6000));
+
+        // Ten units of weight refill in 100 ms
+        long startNanos = System.nanoTime();
+        assertTrue(limiter.tryAcquire(10, Duration.ofSeconds(1)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        assertTrue(elapsedMillis >= 90 && elapsedMillis < 1000, "Waited " + elapsedMillis + " ms");
+    }
+}
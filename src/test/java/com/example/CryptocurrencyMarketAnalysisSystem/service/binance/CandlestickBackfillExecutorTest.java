@@ -0,0 +1,234 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics.IngestionTracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CandlestickBackfillExecutorTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final long API_LATENCY_MILLIS = 50;
+
+    private ExecutorService executorService;
+    private BinanceMarketDataClient binanceApiClient;
+    private CandlestickDataService candlestickDataService;
+    private final AtomicInteger requestsInFlight = new AtomicInteger();
+    private final AtomicInteger maxRequestsInFlight = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        executorService = Executors.newFixedThreadPool(8);
+        candlestickDataService = mock(CandlestickDataService.class);
+        binanceApiClient = mock(BinanceMarketDataClient.class);
+
+        // Stub client that answers every klines request after a fixed latency
+        when(binanceApiClient.getCandlestickBars(anyString(), any(CandlestickInterval.class), anyInt(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    maxRequestsInFlight.accumulateAndGet(requestsInFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(API_LATENCY_MILLIS);
+                        return createCandlesticks(invocation.getArgument(3), invocation.getArgument(4));
+                    } finally {
+                        requestsInFlight.decrementAndGet();
+                    }
+                });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testBackfillFetchesPagesConcurrently() {
+        BinanceHistoricalDataService service = createService(16);
+        List<TimeRange> ranges = createRanges(16, 10);
+
+        long startNanos = System.nanoTime();
+        CandleSeries candles = service.backfillMissingRanges("BTCUSDT", CandlestickInterval.ONE_MINUTE, ranges);
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        assertEquals(160, candles.size());
+        // Pages arrive in any order but are merged in open time order
+        assertEquals(START, candles.firstOpenTime());
+        assertEquals(START + 159 * ONE_MINUTE, candles.lastOpenTime());
+        verify(binanceApiClient, times(16)).getCandlestickBars(anyString(), any(CandlestickInterval.class), anyInt(), anyLong(), anyLong());
+        // Sixteen pages fetched one after another would take at least 800 ms
+        assertTrue(elapsedMillis < 16 * API_LATENCY_MILLIS / 2, "Backfill took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void testEachPageIsPersisted() {
+        BinanceHistoricalDataService service = createService(16);
+
+        service.backfillMissingRanges("BTCUSDT", CandlestickInterval.ONE_MINUTE, createRanges(4, 5));
+
+        verify(candlestickDataService, times(4)).saveCandleSeries(eq("BTCUSDT"), any(CandleSeries.class), eq(CandlestickInterval.ONE_MINUTE));
+        // The stored window is not read back between pages
+        verify(candlestickDataService, never()).getCandleSeries(anyString(), any(), any(), any());
+    }
+
+    @Test
+    public void testConcurrencyIsCappedByRequestWeight() {
+        BinanceHistoricalDataService service = createService(3 * CandlestickBackfillExecutor.KLINES_REQUEST_WEIGHT);
+
+        service.backfillMissingRanges("BTCUSDT", CandlestickInterval.ONE_MINUTE, createRanges(12, 1));
+
+        assertTrue(maxRequestsInFlight.get() <= 3, "Requests in flight: " + maxRequestsInFlight.get());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testFailedPageIsRethrown() {
+        when(binanceApiClient.getCandlestickBars(anyString(), any(CandlestickInterval.class), anyInt(), eq(START), anyLong()))
+                .thenThrow(new IllegalStateException("API unavailable"));
+        BinanceHistoricalDataService service = createService(16);
+
+        assertThrows(IllegalStateException.class, () ->
+                service.backfillMissingRanges("BTCUSDT", CandlestickInterval.ONE_MINUTE, createRanges(8, 1)));
+    }
+
+    @Test
+    public void testRejectedWorkersAreDrainedByCaller() {
+        // Two workers and no queue, so the pool rejects every further worker of the backfill
+        ThreadPoolExecutor saturatedPool = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        try {
+            CandlestickBackfillExecutor backfillExecutor = new CandlestickBackfillExecutor(saturatedPool, 16);
+            BinanceHistoricalDataService service = new BinanceHistoricalDataService(candlestickDataService, backfillExecutor,
+                    new BinanceRequestWeightLimiter(6000, Duration.ofSeconds(2)), binanceApiClient);
+
+            CandleSeries candles = service.backfillMissingRanges("BTCUSDT", CandlestickInterval.ONE_MINUTE, createRanges(12, 1));
+
+            assertEquals(12, candles.size());
+            verify(candlestickDataService, times(12)).saveCandleSeries(eq("BTCUSDT"), any(CandleSeries.class), eq(CandlestickInterval.ONE_MINUTE));
+            // The started workers were joined before the backfill returned
+            assertEquals(0, requestsInFlight.get());
+        } finally {
+            saturatedPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBudgetTooSmallForOneRequest() {
+        assertThrows(IllegalArgumentException.class, () -> new CandlestickBackfillExecutor(executorService, 1));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testNoRanges() {
+        BinanceHistoricalDataService service = createService(16);
+
+        assertTrue(service.backfillMissingRanges("BTCUSDT", CandlestickInterval.ONE_MINUTE, List.of()).isEmpty());
+        verifyNoInteractions(binanceApiClient);
+    }
+
+    @Test
+    public void testBackfillOnItsOwnSingleThreadPoolDoesNotDeadlock() throws Exception {
+        // The only pool thread runs the backfill, so every worker it queues waits behind it
+        ExecutorService singleThreadPool = Executors.newFixedThreadPool(1);
+        try {
+            CandlestickBackfillExecutor backfillExecutor = new CandlestickBackfillExecutor(singleThreadPool, 16);
+            BinanceHistoricalDataService service = new BinanceHistoricalDataService(candlestickDataService, backfillExecutor,
+                    new BinanceRequestWeightLimiter(6000, Duration.ofSeconds(2)), binanceApiClient);
+
+            CandleSeries candles = singleThreadPool.submit(() ->
+                    service.backfillMissingRanges("BTCUSDT", CandlestickInterval.ONE_MINUTE, createRanges(8, 1))).get(5, TimeUnit.SECONDS);
+
+            assertEquals(8, candles.size());
+            verify(binanceApiClient, times(8)).getCandlestickBars(anyString(), any(CandlestickInterval.class), anyInt(), anyLong(), anyLong());
+        } finally {
+            singleThreadPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBackfillStopsBeforeOpenCandle() {
+        // Halfway through the candle at index 10
+        BinanceHistoricalDataService service = createServiceAt(START + 10 * ONE_MINUTE + ONE_MINUTE / 2);
+
+        CandleSeries candles = service.getHistoricalCandleSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, START + 20 * ONE_MINUTE);
+
+        assertEquals(10, candles.size());
+        assertEquals(START + 9 * ONE_MINUTE, candles.lastOpenTime());
+        verify(binanceApiClient).getCandlestickBars("BTCUSDT", CandlestickInterval.ONE_MINUTE, BinanceHistoricalDataService.MAX_CANDLESTICKS_PER_REQUEST,
+                START, START + 10 * ONE_MINUTE - 1);
+    }
+
+    @Test
+    public void testWindowOfOpenCandleOnlyIsNotFetched() {
+        BinanceHistoricalDataService service = createServiceAt(START + ONE_MINUTE / 2);
+
+        assertTrue(service.getHistoricalCandleSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, START + ONE_MINUTE).isEmpty());
+        verifyNoInteractions(binanceApiClient);
+    }
+
+    // Creates a service that reads the stored window as empty and sees the given time as now
+    private BinanceHistoricalDataService createServiceAt(long now) {
+        when(candlestickDataService.getCandleSeries(anyString(), any(), any(), any())).thenReturn(CandleSeries.empty());
+        when(candlestickDataService.deriveCandleSeries(anyString(), any(), anyList())).thenReturn(CandleSeries.empty());
+        CandlestickBackfillExecutor backfillExecutor = new CandlestickBackfillExecutor(executorService, 16);
+        return new BinanceHistoricalDataService(candlestickDataService, backfillExecutor,
+                new BinanceRequestWeightLimiter(6000, Duration.ofSeconds(2)), binanceApiClient, IngestionTracer.disabled(), () -> now);
+    }
+
+    private BinanceHistoricalDataService createService(int maxRequestWeightInFlight) {
+        CandlestickBackfillExecutor backfillExecutor = new CandlestickBackfillExecutor(executorService, maxRequestWeightInFlight);
+        BinanceRequestWeightLimiter requestWeightLimiter = new BinanceRequestWeightLimiter(6000, Duration.ofSeconds(2));
+        return new BinanceHistoricalDataService(candlestickDataService, backfillExecutor, requestWeightLimiter, binanceApiClient);
+    }
+
+    // Creates adjacent ranges of the given number of one-minute candles
+    private List<TimeRange> createRanges(int count, int candlesPerRange) {
+        List<TimeRange> ranges = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long from = START + (long) i * candlesPerRange * ONE_MINUTE;
+            ranges.add(new TimeRange(from, from + candlesPerRange * ONE_MINUTE));
+        }
+        return ranges;
+    }
+
+    // Creates one-minute candles opening between startTime and endTime inclusive
+    private List<Candlestick> createCandlesticks(long startTime, long endTime) {
+        List<Candlestick> candlesticks = new ArrayList<>();
+        for (long openTime = startTime; openTime <= endTime; openTime += ONE_MINUTE) {
+            Candlestick candlestick = new Candlestick();
+            candlestick.setOpenTime(openTime);
+            candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+            candlestick.setOpen("1.0");
+            candlestick.setClose("2.0");
+            candlestick.setHigh("3.0");
+            candlestick.setLow("0.5");
+            candlestick.setVolume("1000");
+            candlestick.setQuoteAssetVolume("2000");
+            candlestick.setNumberOfTrades(500L);
+            candlestick.setTakerBuyBaseAssetVolume("700");
+            candlestick.setTakerBuyQuoteAssetVolume("1400");
+            candlesticks.add(candlestick);
+        }
+        return candlesticks;
+    }
+}
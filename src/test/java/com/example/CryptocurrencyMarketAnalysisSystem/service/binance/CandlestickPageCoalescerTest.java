@@ -0,0 +1,293 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CandlestickPageCoalescerTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final String SYMBOL = "BTCUSDT";
+    private static final CandlestickInterval INTERVAL = CandlestickInterval.ONE_MINUTE;
+
+    private ExecutorService executorService;
+    private ExecutorService callers;
+    private BinanceMarketDataClient binanceApiClient;
+    private CandlestickDataService candlestickDataService;
+    private BinanceHistoricalDataService service;
+    // Holds back the klines request starting at START until released
+    private final CountDownLatch firstPageReleased = new CountDownLatch(1);
+    private final AtomicInteger apiRequests = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        executorService = Executors.newFixedThreadPool(4);
+        callers = Executors.newFixedThreadPool(2);
+        candlestickDataService = mock(CandlestickDataService.class);
+        binanceApiClient = mock(BinanceMarketDataClient.class);
+
+        // Nothing is stored, so every window is backfilled from the API
+        when(candlestickDataService.getCandleSeries(anyString(), any(), any(), any())).thenReturn(CandleSeries.empty());
+        when(candlestickDataService.deriveCandleSeries(anyString(), any(), anyList())).thenReturn(CandleSeries.empty());
+        when(binanceApiClient.getCandlestickBars(anyString(), any(CandlestickInterval.class), anyInt(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    apiRequests.incrementAndGet();
+                    long startTime = invocation.getArgument(3);
+                    if (startTime == START && !firstPageReleased.await(5, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("First page was never released");
+                    }
+                    return createCandlesticks(startTime, invocation.getArgument(4));
+                });
+
+        service = new BinanceHistoricalDataService(candlestickDataService, new CandlestickBackfillExecutor(executorService, 16),
+                new BinanceRequestWeightLimiter(6000, Duration.ofSeconds(2)), binanceApiClient);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        firstPageReleased.countDown();
+        callers.shutdownNow();
+        executorService.shutdownNow();
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testIdenticalRequestsShareOneRead() throws Exception {
+        Future<CandleSeries> first = read(START, START + 10 * ONE_MINUTE);
+        awaitCondition(() -> apiRequests.get() == 1);
+        Future<CandleSeries> second = read(START, START + 10 * ONE_MINUTE);
+        awaitCondition(() -> service.getCoalescedRequestCount() == 1);
+        firstPageReleased.countDown();
+
+        assertEquals(10, first.get(5, TimeUnit.SECONDS).size());
+        assertSame(first.get(), second.get(5, TimeUnit.SECONDS));
+        // One gap scan, one request and one insert for both callers
+        verify(candlestickDataService, times(1)).getCandleSeries(anyString(), any(), any(), any());
+        verify(binanceApiClient, times(1)).getCandlestickBars(anyString(), any(CandlestickInterval.class), anyInt(), anyLong(), anyLong());
+        verify(candlestickDataService, times(1)).saveCandleSeries(eq(SYMBOL), any(CandleSeries.class), eq(INTERVAL));
+    }
+
+    @Test
+    public void testOverlappingRequestFetchesOnlyTheRest() throws Exception {
+        Future<CandleSeries> first = read(START, START + 10 * ONE_MINUTE);
+        awaitCondition(() -> apiRequests.get() == 1);
+        Future<CandleSeries> second = read(START + 5 * ONE_MINUTE, START + 15 * ONE_MINUTE);
+        // The second request fetches the five minutes the first does not cover, then waits for the shared page
+        awaitCondition(() -> apiRequests.get() == 2);
+        firstPageReleased.countDown();
+
+        CandleSeries firstCandles = first.get(5, TimeUnit.SECONDS);
+        CandleSeries secondCandles = second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(10, firstCandles.size());
+        assertEquals(10, secondCandles.size());
+        assertEquals(START + 5 * ONE_MINUTE, secondCandles.firstOpenTime());
+        assertEquals(START + 14 * ONE_MINUTE, secondCandles.lastOpenTime());
+        verify(binanceApiClient).getCandlestickBars(SYMBOL, INTERVAL, 1000, START, START + 10 * ONE_MINUTE - 1);
+        verify(binanceApiClient).getCandlestickBars(SYMBOL, INTERVAL, 1000, START + 10 * ONE_MINUTE, START + 15 * ONE_MINUTE - 1);
+        verify(binanceApiClient, times(2)).getCandlestickBars(anyString(), any(CandlestickInterval.class), anyInt(), anyLong(), anyLong());
+        assertEquals(1, service.getSharedPageCount());
+    }
+
+    @Test
+    public void testRemaindersAroundPageInFlight() throws Exception {
+        CandlestickPageCoalescer coalescer = new CandlestickPageCoalescer();
+        CountDownLatch middleReleased = new CountDownLatch(1);
+        List<TimeRange> fetchedBySecond = new ArrayList<>();
+
+        Future<CandleSeries> first = callers.submit(() -> coalescer.backfill(SYMBOL, INTERVAL,
+                List.of(minutes(5, 10)), range -> {
+                    try {
+                        middleReleased.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return createSeries(range);
+                }, CandlestickPageCoalescerTest::fetchAll));
+        awaitCondition(() -> coalescer.getInFlightPageCount() == 1);
+        Future<CandleSeries> second = callers.submit(() -> coalescer.backfill(SYMBOL, INTERVAL,
+                List.of(minutes(0, 15)), range -> {
+                    fetchedBySecond.add(range);
+                    return createSeries(range);
+                }, CandlestickPageCoalescerTest::fetchAll));
+        awaitCondition(() -> coalescer.getSharedPageCount() == 1);
+        middleReleased.countDown();
+
+        assertEquals(5, first.get(5, TimeUnit.SECONDS).size());
+        CandleSeries candles = second.get(5, TimeUnit.SECONDS);
+        assertEquals(15, candles.size());
+        assertEquals(List.of(minutes(0, 5), minutes(10, 15)), fetchedBySecond);
+        assertEquals(0, coalescer.getInFlightPageCount());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testFailedPageFailsRequestsSharingIt() throws Exception {
+        CandlestickPageCoalescer coalescer = new CandlestickPageCoalescer();
+        CountDownLatch failureReleased = new CountDownLatch(1);
+
+        Future<CandleSeries> first = callers.submit(() -> coalescer.backfill(SYMBOL, INTERVAL,
+                List.of(minutes(0, 10)), range -> {
+                    try {
+                        failureReleased.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IllegalStateException("API unavailable");
+                }, CandlestickPageCoalescerTest::fetchAll));
+        awaitCondition(() -> coalescer.getInFlightPageCount() == 1);
+        Future<CandleSeries> second = callers.submit(() -> coalescer.backfill(SYMBOL, INTERVAL,
+                List.of(minutes(0, 10)), CandlestickPageCoalescerTest::createSeries, CandlestickPageCoalescerTest::fetchAll));
+        awaitCondition(() -> coalescer.getSharedPageCount() == 1);
+        failureReleased.countDown();
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, firstFailure.getCause());
+        assertSame(firstFailure.getCause(), secondFailure.getCause());
+
+        // Nothing stays in flight, so the next request fetches the page again
+        assertEquals(0, coalescer.getInFlightPageCount());
+        assertEquals(10, coalescer.backfill(SYMBOL, INTERVAL, List.of(minutes(0, 10)),
+                CandlestickPageCoalescerTest::createSeries, CandlestickPageCoalescerTest::fetchAll).size());
+    }
+
+    @Test
+    public void testPageNeverLoadedFailsRequestsSharingIt() throws Exception {
+        CandlestickPageCoalescer coalescer = new CandlestickPageCoalescer();
+        CountDownLatch fetcherReleased = new CountDownLatch(1);
+
+        // A fetcher that gives up without loading its pages, as the backfill executor does after a failed page
+        Future<CandleSeries> first = callers.submit(() -> coalescer.backfill(SYMBOL, INTERVAL,
+                List.of(minutes(0, 10)), CandlestickPageCoalescerTest::createSeries, (ranges, pageLoader) -> {
+                    try {
+                        fetcherReleased.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return CandleSeries.empty();
+                }));
+        awaitCondition(() -> coalescer.getInFlightPageCount() == 1);
+        Future<CandleSeries> second = callers.submit(() -> coalescer.backfill(SYMBOL, INTERVAL,
+                List.of(minutes(0, 10)), CandlestickPageCoalescerTest::createSeries, CandlestickPageCoalescerTest::fetchAll));
+        awaitCondition(() -> coalescer.getSharedPageCount() == 1);
+        fetcherReleased.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).isEmpty());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testAdjacentRequestsDoNotShare() throws Exception {
+        Future<CandleSeries> first = read(START, START + 5 * ONE_MINUTE);
+        awaitCondition(() -> apiRequests.get() == 1);
+        CandleSeries second = read(START + 5 * ONE_MINUTE, START + 10 * ONE_MINUTE).get(5, TimeUnit.SECONDS);
+        firstPageReleased.countDown();
+
+        assertEquals(5, first.get(5, TimeUnit.SECONDS).size());
+        assertEquals(5, second.size());
+        assertEquals(0, service.getSharedPageCount());
+    }
+
+    @Test
+    public void testUnalignedRangeEndIsMovedToNextOpenTime() {
+        List<TimeRange> aligned = service.alignRangeEnds(List.of(
+                new TimeRange(START, START + 90_000L), minutes(5, 10)), INTERVAL);
+
+        assertEquals(List.of(minutes(0, 2), minutes(5, 10)), aligned);
+        List<TimeRange> monthly = List.of(new TimeRange(START, START + 90_000L));
+        assertSame(monthly, service.alignRangeEnds(monthly, CandlestickInterval.MONTHLY));
+    }
+
+    @Test
+    public void testNoMissingRanges() {
+        CandlestickPageCoalescer coalescer = new CandlestickPageCoalescer();
+
+        CandleSeries candles = coalescer.backfill(SYMBOL, INTERVAL, List.of(), CandlestickPageCoalescerTest::createSeries,
+                (ranges, pageLoader) -> {
+                    throw new AssertionError("Nothing to fetch");
+                });
+
+        assertTrue(candles.isEmpty());
+        assertEquals(0, coalescer.getInFlightPageCount());
+    }
+
+    private Future<CandleSeries> read(long startTime, long endTime) {
+        return CompletableFuture.supplyAsync(() -> service.getHistoricalCandleSeries(SYMBOL, INTERVAL, startTime, endTime), callers);
+    }
+
+    private static TimeRange minutes(int from, int to) {
+        return new TimeRange(START + from * ONE_MINUTE, START + to * ONE_MINUTE);
+    }
+
+    // Loads the ranges one after another, as the backfill executor does on the calling thread
+    private static CandleSeries fetchAll(List<TimeRange> ranges, Function<TimeRange, CandleSeries> pageLoader) {
+        List<CandleSeries> pages = new ArrayList<>();
+        ranges.forEach(range -> pages.add(pageLoader.apply(range)));
+        return CandleSeries.merge(pages);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not reached in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    // One minute candles opening within the range
+    private static CandleSeries createSeries(TimeRange range) {
+        return CandleSeries.fromCandlesticks(createCandlesticks(range.from(), range.to() - 1));
+    }
+
+    // Creates one-minute candles opening between startTime and endTime inclusive
+    private static List<Candlestick> createCandlesticks(long startTime, long endTime) {
+        List<Candlestick> candlesticks = new ArrayList<>();
+        for (long openTime = startTime; openTime <= endTime; openTime += ONE_MINUTE) {
+            Candlestick candlestick = new Candlestick();
+            candlestick.setOpenTime(openTime);
+            candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+            candlestick.setOpen("1.0");
+            candlestick.setClose("2.0");
+            candlestick.setHigh("3.0");
+            candlestick.setLow("0.5");
+            candlestick.setVolume("1000");
+            candlestick.setQuoteAssetVolume("2000");
+            candlestick.setNumberOfTrades(500L);
+            candlestick.setTakerBuyBaseAssetVolume("700");
+            candlestick.setTakerBuyQuoteAssetVolume("1400");
+            candlesticks.add(candlestick);
+        }
+        return candlesticks;
+    }
+}
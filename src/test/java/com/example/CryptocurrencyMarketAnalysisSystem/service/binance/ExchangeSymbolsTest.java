@@ -0,0 +1,107 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance;
+
+import com.binance.api.client.domain.general.ExchangeInfo;
+import com.binance.api.client.domain.general.SymbolInfo;
+import com.binance.api.client.domain.general.SymbolStatus;
+import com.binance.api.client.exception.BinanceApiException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ExchangeSymbolsTest {
+    private static final Duration REFRESH_INTERVAL = Duration.ofHours(1);
+
+    private BinanceMarketDataClient binanceApiClient;
+    private BinanceRequestWeightLimiter requestWeightLimiter;
+    private ExchangeSymbols exchangeSymbols;
+    private long now;
+
+    @BeforeEach
+    public void setup() {
+        binanceApiClient = mock(BinanceMarketDataClient.class);
+        requestWeightLimiter = mock(BinanceRequestWeightLimiter.class);
+        when(binanceApiClient.getExchangeInfo()).thenReturn(exchangeInfo(
+                symbolInfo("BTCUSDT", SymbolStatus.TRADING), symbolInfo("ETHUSDT", SymbolStatus.TRADING),
+                symbolInfo("LUNAUSDT", SymbolStatus.BREAK)));
+        exchangeSymbols = new ExchangeSymbols(binanceApiClient, requestWeightLimiter, REFRESH_INTERVAL, () -> now);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testTradingSymbolsAreLoadedOnce() {
+        assertTrue(exchangeSymbols.isTrading("BTCUSDT"));
+        assertTrue(exchangeSymbols.isTrading("ETHUSDT"));
+
+        verify(binanceApiClient, times(1)).getExchangeInfo();
+        verify(requestWeightLimiter, times(1)).acquire(BinanceRequestWeightLimiter.EXCHANGE_INFO_WEIGHT);
+    }
+
+    @Test
+    public void testSymbolsAreReloadedAfterRefreshInterval() {
+        exchangeSymbols.isTrading("BTCUSDT");
+        when(binanceApiClient.getExchangeInfo()).thenReturn(exchangeInfo(symbolInfo("SOLUSDT", SymbolStatus.TRADING)));
+        now += REFRESH_INTERVAL.toNanos();
+
+        assertTrue(exchangeSymbols.isTrading("SOLUSDT"));
+        assertFalse(exchangeSymbols.isTrading("BTCUSDT"));
+        verify(binanceApiClient, times(2)).getExchangeInfo();
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testUnknownAndHaltedSymbolsAreNotTrading() {
+        assertFalse(exchangeSymbols.isTrading("XXXUSDT"));
+        assertFalse(exchangeSymbols.isTrading("LUNAUSDT"));
+    }
+
+    @Test
+    public void testFailedReloadKeepsLoadedSymbols() {
+        exchangeSymbols.isTrading("BTCUSDT");
+        when(binanceApiClient.getExchangeInfo()).thenThrow(new BinanceApiException("Service unavailable"));
+        now += REFRESH_INTERVAL.toNanos();
+
+        assertTrue(exchangeSymbols.isTrading("BTCUSDT"));
+        assertFalse(exchangeSymbols.isTrading("XXXUSDT"));
+        // Not retried before the retry delay
+        verify(binanceApiClient, times(2)).getExchangeInfo();
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testEverySymbolIsAcceptedUntilFirstLoadSucceeds() {
+        when(binanceApiClient.getExchangeInfo()).thenThrow(new BinanceApiException("Service unavailable"));
+
+        assertTrue(exchangeSymbols.isTrading("XXXUSDT"));
+
+        reset(binanceApiClient);
+        when(binanceApiClient.getExchangeInfo()).thenReturn(exchangeInfo(symbolInfo("BTCUSDT", SymbolStatus.TRADING)));
+        now += ExchangeSymbols.RETRY_NANOS;
+        assertFalse(exchangeSymbols.isTrading("XXXUSDT"));
+    }
+
+    @Test
+    public void testDisabledAcceptsEverySymbol() {
+        assertTrue(ExchangeSymbols.disabled().isTrading("XXXUSDT"));
+    }
+
+    private static ExchangeInfo exchangeInfo(SymbolInfo... symbols) {
+        ExchangeInfo exchangeInfo = new ExchangeInfo();
+        exchangeInfo.setSymbols(List.of(symbols));
+        return exchangeInfo;
+    }
+
+    private static SymbolInfo symbolInfo(String symbol, SymbolStatus status) {
+        SymbolInfo symbolInfo = new SymbolInfo();
+        symbolInfo.setSymbol(symbol);
+        symbolInfo.setStatus(status);
+        return symbolInfo;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance.benchmark;
+
+import com.binance.api.client.domain.market.OrderBook;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.BinanceGatewayProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataGateway;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of a multi-symbol order book snapshot through the market data gateway, against a local stub of the
+ * depth endpoint that answers after 50 ms like a round trip to Binance. The sequential benchmark requests the
+ * books one after another through the blocking client, as the services did before the gateway; the concurrent
+ * one sends all requests at once and waits for the last answer. The score is the time for one snapshot of all
+ * symbols.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinanceMarketDataGatewayBenchmark {
+    private static final long ROUND_TRIP_MILLIS = 50;
+    private static final int LIMIT = 100;
+
+    @Param({"10", "50"})
+    public int symbols;
+
+    private HttpServer server;
+    private BinanceMarketDataGateway gateway;
+    private BinanceMarketDataClient restClient;
+    private final List<String> symbolNames = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        byte[] depth = depth(LIMIT).getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/v3/depth", exchange -> respond(exchange, depth));
+        server.start();
+
+        BinanceGatewayProperties properties = new BinanceGatewayProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setHedgeDelay(Duration.ZERO);
+        // Enough weight for any rate here, so only the round trips bound the snapshots
+        gateway = new BinanceMarketDataGateway(properties, new BinanceRequestWeightLimiter(Integer.MAX_VALUE, Duration.ofSeconds(2)));
+        restClient = gateway.blockingClient();
+        for (int i = 0; i < symbols; i++) {
+            symbolNames.add("SYM" + i + "USDT");
+        }
+    }
+
+    @Benchmark
+    public int sequentialSnapshots() {
+        int levels = 0;
+        for (String symbol : symbolNames) {
+            levels += restClient.getOrderBook(symbol, LIMIT).getBids().size();
+        }
+        return levels;
+    }
+
+    @Benchmark
+    public int concurrentSnapshots() {
+        List<CompletableFuture<OrderBook>> orderBooks = new ArrayList<>(symbols);
+        for (String symbol : symbolNames) {
+            orderBooks.add(gateway.getOrderBook(symbol, LIMIT));
+        }
+        int levels = 0;
+        for (CompletableFuture<OrderBook> orderBook : orderBooks) {
+            levels += orderBook.join().getBids().size();
+        }
+        return levels;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        gateway.close();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try {
+            Thread.sleep(ROUND_TRIP_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // A book of the given depth in the format of the Binance depth endpoint
+    private static String depth(int limit) {
+        StringBuilder json = new StringBuilder("{\"lastUpdateId\":1027024,\"bids\":[");
+        for (int i = 0; i < limit; i++) {
+            json.append(i == 0 ? "" : ",").append("[\"").append(42000 - i).append(".00000000\",\"1.50000000\"]");
+        }
+        json.append("],\"asks\":[");
+        for (int i = 0; i < limit; i++) {
+            json.append(i == 0 ? "" : ",").append("[\"").append(42001 + i).append(".00000000\",\"1.50000000\"]");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
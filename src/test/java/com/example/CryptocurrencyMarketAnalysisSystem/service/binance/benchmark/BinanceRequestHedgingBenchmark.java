@@ -0,0 +1,98 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance.benchmark;
+
+import com.binance.api.client.domain.market.TickerPrice;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.BinanceGatewayProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataGateway;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of the tail latency of single price requests through the market data gateway, with and without
+ * hedging, against a local stub of the price endpoint. The stub answers after 10 ms, except every 50th request,
+ * which takes a second like a stalled connection. Sampled request times are the score, so the p99 shows the
+ * stalls; with hedging a stalled request is answered by its hedge 100 ms after it was sent. The share of
+ * requests hedged is printed after each trial.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinanceRequestHedgingBenchmark {
+    private static final long ROUND_TRIP_MILLIS = 10;
+    private static final long STALL_MILLIS = 1000;
+    private static final int STALL_EVERY = 50;
+
+    @Param({"0", "100"})
+    public long hedgeDelayMillis;
+
+    private HttpServer server;
+    private BinanceMarketDataGateway gateway;
+    private final AtomicLong served = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        byte[] price = "{\"symbol\":\"BTCUSDT\",\"price\":\"42000.10000000\"}".getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/v3/ticker/price", exchange -> respond(exchange, price));
+        server.start();
+
+        BinanceGatewayProperties properties = new BinanceGatewayProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setHedgeDelay(Duration.ofMillis(hedgeDelayMillis));
+        gateway = new BinanceMarketDataGateway(properties, new BinanceRequestWeightLimiter(Integer.MAX_VALUE, Duration.ofSeconds(2)));
+    }
+
+    @Benchmark
+    public TickerPrice price() {
+        return gateway.getPrice("BTCUSDT").join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        System.out.printf("hedge delay=%d ms requests=%d hedges=%d hedges answered first=%d%n", hedgeDelayMillis,
+                gateway.getRequestCount(), gateway.getHedgeCount(), gateway.getHedgeWinCount());
+        gateway.close();
+        server.stop(0);
+        ((ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try {
+            Thread.sleep(served.incrementAndGet() % STALL_EVERY == 0 ? STALL_MILLIS : ROUND_TRIP_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(200, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            // The gateway cancelled the request its hedge answered first
+        }
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
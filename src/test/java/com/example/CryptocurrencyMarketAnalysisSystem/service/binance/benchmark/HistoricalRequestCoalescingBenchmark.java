@@ -0,0 +1,174 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.binance.benchmark;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.CandlestickBackfillExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Benchmark of eight viewers opening the chart of a cold pair at the same time, against a stub Binance API that
+ * answers each klines request after a fixed latency. The viewers ask either for the same window or for windows
+ * shifted by a few hundred candles; as a baseline, the shifted windows are asked for on eight different pairs,
+ * which shares nothing. The klines requests sent per operation are printed at the end of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoricalRequestCoalescingBenchmark {
+    private static final long ONE_MINUTE = 60_000L;
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final int VIEWERS = 8;
+    private static final int CANDLES = 3000;
+    private static final int SHIFT = 250;
+
+    @Param({"50"})
+    public int apiLatencyMillis;
+
+    private BinanceHistoricalDataService historicalDataService;
+    private ExecutorService viewers;
+    private ExecutorService backfillWorkers;
+    private final AtomicInteger apiRequests = new AtomicInteger();
+    private final AtomicInteger pairs = new AtomicInteger();
+    private final AtomicInteger operations = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Stands in for the database and the series cache
+        Map<String, CandleSeries> stored = new ConcurrentHashMap<>();
+        CandlestickDataService candlestickDataService = new CandlestickDataService(null) {
+            @Override
+            public CandleSeries getCandleSeries(String symbol, ZonedDateTime startTime, ZonedDateTime endTime, CandlestickInterval interval) {
+                return stored.getOrDefault(symbol, CandleSeries.empty())
+                        .sliceByOpenTime(startTime.toInstant().toEpochMilli(), endTime.toInstant().toEpochMilli());
+            }
+
+            @Override
+            public CandleSeries deriveCandleSeries(String symbol, CandlestickInterval interval, List<TimeRange> ranges) {
+                return CandleSeries.empty();
+            }
+
+            @Override
+            public void saveCandleSeries(String symbol, CandleSeries candles, CandlestickInterval interval) {
+                stored.merge(symbol, candles, (existing, added) -> CandleSeries.merge(List.of(existing, added)));
+            }
+        };
+        viewers = Executors.newFixedThreadPool(VIEWERS);
+        backfillWorkers = Executors.newFixedThreadPool(32);
+        historicalDataService = new BinanceHistoricalDataService(candlestickDataService,
+                new CandlestickBackfillExecutor(backfillWorkers, 64),
+                new BinanceRequestWeightLimiter(1_000_000, Duration.ofSeconds(2)), stubApi());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("klines requests per operation=%.1f coalesced requests=%d shared pages=%d%n",
+                (double) apiRequests.get() / operations.get(), historicalDataService.getCoalescedRequestCount(),
+                historicalDataService.getSharedPageCount());
+        viewers.shutdownNow();
+        backfillWorkers.shutdownNow();
+    }
+
+    @Benchmark
+    public List<CandleSeries> sameWindow() {
+        String symbol = nextPair();
+        return view(viewer -> symbol, viewer -> 0);
+    }
+
+    @Benchmark
+    public List<CandleSeries> shiftedWindows() {
+        String symbol = nextPair();
+        return view(viewer -> symbol, viewer -> viewer * SHIFT);
+    }
+
+    @Benchmark
+    public List<CandleSeries> shiftedWindowsOfDifferentPairs() {
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < VIEWERS; i++) {
+            symbols.add(nextPair());
+        }
+        return view(symbols::get, viewer -> viewer * SHIFT);
+    }
+
+    // Lets every viewer read its window at once and waits for all of them
+    private List<CandleSeries> view(IntFunction<String> symbol, IntUnaryOperator shift) {
+        List<CompletableFuture<CandleSeries>> views = new ArrayList<>(VIEWERS);
+        for (int i = 0; i < VIEWERS; i++) {
+            String viewerSymbol = symbol.apply(i);
+            long startTime = START + shift.applyAsInt(i) * ONE_MINUTE;
+            views.add(CompletableFuture.supplyAsync(() -> historicalDataService.getHistoricalCandleSeries(viewerSymbol,
+                    CandlestickInterval.ONE_MINUTE, startTime, startTime + CANDLES * ONE_MINUTE), viewers));
+        }
+        operations.incrementAndGet();
+        return views.stream().map(CompletableFuture::join).toList();
+    }
+
+    private String nextPair() {
+        return "COLD" + pairs.incrementAndGet() + "USDT";
+    }
+
+    // Answers every klines request with aligned one minute candles after the latency
+    private BinanceMarketDataClient stubApi() {
+        return (BinanceMarketDataClient) Proxy.newProxyInstance(BinanceMarketDataClient.class.getClassLoader(),
+                new Class<?>[]{BinanceMarketDataClient.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getCandlestickBars") || args == null || args.length != 5) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    apiRequests.incrementAndGet();
+                    Thread.sleep(apiLatencyMillis);
+                    long startTime = (Long) args[3];
+                    long endTime = (Long) args[4];
+                    List<Candlestick> candlesticks = new ArrayList<>();
+                    for (long openTime = (startTime + ONE_MINUTE - 1) / ONE_MINUTE * ONE_MINUTE;
+                         openTime <= endTime && candlesticks.size() < (Integer) args[2]; openTime += ONE_MINUTE) {
+                        Candlestick candlestick = new Candlestick();
+                        candlestick.setOpenTime(openTime);
+                        candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+                        candlestick.setOpen("100");
+                        candlestick.setHigh("101");
+                        candlestick.setLow("99");
+                        candlestick.setClose("100.5");
+                        candlestick.setVolume("10");
+                        candlestick.setQuoteAssetVolume("1000");
+                        candlestick.setNumberOfTrades(10L);
+                        candlestick.setTakerBuyBaseAssetVolume("5");
+                        candlestick.setTakerBuyQuoteAssetVolume("500");
+                        candlesticks.add(candlestick);
+                    }
+                    return candlesticks;
+                });
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Command line arguments.
+     * @throws Exception If an error occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.cache;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandlestickSeriesCacheTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    private final List<long[]> loadedRanges = new ArrayList<>();
+
+    // Stands in for the database: every minute from START onwards has a candle
+    private final CandlestickSeriesCache.RangeLoader database = (from, to) -> {
+        loadedRanges.add(new long[]{from, to});
+        List<Candlestick> candlesticks = new ArrayList<>();
+        long first = Math.max(START, from + Math.floorMod(START - from, ONE_MINUTE));
+        for (long openTime = first; openTime <= to; openTime += ONE_MINUTE) {
+            candlesticks.add(createCandlestick(openTime));
+        }
+        return CandleSeries.fromCandlesticks(candlesticks);
+    };
+
+    //Positive Tests
+
+    @Test
+    public void testRepeatedReadIsAnsweredFromMemory() {
+        CandlestickSeriesCache cache = new CandlestickSeriesCache(DataSize.ofMegabytes(1), 16);
+
+        CandleSeries first = cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(99), database);
+        CandleSeries second = cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, minute(10), minute(20), database);
+
+        assertEquals(100, first.size());
+        assertEquals(11, second.size());
+        assertEquals(minute(10), second.openTime(0));
+        assertEquals(1.5, second.close(0));
+        assertEquals(1, loadedRanges.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testOnlyUncoveredTailIsLoaded() {
+        CandlestickSeriesCache cache = new CandlestickSeriesCache(DataSize.ofMegabytes(1), 16);
+        cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(49), database);
+
+        CandleSeries candlesticks = cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, minute(40), minute(59), database);
+
+        assertEquals(20, candlesticks.size());
+        assertEquals(2, loadedRanges.size());
+        assertArrayEquals(new long[]{minute(50), minute(59)}, loadedRanges.get(1));
+    }
+
+    @Test
+    public void testWritesExtendCachedSeries() {
+        CandlestickSeriesCache cache = new CandlestickSeriesCache(DataSize.ofMegabytes(1), 16);
+        cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+
+        cache.put("BTCUSDT", CandlestickInterval.ONE_MINUTE, series(createCandlestick(minute(10)), createCandlestick(minute(11))));
+        CandleSeries candlesticks = cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, minute(5), minute(11), database);
+
+        assertEquals(7, candlesticks.size());
+        // The loaded window ends where the written candles begin, so the read stays in memory
+        assertEquals(1, loadedRanges.size());
+    }
+
+    @Test
+    public void testFinalCandleReplacesPartialOne() {
+        CandlestickSeriesCache cache = new CandlestickSeriesCache(DataSize.ofMegabytes(1), 16);
+        cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+        Candlestick finalCandle = createCandlestick(minute(5));
+        finalCandle.setClose("1.9");
+
+        cache.put("BTCUSDT", CandlestickInterval.ONE_MINUTE, series(finalCandle));
+        assertEquals(1.5, cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, minute(5), minute(5), database).close(0));
+        cache.replace("BTCUSDT", CandlestickInterval.ONE_MINUTE, series(finalCandle));
+        CandleSeries candlesticks = cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+
+        assertEquals(10, candlesticks.size());
+        assertEquals(1.9, candlesticks.close(5));
+        assertEquals(1.5, candlesticks.close(4));
+        assertEquals(1, loadedRanges.size());
+    }
+
+    @Test
+    public void testOutOfOrderInsertsStaySorted() {
+        CandlestickSeriesCache cache = new CandlestickSeriesCache(DataSize.ofMegabytes(1), 4);
+        cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, minute(-1), minute(-1), database);
+        List<Candlestick> shuffled = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            shuffled.add(createCandlestick(minute(i)));
+        }
+        Collections.shuffle(shuffled, new Random(42));
+
+        for (Candlestick candlestick : shuffled) {
+            cache.put("BTCUSDT", CandlestickInterval.ONE_MINUTE, series(candlestick));
+        }
+        cache.put("BTCUSDT", CandlestickInterval.ONE_MINUTE, CandleSeries.fromCandlesticks(shuffled.subList(0, 10)));
+        CandleSeries candlesticks = cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(49), database);
+
+        assertEquals(50, candlesticks.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(minute(i), candlesticks.openTime(i));
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSeriesIsEvicted() {
+        // Room for two series of one 16-candle chunk each
+        long seriesBytes = CachedCandleSeries.OVERHEAD_BYTES + 16L * CandleChunk.BYTES_PER_CANDLE;
+        CandlestickSeriesCache cache = new CandlestickSeriesCache(DataSize.ofBytes(2 * seriesBytes), 16);
+        cache.getSeries("AAAUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+        cache.getSeries("BBBUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+        cache.getSeries("AAAUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+
+        cache.getSeries("CCCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+        loadedRanges.clear();
+        cache.getSeries("AAAUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+        assertTrue(loadedRanges.isEmpty());
+        cache.getSeries("BBBUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+
+        assertEquals(1, loadedRanges.size());
+        assertTrue(cache.getEvictions() >= 1);
+        assertTrue(cache.getUsedBytes() <= 2 * seriesBytes);
+    }
+
+    @Test
+    public void testMetricsAreRegistered() {
+        CandlestickSeriesCache cache = new CandlestickSeriesCache(DataSize.ofMegabytes(1), 16);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+        cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+
+        assertEquals(1, registry.get("candlestick.cache.hits").functionCounter().count());
+        assertEquals(1, registry.get("candlestick.cache.misses").functionCounter().count());
+        assertEquals(0, registry.get("candlestick.cache.evictions").functionCounter().count());
+        assertEquals(cache.getUsedBytes(), registry.get("candlestick.cache.size").gauge().value());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testWritesDoNotCreateSeries() {
+        CandlestickSeriesCache cache = new CandlestickSeriesCache(DataSize.ofMegabytes(1), 16);
+
+        cache.put("BTCUSDT", CandlestickInterval.ONE_MINUTE, series(createCandlestick(START)));
+
+        assertEquals(0, cache.getUsedBytes());
+        cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, START, database);
+        assertEquals(1, loadedRanges.size());
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new CandlestickSeriesCache(DataSize.ofBytes(-1), 16));
+        assertThrows(IllegalArgumentException.class, () -> new CandlestickSeriesCache(DataSize.ofMegabytes(1), 0));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testInvertedRangeIsEmpty() {
+        CandlestickSeriesCache cache = new CandlestickSeriesCache(DataSize.ofMegabytes(1), 16);
+
+        assertTrue(cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, minute(5), minute(4), database).isEmpty());
+        assertTrue(loadedRanges.isEmpty());
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysLoads() {
+        CandlestickSeriesCache cache = CandlestickSeriesCache.disabled();
+
+        cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+        cache.getSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, minute(9), database);
+
+        assertEquals(2, loadedRanges.size());
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    private static long minute(int index) {
+        return START + index * ONE_MINUTE;
+    }
+
+    private static CandleSeries series(Candlestick... candlesticks) {
+        return CandleSeries.fromCandlesticks(List.of(candlesticks));
+    }
+
+    private static Candlestick createCandlestick(long openTime) {
+        Candlestick candlestick = new Candlestick();
+        candlestick.setOpenTime(openTime);
+        candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+        candlestick.setOpen("1.0");
+        candlestick.setClose("1.5");
+        candlestick.setHigh("2.0");
+        candlestick.setLow("0.5");
+        candlestick.setVolume("1000.0");
+        candlestick.setQuoteAssetVolume("2000.0");
+        candlestick.setNumberOfTrades(500L);
+        candlestick.setTakerBuyBaseAssetVolume("700.0");
+        candlestick.setTakerBuyQuoteAssetVolume("1400.0");
+        return candlestick;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    //Positive Tests
+
+    @Test
+    public void testConcurrentCallsShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("BTCUSDT", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            // Every caller but the loading one waits before the load completes
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (singleFlight.getCoalescedCount() < 7 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(7, singleFlight.getCoalescedCount());
+            assertEquals(0, singleFlight.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDifferentKeysLoadIndependently() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        // A load may run a load of another key without waiting for itself
+        assertEquals("ba", singleFlight.execute("A", () -> singleFlight.execute("B", () -> "b") + "a"));
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testFailureReachesEveryWaiter() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> loading = executor.submit(() -> singleFlight.execute("BTCUSDT", () -> {
+                await(release);
+                throw new IllegalStateException("Request weight exhausted");
+            }));
+            while (singleFlight.getInFlightCount() == 0) {
+                Thread.sleep(5);
+            }
+            Future<Integer> waiting = executor.submit(() -> singleFlight.execute("BTCUSDT", () -> 1));
+            while (singleFlight.getCoalescedCount() == 0) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            Exception loadingFailure = assertThrows(Exception.class, () -> loading.get(10, TimeUnit.SECONDS));
+            Exception waitingFailure = assertThrows(Exception.class, () -> waiting.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, loadingFailure.getCause());
+            assertInstanceOf(IllegalStateException.class, waitingFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testNextCallAfterFailureLoadsAgain() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("BTCUSDT", () -> {
+            throw new IllegalStateException("Timeout");
+        }));
+
+        assertEquals(2, singleFlight.execute("BTCUSDT", () -> 2));
+        assertEquals(0, singleFlight.getInFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
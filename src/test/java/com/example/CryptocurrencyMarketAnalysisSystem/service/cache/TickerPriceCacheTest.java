@@ -0,0 +1,198 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.cache;
+
+import com.binance.api.client.domain.market.TickerPrice;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.PriceCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickerPriceCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+    private final AtomicInteger requests = new AtomicInteger();
+    private PriceCacheProperties properties;
+    private TickerPriceCache cache;
+
+    // Stands in for the price endpoint: the price of every symbol is the number of requests so far
+    private final Function<String, TickerPrice> upstream = symbol -> price(symbol, requests.incrementAndGet());
+
+    @BeforeEach
+    public void setup() {
+        properties = new PriceCacheProperties();
+        properties.setFreshness(Duration.ofSeconds(2));
+        properties.setTrackingTimeout(Duration.ofMinutes(5));
+        cache = new TickerPriceCache(properties, nanos::get);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testFreshPriceIsServedFromCache() {
+        assertEquals("1", cache.get("btcusdt", upstream).getPrice());
+        advance(Duration.ofMillis(1500));
+
+        assertEquals("1", cache.get("BTCUSDT", upstream).getPrice());
+
+        assertEquals(1, requests.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(0.5, cache.getHitRatio());
+        assertEquals(1500, cache.getMaxStalenessMillis(), 1e-9);
+    }
+
+    @Test
+    public void testStalePriceIsLoadedAgain() {
+        cache.get("BTCUSDT", upstream);
+        advance(Duration.ofMillis(2001));
+
+        assertEquals("2", cache.get("BTCUSDT", upstream).getPrice());
+        assertEquals(2, cache.getUpstreamRequests());
+        assertEquals(0, cache.getMaxStalenessMillis(), 1e-9);
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, TickerPrice> slowUpstream = symbol -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return upstream.apply(symbol);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<TickerPrice>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> cache.get("BTCUSDT", slowUpstream)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cache.getCoalescedCount() < 15 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<TickerPrice> result : results) {
+                assertEquals("1", result.get(10, TimeUnit.SECONDS).getPrice());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, requests.get());
+        assertEquals(15, cache.getCoalescedCount());
+        assertEquals(16, cache.getMisses());
+    }
+
+    @Test
+    public void testBulkRefreshUpdatesTrackedSymbols() {
+        cache.get("BTCUSDT", upstream);
+        cache.get("ETHUSDT", upstream);
+        advance(Duration.ofSeconds(5));
+
+        int updated = cache.refreshTracked(() -> List.of(price("BTCUSDT", 100), price("ETHUSDT", 200), price("BNBUSDT", 300)));
+
+        assertEquals(2, updated);
+        assertEquals(Set.of("BTCUSDT", "ETHUSDT"), cache.getTrackedSymbols());
+        assertEquals("100", cache.get("BTCUSDT", upstream).getPrice());
+        assertEquals("200", cache.get("ETHUSDT", upstream).getPrice());
+        assertEquals(2, requests.get());
+        assertEquals(3, cache.getUpstreamRequests());
+    }
+
+    @Test
+    public void testMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.get("BTCUSDT", upstream);
+        cache.get("BTCUSDT", upstream);
+        advance(Duration.ofMillis(250));
+
+        assertEquals(1, registry.get("price.cache.hits").functionCounter().count());
+        assertEquals(1, registry.get("price.cache.upstream.requests").functionCounter().count());
+        assertEquals(0.5, registry.get("price.cache.hit.ratio").gauge().value());
+        assertEquals(250, registry.get("price.cache.staleness.max").gauge().value(), 1e-9);
+        assertEquals(1, registry.get("price.cache.symbols").gauge().value());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testFailedRequestIsNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get("BTCUSDT", symbol -> {
+            throw new IllegalStateException("Request weight exhausted");
+        }));
+
+        assertEquals("1", cache.get("BTCUSDT", upstream).getPrice());
+        assertEquals(Set.of("BTCUSDT"), cache.getTrackedSymbols());
+    }
+
+    @Test
+    public void testBulkRefreshWithoutTrackedSymbolsSendsNoRequest() {
+        AtomicInteger bulkRequests = new AtomicInteger();
+
+        assertEquals(0, cache.refreshTracked(() -> {
+            bulkRequests.incrementAndGet();
+            return List.of();
+        }));
+        assertEquals(0, bulkRequests.get());
+        assertTrue(Double.isNaN(cache.getHitRatio()));
+    }
+
+    @Test
+    public void testNegativeFreshness() {
+        properties.setFreshness(Duration.ofSeconds(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TickerPriceCache(properties, nanos::get));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testZeroFreshnessSendsEveryReadUpstream() {
+        properties.setFreshness(Duration.ZERO);
+        cache = new TickerPriceCache(properties, nanos::get);
+
+        cache.get("BTCUSDT", upstream);
+        advance(Duration.ofNanos(1));
+        cache.get("BTCUSDT", upstream);
+
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    public void testIdleSymbolsStopBeingTracked() {
+        cache.get("BTCUSDT", upstream);
+        advance(Duration.ofMinutes(4));
+        cache.get("ETHUSDT", upstream);
+        advance(Duration.ofMinutes(2));
+
+        cache.refreshTracked(() -> List.of(price("BTCUSDT", 100), price("ETHUSDT", 200)));
+
+        assertEquals(Set.of("ETHUSDT"), cache.getTrackedSymbols());
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static TickerPrice price(String symbol, int price) {
+        TickerPrice tickerPrice = new TickerPrice();
+        tickerPrice.setSymbol(symbol);
+        tickerPrice.setPrice(Integer.toString(price));
+        return tickerPrice;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.cache.benchmark;
+
+import com.binance.api.client.domain.market.TickerPrice;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.PriceCacheProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.BinancePriceService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.TickerPriceCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark of a burst of users reading the BTCUSDT price: 16 threads read as fast as they can, against a
+ * stub client that takes 20 ms per request like a round trip to Binance. The direct benchmark sends every read
+ * upstream as the service did before the cache; the cached one goes through the service with a one second
+ * freshness window. Reads per second are the score; upstream requests per second are printed after each
+ * iteration and stay at about one per freshness window however many reads there are.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class TickerPriceCacheBenchmark {
+    private static final long ROUND_TRIP_MILLIS = 20;
+
+    private final LongAdder upstreamRequests = new LongAdder();
+    private BinanceMarketDataClient binanceApiClient;
+    private BinancePriceService priceService;
+    private long iterationStartNanos;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        binanceApiClient = mock(BinanceMarketDataClient.class);
+        when(binanceApiClient.getPrice(anyString())).thenAnswer(invocation -> {
+            upstreamRequests.increment();
+            Thread.sleep(ROUND_TRIP_MILLIS);
+            TickerPrice price = new TickerPrice();
+            price.setSymbol(invocation.getArgument(0));
+            price.setPrice("42000.00000000");
+            return price;
+        });
+        PriceCacheProperties properties = new PriceCacheProperties();
+        properties.setFreshness(Duration.ofSeconds(1));
+        // Enough weight for any rate here, so only the cache bounds the requests
+        BinanceRequestWeightLimiter limiter = new BinanceRequestWeightLimiter(Integer.MAX_VALUE, Duration.ofSeconds(2));
+        priceService = new BinancePriceService(limiter, binanceApiClient, new TickerPriceCache(properties), properties);
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        upstreamRequests.reset();
+        iterationStartNanos = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        double seconds = (System.nanoTime() - iterationStartNanos) / 1e9;
+        System.out.printf("upstream requests=%d (%.1f/s)%n", upstreamRequests.sum(), upstreamRequests.sum() / seconds);
+    }
+
+    @Benchmark
+    public TickerPrice direct() {
+        return binanceApiClient.getPrice("BTCUSDT");
+    }
+
+    @Benchmark
+    public TickerPrice cached() {
+        return priceService.getCurrentPrice("BTCUSDT");
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.CandlestickBackfillExecutor;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class IngestionTracerTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final ListAppender<ILoggingEvent> summaries = new ListAppender<>();
+    private final ListAppender<ILoggingEvent> candles = new ListAppender<>();
+    private Logger summaryLogger;
+    private Logger candleLogger;
+    private IngestionTracer tracer;
+
+    @BeforeEach
+    public void setup() {
+        summaryLogger = (Logger) LoggerFactory.getLogger(IngestionTracer.class);
+        candleLogger = (Logger) LoggerFactory.getLogger(IngestionTracer.class.getName() + ".candles");
+        summaries.start();
+        candles.start();
+        summaryLogger.addAppender(summaries);
+        candleLogger.addAppender(candles);
+        candleLogger.setLevel(Level.DEBUG);
+        // Sampled candles are collected on their own, not with the summaries of the parent logger
+        candleLogger.setAdditive(false);
+        tracer = new IngestionTracer(100, nanoTime::get);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        summaryLogger.detachAppender(summaries);
+        candleLogger.detachAppender(candles);
+        candleLogger.setLevel(null);
+        candleLogger.setAdditive(true);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testCompletedPageIsCountedAndTimed() {
+        try (IngestionTracer.Span span = tracer.start(IngestionTracer.Stage.STORE, "BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START, START + 1000 * ONE_MINUTE)) {
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+            span.completed(1000);
+        }
+
+        assertEquals(1, tracer.getPageCount(IngestionTracer.Stage.STORE));
+        assertEquals(1000, tracer.getCandleCount(IngestionTracer.Stage.STORE));
+        assertEquals(0, tracer.getPageCount(IngestionTracer.Stage.FETCH));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        tracer.bindTo(registry);
+        FunctionTimer pages = registry.get("candlestick.ingestion.pages").tag("stage", "store").functionTimer();
+        assertEquals(1, pages.count());
+        assertEquals(40, pages.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    public void testPageIsSummarisedInOneLine() {
+        try (IngestionTracer.Span span = tracer.start(IngestionTracer.Stage.FETCH, "BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START, START + 1000 * ONE_MINUTE)) {
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(120));
+            span.completed(1000);
+        }
+
+        assertEquals(1, summaries.list.size());
+        assertEquals("stage=fetch symbol=BTCUSDT interval=ONE_MINUTE from=" + START + " to=" + (START + 1000 * ONE_MINUTE)
+                + " candles=1000 durationMs=120 outcome=ok", summaries.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    public void testOneCandleInEverySampleIsLogged() {
+        try (IngestionTracer.Span span = tracer.start(IngestionTracer.Stage.FETCH, "BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START, START + 1000 * ONE_MINUTE)) {
+            span.sampleCandles(1000, index -> "candle" + index);
+            span.completed(1000);
+        }
+
+        assertEquals(10, candles.list.size());
+        assertTrue(candles.list.get(0).getFormattedMessage().endsWith("index=0 of=1000 candle=candle0"));
+        assertTrue(candles.list.get(9).getFormattedMessage().endsWith("index=900 of=1000 candle=candle900"));
+    }
+
+    @Test
+    public void testFetchedPagesAreTraced() {
+        CandlestickDataService candlestickDataService = mock(CandlestickDataService.class);
+        when(candlestickDataService.getCandleSeries(anyString(), any(), any(), any())).thenReturn(CandleSeries.empty());
+        when(candlestickDataService.deriveCandleSeries(anyString(), any(), anyList())).thenReturn(CandleSeries.empty());
+        BinanceMarketDataClient binanceApiClient = mock(BinanceMarketDataClient.class);
+        when(binanceApiClient.getCandlestickBars(anyString(), any(CandlestickInterval.class), anyInt(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> createCandlesticks(invocation.getArgument(3), invocation.getArgument(4)));
+        BinanceHistoricalDataService service = new BinanceHistoricalDataService(candlestickDataService,
+                new CandlestickBackfillExecutor(Runnable::run, BinanceRequestWeightLimiter.KLINES_WEIGHT),
+                new BinanceRequestWeightLimiter(6000, Duration.ofSeconds(2)), binanceApiClient, tracer);
+
+        service.getHistoricalCandleSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, START + 2500 * ONE_MINUTE);
+
+        // Three pages of at most a thousand candles, each summarised once and sampled every hundred candles
+        assertEquals(3, tracer.getPageCount(IngestionTracer.Stage.FETCH));
+        assertEquals(2500, tracer.getCandleCount(IngestionTracer.Stage.FETCH));
+        assertEquals(3, summaries.list.size());
+        assertEquals(25, candles.list.size());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testPageClosedWithoutCompletionIsFailed() {
+        assertThrows(IllegalStateException.class, () -> {
+            try (IngestionTracer.Span span = tracer.start(IngestionTracer.Stage.FETCH, "BTCUSDT",
+                    CandlestickInterval.ONE_MINUTE, START, START + ONE_MINUTE)) {
+                throw new IllegalStateException("API unavailable");
+            }
+        });
+
+        assertEquals(1, tracer.getFailureCount(IngestionTracer.Stage.FETCH));
+        assertEquals(0, tracer.getCandleCount(IngestionTracer.Stage.FETCH));
+        assertTrue(summaries.list.get(0).getFormattedMessage().endsWith("outcome=failed"));
+    }
+
+    @Test
+    public void testCandlesAreNotRenderedWithoutDebug() {
+        candleLogger.setLevel(Level.INFO);
+        AtomicInteger rendered = new AtomicInteger();
+
+        try (IngestionTracer.Span span = tracer.start(IngestionTracer.Stage.STORE, "BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START, START + 1000 * ONE_MINUTE)) {
+            span.sampleCandles(1000, index -> rendered.incrementAndGet());
+            span.completed(1000);
+        }
+
+        assertEquals(0, rendered.get());
+        assertTrue(candles.list.isEmpty());
+    }
+
+    @Test
+    public void testInvalidSampleRateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IngestionTracer(0));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testDisabledTracerRecordsNothing() {
+        IngestionTracer disabled = IngestionTracer.disabled();
+
+        try (IngestionTracer.Span span = disabled.start(IngestionTracer.Stage.STORE, "BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START, START + ONE_MINUTE)) {
+            span.sampleCandles(1, index -> "candle" + index);
+            span.completed(1);
+        }
+
+        assertEquals(0, disabled.getPageCount(IngestionTracer.Stage.STORE));
+        assertTrue(summaries.list.isEmpty());
+        assertTrue(candles.list.isEmpty());
+    }
+
+    @Test
+    public void testPageSmallerThanSampleLogsFirstCandle() {
+        try (IngestionTracer.Span span = tracer.start(IngestionTracer.Stage.STORE, "BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START, START + 3 * ONE_MINUTE)) {
+            span.sampleCandles(3, index -> "candle" + index);
+            span.completed(3);
+        }
+
+        assertEquals(1, candles.list.size());
+    }
+
+    // Creates one-minute candles opening between startTime and endTime inclusive
+    private static List<Candlestick> createCandlesticks(long startTime, long endTime) {
+        List<Candlestick> candlesticks = new ArrayList<>();
+        for (long openTime = startTime; openTime <= endTime; openTime += ONE_MINUTE) {
+            Candlestick candlestick = new Candlestick();
+            candlestick.setOpenTime(openTime);
+            candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+            candlestick.setOpen("1.0");
+            candlestick.setClose("2.0");
+            candlestick.setHigh("3.0");
+            candlestick.setLow("0.5");
+            candlestick.setVolume("1000");
+            candlestick.setQuoteAssetVolume("2000");
+            candlestick.setNumberOfTrades(500L);
+            candlestick.setTakerBuyBaseAssetVolume("700");
+            candlestick.setTakerBuyQuoteAssetVolume("1400");
+            candlesticks.add(candlestick);
+        }
+        return candlesticks;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+    private final ReentrantLock lock = new ReentrantLock();
+    private SimpleAsyncTaskExecutor virtualThreads;
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @BeforeEach
+    public void setup() {
+        virtualThreads = new SimpleAsyncTaskExecutor("pinning-test-");
+        virtualThreads.setVirtualThreads(true);
+        pinningMonitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+        pinningMonitor.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pinningMonitor.close();
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testSleepInsideSynchronizedIsReported() throws Exception {
+        runOnVirtualThread(() -> {
+            synchronized (monitor) {
+                sleep(50);
+            }
+        });
+
+        awaitPins(1);
+        assertTrue(pinningMonitor.getPinnedMillis() >= 40);
+    }
+
+    @Test
+    public void testPinsAreRegisteredAsTimer() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pinningMonitor.bindTo(registry);
+        runOnVirtualThread(() -> {
+            synchronized (monitor) {
+                sleep(50);
+            }
+        });
+
+        awaitPins(1);
+        FunctionTimer timer = registry.get("jvm.threads.virtual.pinned").functionTimer();
+        assertEquals(1, timer.count(), 1e-9);
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 40);
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testSleepInsideReentrantLockIsNotReported() throws Exception {
+        runOnVirtualThread(() -> {
+            lock.lock();
+            try {
+                sleep(50);
+            } finally {
+                lock.unlock();
+            }
+        });
+        // A pin made after this one shows that the stream has delivered the events before it
+        runOnVirtualThread(() -> {
+            synchronized (monitor) {
+                sleep(50);
+            }
+        });
+
+        awaitPins(1);
+        assertEquals(1, pinningMonitor.getPinnedCount());
+    }
+
+    @Test
+    public void testNegativeThresholdIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new VirtualThreadPinningMonitor(Duration.ofMillis(-1)));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testPinShorterThanThresholdIsNotReported() throws Exception {
+        runOnVirtualThread(() -> {
+            synchronized (monitor) {
+                sleep(1);
+            }
+        });
+        runOnVirtualThread(() -> {
+            synchronized (monitor) {
+                sleep(50);
+            }
+        });
+
+        awaitPins(1);
+        assertEquals(1, pinningMonitor.getPinnedCount());
+    }
+
+    private void runOnVirtualThread(Runnable task) throws Exception {
+        CompletableFuture.runAsync(task, virtualThreads).get(10, TimeUnit.SECONDS);
+    }
+
+    // Events reach the monitor when the JFR stream flushes, about once a second
+    private void awaitPins(long count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (pinningMonitor.getPinnedCount() < count) {
+            assertTrue(System.nanoTime() < deadline, "No pinned virtual thread reported");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        // Waits for one more flush, so a pin counted twice would show
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1500));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
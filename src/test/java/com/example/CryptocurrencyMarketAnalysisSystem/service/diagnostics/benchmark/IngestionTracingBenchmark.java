@@ -0,0 +1,141 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.diagnostics.IngestionTracer;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of the logging cost of one fetched page of a thousand candles, written to a log file through the
+ * synchronous file appender or through an async appender in front of it. Sampling every candle reproduces the
+ * former per-candle logging; sampling every hundredth is the default. The log bytes written per page are printed
+ * at the end of each trial; the async appender drops DEBUG lines while its queue is mostly full.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestionTracingBenchmark {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    @Param({"1", "100"})
+    public int candleSampleEvery;
+
+    private Path logFile;
+    private Appender<ILoggingEvent> logAppender;
+    private Logger traceLogger;
+    private IngestionTracer tracer;
+    private List<Candlestick> page;
+    private final AtomicLong pages = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logFile = Files.createTempFile("ingestion-trace", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} %-5level %logger{36} - %msg%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(logFile.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+        if (appender.equals("async")) {
+            // As configured in logback-spring.xml
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            logAppender = asyncAppender;
+        } else {
+            logAppender = fileAppender;
+        }
+
+        traceLogger = context.getLogger(IngestionTracer.class);
+        traceLogger.detachAndStopAllAppenders();
+        traceLogger.setAdditive(false);
+        traceLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        traceLogger.addAppender(logAppender);
+        context.getLogger(IngestionTracer.class.getName() + ".candles").setLevel(ch.qos.logback.classic.Level.DEBUG);
+
+        tracer = new IngestionTracer(candleSampleEvery);
+        page = createPage();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        traceLogger.detachAppender(logAppender);
+        logAppender.stop();
+        System.out.printf("appender=%s sample every=%d log bytes per page=%d%n", appender, candleSampleEvery,
+                Files.size(logFile) / Math.max(1, pages.get()));
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public int tracePage() {
+        pages.incrementAndGet();
+        try (IngestionTracer.Span span = tracer.start(IngestionTracer.Stage.FETCH, "BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START, START + PAGE_SIZE * ONE_MINUTE)) {
+            span.sampleCandles(page.size(), page::get);
+            span.completed(page.size());
+            return page.size();
+        }
+    }
+
+    private static List<Candlestick> createPage() {
+        List<Candlestick> candlesticks = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Candlestick candlestick = new Candlestick();
+            candlestick.setOpenTime(START + i * ONE_MINUTE);
+            candlestick.setCloseTime(START + (i + 1) * ONE_MINUTE - 1);
+            candlestick.setOpen("42000.10");
+            candlestick.setHigh("42010.55");
+            candlestick.setLow("41990.00");
+            candlestick.setClose("42005.20");
+            candlestick.setVolume("12.345");
+            candlestick.setQuoteAssetVolume("518000.12");
+            candlestick.setNumberOfTrades(420L);
+            candlestick.setTakerBuyBaseAssetVolume("6.1");
+            candlestick.setTakerBuyQuoteAssetVolume("256000.3");
+            candlesticks.add(candlestick);
+        }
+        return candlesticks;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Command line arguments.
+     * @throws Exception If an error occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.export;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandleColumnWriterTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    //Positive Tests
+
+    @Test
+    public void testBinaryHeaderDescribesColumns() throws IOException {
+        List<CandleColumn> columns = List.of(CandleColumn.OPEN_TIME, CandleColumn.CLOSE, CandleColumn.NUMBER_OF_TRADES);
+
+        ByteBuffer buffer = writeBinary(createSeries(3), columns);
+
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        assertArrayEquals(CandleColumnWriter.MAGIC, magic);
+        assertEquals(CandleColumnWriter.VERSION, buffer.getInt());
+        assertEquals(3, buffer.getInt());
+        assertEquals(3, buffer.getInt());
+        assertEquals("openTime", readColumnName(buffer, CandleColumnWriter.TYPE_INT64));
+        assertEquals("close", readColumnName(buffer, CandleColumnWriter.TYPE_FLOAT64));
+        assertEquals("numberOfTrades", readColumnName(buffer, CandleColumnWriter.TYPE_INT64));
+        assertEquals(CandleColumnWriter.binarySize(3, columns), buffer.capacity());
+    }
+
+    @Test
+    public void testBinaryColumnsRoundTrip() throws IOException {
+        CandleSeries candles = createSeries(20_000);
+        List<CandleColumn> columns = List.of(CandleColumn.values());
+
+        ByteBuffer buffer = writeBinary(candles, columns);
+        int dataStart = buffer.capacity() - columns.size() * candles.size() * Long.BYTES;
+
+        assertEquals(0, dataStart % Long.BYTES);
+        buffer.position(dataStart);
+        for (CandleColumn column : columns) {
+            if (column.isInteger()) {
+                long[] values = new long[candles.size()];
+                buffer.asLongBuffer().get(values);
+                assertArrayEquals(column.copyLongs(candles), values, column.getFieldName());
+            } else {
+                double[] values = new double[candles.size()];
+                buffer.asDoubleBuffer().get(values);
+                assertArrayEquals(column.copyDoubles(candles), values, column.getFieldName());
+            }
+            buffer.position(buffer.position() + candles.size() * Long.BYTES);
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testJsonHasSameColumns() throws IOException {
+        CandleSeries candles = createSeries(5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        CandleColumnWriter.writeJson(candles, List.of(CandleColumn.OPEN_TIME, CandleColumn.HIGH), out);
+
+        JsonNode json = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(5, json.get("rows").asInt());
+        assertEquals(2, json.get("columns").size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(candles.openTime(i), json.get("columns").get("openTime").get(i).asLong());
+            assertEquals(candles.high(i), json.get("columns").get("high").get(i).asDouble());
+        }
+    }
+
+    @Test
+    public void testParseColumnsInRequestedOrder() {
+        assertEquals(List.of(CandleColumn.CLOSE, CandleColumn.OPEN_TIME), CandleColumn.parse("close, openTime"));
+        assertEquals(List.of(CandleColumn.values()), CandleColumn.parse(null));
+        assertEquals(List.of(CandleColumn.QUOTE_ASSET_VOLUME), CandleColumn.parse("QUOTE_ASSET_VOLUME"));
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testParseRejectsUnknownColumn() {
+        assertThrows(IllegalArgumentException.class, () -> CandleColumn.parse("openTime,price"));
+    }
+
+    @Test
+    public void testParseRejectsRepeatedColumn() {
+        assertThrows(IllegalArgumentException.class, () -> CandleColumn.parse("close,close"));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testEmptySeriesWritesHeaderOnly() throws IOException {
+        List<CandleColumn> columns = List.of(CandleColumn.OPEN);
+
+        ByteBuffer buffer = writeBinary(CandleSeries.empty(), columns);
+
+        assertEquals(CandleColumnWriter.binarySize(0, columns), buffer.capacity());
+        assertEquals(0, buffer.getInt(8));
+    }
+
+    private static ByteBuffer writeBinary(CandleSeries candles, List<CandleColumn> columns) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CandleColumnWriter.writeBinary(candles, columns, out);
+        return ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static String readColumnName(ByteBuffer buffer, byte expectedType) {
+        assertEquals(expectedType, buffer.get());
+        byte[] name = new byte[buffer.get()];
+        buffer.get(name);
+        return new String(name, StandardCharsets.US_ASCII);
+    }
+
+    private static CandleSeries createSeries(int size) {
+        CandleSeries.Builder builder = CandleSeries.builder(size);
+        for (int i = 0; i < size; i++) {
+            double price = 20_000 + i * 0.25;
+            builder.add(START + i * ONE_MINUTE, START + (i + 1) * ONE_MINUTE - 1, price, price + 3, price - 2,
+                    price + 1, 10 + i % 7, 200_000 + i, 100 + i, 5 + i % 3, 100_000 + i);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.export.benchmark;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.export.CandleColumn;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.export.CandleColumnWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the candle API formats for one month and two years of ONE_MINUTE candles with all eleven
+ * columns: a Jackson List of Binance candles as the baseline, against the columnar JSON and binary writers.
+ * Each operation serializes the whole range into a stream that only counts the bytes; the sizes are printed
+ * once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CandleColumnWriterBenchmark {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final List<CandleColumn> COLUMNS = List.of(CandleColumn.values());
+
+    @Param({"43200", "1051200"})
+    public int candles;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CandleSeries series;
+    private List<Candlestick> candlesticks;
+
+    // Discards what is written and counts it
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        CandleSeries.Builder builder = CandleSeries.builder(candles);
+        double price = 20000;
+        for (int i = 0; i < candles; i++) {
+            double next = Math.round((price + Math.sin(i * 0.37) * 15 + Math.cos(i / 911.0) * 4) * 100) / 100.0;
+            builder.add(START + i * ONE_MINUTE, START + (i + 1) * ONE_MINUTE - 1, price, Math.max(price, next) + 3,
+                    Math.min(price, next) - 3, next, 12.5 + i % 13, 250000 + i % 1000, 300 + i % 50, 6.25, 125000);
+            price = next;
+        }
+        series = builder.build();
+        // The baseline starts from the list the historical service used to return, so building it is not timed
+        candlesticks = series.toCandlesticks();
+        System.out.printf("candles=%d jackson=%d bytes json=%d bytes binary=%d bytes%n", candles,
+                jacksonCandlesticks(), json(), binary());
+    }
+
+    @Benchmark
+    public long jacksonCandlesticks() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, candlesticks);
+        return out.count;
+    }
+
+    @Benchmark
+    public long json() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        CandleColumnWriter.writeJson(series, COLUMNS, out);
+        return out.count;
+    }
+
+    @Benchmark
+    public long binary() throws Exception {
+        CountingOutputStream out = new CountingOutputStream();
+        CandleColumnWriter.writeBinary(series, COLUMNS, out);
+        return out.count;
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
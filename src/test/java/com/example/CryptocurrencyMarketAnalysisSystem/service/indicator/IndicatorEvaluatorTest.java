@@ -0,0 +1,247 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.WilderRSI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndicatorEvaluatorTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final int SIZE = 300;
+    private static final double DELTA = 1e-6;
+
+    private CandleSeries candles;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+
+    @BeforeEach
+    public void setup() {
+        Random random = new Random(42);
+        CandleSeries.Builder builder = CandleSeries.builder(SIZE);
+        double price = 20000;
+        for (int i = 0; i < SIZE; i++) {
+            double open = price;
+            price = Math.max(1, price + random.nextGaussian() * 20);
+            double high = Math.max(open, price) + random.nextDouble() * 10;
+            double low = Math.min(open, price) - random.nextDouble() * 10;
+            builder.add(START + i * ONE_MINUTE, START + (i + 1) * ONE_MINUTE - 1, open, high, low, price,
+                    random.nextDouble() * 100, 0, 0, 0, 0);
+        }
+        candles = builder.build();
+        high = candles.highs();
+        low = candles.lows();
+        close = candles.closes();
+        volume = candles.volumes();
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testSimpleMovingAverage() {
+        double[] sma = evaluate(new SimpleMovingAverage(20)).get("SMA(20)");
+
+        for (int i = 19; i < SIZE; i++) {
+            assertEquals(mean(close, i - 19, i + 1), sma[i], DELTA);
+        }
+    }
+
+    @Test
+    public void testExponentialMovingAverage() {
+        double[] ema = evaluate(new ExponentialMovingAverage(10)).get("EMA(10)");
+
+        assertArrayEquals(referenceEma(close, 0, 10), ema, DELTA);
+    }
+
+    @Test
+    public void testMACD() {
+        Map<String, double[]> values = evaluate(new MACD(12, 26, 9));
+
+        double[] fast = referenceEma(close, 0, 12);
+        double[] slow = referenceEma(close, 0, 26);
+        double[] macd = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            macd[i] = fast[i] - slow[i];
+        }
+        double[] signal = referenceEma(macd, 25, 9);
+        for (int i = 33; i < SIZE; i++) {
+            assertEquals(macd[i], values.get("MACD(12,26,9).macd")[i], DELTA);
+            assertEquals(signal[i], values.get("MACD(12,26,9).signal")[i], DELTA);
+            assertEquals(macd[i] - signal[i], values.get("MACD(12,26,9).histogram")[i], DELTA);
+        }
+        assertTrue(Double.isNaN(values.get("MACD(12,26,9).signal")[32]));
+    }
+
+    @Test
+    public void testBollingerBands() {
+        Map<String, double[]> values = evaluate(new BollingerBands(20, 2));
+
+        for (int i = 19; i < SIZE; i++) {
+            double mean = mean(close, i - 19, i + 1);
+            double variance = 0;
+            for (int j = i - 19; j <= i; j++) {
+                variance += (close[j] - mean) * (close[j] - mean);
+            }
+            double width = 2 * Math.sqrt(variance / 20);
+            assertEquals(mean, values.get("BOLLINGER(20,2).middle")[i], DELTA);
+            assertEquals(mean + width, values.get("BOLLINGER(20,2).upper")[i], 1e-4);
+            assertEquals(mean - width, values.get("BOLLINGER(20,2).lower")[i], 1e-4);
+        }
+    }
+
+    @Test
+    public void testAverageTrueRange() {
+        double[] atr = evaluate(new AverageTrueRange(14)).get("ATR(14)");
+
+        double expected = 0;
+        for (int i = 1; i <= 14; i++) {
+            expected += trueRange(i);
+        }
+        expected /= 14;
+        assertEquals(expected, atr[14], DELTA);
+        for (int i = 15; i < SIZE; i++) {
+            expected = (expected * 13 + trueRange(i)) / 14;
+            assertEquals(expected, atr[i], DELTA);
+        }
+        assertTrue(Double.isNaN(atr[13]));
+    }
+
+    @Test
+    public void testVWAP() {
+        double[] vwap = evaluate(new VWAP()).get("VWAP");
+
+        double priceVolume = 0;
+        double totalVolume = 0;
+        for (int i = 0; i < SIZE; i++) {
+            priceVolume += (high[i] + low[i] + close[i]) / 3 * volume[i];
+            totalVolume += volume[i];
+            assertEquals(priceVolume / totalVolume, vwap[i], DELTA);
+        }
+    }
+
+    @Test
+    public void testStochasticOscillator() {
+        Map<String, double[]> values = evaluate(new StochasticOscillator(14, 3));
+
+        double[] k = values.get("STOCHASTIC(14,3).k");
+        for (int i = 13; i < SIZE; i++) {
+            double highest = Double.NEGATIVE_INFINITY;
+            double lowest = Double.POSITIVE_INFINITY;
+            for (int j = i - 13; j <= i; j++) {
+                highest = Math.max(highest, high[j]);
+                lowest = Math.min(lowest, low[j]);
+            }
+            assertEquals((close[i] - lowest) / (highest - lowest) * 100, k[i], DELTA);
+        }
+        for (int i = 15; i < SIZE; i++) {
+            assertEquals(mean(k, i - 2, i + 1), values.get("STOCHASTIC(14,3).d")[i], DELTA);
+        }
+        assertTrue(Double.isNaN(values.get("STOCHASTIC(14,3).d")[14]));
+    }
+
+    @Test
+    public void testRelativeStrengthIndexMatchesWilderRSI() {
+        double[] expected = new double[SIZE];
+        WilderRSI.calculate(close, SIZE, 14, expected);
+
+        assertArrayEquals(expected, evaluate(new RelativeStrengthIndex(14)).get("RSI(14)"), DELTA);
+    }
+
+    @Test
+    public void testFusedEvaluationMatchesSeparateEvaluation() {
+        List<Indicator> indicators = Indicators.parse(Indicators.DEFAULT_SPECIFICATION);
+
+        Map<String, double[]> fused = IndicatorEvaluator.evaluate(candles, indicators);
+
+        assertEquals(13, fused.size());
+        for (Indicator indicator : indicators) {
+            evaluate(indicator).forEach((key, values) -> assertArrayEquals(values, fused.get(key), key));
+        }
+        assertEquals(33, IndicatorEvaluator.lookback(indicators));
+    }
+
+    @Test
+    public void testParseAppliesDefaultsAndSkipsDuplicates() {
+        List<Indicator> indicators = Indicators.parse("ema, ema:20, bb:20:2.5, stoch");
+
+        assertEquals(List.of("EMA(20)", "BOLLINGER(20,2.5)", "STOCHASTIC(14,3)"),
+                indicators.stream().map(Indicator::getName).toList());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testUnknownIndicator() {
+        assertThrows(IllegalArgumentException.class, () -> Indicators.parse("SMA:20,FOO:3"));
+    }
+
+    @Test
+    public void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> Indicators.parse("SMA:twenty"));
+        assertThrows(IllegalArgumentException.class, () -> Indicators.parse("EMA:0"));
+        assertThrows(IllegalArgumentException.class, () -> Indicators.parse("MACD:26:12:9"));
+        assertThrows(IllegalArgumentException.class, () -> Indicators.parse(" "));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testFlatMarket() {
+        CandleSeries.Builder builder = CandleSeries.builder(30);
+        for (int i = 0; i < 30; i++) {
+            builder.add(START + i * ONE_MINUTE, START + (i + 1) * ONE_MINUTE - 1, 5, 5, 5, 5, 0, 0, 0, 0, 0);
+        }
+
+        Map<String, double[]> values = IndicatorEvaluator.evaluate(builder.build(),
+                Indicators.parse("BOLLINGER:20:2,STOCHASTIC:14:3,VWAP,ATR:14"));
+
+        assertEquals(5, values.get("BOLLINGER(20,2).upper")[29], DELTA);
+        assertEquals(50, values.get("STOCHASTIC(14,3).d")[29], DELTA);
+        assertEquals(5, values.get("VWAP")[29], DELTA);
+        assertEquals(0, values.get("ATR(14)")[29], DELTA);
+    }
+
+    @Test
+    public void testEmptySeries() {
+        Map<String, double[]> values = IndicatorEvaluator.evaluate(CandleSeries.empty(), List.of(new MACD(12, 26, 9)));
+
+        assertEquals(0, values.get("MACD(12,26,9).macd").length);
+    }
+
+    private Map<String, double[]> evaluate(Indicator indicator) {
+        return IndicatorEvaluator.evaluate(candles, List.of(indicator));
+    }
+
+    private double trueRange(int i) {
+        return Math.max(high[i] - low[i], Math.max(Math.abs(high[i] - close[i - 1]), Math.abs(low[i] - close[i - 1])));
+    }
+
+    private static double mean(double[] values, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum / (to - from);
+    }
+
+    // EMA of values starting at index first, seeded with the mean of its first period values
+    private static double[] referenceEma(double[] values, int first, int period) {
+        double[] ema = new double[values.length];
+        Arrays.fill(ema, Double.NaN);
+        int seeded = first + period - 1;
+        ema[seeded] = mean(values, first, seeded + 1);
+        for (int i = seeded + 1; i < values.length; i++) {
+            ema[i] = ema[i - 1] + 2.0 / (period + 1) * (values[i] - ema[i - 1]);
+        }
+        return ema;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.benchmark;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.IndicatorData;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.IndicatorService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicator;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.IndicatorEvaluator;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicators;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the fused evaluation of the default indicator set with one fetch and one pass per
+ * indicator. The fetch converts the Binance candlesticks of the window, which is what the historical data
+ * service does for every request that is not answered from the series cache. The compute-only benchmarks
+ * evaluate an already fetched series, to separate the saved fetches from the saved passes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndicatorEvaluationBenchmark {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    @Param({"10000", "1000000"})
+    public int candles;
+
+    private List<Indicator> indicators;
+    private CandleSeries series;
+    private IndicatorService indicatorService;
+    private long endTime;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        indicators = Indicators.parse(Indicators.DEFAULT_SPECIFICATION);
+        List<Candlestick> candlesticks = createCandlesticks(candles);
+        series = CandleSeries.fromCandlesticks(candlesticks);
+        endTime = START + candles * ONE_MINUTE;
+        indicatorService = new IndicatorService(new BinanceHistoricalDataService(null) {
+            @Override
+            public CandleSeries getHistoricalCandleSeries(String symbol, CandlestickInterval interval, long startTime, long endTime) {
+                return CandleSeries.fromCandlesticks(candlesticks);
+            }
+        });
+    }
+
+    @Benchmark
+    public IndicatorData fusedFetchAndEvaluate() {
+        return indicatorService.getIndicatorData("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, endTime, indicators);
+    }
+
+    @Benchmark
+    public void independentFetchAndEvaluate(Blackhole blackhole) {
+        for (Indicator indicator : indicators) {
+            blackhole.consume(indicatorService.getIndicatorData("BTCUSDT", CandlestickInterval.ONE_MINUTE, START, endTime,
+                    List.of(indicator)));
+        }
+    }
+
+    @Benchmark
+    public Object fusedEvaluate() {
+        return IndicatorEvaluator.evaluate(series, indicators);
+    }
+
+    @Benchmark
+    public void separateEvaluate(Blackhole blackhole) {
+        for (Indicator indicator : indicators) {
+            blackhole.consume(IndicatorEvaluator.evaluate(series, List.of(indicator)));
+        }
+    }
+
+    // A random walk of one-minute candles with the eight-decimal strings the Binance API returns
+    private static List<Candlestick> createCandlesticks(int count) {
+        Random random = new Random(42);
+        List<Candlestick> candlesticks = new ArrayList<>(count);
+        double price = 20000;
+        for (int i = 0; i < count; i++) {
+            double open = price;
+            price = Math.max(1, price + random.nextGaussian() * 20);
+            long openTime = START + i * ONE_MINUTE;
+            Candlestick candlestick = new Candlestick();
+            candlestick.setOpenTime(openTime);
+            candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+            candlestick.setOpen(String.format(Locale.ROOT, "%.8f", open));
+            candlestick.setHigh(String.format(Locale.ROOT, "%.8f", Math.max(open, price) + 5));
+            candlestick.setLow(String.format(Locale.ROOT, "%.8f", Math.min(open, price) - 5));
+            candlestick.setClose(String.format(Locale.ROOT, "%.8f", price));
+            candlestick.setVolume(String.format(Locale.ROOT, "%.8f", random.nextDouble() * 100));
+            candlestick.setQuoteAssetVolume(String.format(Locale.ROOT, "%.8f", random.nextDouble() * 2_000_000));
+            candlestick.setNumberOfTrades((long) random.nextInt(5000));
+            candlestick.setTakerBuyBaseAssetVolume(String.format(Locale.ROOT, "%.8f", random.nextDouble() * 50));
+            candlestick.setTakerBuyQuoteAssetVolume(String.format(Locale.ROOT, "%.8f", random.nextDouble() * 1_000_000));
+            candlesticks.add(candlestick);
+        }
+        return candlesticks;
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion;
+
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CandleBatchWriterTest {
+    private static final long START = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final CandlestickInterval INTERVAL = CandlestickInterval.ONE_MINUTE;
+
+    private CandlestickDataService candlestickDataService;
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private CandleBatchWriter writer;
+
+    @BeforeEach
+    public void setup() {
+        candlestickDataService = mock(CandlestickDataService.class);
+        doAnswer(invocation -> {
+            batchSizes.add(((CandleSeries) invocation.getArgument(1)).size());
+            return null;
+        }).when(candlestickDataService).replaceCandleSeries(anyString(), any(CandleSeries.class), any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testFullBatchIsWrittenWithoutWaiting() {
+        writer = new CandleBatchWriter(candlestickDataService, 10, Duration.ofMinutes(1), 100, latency -> {
+        });
+
+        for (int i = 0; i < 10; i++) {
+            writer.submit(INTERVAL, event("BTCUSDT", i, "100"));
+        }
+
+        verify(candlestickDataService, timeout(5000)).replaceCandleSeries(eq("BTCUSDT"), any(CandleSeries.class), eq(INTERVAL));
+        assertEquals(List.of(10), batchSizes);
+        assertEquals(10, writer.getWrittenCount());
+    }
+
+    @Test
+    public void testPartialBatchIsWrittenAfterFlushInterval() {
+        writer = new CandleBatchWriter(candlestickDataService, 100, Duration.ofMillis(50), 100, latency -> {
+        });
+
+        writer.submit(INTERVAL, event("BTCUSDT", 0, "100"));
+        writer.submit(INTERVAL, event("BTCUSDT", 1, "101"));
+
+        verify(candlestickDataService, timeout(5000)).replaceCandleSeries(eq("BTCUSDT"), any(CandleSeries.class), eq(INTERVAL));
+        assertEquals(List.of(2), batchSizes);
+    }
+
+    @Test
+    public void testBatchIsWrittenPerSymbol() {
+        writer = new CandleBatchWriter(candlestickDataService, 4, Duration.ofMinutes(1), 100, latency -> {
+        });
+
+        writer.submit(INTERVAL, event("BTCUSDT", 0, "100"));
+        writer.submit(INTERVAL, event("ETHUSDT", 0, "10"));
+        writer.submit(INTERVAL, event("BTCUSDT", 1, "101"));
+        writer.submit(INTERVAL, event("ETHUSDT", 1, "11"));
+
+        verify(candlestickDataService, timeout(5000)).replaceCandleSeries(eq("BTCUSDT"), any(CandleSeries.class), eq(INTERVAL));
+        verify(candlestickDataService, timeout(5000)).replaceCandleSeries(eq("ETHUSDT"), any(CandleSeries.class), eq(INTERVAL));
+        assertEquals(1, writer.getBatchCount());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testFailedWriteDoesNotStopWriter() {
+        doThrow(new IllegalArgumentException("Invalid candle")).doAnswer(invocation -> {
+            batchSizes.add(((CandleSeries) invocation.getArgument(1)).size());
+            return null;
+        }).when(candlestickDataService).replaceCandleSeries(anyString(), any(CandleSeries.class), any());
+        writer = new CandleBatchWriter(candlestickDataService, 1, Duration.ofMinutes(1), 100, latency -> {
+        });
+
+        writer.submit(INTERVAL, event("BTCUSDT", 0, "100"));
+        writer.submit(INTERVAL, event("BTCUSDT", 1, "101"));
+        writer.close();
+
+        assertEquals(1, writer.getFailedCount());
+        assertEquals(1, writer.getWrittenCount());
+    }
+
+    @Test
+    public void testMalformedCandleIsSkipped() {
+        writer = new CandleBatchWriter(candlestickDataService, 2, Duration.ofMinutes(1), 100, latency -> {
+        });
+
+        writer.submit(INTERVAL, event("BTCUSDT", 0, "not a price"));
+        writer.submit(INTERVAL, event("BTCUSDT", 1, "101"));
+        writer.close();
+
+        assertEquals(1, writer.getFailedCount());
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    public void testSubmitAfterClose() {
+        writer = new CandleBatchWriter(candlestickDataService, 10, Duration.ofMinutes(1), 100, latency -> {
+        });
+        writer.close();
+
+        assertThrows(IllegalStateException.class, () -> writer.submit(INTERVAL, event("BTCUSDT", 0, "100")));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testCloseWritesQueuedCandles() {
+        writer = new CandleBatchWriter(candlestickDataService, 1000, Duration.ofMinutes(1), 1000, latency -> {
+        });
+
+        for (int i = 0; i < 250; i++) {
+            writer.submit(INTERVAL, event("BTCUSDT", i, "100"));
+        }
+        writer.close();
+
+        assertEquals(250, writer.getWrittenCount());
+        assertEquals(0, writer.getQueuedCount());
+    }
+
+    private static CandlestickEvent event(String symbol, int index, String close) {
+        CandlestickEvent event = new CandlestickEvent();
+        event.setEventTime(System.currentTimeMillis());
+        event.setSymbol(symbol);
+        event.setOpenTime(START + index * ONE_MINUTE);
+        event.setCloseTime(START + (index + 1) * ONE_MINUTE - 1);
+        event.setOpen("100");
+        event.setHigh("102");
+        event.setLow("99");
+        event.setClose(close);
+        event.setVolume("10");
+        event.setQuoteAssetVolume("1000");
+        event.setNumberOfTrades(5L);
+        event.setTakerBuyBaseAssetVolume("5");
+        event.setTakerBuyQuoteAssetVolume("500");
+        event.setBarFinal(true);
+        return event;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion;
+
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.KlineIngestionProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.RSIService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class KlineIngestionServiceTest {
+    private static final long START = 1704067200000L; // 2024-01-01T00:00:00Z, first candle of the recording
+    private static final long ONE_MINUTE = 60_000L;
+    private static final String SYMBOL = "BTCUSDT";
+    private static final CandlestickInterval INTERVAL = CandlestickInterval.ONE_MINUTE;
+    // 40 one-minute candles with three updates each, the third one closing the candle
+    private static final List<String> RECORDING = KlineReplayServer.loadFrames("/klines/btcusdt-1m.jsonl");
+
+    private CandlestickDataService candlestickDataService;
+    private BinanceHistoricalDataService binanceHistoricalDataService;
+    private RSIService rsiService;
+    private KlineIngestionService ingestionService;
+    private KlineReplayServer server;
+    private final Set<Long> storedOpenTimes = new ConcurrentSkipListSet<>();
+    private final AtomicInteger saveCalls = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        candlestickDataService = mock(CandlestickDataService.class);
+        binanceHistoricalDataService = mock(BinanceHistoricalDataService.class);
+        rsiService = mock(RSIService.class);
+        when(binanceHistoricalDataService.getCandlestickIntervalMillis(INTERVAL)).thenReturn(ONE_MINUTE);
+        doAnswer(invocation -> {
+            CandleSeries candles = invocation.getArgument(1);
+            for (int i = 0; i < candles.size(); i++) {
+                storedOpenTimes.add(candles.openTime(i));
+            }
+            saveCalls.incrementAndGet();
+            return null;
+        }).when(candlestickDataService).replaceCandleSeries(anyString(), any(CandleSeries.class), any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (ingestionService != null) {
+            ingestionService.stop();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testReplayedCandlesAreStoredInBatches() throws Exception {
+        server = new KlineReplayServer(RECORDING, 0);
+        start(server);
+
+        awaitTrue(() -> ingestionService.getWrittenCount() == 40);
+
+        assertEquals(40, storedOpenTimes.size());
+        assertEquals(START, (long) storedOpenTimes.iterator().next());
+        assertTrue(saveCalls.get() < 40, "Closed candles should be written in batches");
+        verify(rsiService, times(40)).onCandleClosed(eq(SYMBOL), eq(INTERVAL), anyLong(), anyDouble());
+        verify(binanceHistoricalDataService, never()).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+        assertEquals(1, server.getConnectionCount());
+    }
+
+    @Test
+    public void testGapAfterReconnectIsRepaired() throws Exception {
+        // The connection drops after candle 9 closes and candles 10 to 14 close during the outage
+        server = new KlineReplayServer(RECORDING, 0).disconnectAfter(30).skipOnReconnect(15);
+        start(server);
+
+        awaitTrue(() -> ingestionService.getWrittenCount() == 35);
+
+        verify(binanceHistoricalDataService, timeout(5000)).getHistoricalCandleSeries(SYMBOL, INTERVAL,
+                START + 10 * ONE_MINUTE, START + 15 * ONE_MINUTE - 1);
+        assertEquals(2, server.getConnectionCount());
+        assertFalse(storedOpenTimes.contains(START + 10 * ONE_MINUTE));
+        assertTrue(storedOpenTimes.contains(START + 15 * ONE_MINUTE));
+    }
+
+    @Test
+    public void testParseCombinedFrame() throws Exception {
+        CandlestickEvent event = WebSocketKlineStreamSource.parseFrame(
+                "{\"stream\":\"btcusdt@kline_1m\",\"data\":" + RECORDING.get(2) + "}");
+
+        assertEquals(SYMBOL, event.getSymbol());
+        assertEquals(START, event.getOpenTime());
+        assertEquals(START + ONE_MINUTE - 1, event.getCloseTime());
+        assertEquals("42323.13000000", event.getClose());
+        assertEquals(1156L, event.getNumberOfTrades());
+        assertTrue(event.getBarFinal());
+    }
+
+    @Test
+    public void testParseRawFrame() throws Exception {
+        CandlestickEvent event = WebSocketKlineStreamSource.parseFrame(RECORDING.get(0));
+
+        assertEquals(START, event.getOpenTime());
+        assertFalse(event.getBarFinal());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testDisabledIngestionDoesNotConnect() {
+        server = new KlineReplayServer(RECORDING, 0);
+        KlineIngestionProperties properties = properties(server);
+        properties.setEnabled(false);
+        ingestionService = new KlineIngestionService(properties, new WebSocketKlineStreamSource(server.getUri()),
+                candlestickDataService, binanceHistoricalDataService, rsiService);
+
+        ingestionService.start();
+
+        assertFalse(ingestionService.isRunning());
+        assertEquals(0, server.getConnectionCount());
+    }
+
+    @Test
+    public void testParseNonKlineFrame() throws Exception {
+        assertNull(WebSocketKlineStreamSource.parseFrame("{\"result\":null,\"id\":1}"));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testRepeatedClosedCandleIsIgnored() throws Exception {
+        // Candle 0 closes twice, as after a reconnect that resends the last event
+        server = new KlineReplayServer(List.of(RECORDING.get(2), RECORDING.get(2), RECORDING.get(5)), 0);
+        start(server);
+
+        awaitTrue(() -> ingestionService.getWrittenCount() == 2);
+        Thread.sleep(200);
+
+        assertEquals(2, ingestionService.getWrittenCount());
+        verify(rsiService, times(2)).onCandleClosed(eq(SYMBOL), eq(INTERVAL), anyLong(), anyDouble());
+    }
+
+    private void start(KlineReplayServer server) {
+        ingestionService = new KlineIngestionService(properties(server), new WebSocketKlineStreamSource(server.getUri()),
+                candlestickDataService, binanceHistoricalDataService, rsiService);
+        ingestionService.start();
+        assertTrue(ingestionService.isRunning());
+    }
+
+    private static KlineIngestionProperties properties(KlineReplayServer server) {
+        KlineIngestionProperties properties = new KlineIngestionProperties();
+        properties.setEnabled(true);
+        properties.setSymbols(List.of(SYMBOL));
+        properties.setIntervals(List.of(INTERVAL));
+        properties.setStreamUrl(server.getUri().toString());
+        properties.setBatchSize(16);
+        properties.setFlushInterval(Duration.ofMillis(50));
+        properties.setReconnectInitialDelay(Duration.ofMillis(50));
+        properties.setReconnectMaxDelay(Duration.ofMillis(200));
+        return properties;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
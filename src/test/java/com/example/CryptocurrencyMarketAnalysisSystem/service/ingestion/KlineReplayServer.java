@@ -0,0 +1,179 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local WebSocket server speaking the Binance combined kline stream protocol, replaying recorded frames.
+ * Frames are paced by the gaps between their recorded event times divided by the speed; a speed of zero
+ * sends them as fast as the connection takes them. Every frame is sent with its event time set to the send
+ * time, so the delay until a candle is stored is the end-to-end latency of the ingestion pipeline.
+ * The cursor is shared by all connections: a reconnecting client continues where the last one stopped,
+ * minus the frames skipped to simulate the outage.
+ */
+public final class KlineReplayServer implements AutoCloseable {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<ObjectNode> frames;
+    private final double speed;
+    private final DisposableServer server;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger sent = new AtomicInteger();
+    private volatile int disconnectAfter = -1;
+    private volatile int skipOnReconnect;
+
+    public KlineReplayServer(List<String> frames, double speed) {
+        this.frames = frames.stream().map(KlineReplayServer::readFrame).toList();
+        this.speed = speed;
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.ws("/stream", (in, out) -> {
+                    int connection = connections.incrementAndGet();
+                    if (connection > 1) {
+                        cursor.addAndGet(skipOnReconnect);
+                    }
+                    boolean drop = connection == 1 && disconnectAfter >= 0;
+                    Flux<String> replay = replay(drop ? disconnectAfter : Integer.MAX_VALUE);
+                    // Like a live stream the connection stays open after the last frame, unless it is dropped
+                    return drop ? out.sendString(replay).then() : out.sendString(replay).then().then(Mono.never());
+                }))
+                .bindNow();
+    }
+
+    // Closes the first connection after the given number of frames
+    public KlineReplayServer disconnectAfter(int frames) {
+        this.disconnectAfter = frames;
+        return this;
+    }
+
+    // Skips the given number of frames when a client reconnects, as if they were sent during the outage
+    public KlineReplayServer skipOnReconnect(int frames) {
+        this.skipOnReconnect = frames;
+        return this;
+    }
+
+    public URI getUri() {
+        return URI.create("ws://127.0.0.1:" + server.port());
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public int getSentCount() {
+        return sent.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Flux<String> replay(int limit) {
+        return Flux.<Integer>generate(sink -> {
+                    int index = cursor.get();
+                    if (index >= frames.size()) {
+                        sink.complete();
+                    } else {
+                        cursor.incrementAndGet();
+                        sink.next(index);
+                    }
+                })
+                .take(limit)
+                .concatMap(index -> {
+                    long delay = pause(index);
+                    Mono<Integer> frame = Mono.just(index);
+                    return delay > 0 ? frame.delayElement(Duration.ofNanos(delay)) : frame;
+                }, 1)
+                .map(index -> {
+                    sent.incrementAndGet();
+                    return send(frames.get(index));
+                });
+    }
+
+    private long pause(int index) {
+        if (speed <= 0 || index == 0) {
+            return 0;
+        }
+        long recordedGap = frames.get(index).get("E").asLong() - frames.get(index - 1).get("E").asLong();
+        return (long) (Math.max(0, recordedGap) * 1_000_000 / speed);
+    }
+
+    private static String send(ObjectNode frame) {
+        ObjectNode data = frame.deepCopy();
+        data.put("E", System.currentTimeMillis());
+        ObjectNode wrapped = objectMapper.createObjectNode();
+        wrapped.put("stream", data.get("s").asText().toLowerCase(Locale.ROOT) + "@kline_" + data.get("k").get("i").asText());
+        wrapped.set("data", data);
+        return wrapped.toString();
+    }
+
+    private static ObjectNode readFrame(String frame) {
+        try {
+            return (ObjectNode) objectMapper.readTree(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid recorded frame: " + frame, e);
+        }
+    }
+
+    // Reads a recording with one raw stream event per line from the test classpath
+    public static List<String> loadFrames(String resource) {
+        try (InputStream stream = KlineReplayServer.class.getResourceAsStream(resource)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Recording not found: " + resource);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            return reader.lines().filter(line -> !line.isBlank()).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Frames of consecutive candles of one symbol with the given number of updates per candle, the last one final
+    public static List<String> generateFrames(String symbol, long startOpenTime, long intervalMillis, int candles, int updatesPerCandle) {
+        Random random = new Random(42);
+        List<String> frames = new ArrayList<>(candles * updatesPerCandle);
+        double price = 20000;
+        for (int c = 0; c < candles; c++) {
+            long openTime = startOpenTime + c * intervalMillis;
+            double open = price;
+            double high = open;
+            double low = open;
+            for (int u = 1; u <= updatesPerCandle; u++) {
+                price = Math.max(1, price + random.nextGaussian() * 5);
+                high = Math.max(high, price);
+                low = Math.min(low, price);
+                boolean closed = u == updatesPerCandle;
+                long eventTime = closed ? openTime + intervalMillis : openTime + u * intervalMillis / updatesPerCandle;
+                frames.add(String.format(Locale.ROOT,
+                        "{\"e\":\"kline\",\"E\":%d,\"s\":\"%s\",\"k\":{\"t\":%d,\"T\":%d,\"s\":\"%s\",\"i\":\"1m\",\"f\":%d,\"L\":%d,"
+                                + "\"o\":\"%.8f\",\"c\":\"%.8f\",\"h\":\"%.8f\",\"l\":\"%.8f\",\"v\":\"%.8f\",\"n\":%d,\"x\":%b,"
+                                + "\"q\":\"%.8f\",\"V\":\"%.8f\",\"Q\":\"%.8f\",\"B\":\"0\"}}",
+                        eventTime, symbol, openTime, openTime + intervalMillis - 1, symbol, c * 1000L, c * 1000L + u * 10,
+                        open, price, high, low, u * 1.5, u * 10, closed, u * 1.5 * price, u * 0.7, u * 0.7 * price));
+            }
+        }
+        return frames;
+    }
+}
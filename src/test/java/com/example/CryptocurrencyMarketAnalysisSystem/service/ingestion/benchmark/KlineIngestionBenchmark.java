@@ -0,0 +1,115 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.benchmark;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.KlineIngestionProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.RSIService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.KlineIngestionService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.KlineReplayServer;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.WebSocketKlineStreamSource;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmark of live ingestion from a local replay server sending closed candles as fast as they are taken,
+ * through the stream source and the batch writer into a store that takes a fixed time per write, like one
+ * round trip to the database. Each invocation ingests one replay; the sustained rate is the candle count
+ * divided by the reported time. The p50 and p99 delay from a frame being sent to its candle being written
+ * are printed after each trial.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KlineIngestionBenchmark {
+    private static final long START = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final int CANDLES = 5_000;
+    // Time the simulated store takes per written series
+    private static final long WRITE_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Param({"1", "100", "500"})
+    public int batchSize;
+
+    private List<String> frames;
+    private SimpleMeterRegistry registry;
+    private KlineReplayServer server;
+    private KlineIngestionService ingestionService;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        // Two updates per candle, so half of the frames are open candles the service has to skip
+        frames = KlineReplayServer.generateFrames("BTCUSDT", START, ONE_MINUTE, CANDLES, 2);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        server = new KlineReplayServer(frames, 0);
+        CandlestickDataService store = new CandlestickDataService(null) {
+            @Override
+            public void replaceCandleSeries(String symbol, CandleSeries candles, CandlestickInterval interval) {
+                LockSupport.parkNanos(WRITE_NANOS);
+            }
+        };
+        BinanceHistoricalDataService historical = new BinanceHistoricalDataService(null);
+        KlineIngestionProperties properties = new KlineIngestionProperties();
+        properties.setEnabled(true);
+        properties.setSymbols(List.of("BTCUSDT"));
+        properties.setStreamUrl(server.getUri().toString());
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval(Duration.ofMillis(100));
+        ingestionService = new KlineIngestionService(properties, new WebSocketKlineStreamSource(server.getUri()),
+                store, historical, new RSIService(historical));
+        ingestionService.bindTo(registry);
+    }
+
+    @Benchmark
+    public long ingest() {
+        ingestionService.start();
+        while (ingestionService.getWrittenCount() < CANDLES) {
+            LockSupport.parkNanos(100_000);
+        }
+        return ingestionService.getWrittenCount();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+        ingestionService.stop();
+        server.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        Timer latency = registry.find("kline.ingestion.latency").timer();
+        if (latency == null) {
+            return;
+        }
+        StringBuilder report = new StringBuilder("batchSize=" + batchSize + " latency:");
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            report.append(String.format(" p%.0f=%.1f ms", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        System.out.println(report);
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
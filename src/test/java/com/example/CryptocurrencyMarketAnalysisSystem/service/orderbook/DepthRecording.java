@@ -0,0 +1,86 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.KlineReplayServer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The recorded BTCUSDT depth: a REST snapshot of 1000 levels per side at update 41000000000 and 600 diff-depth
+ * frames at 100 ms, the first of which end before the snapshot.
+ */
+public final class DepthRecording {
+    public static final String SNAPSHOT = "/depth/btcusdt-snapshot.json";
+    public static final String FRAMES = "/depth/btcusdt-depth.jsonl";
+
+    private DepthRecording() {
+    }
+
+    public static OrderBook snapshot() {
+        try (InputStream stream = DepthRecording.class.getResourceAsStream(SNAPSHOT)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Recording not found: " + SNAPSHOT);
+            }
+            JsonNode root = new ObjectMapper().readTree(stream);
+            OrderBook orderBook = new OrderBook();
+            orderBook.setLastUpdateId(root.get("lastUpdateId").asLong());
+            orderBook.setBids(entries(root.get("bids")));
+            orderBook.setAsks(entries(root.get("asks")));
+            return orderBook;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<String> frames() {
+        return KlineReplayServer.loadFrames(FRAMES);
+    }
+
+    public static List<DepthEvent> events() {
+        List<DepthEvent> events = new ArrayList<>();
+        for (String frame : frames()) {
+            try {
+                events.add(WebSocketDepthStreamSource.parseFrame(frame));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Malformed recorded frame: " + frame, e);
+            }
+        }
+        return events;
+    }
+
+    public static DepthEvent event(long firstUpdateId, long finalUpdateId, List<OrderBookEntry> bids, List<OrderBookEntry> asks) {
+        DepthEvent event = new DepthEvent();
+        event.setEventType("depthUpdate");
+        event.setEventTime(System.currentTimeMillis());
+        event.setSymbol("BTCUSDT");
+        event.setFirstUpdateId(firstUpdateId);
+        event.setFinalUpdateId(finalUpdateId);
+        event.setBids(bids);
+        event.setAsks(asks);
+        return event;
+    }
+
+    public static OrderBookEntry level(String price, String qty) {
+        OrderBookEntry entry = new OrderBookEntry();
+        entry.setPrice(price);
+        entry.setQty(qty);
+        return entry;
+    }
+
+    private static List<OrderBookEntry> entries(JsonNode levels) {
+        List<OrderBookEntry> entries = new ArrayList<>(levels.size());
+        for (JsonNode level : levels) {
+            entries.add(level(level.get(0).asText(), level.get(1).asText()));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedPointTest {
+
+    //Positive Tests
+
+    @Test
+    public void testParse() {
+        assertEquals(4_200_001_000_000L, FixedPoint.parse("42000.01000000"));
+        assertEquals(100_000_000L, FixedPoint.parse("1"));
+        assertEquals(50_000_000L, FixedPoint.parse(".5"));
+        assertEquals(0, FixedPoint.parse("0.00000000"));
+    }
+
+    @Test
+    public void testFormat() {
+        assertEquals("42000.01000000", FixedPoint.format(4_200_001_000_000L));
+        assertEquals("0.00000001", FixedPoint.format(1));
+        assertEquals("-1.50000000", FixedPoint.format(-150_000_000L));
+    }
+
+    @Test
+    public void testFormatRoundTrip() {
+        assertEquals("123.45678900", FixedPoint.format(FixedPoint.parse("123.456789")));
+        assertEquals("0.97217000", FixedPoint.format(FixedPoint.fromDouble(0.97217)));
+        assertEquals(0.97217, FixedPoint.toDouble(FixedPoint.parse("0.97217000")));
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testInvalidDecimals() {
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse(""));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("."));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("-1"));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("1.2.3"));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("1e5"));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testExtraFractionDigitsAreCutOff() {
+        assertEquals(123_456_789L, FixedPoint.parse("1.234567899"));
+    }
+
+    @Test
+    public void testRange() {
+        assertEquals(92_233_720_368L * FixedPoint.SCALE, FixedPoint.parse("92233720368"));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("92233720369"));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("92233720368.99999999"));
+    }
+}
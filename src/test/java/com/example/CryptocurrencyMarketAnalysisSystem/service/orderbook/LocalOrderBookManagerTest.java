@@ -0,0 +1,222 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.OrderBookProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.DepthRecording.event;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalOrderBookManagerTest {
+    private static final List<DepthEvent> EVENTS = DepthRecording.events();
+
+    private StubDepthStreamSource streamSource;
+    private OrderBookProperties properties;
+    private LocalOrderBookManager manager;
+    private final AtomicInteger snapshotCalls = new AtomicInteger();
+    private final AtomicLong snapshotUpdateId = new AtomicLong(DepthRecording.snapshot().getLastUpdateId());
+    // Held by a test to buffer events before the snapshot is loaded
+    private final CountDownLatch snapshotAllowed = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setup() {
+        streamSource = new StubDepthStreamSource();
+        properties = new OrderBookProperties();
+        properties.setResyncDelay(Duration.ofMillis(20));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (manager != null) {
+            manager.close();
+        }
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testBookSyncsFromSnapshotAndBufferedEvents() throws Exception {
+        manager = newManager(this::snapshot);
+
+        LocalOrderBook book = manager.getBook("btcusdt");
+        assertFalse(book.isSynced());
+        awaitTrue(() -> streamSource.getOpenCount() == 1);
+        EVENTS.subList(0, 10).forEach(streamSource::push);
+        snapshotAllowed.countDown();
+        awaitTrue(book::isSynced);
+        EVENTS.subList(10, EVENTS.size()).forEach(streamSource::push);
+
+        assertEquals(EVENTS.get(EVENTS.size() - 1).getFinalUpdateId(), book.getLastUpdateId());
+        assertEquals(EVENTS.size() - 10, manager.getAppliedEventCount());
+        assertEquals(1, manager.getSnapshotCount());
+        assertEquals(0, manager.getGapCount());
+    }
+
+    @Test
+    public void testReadsDoNotLoadSnapshots() throws Exception {
+        manager = newManager(this::snapshot);
+        snapshotAllowed.countDown();
+        awaitTrue(() -> manager.getBook("BTCUSDT").isSynced());
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(manager.getBook("BTCUSDT").toOrderBook(100).isPresent());
+        }
+
+        assertEquals(1, snapshotCalls.get());
+        assertEquals(1, manager.getBookCount());
+        assertEquals(1, streamSource.getSubscriptionCount());
+    }
+
+    @Test
+    public void testPeekReadsSyncedBook() throws Exception {
+        manager = newManager(this::snapshot);
+        snapshotAllowed.countDown();
+        LocalOrderBook book = manager.getBook("BTCUSDT");
+        awaitTrue(book::isSynced);
+
+        assertSame(book, manager.peekBook("btcusdt").orElseThrow());
+        assertEquals(1, streamSource.getSubscriptionCount());
+    }
+
+    @Test
+    public void testGapLoadsNewSnapshot() throws Exception {
+        manager = newManager(this::snapshot);
+        snapshotAllowed.countDown();
+        LocalOrderBook book = manager.getBook("BTCUSDT");
+        awaitTrue(book::isSynced);
+        EVENTS.subList(0, 20).forEach(streamSource::push);
+
+        long last = EVENTS.get(19).getFinalUpdateId();
+
+        // The next eight updates were lost
+        snapshotUpdateId.set(last + 8);
+        streamSource.push(event(last + 9, last + 12, List.of(), List.of()));
+
+        awaitTrue(() -> manager.getSnapshotCount() == 2 && book.isSynced());
+        assertEquals(1, manager.getGapCount());
+        assertEquals(last + 12, book.getLastUpdateId());
+    }
+
+    @Test
+    public void testDisconnectedStreamIsReopened() throws Exception {
+        manager = newManager(this::snapshot);
+        snapshotAllowed.countDown();
+        LocalOrderBook book = manager.getBook("BTCUSDT");
+        awaitTrue(book::isSynced);
+
+        streamSource.fail(new IOException("Connection reset"));
+
+        awaitTrue(() -> streamSource.getSubscriptionCount() == 2 && manager.getSnapshotCount() == 2 && book.isSynced());
+        assertEquals(1, streamSource.getOpenCount());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testFailedSnapshotClosesBook() throws Exception {
+        manager = newManager(symbol -> {
+            throw new IllegalArgumentException("Invalid symbol");
+        });
+
+        manager.getBook("NOTASYMBOL");
+
+        awaitTrue(() -> manager.getBookCount() == 0);
+        assertEquals(1, streamSource.getClosedCount());
+        assertEquals(0, manager.getSnapshotCount());
+    }
+
+    @Test
+    public void testFailedSnapshotOfPinnedBookIsRetried() throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        properties.setSymbols(List.of("btcusdt"));
+        manager = newManager(symbol -> {
+            if (failures.incrementAndGet() <= 2) {
+                throw new IllegalStateException("Request weight exhausted");
+            }
+            return DepthRecording.snapshot();
+        });
+
+        manager.start();
+
+        awaitTrue(() -> manager.getBook("BTCUSDT").isSynced());
+        assertEquals(3, failures.get());
+        assertEquals(1, manager.getBookCount());
+    }
+
+    @Test
+    public void testPeekDoesNotOpenBook() {
+        manager = newManager(this::snapshot);
+
+        assertTrue(manager.peekBook("BTCUSDT").isEmpty());
+        assertEquals(0, manager.getBookCount());
+        assertEquals(0, streamSource.getSubscriptionCount());
+        assertEquals(0, snapshotCalls.get());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testPeekSkipsBookNotInSync() {
+        manager = newManager(this::snapshot);
+        manager.getBook("BTCUSDT");
+
+        // The snapshot is held back, so the book stays out of sync
+        assertTrue(manager.peekBook("BTCUSDT").isEmpty());
+        assertEquals(1, manager.getBookCount());
+    }
+
+    @Test
+    public void testClosedManagerClosesStreams() throws Exception {
+        manager = newManager(this::snapshot);
+        snapshotAllowed.countDown();
+        LocalOrderBook book = manager.getBook("BTCUSDT");
+        manager.getBook("ETHUSDT");
+        awaitTrue(() -> streamSource.getOpenCount() == 2 && book.isSynced());
+
+        manager.close();
+
+        assertEquals(0, streamSource.getOpenCount());
+        assertEquals(0, manager.getBookCount());
+        assertFalse(book.isSynced());
+    }
+
+    private LocalOrderBookManager newManager(Function<String, OrderBook> loader) {
+        return new LocalOrderBookManager(streamSource, loader, properties);
+    }
+
+    private OrderBook snapshot(String symbol) {
+        try {
+            assertTrue(snapshotAllowed.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        snapshotCalls.incrementAndGet();
+        OrderBook snapshot = DepthRecording.snapshot();
+        snapshot.setLastUpdateId(snapshotUpdateId.get());
+        return snapshot;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.FillEstimate;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.OrderBookDepth;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.OrderBookMetrics;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.SpreadPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.DepthRecording.event;
+import static com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.DepthRecording.level;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalOrderBookTest {
+    private static final OrderBook SNAPSHOT = DepthRecording.snapshot();
+    // The first five events end before the snapshot, the sixth one spans it
+    private static final List<DepthEvent> EVENTS = DepthRecording.events();
+
+    private LocalOrderBook book;
+
+    @BeforeEach
+    public void setup() {
+        book = new LocalOrderBook("BTCUSDT", 10_000);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testRecordedEventsMatchReferenceBook() {
+        EVENTS.subList(0, 20).forEach(event -> assertEquals(LocalOrderBook.Result.BUFFERED, book.onEvent(event)));
+
+        assertTrue(book.onSnapshot(SNAPSHOT));
+        for (DepthEvent event : EVENTS.subList(20, EVENTS.size())) {
+            assertEquals(LocalOrderBook.Result.APPLIED, book.onEvent(event));
+        }
+
+        assertTrue(book.isSynced());
+        assertEquals(EVENTS.get(EVENTS.size() - 1).getFinalUpdateId(), book.getLastUpdateId());
+        assertEquals(EVENTS.get(EVENTS.size() - 1).getEventTime(), book.getLastEventTime());
+        TreeMap<BigDecimal, BigDecimal> bids = referenceSide(SNAPSHOT.getBids(), Collections.reverseOrder(), true);
+        TreeMap<BigDecimal, BigDecimal> asks = referenceSide(SNAPSHOT.getAsks(), Comparator.naturalOrder(), false);
+        assertEquals(bids.size(), book.getBidLevels());
+        assertEquals(asks.size(), book.getAskLevels());
+        OrderBook orderBook = book.toOrderBook(Integer.MAX_VALUE).orElseThrow();
+        assertLevels(bids, orderBook.getBids());
+        assertLevels(asks, orderBook.getAsks());
+        assertEquals(bids.firstKey().doubleValue(), book.getBestBid());
+        assertEquals(asks.firstKey().doubleValue(), book.getBestAsk());
+    }
+
+    @Test
+    public void testToOrderBookIsSortedAndLimited() {
+        book.onSnapshot(snapshot(10, List.of(level("100.5", "1"), level("101", "2"), level("99", "3")),
+                List.of(level("103", "1"), level("102.25", "2"))));
+
+        OrderBook orderBook = book.toOrderBook(2).orElseThrow();
+
+        assertEquals(10, orderBook.getLastUpdateId());
+        assertEquals(List.of("101.00000000", "100.50000000"), orderBook.getBids().stream().map(OrderBookEntry::getPrice).toList());
+        assertEquals(List.of("2.00000000", "1.00000000"), orderBook.getBids().stream().map(OrderBookEntry::getQty).toList());
+        assertEquals(List.of("102.25000000", "103.00000000"), orderBook.getAsks().stream().map(OrderBookEntry::getPrice).toList());
+    }
+
+    @Test
+    public void testZeroQuantityRemovesLevel() {
+        book.onSnapshot(snapshot(10, List.of(level("101", "2"), level("100", "1")), List.of(level("102", "1"))));
+
+        assertEquals(LocalOrderBook.Result.APPLIED,
+                book.onEvent(event(11, 12, List.of(level("101", "0.00000000"), level("99", "4")), List.of(level("102", "0.5")))));
+
+        assertEquals(2, book.getBidLevels());
+        assertEquals(100, book.getBestBid());
+        OrderBook orderBook = book.toOrderBook(10).orElseThrow();
+        assertEquals("99.00000000", orderBook.getBids().get(1).getPrice());
+        assertEquals("0.50000000", orderBook.getAsks().get(0).getQty());
+    }
+
+    @Test
+    public void testGapEventIsKeptForNextSnapshot() {
+        book.onSnapshot(snapshot(10, List.of(level("100", "1")), List.of(level("101", "1"))));
+        DepthEvent gap = event(15, 16, List.of(level("100", "2")), List.of());
+
+        assertEquals(LocalOrderBook.Result.GAP, book.onEvent(gap));
+        assertEquals(LocalOrderBook.Result.BUFFERED, book.onEvent(event(17, 17, List.of(level("100", "3")), List.of())));
+
+        assertTrue(book.onSnapshot(snapshot(14, List.of(level("100", "1")), List.of(level("101", "1")))));
+        assertEquals(17, book.getLastUpdateId());
+        assertEquals("3.00000000", book.toOrderBook(1).orElseThrow().getBids().get(0).getQty());
+    }
+
+    @Test
+    public void testDepthWithinDistance() {
+        // Mid price 100, so 100 bps reaches bids down to 99 and asks up to 101
+        book.onSnapshot(snapshot(10, List.of(level("99.9", "1"), level("99", "2"), level("98", "4")),
+                List.of(level("100.1", "3"), level("101", "1"), level("102", "8"))));
+
+        OrderBookMetrics metrics = book.metrics(100, 1000).orElseThrow();
+
+        assertEquals(100, metrics.midPrice(), 1e-9);
+        assertEquals(20, metrics.spreadBps(), 1e-9);
+        OrderBookDepth near = metrics.depth().get(0);
+        assertEquals(2, near.bidLevels());
+        assertEquals(3, near.bidQuantity(), 1e-9);
+        assertEquals(99.9 + 2 * 99, near.bidNotional(), 1e-9);
+        assertEquals(4, near.askQuantity(), 1e-9);
+        assertEquals(-0.25 / 1.75, near.imbalance(), 1e-9);
+        OrderBookDepth far = metrics.depth().get(1);
+        assertEquals(7, far.bidQuantity(), 1e-9);
+        assertEquals(12, far.askQuantity(), 1e-9);
+    }
+
+    @Test
+    public void testDepthFollowsRecordedEvents() {
+        book.onSnapshot(SNAPSHOT);
+        EVENTS.forEach(book::onEvent);
+        OrderBook orderBook = book.toOrderBook(Integer.MAX_VALUE).orElseThrow();
+
+        OrderBookMetrics metrics = book.metrics(5).orElseThrow();
+
+        double limit = metrics.midPrice() * (1 - 5 / 10_000.0);
+        double expected = orderBook.getBids().stream()
+                .filter(level -> Double.parseDouble(level.getPrice()) >= limit)
+                .mapToDouble(level -> Double.parseDouble(level.getQty()))
+                .sum();
+        assertEquals(expected, metrics.depth().get(0).bidQuantity(), 1e-6);
+    }
+
+    @Test
+    public void testEstimateFill() {
+        book.onSnapshot(snapshot(10, List.of(level("99", "1")),
+                List.of(level("100", "1"), level("101", "2"), level("102", "8"))));
+
+        FillEstimate buy = book.estimateFill(OrderSide.BUY, 2).orElseThrow();
+
+        assertTrue(buy.complete());
+        assertEquals(2, buy.levels());
+        assertEquals(201, buy.cost(), 1e-9);
+        assertEquals(100.5, buy.averagePrice(), 1e-9);
+        assertEquals(101, buy.worstPrice(), 1e-9);
+        assertEquals(50, buy.slippageBps(), 1e-9);
+        assertEquals(99, book.estimateFill(OrderSide.SELL, 0.5).orElseThrow().averagePrice(), 1e-9);
+    }
+
+    @Test
+    public void testSpreadHistory() {
+        book.onSnapshot(snapshot(10, List.of(level("99", "1")), List.of(level("101", "1"))));
+        book.onEvent(withTime(event(11, 11, List.of(level("100", "1")), List.of()), 1000));
+        book.onEvent(withTime(event(12, 12, List.of(), List.of(level("100.5", "1"))), 2000));
+        book.onEvent(withTime(event(13, 13, List.of(level("100", "0")), List.of()), 3000));
+
+        List<SpreadPoint> history = book.getSpreadHistory(1500, 3000);
+
+        assertEquals(2, history.size());
+        assertEquals(new SpreadPoint(2000, 100, 100.5, 0.5 / 100.25 * 10_000), history.get(0));
+        assertEquals(99, history.get(1).bestBid());
+        assertEquals(3, book.getSpreadHistory(0, Long.MAX_VALUE).size());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testMetricsNeedSyncedBook() {
+        assertTrue(book.metrics(10).isEmpty());
+        assertTrue(book.estimateFill(OrderSide.BUY, 1).isEmpty());
+        book.onSnapshot(snapshot(10, List.of(level("99", "1")), List.of()));
+        assertTrue(book.metrics(10).isEmpty());
+        assertTrue(book.estimateFill(OrderSide.BUY, 1).isEmpty());
+    }
+
+    @Test
+    public void testGapPutsBookOutOfSync() {
+        book.onSnapshot(snapshot(10, List.of(level("100", "1")), List.of(level("101", "1"))));
+
+        assertEquals(LocalOrderBook.Result.GAP, book.onEvent(event(12, 13, List.of(), List.of())));
+
+        assertFalse(book.isSynced());
+        assertTrue(book.toOrderBook(10).isEmpty());
+        assertEquals(0, book.getBidLevels());
+        assertTrue(Double.isNaN(book.getBestBid()));
+    }
+
+    @Test
+    public void testBufferedEventsAfterSnapshotNeedNewerSnapshot() {
+        EVENTS.subList(10, 20).forEach(book::onEvent);
+
+        // The snapshot ends before the first buffered event starts
+        assertFalse(book.onSnapshot(SNAPSHOT));
+
+        assertFalse(book.isSynced());
+        OrderBook newer = DepthRecording.snapshot();
+        newer.setLastUpdateId(EVENTS.get(10).getFirstUpdateId() - 1);
+        assertTrue(book.onSnapshot(newer));
+        assertEquals(EVENTS.get(19).getFinalUpdateId(), book.getLastUpdateId());
+    }
+
+    @Test
+    public void testMalformedSnapshot() {
+        OrderBook malformed = snapshot(10, List.of(level("1e5", "1")), List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> book.onSnapshot(malformed));
+        assertFalse(book.isSynced());
+    }
+
+    @Test
+    public void testMalformedEventNeedsNewSnapshot() {
+        book.onSnapshot(snapshot(10, List.of(level("100", "1")), List.of(level("101", "1"))));
+
+        assertEquals(LocalOrderBook.Result.GAP, book.onEvent(event(11, 11, List.of(level("100", "-1")), List.of())));
+        assertFalse(book.isSynced());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testStaleEventsAreIgnored() {
+        book.onSnapshot(snapshot(10, List.of(level("100", "1")), List.of(level("101", "1"))));
+
+        assertEquals(LocalOrderBook.Result.STALE, book.onEvent(event(5, 10, List.of(level("100", "9")), List.of())));
+        // An event spanning the last update is applied
+        assertEquals(LocalOrderBook.Result.APPLIED, book.onEvent(event(9, 11, List.of(level("100", "2")), List.of())));
+
+        assertEquals(11, book.getLastUpdateId());
+        assertEquals("2.00000000", book.toOrderBook(1).orElseThrow().getBids().get(0).getQty());
+    }
+
+    @Test
+    public void testBufferKeepsNewestEvents() {
+        book = new LocalOrderBook("BTCUSDT", 2);
+        book.onEvent(event(11, 11, List.of(level("100", "1")), List.of()));
+        book.onEvent(event(12, 12, List.of(level("100", "2")), List.of()));
+        book.onEvent(event(13, 13, List.of(level("100", "3")), List.of()));
+
+        // The event of update 11 was dropped, so a snapshot at 10 leaves a gap
+        assertFalse(book.onSnapshot(snapshot(10, List.of(), List.of())));
+        assertTrue(book.onSnapshot(snapshot(11, List.of(), List.of())));
+        assertEquals(13, book.getLastUpdateId());
+    }
+
+    @Test
+    public void testResetDropsBufferedEvents() {
+        book.onEvent(event(11, 11, List.of(level("100", "1")), List.of()));
+        book.reset();
+
+        assertTrue(book.onSnapshot(snapshot(20, List.of(), List.of())));
+        assertEquals(20, book.getLastUpdateId());
+        assertEquals(0, book.getBidLevels());
+    }
+
+    @Test
+    public void testFillBeyondBookIsPartial() {
+        book.onSnapshot(snapshot(10, List.of(level("99", "1"), level("98", "1")), List.of(level("100", "1"))));
+
+        FillEstimate sell = book.estimateFill(OrderSide.SELL, 5).orElseThrow();
+
+        assertFalse(sell.complete());
+        assertEquals(2, sell.filledQuantity(), 1e-9);
+        assertEquals(2, sell.levels());
+        assertEquals(98.5, sell.averagePrice(), 1e-9);
+        assertEquals(98, sell.worstPrice(), 1e-9);
+    }
+
+    @Test
+    public void testSpreadHistoryKeepsNewestEntries() {
+        book = new LocalOrderBook("BTCUSDT", 10, 3);
+        book.onSnapshot(snapshot(10, List.of(level("99", "1")), List.of(level("101", "1"))));
+        for (int i = 1; i <= 5; i++) {
+            book.onEvent(withTime(event(10 + i, 10 + i, List.of(level("99", Integer.toString(i))), List.of()), i * 1000L));
+        }
+
+        List<SpreadPoint> history = book.getSpreadHistory(0, Long.MAX_VALUE);
+
+        assertEquals(List.of(3000L, 4000L, 5000L), history.stream().map(SpreadPoint::eventTime).toList());
+        assertTrue(book.getSpreadHistory(5001, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testInvalidBufferSize() {
+        assertThrows(IllegalArgumentException.class, () -> new LocalOrderBook("BTCUSDT", 0));
+        assertThrows(IllegalArgumentException.class, () -> new LocalOrderBook("BTCUSDT", 10, 0));
+    }
+
+    private static DepthEvent withTime(DepthEvent event, long eventTime) {
+        event.setEventTime(eventTime);
+        return event;
+    }
+
+    private static OrderBook snapshot(long lastUpdateId, List<OrderBookEntry> bids, List<OrderBookEntry> asks) {
+        OrderBook orderBook = new OrderBook();
+        orderBook.setLastUpdateId(lastUpdateId);
+        orderBook.setBids(new ArrayList<>(bids));
+        orderBook.setAsks(new ArrayList<>(asks));
+        return orderBook;
+    }
+
+    // The snapshot side with every recorded event after it applied, in BigDecimal
+    private static TreeMap<BigDecimal, BigDecimal> referenceSide(List<OrderBookEntry> levels, Comparator<BigDecimal> order, boolean bids) {
+        TreeMap<BigDecimal, BigDecimal> side = new TreeMap<>(order);
+        levels.forEach(level -> side.put(new BigDecimal(level.getPrice()), new BigDecimal(level.getQty())));
+        for (DepthEvent event : EVENTS) {
+            if (event.getFinalUpdateId() <= SNAPSHOT.getLastUpdateId()) {
+                continue;
+            }
+            for (OrderBookEntry level : bids ? event.getBids() : event.getAsks()) {
+                BigDecimal quantity = new BigDecimal(level.getQty());
+                if (quantity.signum() == 0) {
+                    side.remove(new BigDecimal(level.getPrice()));
+                } else {
+                    side.put(new BigDecimal(level.getPrice()), quantity);
+                }
+            }
+        }
+        return side;
+    }
+
+    private static void assertLevels(TreeMap<BigDecimal, BigDecimal> expected, List<OrderBookEntry> actual) {
+        assertEquals(expected.size(), actual.size());
+        int rank = 0;
+        for (Map.Entry<BigDecimal, BigDecimal> level : expected.entrySet()) {
+            assertEquals(0, level.getKey().compareTo(new BigDecimal(actual.get(rank).getPrice())), "price at rank " + rank);
+            assertEquals(0, level.getValue().compareTo(new BigDecimal(actual.get(rank).getQty())), "quantity at rank " + rank);
+            rank++;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderBookSideTest {
+    private static final double TOLERANCE = 1e-6;
+
+    //Positive Tests
+
+    @Test
+    public void testRunningSumsFollowRandomUpdates() {
+        Random random = new Random(42);
+        OrderBookSide bids = new OrderBookSide(true, 16);
+        OrderBookSide asks = new OrderBookSide(false, 16);
+        TreeMap<Long, Double> referenceBids = new TreeMap<>(Collections.reverseOrder());
+        TreeMap<Long, Double> referenceAsks = new TreeMap<>();
+
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 20; i++) {
+                long bidPrice = price(41_900 + random.nextInt(100));
+                long askPrice = price(42_001 + random.nextInt(100));
+                double quantity = random.nextInt(4) == 0 ? 0 : 0.001 + random.nextInt(5000) / 1000.0;
+                set(bids, referenceBids, bidPrice, quantity);
+                set(asks, referenceAsks, askPrice, quantity);
+            }
+            bids.updateSums();
+            asks.updateSums();
+            assertSums(referenceBids, bids);
+            assertSums(referenceAsks, asks);
+        }
+    }
+
+    @Test
+    public void testLevelsWithin() {
+        OrderBookSide bids = new OrderBookSide(true, 16);
+        OrderBookSide asks = new OrderBookSide(false, 16);
+        for (int i = 0; i < 10; i++) {
+            bids.set(price(100 - i), 1);
+            asks.set(price(101 + i), 1);
+        }
+
+        assertEquals(3, bids.levelsWithin(price(98)));
+        assertEquals(3, asks.levelsWithin(price(103)));
+        assertEquals(10, bids.levelsWithin(price(1)));
+    }
+
+    @Test
+    public void testLevelsToFill() {
+        OrderBookSide asks = new OrderBookSide(false, 16);
+        asks.set(price(101), 1);
+        asks.set(price(102), 2);
+        asks.set(price(103), 3);
+        asks.updateSums();
+
+        assertEquals(1, asks.levelsToFill(0.5));
+        assertEquals(1, asks.levelsToFill(1));
+        assertEquals(2, asks.levelsToFill(1.5));
+        assertEquals(3, asks.levelsToFill(6));
+        assertEquals(101 + 2 * 102, asks.notionalOfBest(2), TOLERANCE);
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testQuantityBeyondSideCannotBeFilled() {
+        OrderBookSide bids = new OrderBookSide(true, 16);
+        bids.set(price(100), 1);
+        bids.updateSums();
+
+        assertEquals(-1, bids.levelsToFill(1.0001));
+        assertEquals(-1, new OrderBookSide(true, 16).levelsToFill(1));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testLevelsOutsideTheSide() {
+        OrderBookSide bids = new OrderBookSide(true, 16);
+        bids.set(price(100), 1);
+        bids.updateSums();
+
+        assertEquals(0, bids.levelsWithin(price(101)));
+        assertEquals(0, bids.quantityOfBest(0));
+        assertEquals(1, bids.quantityOfBest(5));
+        assertEquals(0, new OrderBookSide(true, 16).quantityOfBest(1));
+    }
+
+    @Test
+    public void testSumsAfterClearAndGrowth() {
+        OrderBookSide asks = new OrderBookSide(false, 16);
+        for (int i = 0; i < 100; i++) {
+            asks.set(price(200 - i), 1);
+        }
+        asks.updateSums();
+        asks.clear();
+        asks.set(price(150), 2);
+        asks.updateSums();
+
+        assertEquals(1, asks.size());
+        assertEquals(2, asks.quantityOfBest(1));
+        assertEquals(300, asks.notionalOfBest(1), TOLERANCE);
+    }
+
+    private static long price(long units) {
+        return units * FixedPoint.SCALE;
+    }
+
+    private static void set(OrderBookSide side, TreeMap<Long, Double> reference, long price, double quantity) {
+        side.set(price, quantity);
+        if (quantity == 0) {
+            reference.remove(price);
+        } else {
+            reference.put(price, quantity);
+        }
+    }
+
+    // Depth of every number of best levels against a walk over the reference
+    private static void assertSums(TreeMap<Long, Double> reference, OrderBookSide side) {
+        assertEquals(reference.size(), side.size());
+        double quantity = 0;
+        double notional = 0;
+        int levels = 0;
+        for (Map.Entry<Long, Double> level : reference.entrySet()) {
+            quantity += level.getValue();
+            notional += FixedPoint.toDouble(level.getKey()) * level.getValue();
+            levels++;
+            assertEquals(quantity, side.quantityOfBest(levels), TOLERANCE);
+            assertEquals(notional, side.notionalOfBest(levels), TOLERANCE * 1e5);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.DepthEvent;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process depth stream source whose events are pushed by the test, to every open subscription.
+ */
+public class StubDepthStreamSource implements DepthStreamSource {
+    private final List<BinanceApiCallback<DepthEvent>> open = new CopyOnWriteArrayList<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Override
+    public Closeable subscribe(String symbol, BinanceApiCallback<DepthEvent> callback) {
+        subscriptions.incrementAndGet();
+        open.add(callback);
+        return () -> {
+            if (open.remove(callback)) {
+                closed.incrementAndGet();
+            }
+        };
+    }
+
+    public void push(DepthEvent event) {
+        open.forEach(callback -> callback.onResponse(event));
+    }
+
+    // Fails every open subscription, as a dropped connection does
+    public void fail(Throwable cause) {
+        for (BinanceApiCallback<DepthEvent> callback : open) {
+            open.remove(callback);
+            callback.onFailure(cause);
+        }
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptions.get();
+    }
+
+    public int getOpenCount() {
+        return open.size();
+    }
+
+    public int getClosedCount() {
+        return closed.get();
+    }
+}
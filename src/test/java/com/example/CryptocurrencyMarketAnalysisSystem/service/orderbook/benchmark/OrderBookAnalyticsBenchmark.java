@@ -0,0 +1,159 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.benchmark;
+
+import com.binance.api.client.domain.OrderSide;
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.FillEstimate;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.OrderBookMetrics;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.DepthRecording;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.LocalOrderBook;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the order book metrics as the book grows deeper. Each query covers about half of the levels:
+ * the depth within a distance from the mid price, and the fill of a market order for half of the ask
+ * quantity. The local book answers from its running sums with binary searches, so its time should barely
+ * move with the depth; the baseline walks the levels of TreeMaps as a per request computation would. The
+ * update benchmark applies an event changing three levels near the top, the running sums included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderBookAnalyticsBenchmark {
+    private static final double BEST_BID = 42_000.00;
+    private static final double TICK = 0.01;
+
+    @Param({"1000", "10000", "100000"})
+    public int levels;
+
+    private LocalOrderBook book;
+    private TreeMap<Double, Double> baselineBids;
+    private TreeMap<Double, Double> baselineAsks;
+    private double bps;
+    private double fillQuantity;
+    private DepthEvent update;
+    private long updateId;
+    private int updateCount;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        Random random = new Random(42);
+        List<OrderBookEntry> bids = new ArrayList<>(levels);
+        List<OrderBookEntry> asks = new ArrayList<>(levels);
+        baselineBids = new TreeMap<>(Collections.reverseOrder());
+        baselineAsks = new TreeMap<>();
+        double askQuantity = 0;
+        for (int i = 0; i < levels; i++) {
+            double bid = BEST_BID - i * TICK;
+            double ask = BEST_BID + (i + 1) * TICK;
+            double bidQuantity = 0.001 + random.nextInt(2000) / 1000.0;
+            double quantity = 0.001 + random.nextInt(2000) / 1000.0;
+            bids.add(DepthRecording.level(format(bid), format(bidQuantity)));
+            asks.add(DepthRecording.level(format(ask), format(quantity)));
+            baselineBids.put(bid, bidQuantity);
+            baselineAsks.put(ask, quantity);
+            askQuantity += quantity;
+        }
+        OrderBook snapshot = new OrderBook();
+        snapshot.setLastUpdateId(1);
+        snapshot.setBids(bids);
+        snapshot.setAsks(asks);
+        book = new LocalOrderBook("BTCUSDT", 10);
+        book.onSnapshot(snapshot);
+        updateId = 1;
+
+        // Half of the levels of each side lie within this distance from the mid price
+        double mid = BEST_BID + TICK / 2;
+        bps = (levels / 2.0) * TICK / mid * 10_000;
+        fillQuantity = askQuantity / 2;
+        update = DepthRecording.event(0, 0, new ArrayList<>(List.of(
+                DepthRecording.level(format(BEST_BID - 2 * TICK), "0.5"),
+                DepthRecording.level(format(BEST_BID - 5 * TICK), "1.5"))),
+                new ArrayList<>(List.of(DepthRecording.level(format(BEST_BID + 3 * TICK), "0.75"))));
+    }
+
+    @Benchmark
+    public OrderBookMetrics depthLocalOrderBook() {
+        return book.metrics(bps).orElseThrow();
+    }
+
+    @Benchmark
+    public double depthTreeMapBaseline() {
+        double mid = (baselineBids.firstKey() + baselineAsks.firstKey()) / 2;
+        double bidLimit = mid * (1 - bps / 10_000);
+        double askLimit = mid * (1 + bps / 10_000);
+        double bidQuantity = 0;
+        for (Map.Entry<Double, Double> level : baselineBids.entrySet()) {
+            if (level.getKey() < bidLimit) {
+                break;
+            }
+            bidQuantity += level.getValue();
+        }
+        double askQuantity = 0;
+        for (Map.Entry<Double, Double> level : baselineAsks.entrySet()) {
+            if (level.getKey() > askLimit) {
+                break;
+            }
+            askQuantity += level.getValue();
+        }
+        return (bidQuantity - askQuantity) / (bidQuantity + askQuantity);
+    }
+
+    @Benchmark
+    public FillEstimate fillLocalOrderBook() {
+        return book.estimateFill(OrderSide.BUY, fillQuantity).orElseThrow();
+    }
+
+    @Benchmark
+    public double fillTreeMapBaseline() {
+        double remaining = fillQuantity;
+        double cost = 0;
+        for (Map.Entry<Double, Double> level : baselineAsks.entrySet()) {
+            double taken = Math.min(remaining, level.getValue());
+            cost += taken * level.getKey();
+            remaining -= taken;
+            if (remaining <= 0) {
+                break;
+            }
+        }
+        return cost / (fillQuantity - remaining);
+    }
+
+    @Benchmark
+    public LocalOrderBook.Result updateLocalOrderBook() {
+        updateId++;
+        update.setFirstUpdateId(updateId);
+        update.setFinalUpdateId(updateId);
+        // Alternate the quantities so every event changes the levels
+        String quantity = (++updateCount & 1) == 0 ? "0.5" : "0.6";
+        update.getBids().get(0).setQty(quantity);
+        return book.onEvent(update);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.8f", value);
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
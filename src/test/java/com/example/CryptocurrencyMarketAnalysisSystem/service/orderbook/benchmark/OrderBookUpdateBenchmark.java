@@ -0,0 +1,183 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.benchmark;
+
+import com.binance.api.client.domain.event.DepthEvent;
+import com.binance.api.client.domain.market.OrderBook;
+import com.binance.api.client.domain.market.OrderBookEntry;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.DepthRecording;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.orderbook.LocalOrderBook;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the local order book against a baseline of TreeMaps keyed by BigDecimal, the straightforward
+ * port of the Binance procedure. The recorded BTCUSDT depth frames are replayed over and over on top of the
+ * recorded snapshot, their update IDs shifted by one pass per replay so each pass continues the last one. The
+ * apply benchmarks report depth events per second; the read benchmarks copy the best 100 levels per side the
+ * way the order book page asks for them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderBookUpdateBenchmark {
+    // Events of one pass, the recorded ones not ending before the snapshot
+    private static final int EVENTS = 595;
+    private static final int READ_LIMIT = 100;
+
+    private List<DepthEvent> events;
+    private long[] firstUpdateIds;
+    private long[] finalUpdateIds;
+    private long span;
+    private long pass;
+
+    private LocalOrderBook book;
+    private TreeMapOrderBook baseline;
+
+    // The baseline: BigDecimal prices and quantities in sorted maps, bids in descending order
+    private static final class TreeMapOrderBook {
+        private final TreeMap<BigDecimal, BigDecimal> bids = new TreeMap<>(Collections.reverseOrder());
+        private final TreeMap<BigDecimal, BigDecimal> asks = new TreeMap<>();
+        private long lastUpdateId;
+
+        private TreeMapOrderBook(OrderBook snapshot) {
+            snapshot.getBids().forEach(entry -> set(bids, entry));
+            snapshot.getAsks().forEach(entry -> set(asks, entry));
+            lastUpdateId = snapshot.getLastUpdateId();
+        }
+
+        private boolean apply(DepthEvent event) {
+            if (event.getFinalUpdateId() <= lastUpdateId || event.getFirstUpdateId() > lastUpdateId + 1) {
+                return false;
+            }
+            event.getBids().forEach(entry -> set(bids, entry));
+            event.getAsks().forEach(entry -> set(asks, entry));
+            lastUpdateId = event.getFinalUpdateId();
+            return true;
+        }
+
+        private static void set(TreeMap<BigDecimal, BigDecimal> side, OrderBookEntry entry) {
+            BigDecimal quantity = new BigDecimal(entry.getQty());
+            if (quantity.signum() == 0) {
+                side.remove(new BigDecimal(entry.getPrice()));
+            } else {
+                side.put(new BigDecimal(entry.getPrice()), quantity);
+            }
+        }
+
+        private OrderBook toOrderBook(int limit) {
+            OrderBook orderBook = new OrderBook();
+            orderBook.setLastUpdateId(lastUpdateId);
+            orderBook.setBids(entries(bids, limit));
+            orderBook.setAsks(entries(asks, limit));
+            return orderBook;
+        }
+
+        private static List<OrderBookEntry> entries(TreeMap<BigDecimal, BigDecimal> side, int limit) {
+            List<OrderBookEntry> entries = new ArrayList<>(limit);
+            for (Map.Entry<BigDecimal, BigDecimal> level : side.entrySet()) {
+                if (entries.size() == limit) {
+                    break;
+                }
+                OrderBookEntry entry = new OrderBookEntry();
+                entry.setPrice(level.getKey().setScale(8).toPlainString());
+                entry.setQty(level.getValue().setScale(8).toPlainString());
+                entries.add(entry);
+            }
+            return entries;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        OrderBook snapshot = DepthRecording.snapshot();
+        events = DepthRecording.events().stream()
+                .filter(event -> event.getFinalUpdateId() > snapshot.getLastUpdateId())
+                .toList();
+        if (events.size() != EVENTS) {
+            throw new IllegalStateException("Expected " + EVENTS + " recorded events, got " + events.size());
+        }
+        firstUpdateIds = events.stream().mapToLong(DepthEvent::getFirstUpdateId).toArray();
+        finalUpdateIds = events.stream().mapToLong(DepthEvent::getFinalUpdateId).toArray();
+        span = finalUpdateIds[EVENTS - 1] - snapshot.getLastUpdateId();
+
+        book = new LocalOrderBook("BTCUSDT", 10_000);
+        book.onSnapshot(snapshot);
+        baseline = new TreeMapOrderBook(snapshot);
+        pass = 0;
+    }
+
+    // Moves the recorded events one pass on, so they continue the last update applied
+    private void nextPass() {
+        long offset = pass++ * span;
+        for (int i = 0; i < EVENTS; i++) {
+            DepthEvent event = events.get(i);
+            event.setFirstUpdateId(firstUpdateIds[i] + offset);
+            event.setFinalUpdateId(finalUpdateIds[i] + offset);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int applyLocalOrderBook() {
+        nextPass();
+        int applied = 0;
+        for (DepthEvent event : events) {
+            if (book.onEvent(event) == LocalOrderBook.Result.APPLIED) {
+                applied++;
+            }
+        }
+        if (applied != EVENTS) {
+            throw new IllegalStateException("Only " + applied + " of " + EVENTS + " events applied");
+        }
+        return applied;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int applyTreeMapBaseline() {
+        nextPass();
+        int applied = 0;
+        for (DepthEvent event : events) {
+            if (baseline.apply(event)) {
+                applied++;
+            }
+        }
+        if (applied != EVENTS) {
+            throw new IllegalStateException("Only " + applied + " of " + EVENTS + " events applied");
+        }
+        return applied;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public OrderBook readLocalOrderBook() {
+        return book.toOrderBook(READ_LIMIT).orElseThrow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public OrderBook readTreeMapBaseline() {
+        return baseline.toOrderBook(READ_LIMIT);
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
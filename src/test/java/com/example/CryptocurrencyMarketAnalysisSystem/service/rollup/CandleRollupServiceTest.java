@@ -0,0 +1,131 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.rollup;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleRollupProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.repository.CandlestickRepository;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.CandlestickBackfillExecutor;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.cache.CandlestickSeriesCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CandleRollupServiceTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final long ONE_HOUR = 60 * ONE_MINUTE;
+    private static final String SYMBOL = "BTCUSDT";
+
+    private CandlestickSeriesCache cache;
+    private CandleRollupService rollupService;
+
+    @BeforeEach
+    public void setup() {
+        cache = new CandlestickSeriesCache(DataSize.ofMegabytes(16), 64);
+        rollupService = new CandleRollupService(cache, new CandleRollupProperties());
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testMissingRangesAreDerivedFromStoredMinutes() {
+        CandleSeries base = CandleRollupTest.createSeries(0, 3 * 60);
+
+        CandleSeries hours = rollupService.derive(SYMBOL, CandlestickInterval.HOURLY,
+                List.of(new TimeRange(START, START + ONE_HOUR), new TimeRange(START + 2 * ONE_HOUR, START + 3 * ONE_HOUR)),
+                (from, to) -> base.sliceByOpenTime(from, to));
+
+        assertArrayEquals(new long[]{START, START + 2 * ONE_HOUR}, hours.openTimes());
+        assertEquals(120, rollupService.getBaseCandleCount());
+        assertEquals(2, rollupService.getDerivedCandleCount());
+    }
+
+    @Test
+    public void testStoredMinutesAreMaterializedIntoCachedSeries() {
+        // A read of the hourly series caches it, the database holds no hourly candles
+        CandlestickSeriesCache.RangeLoader noHourlyCandles = (from, to) -> CandleSeries.empty();
+        cache.getSeries(SYMBOL, CandlestickInterval.HOURLY, START, START, noHourlyCandles);
+
+        CandleSeries base = CandleRollupTest.createSeries(0, 2 * 60);
+        rollupService.onBaseCandles(SYMBOL, base.slice(0, 90));
+        rollupService.onBaseCandles(SYMBOL, base.slice(90, 120));
+
+        CandleSeries hours = cache.getSeries(SYMBOL, CandlestickInterval.HOURLY, START, START + ONE_HOUR,
+                (from, to) -> fail("Hourly candles should be answered from the cache"));
+        assertArrayEquals(new long[]{START, START + ONE_HOUR}, hours.openTimes());
+        assertEquals(base.close(119), hours.close(1));
+        // Two hours also complete the 3m, 5m, 15m, 30m and 2h buckets in them
+        assertEquals(40 + 24 + 8 + 4 + 2 + 1, rollupService.getMaterializedCandleCount());
+    }
+
+    @Test
+    public void testHourlyHistoryNeedsNoRequestWithStoredMinutes() {
+        CandleSeries base = CandleRollupTest.createSeries(0, 24 * 60);
+        CandlestickRepository repository = mock(CandlestickRepository.class);
+        when(repository.findSeries(eq(SYMBOL), eq(CandlestickInterval.HOURLY), anyLong(), anyLong())).thenReturn(CandleSeries.empty());
+        when(repository.findSeries(eq(SYMBOL), eq(CandlestickInterval.ONE_MINUTE), anyLong(), anyLong()))
+                .thenAnswer(invocation -> base.sliceByOpenTime(invocation.getArgument(2), invocation.getArgument(3)));
+        BinanceMarketDataClient binanceApiClient = mock(BinanceMarketDataClient.class);
+        BinanceHistoricalDataService historicalDataService = new BinanceHistoricalDataService(
+                new CandlestickDataService(repository, cache, rollupService),
+                new CandlestickBackfillExecutor(Runnable::run, BinanceRequestWeightLimiter.KLINES_WEIGHT),
+                new BinanceRequestWeightLimiter(6000, Duration.ofSeconds(2)), binanceApiClient);
+
+        CandleSeries hours = historicalDataService.getHistoricalCandleSeries(SYMBOL, CandlestickInterval.HOURLY,
+                START, START + 24 * ONE_HOUR);
+
+        assertEquals(24, hours.size());
+        assertEquals(START + 23 * ONE_HOUR, hours.lastOpenTime());
+        verifyNoInteractions(binanceApiClient);
+        verify(repository, never()).insertIgnoringDuplicates(anyString(), any(), any(CandleSeries.class));
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testMonthlyCannotBeDerived() {
+        CandleRollupProperties properties = new CandleRollupProperties();
+        properties.setIntervals(List.of(CandlestickInterval.MONTHLY));
+
+        assertThrows(IllegalArgumentException.class, () -> new CandleRollupService(cache, properties));
+    }
+
+    @Test
+    public void testDisabledDerivesNothing() {
+        CandleSeries base = CandleRollupTest.createSeries(0, 60);
+
+        CandleSeries hours = CandleRollupService.disabled().derive(SYMBOL, CandlestickInterval.HOURLY,
+                List.of(new TimeRange(START, START + ONE_HOUR)), (from, to) -> base);
+
+        assertTrue(hours.isEmpty());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testOneMinuteIsNeverDerived() {
+        assertFalse(rollupService.isDerived(CandlestickInterval.ONE_MINUTE));
+        assertTrue(rollupService.derive(SYMBOL, CandlestickInterval.ONE_MINUTE, List.of(new TimeRange(START, START + ONE_HOUR)),
+                (from, to) -> fail("Nothing should be loaded")).isEmpty());
+    }
+
+    @Test
+    public void testRangeWithoutStoredMinutesStaysMissing() {
+        CandleSeries hours = rollupService.derive(SYMBOL, CandlestickInterval.DAILY,
+                List.of(new TimeRange(START, START + 24 * ONE_HOUR)), (from, to) -> CandleSeries.empty());
+
+        assertTrue(hours.isEmpty());
+        assertEquals(0, rollupService.getDerivedCandleCount());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.rollup;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandleRollupTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z, a Sunday
+    private static final long ONE_MINUTE = 60_000L;
+    private static final long ONE_HOUR = 60 * ONE_MINUTE;
+
+    //Positive Tests
+
+    @Test
+    public void testMinutesRollUpIntoHours() {
+        CandleSeries base = createSeries(0, 120);
+
+        CandleSeries hours = CandleRollup.rollup(base, ONE_MINUTE, ONE_HOUR, 0);
+
+        assertEquals(2, hours.size());
+        for (int hour = 0; hour < 2; hour++) {
+            int first = hour * 60;
+            assertEquals(START + hour * ONE_HOUR, hours.openTime(hour));
+            assertEquals(START + (hour + 1) * ONE_HOUR - 1, hours.closeTime(hour));
+            assertEquals(base.open(first), hours.open(hour));
+            assertEquals(base.close(first + 59), hours.close(hour));
+            double high = Double.NEGATIVE_INFINITY;
+            double low = Double.POSITIVE_INFINITY;
+            double volume = 0;
+            long trades = 0;
+            for (int i = first; i < first + 60; i++) {
+                high = Math.max(high, base.high(i));
+                low = Math.min(low, base.low(i));
+                volume += base.volume(i);
+                trades += base.numberOfTrades(i);
+            }
+            assertEquals(high, hours.high(hour));
+            assertEquals(low, hours.low(hour));
+            assertEquals(volume, hours.volume(hour), 1e-9);
+            assertEquals(trades, hours.numberOfTrades(hour));
+        }
+    }
+
+    @Test
+    public void testBucketIsEmittedWithItsLastMinute() {
+        CandleRollup rollup = new CandleRollup(ONE_MINUTE, ONE_HOUR, 0);
+        CandleSeries base = createSeries(0, 60);
+        CandleSeries.Builder buckets = CandleSeries.builder(1);
+
+        for (int i = 0; i < 59; i++) {
+            assertFalse(rollup.add(base, i, buckets));
+        }
+        assertTrue(rollup.add(base, 59, buckets));
+        assertEquals(1, buckets.size());
+    }
+
+    @Test
+    public void testWeeksOpenOnMonday() {
+        long oneDay = 24 * ONE_HOUR;
+        // Sunday 2023-01-01 to Monday 2023-01-16: the weeks of 2 and 9 January are complete
+        CandleSeries base = createSeries(0, 16 * 24 * 60);
+
+        CandleSeries weeks = CandleRollup.rollup(base, ONE_MINUTE, 7 * oneDay, 4 * oneDay);
+
+        assertEquals(2, weeks.size());
+        assertEquals(START + oneDay, weeks.openTime(0));
+        assertEquals(START + 8 * oneDay, weeks.openTime(1));
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testBucketMustBeMultipleOfBase() {
+        assertThrows(IllegalArgumentException.class, () -> new CandleRollup(ONE_MINUTE, 90_000L, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CandleRollup(ONE_MINUTE, ONE_MINUTE, 0));
+    }
+
+    @Test
+    public void testBucketWithMissingMinuteIsDropped() {
+        CandleSeries.Builder builder = CandleSeries.builder(179);
+        CandleSeries all = createSeries(0, 180);
+        for (int i = 0; i < 180; i++) {
+            if (i != 75) {
+                builder.add(all, i);
+            }
+        }
+
+        CandleSeries hours = CandleRollup.rollup(builder.build(), ONE_MINUTE, ONE_HOUR, 0);
+
+        assertArrayEquals(new long[]{START, START + 2 * ONE_HOUR}, hours.openTimes());
+    }
+
+    @Test
+    public void testEarlierCandlesAreIgnored() {
+        CandleRollup rollup = new CandleRollup(ONE_MINUTE, ONE_HOUR, 0);
+        CandleSeries.Builder buckets = CandleSeries.builder(1);
+        rollup.addAll(createSeries(30, 30), buckets);
+
+        // A backfill of the first half hour arrives after the second half
+        rollup.addAll(createSeries(0, 30), buckets);
+
+        assertEquals(0, buckets.size());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testPartialFirstAndLastBucketsAreDropped() {
+        CandleSeries hours = CandleRollup.rollup(createSeries(30, 120), ONE_MINUTE, ONE_HOUR, 0);
+
+        assertArrayEquals(new long[]{START + ONE_HOUR}, hours.openTimes());
+    }
+
+    @Test
+    public void testEmptyBase() {
+        assertTrue(CandleRollup.rollup(CandleSeries.empty(), ONE_MINUTE, ONE_HOUR, 0).isEmpty());
+    }
+
+    // One minute candles from START plus the given number of minutes
+    static CandleSeries createSeries(int fromMinute, int count) {
+        CandleSeries.Builder builder = CandleSeries.builder(count);
+        for (int minute = fromMinute; minute < fromMinute + count; minute++) {
+            double price = 20000 + 50 * Math.sin(minute / 7.0);
+            builder.add(START + minute * ONE_MINUTE, START + (minute + 1) * ONE_MINUTE - 1, price,
+                    price + 1 + minute % 5, price - 1 - minute % 3, price + Math.cos(minute), 2 + minute % 4,
+                    40000 + minute, 10 + minute % 9, 1, 20000);
+        }
+        return builder.build();
+    }
+}
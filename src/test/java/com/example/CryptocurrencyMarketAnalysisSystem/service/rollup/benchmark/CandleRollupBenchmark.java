@@ -0,0 +1,75 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.rollup.benchmark;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.rollup.CandleRollup;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of rolling up 10 million ONE_MINUTE candles, about 19 years, into FIVE_MINUTES, HOURLY and DAILY
+ * candles: in one pass over the whole series as reads derive missing ranges, and in pages of 500 candles
+ * through one long-lived rollup as live ingestion stores them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CandleRollupBenchmark {
+    private static final long START = 1420070400000L; // 2015-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final int CANDLES = 10_000_000;
+    private static final int PAGE_SIZE = 500;
+
+    @Param({"5", "60", "1440"})
+    public int minutesPerBucket;
+
+    private CandleSeries base;
+    private CandleSeries[] pages;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CandleSeries.Builder builder = CandleSeries.builder(CANDLES);
+        double price = 20000;
+        for (int i = 0; i < CANDLES; i++) {
+            double next = price + Math.sin(i * 0.37) * 15;
+            builder.add(START + i * ONE_MINUTE, START + (i + 1) * ONE_MINUTE - 1, price,
+                    Math.max(price, next) + 3, Math.min(price, next) - 3, next, 12.5, 250000, 300, 6, 125000);
+            price = next;
+        }
+        base = builder.build();
+        pages = new CandleSeries[CANDLES / PAGE_SIZE];
+        for (int page = 0; page < pages.length; page++) {
+            pages[page] = base.slice(page * PAGE_SIZE, (page + 1) * PAGE_SIZE);
+        }
+    }
+
+    @Benchmark
+    public CandleSeries rollup() {
+        return CandleRollup.rollup(base, ONE_MINUTE, minutesPerBucket * ONE_MINUTE, 0);
+    }
+
+    @Benchmark
+    public int incremental() {
+        CandleRollup rollup = new CandleRollup(ONE_MINUTE, minutesPerBucket * ONE_MINUTE, 0);
+        int completed = 0;
+        for (CandleSeries page : pages) {
+            CandleSeries.Builder buckets = CandleSeries.builder(0);
+            rollup.addAll(page, buckets);
+            completed += buckets.size();
+        }
+        return completed;
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.screener;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.binance.api.client.domain.market.TickerPrice;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.ScreenerProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ScreenerResult;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ScreenerRow;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ScreenerServiceTest {
+    private static final long ONE_HOUR = 3_600_000L;
+    private static final long NOW = 1704067200000L + ONE_HOUR / 2; // 2024-01-01T00:30:00Z
+    // The last closed candle opened at 2023-12-31T23:00:00Z
+    private static final long LAST_OPEN_TIME = 1704067200000L - ONE_HOUR;
+    private static final CandlestickInterval INTERVAL = CandlestickInterval.HOURLY;
+    private static final String INDICATORS = "RSI:14,MACD:12:26:9";
+
+    private BinanceHistoricalDataService binanceHistoricalDataService;
+    private CandlestickDataService candlestickDataService;
+    private BinanceMarketDataClient binanceApiClient;
+    private ScreenerProperties properties;
+    private ScreenerService screenerService;
+
+    @BeforeEach
+    public void setup() {
+        binanceHistoricalDataService = mock(BinanceHistoricalDataService.class);
+        candlestickDataService = mock(CandlestickDataService.class);
+        binanceApiClient = mock(BinanceMarketDataClient.class);
+        when(binanceHistoricalDataService.getCandlestickIntervalMillis(INTERVAL)).thenReturn(ONE_HOUR);
+        // Stored candles cover the window unless there are none
+        when(binanceHistoricalDataService.findMissingRanges(any(), anyLong(), anyLong(), eq(INTERVAL))).thenAnswer(invocation ->
+                invocation.<CandleSeries>getArgument(0).isEmpty()
+                        ? List.of(new TimeRange(invocation.getArgument(1), invocation.getArgument(2))) : List.of());
+        when(candlestickDataService.getCandleSeries(anyString(), any(), any(), eq(INTERVAL))).thenReturn(CandleSeries.empty());
+
+        properties = new ScreenerProperties();
+        properties.setParallelism(2);
+        screenerService = create();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        screenerService.close();
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testSymbolsAreRankedBySortKey() {
+        storeSeries("UPUSDT", createSeries(250, 0.5));
+        storeSeries("FLATUSDT", createSeries(250, 0));
+        storeSeries("DOWNUSDT", createSeries(250, -0.5));
+
+        ScreenerResult result = screenerService.scan(query(List.of("upusdt", "FLATUSDT", "DOWNUSDT"), "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10));
+
+        assertEquals(3, result.scanned());
+        assertEquals(List.of("DOWNUSDT", "FLATUSDT", "UPUSDT"), result.rows().stream().map(ScreenerRow::symbol).toList());
+        ScreenerRow first = result.rows().get(0);
+        assertEquals(LAST_OPEN_TIME, first.openTime());
+        assertEquals(4, first.values().size());
+        assertTrue(first.values().containsKey("MACD(12,26,9).histogram"));
+        assertTrue(result.skipped().isEmpty());
+        verify(binanceHistoricalDataService, never()).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testDescendingRankWithBoundsAndLimit() {
+        storeSeries("UPUSDT", createSeries(250, 0.5));
+        storeSeries("FLATUSDT", createSeries(250, 0.05));
+        storeSeries("DOWNUSDT", createSeries(250, -0.5));
+
+        ScreenerResult result = screenerService.scan(query(List.of("UPUSDT", "FLATUSDT", "DOWNUSDT"), "RSI(14)", true,
+                50, 100, 1));
+
+        assertEquals(List.of("UPUSDT"), result.rows().stream().map(ScreenerRow::symbol).toList());
+    }
+
+    @Test
+    public void testEverySymbolOfLargeUniverseIsScreened() {
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            String symbol = "S" + i + "USDT";
+            symbols.add(symbol);
+            storeSeries(symbol, createSeries(250, (i - 50) / 100.0));
+        }
+
+        ScreenerResult result = screenerService.scan(query(symbols, "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 100));
+
+        assertEquals(100, result.rows().size());
+        assertEquals(100, result.rows().stream().map(ScreenerRow::symbol).distinct().count());
+        for (int i = 1; i < result.rows().size(); i++) {
+            assertTrue(result.rows().get(i - 1).values().get("RSI(14)") <= result.rows().get(i).values().get("RSI(14)"));
+        }
+    }
+
+    @Test
+    public void testUniverseIsReadFromAllPricesOnce() {
+        when(binanceApiClient.getAllPrices()).thenReturn(List.of(price("ETHUSDT"), price("ETHBTC"), price("BTCUSDT")));
+        storeSeries("BTCUSDT", createSeries(250, 0.5));
+        storeSeries("ETHUSDT", createSeries(250, -0.5));
+
+        ScreenerResult first = screenerService.scan(query(List.of(), "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10));
+        ScreenerResult second = screenerService.scan(query(List.of(), "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10));
+
+        assertEquals(2, first.scanned());
+        assertEquals(List.of("ETHUSDT", "BTCUSDT"), second.rows().stream().map(ScreenerRow::symbol).toList());
+        verify(binanceApiClient, times(1)).getAllPrices();
+    }
+
+    @Test
+    public void testColdSymbolIsFetched() {
+        when(binanceHistoricalDataService.getHistoricalCandleSeries(eq("NEWUSDT"), eq(INTERVAL), anyLong(), anyLong()))
+                .thenReturn(createSeries(250, 0.5));
+
+        ScreenerResult result = screenerService.scan(query(List.of("NEWUSDT"), "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10));
+
+        assertEquals(1, result.rows().size());
+        assertEquals(1, screenerService.getColdFetchCount());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testColdSymbolsBeyondBudgetAreSkipped() {
+        properties.setColdWeightBudget(BinanceRequestWeightLimiter.KLINES_WEIGHT);
+        screenerService.close();
+        screenerService = create();
+        when(binanceHistoricalDataService.getHistoricalCandleSeries(anyString(), eq(INTERVAL), anyLong(), anyLong()))
+                .thenReturn(createSeries(250, 0.5));
+
+        ScreenerResult result = screenerService.scan(query(List.of("AUSDT", "BUSDT"), "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10));
+
+        assertEquals(1, result.rows().size());
+        assertEquals(1, result.skipped().size());
+        assertTrue(result.skipped().values().iterator().next().contains("weight budget"));
+        verify(binanceHistoricalDataService, times(1)).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testFailedSymbolIsSkipped() {
+        storeSeries("BTCUSDT", createSeries(250, 0.5));
+        when(binanceHistoricalDataService.getHistoricalCandleSeries(eq("NEWUSDT"), eq(INTERVAL), anyLong(), anyLong()))
+                .thenThrow(new IllegalStateException("Binance request weight limit reached, try again later"));
+
+        ScreenerResult result = screenerService.scan(query(List.of("BTCUSDT", "NEWUSDT"), "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10));
+
+        assertEquals(List.of("BTCUSDT"), result.rows().stream().map(ScreenerRow::symbol).toList());
+        assertEquals("Binance request weight limit reached, try again later", result.skipped().get("NEWUSDT"));
+    }
+
+    @Test
+    public void testUnknownSortKey() {
+        assertThrows(IllegalArgumentException.class, () -> screenerService.scan(query(List.of("BTCUSDT"), "EMA(20)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10)));
+        verifyNoInteractions(candlestickDataService);
+    }
+
+    @Test
+    public void testTooManySymbols() {
+        properties.setMaxSymbols(2);
+        screenerService.close();
+        screenerService = create();
+
+        assertThrows(IllegalArgumentException.class, () -> screenerService.scan(query(List.of("AUSDT", "BUSDT", "CUSDT"),
+                "RSI(14)", false, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10)));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testNotEnoughCandlesIsSkipped() {
+        // MACD(12,26,9) needs 33 candles before its first value
+        storeSeries("NEWUSDT", createSeries(33, 0.5));
+
+        ScreenerResult result = screenerService.scan(query(List.of("NEWUSDT"), "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10));
+
+        assertTrue(result.rows().isEmpty());
+        assertEquals("Not enough data to calculate indicators", result.skipped().get("NEWUSDT"));
+    }
+
+    @Test
+    public void testOpenCandleIsNotEvaluated() {
+        CandleSeries closed = createSeries(250, 0.5);
+        CandleSeries withOpenCandle = CandleSeries.merge(List.of(closed, CandleSeries.builder(1)
+                .add(LAST_OPEN_TIME + ONE_HOUR, LAST_OPEN_TIME + 2 * ONE_HOUR - 1, 1, 1, 1, 1, 1, 1, 1, 1, 1).build()));
+        storeSeries("BTCUSDT", withOpenCandle);
+
+        ScreenerRow row = screenerService.scan(query(List.of("BTCUSDT"), "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 10)).rows().get(0);
+
+        assertEquals(LAST_OPEN_TIME, row.openTime());
+        assertEquals(closed.close(closed.size() - 1), row.close());
+    }
+
+    private ScreenerService create() {
+        return new ScreenerService(binanceHistoricalDataService, candlestickDataService,
+                new BinanceRequestWeightLimiter(6000, Duration.ZERO), binanceApiClient, properties, () -> NOW);
+    }
+
+    private void storeSeries(String symbol, CandleSeries candles) {
+        when(candlestickDataService.getCandleSeries(eq(symbol), any(), any(), eq(INTERVAL))).thenReturn(candles);
+    }
+
+    private static ScreenerQuery query(List<String> symbols, String sortBy, boolean descending, double min, double max, int limit) {
+        return new ScreenerQuery(symbols, INTERVAL, Indicators.parse(INDICATORS), sortBy, descending, min, max, limit);
+    }
+
+    // Hourly candles ending at the last closed one, drifting by drift per candle around an alternating move
+    private static CandleSeries createSeries(int count, double drift) {
+        CandleSeries.Builder builder = CandleSeries.builder(count);
+        long start = LAST_OPEN_TIME - (count - 1) * ONE_HOUR;
+        for (int i = 0; i < count; i++) {
+            double close = 1000 + drift * i + (i % 2 == 0 ? 1 : -1);
+            builder.add(start + i * ONE_HOUR, start + (i + 1) * ONE_HOUR - 1, close, close + 1, close - 1, close,
+                    10, 10 * close, 1, 5, 5 * close);
+        }
+        return builder.build();
+    }
+
+    private static TickerPrice price(String symbol) {
+        TickerPrice price = new TickerPrice();
+        price.setSymbol(symbol);
+        price.setPrice("1");
+        return price;
+    }
+}
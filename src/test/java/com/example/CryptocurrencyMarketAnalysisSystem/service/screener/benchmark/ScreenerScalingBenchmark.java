@@ -0,0 +1,118 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.screener.benchmark;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.ScreenerProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ScreenerResult;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.indicator.Indicators;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.screener.ScreenerQuery;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.screener.ScreenerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of one screener scan over a universe of warm symbols, whose candles are served from memory as the
+ * series cache would, with the screener's default indicators. Parallelism 1 is the sequential baseline; the
+ * other settings show how the scan scales with the workers of the fork-join pool, up to the cores available.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScreenerScalingBenchmark {
+    private static final long ONE_HOUR = 3_600_000L;
+
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    @Param({"300"})
+    public int symbols;
+
+    @Param({"1000"})
+    public int candles;
+
+    private ScreenerService screenerService;
+    private ScreenerQuery query;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // The last closed hourly candle
+        long lastOpenTime = System.currentTimeMillis() / ONE_HOUR * ONE_HOUR - ONE_HOUR;
+        Random random = new Random(42);
+        Map<String, CandleSeries> stored = new HashMap<>();
+        List<String> universe = new ArrayList<>();
+        for (int s = 0; s < symbols; s++) {
+            String symbol = "S" + s + "USDT";
+            universe.add(symbol);
+            stored.put(symbol, createSeries(random, lastOpenTime, candles));
+        }
+
+        ScreenerProperties properties = new ScreenerProperties();
+        properties.setParallelism(parallelism);
+        properties.setCandles(candles);
+        screenerService = new ScreenerService(new BinanceHistoricalDataService(null) {
+            @Override
+            public List<TimeRange> findMissingRanges(CandleSeries existing, long startTime, long endTime, CandlestickInterval interval) {
+                return List.of();
+            }
+        }, new CandlestickDataService(null) {
+            @Override
+            public CandleSeries getCandleSeries(String symbol, ZonedDateTime startTime, ZonedDateTime endTime, CandlestickInterval interval) {
+                return stored.get(symbol);
+            }
+        }, new BinanceRequestWeightLimiter(6000, Duration.ZERO), null, properties);
+        query = new ScreenerQuery(universe, CandlestickInterval.HOURLY,
+                Indicators.parse("RSI:14,MACD:12:26:9,BOLLINGER:20:2,STOCHASTIC:14:3,ATR:14"), "RSI(14)", false,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 50);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        screenerService.close();
+    }
+
+    @Benchmark
+    public ScreenerResult scan() {
+        return screenerService.scan(query);
+    }
+
+    // A random walk of hourly candles ending at the given open time
+    private static CandleSeries createSeries(Random random, long lastOpenTime, int count) {
+        CandleSeries.Builder builder = CandleSeries.builder(count);
+        long start = lastOpenTime - (count - 1) * ONE_HOUR;
+        double price = 100;
+        for (int i = 0; i < count; i++) {
+            double open = price;
+            price = Math.max(1, price + random.nextGaussian());
+            double high = Math.max(open, price) + random.nextDouble();
+            double low = Math.min(open, price) - random.nextDouble();
+            builder.add(start + i * ONE_HOUR, start + (i + 1) * ONE_HOUR - 1, open, high, low, price,
+                    1000, 1000 * price, 100, 500, 500 * price);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Command line arguments.
+     * @throws Exception If an error occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.stream;
+
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleStreamProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleUpdate;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.RSIUpdate;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.RSIService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.ExchangeSymbols;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CandleStreamHubTest {
+    private static final long START = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final String SYMBOL = "BTCUSDT";
+    private static final CandlestickInterval INTERVAL = CandlestickInterval.ONE_MINUTE;
+
+    private StubKlineStreamSource streamSource;
+    private RSIService rsiService;
+    private BinanceHistoricalDataService binanceHistoricalDataService;
+    private ExchangeSymbols exchangeSymbols;
+    private CandleStreamProperties properties;
+    private CandleStreamHub hub;
+    private final List<Disposable> subscriptions = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        streamSource = new StubKlineStreamSource();
+        rsiService = mock(RSIService.class);
+        binanceHistoricalDataService = mock(BinanceHistoricalDataService.class);
+        when(binanceHistoricalDataService.getCandlestickIntervalMillis(INTERVAL)).thenReturn(ONE_MINUTE);
+        exchangeSymbols = mock(ExchangeSymbols.class);
+        when(exchangeSymbols.isTrading(anyString())).thenReturn(true);
+        properties = new CandleStreamProperties();
+        properties.setSubscriberBufferSize(16);
+        properties.setUpstreamGracePeriod(Duration.ZERO);
+        properties.setReconnectInitialDelay(Duration.ofMillis(10));
+        properties.setReconnectMaxDelay(Duration.ofMillis(50));
+        hub = new CandleStreamHub(streamSource, rsiService, binanceHistoricalDataService, properties, exchangeSymbols);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        subscriptions.forEach(Disposable::dispose);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testSubscribersShareOneUpstream() throws Exception {
+        List<List<CandleUpdate>> received = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            List<CandleUpdate> updates = new CopyOnWriteArrayList<>();
+            received.add(updates);
+            subscriptions.add(hub.candles("btcusdt", INTERVAL).subscribe(updates::add));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            streamSource.push(StubKlineStreamSource.event(SYMBOL, START + i * ONE_MINUTE, ONE_MINUTE, 100 + i, true));
+        }
+
+        assertEquals(1, streamSource.getSubscriptionCount());
+        assertEquals(1, hub.getUpstreamCount());
+        assertEquals(3, hub.getSubscriberCount());
+        for (List<CandleUpdate> updates : received) {
+            awaitTrue(() -> updates.size() == 5);
+            assertEquals(104, updates.get(4).close());
+            assertEquals(START + 4 * ONE_MINUTE, updates.get(4).openTime());
+        }
+    }
+
+    @Test
+    public void testLateSubscriberStartsWithLatestUpdate() throws Exception {
+        subscriptions.add(hub.candles(SYMBOL, INTERVAL).subscribe());
+        streamSource.push(StubKlineStreamSource.event(SYMBOL, START, ONE_MINUTE, 100, false));
+        streamSource.push(StubKlineStreamSource.event(SYMBOL, START, ONE_MINUTE, 101, false));
+
+        List<CandleUpdate> updates = new CopyOnWriteArrayList<>();
+        subscriptions.add(hub.candles(SYMBOL, INTERVAL).subscribe(updates::add));
+
+        awaitTrue(() -> updates.size() == 1);
+        assertEquals(101, updates.get(0).close());
+        assertFalse(updates.get(0).closed());
+    }
+
+    @Test
+    public void testRSIIsContinuedWithClosedCandles() throws Exception {
+        when(rsiService.onCandleClosed(eq(SYMBOL), eq(INTERVAL), eq(14), anyLong(), anyDouble())).thenReturn(OptionalDouble.of(55));
+        List<RSIUpdate> updates = new CopyOnWriteArrayList<>();
+        subscriptions.add(hub.rsi(SYMBOL, INTERVAL, 14).subscribe(updates::add));
+        awaitTrue(() -> streamSource.getOpenCount() == 1);
+
+        streamSource.push(StubKlineStreamSource.event(SYMBOL, START, ONE_MINUTE, 100, false));
+        streamSource.push(StubKlineStreamSource.event(SYMBOL, START, ONE_MINUTE, 101, true));
+
+        awaitTrue(() -> updates.size() == 1);
+        assertEquals(new RSIUpdate(SYMBOL, START, 14, 55), updates.get(0));
+        verify(rsiService, times(1)).getRSIData(eq(SYMBOL), eq(INTERVAL), anyLong(), anyLong(), eq(14));
+        verify(rsiService, times(1)).onCandleClosed(SYMBOL, INTERVAL, 14, START, 101);
+    }
+
+    @Test
+    public void testUpstreamReconnectsAfterFailure() throws Exception {
+        List<CandleUpdate> updates = new CopyOnWriteArrayList<>();
+        subscriptions.add(hub.candles(SYMBOL, INTERVAL).subscribe(updates::add));
+
+        streamSource.fail(new IOException("Connection reset"));
+        awaitTrue(() -> streamSource.getOpenCount() == 1);
+        streamSource.push(StubKlineStreamSource.event(SYMBOL, START, ONE_MINUTE, 100, true));
+
+        awaitTrue(() -> updates.size() == 1);
+        assertEquals(2, streamSource.getSubscriptionCount());
+    }
+
+    @Test
+    public void testReconnectDelayResetsAfterUpdates() throws Exception {
+        properties.setReconnectMaxDelay(Duration.ofSeconds(10));
+        hub = new CandleStreamHub(streamSource, rsiService, binanceHistoricalDataService, properties, exchangeSymbols);
+        List<CandleUpdate> updates = new CopyOnWriteArrayList<>();
+        subscriptions.add(hub.candles(SYMBOL, INTERVAL).subscribe(updates::add));
+
+        // Doubling from 10 ms, eight failures in a row would wait well over a second in total
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < 8; i++) {
+            int received = i;
+            streamSource.fail(new IOException("Connection reset"));
+            awaitTrue(() -> streamSource.getOpenCount() == 1);
+            streamSource.push(StubKlineStreamSource.event(SYMBOL, START + i * ONE_MINUTE, ONE_MINUTE, 100 + i, true));
+            awaitTrue(() -> updates.size() == received + 1);
+        }
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(9, streamSource.getSubscriptionCount());
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testInvalidSymbol() {
+        assertThrows(IllegalArgumentException.class, () -> hub.candles("BTC/USDT", INTERVAL));
+        assertThrows(IllegalArgumentException.class, () -> hub.candles(null, INTERVAL));
+        assertEquals(0, streamSource.getSubscriptionCount());
+    }
+
+    @Test
+    public void testUnknownSymbol() {
+        when(exchangeSymbols.isTrading("XXXUSDT")).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> hub.candles("xxxusdt", INTERVAL));
+        assertThrows(IllegalArgumentException.class, () -> hub.rsi("XXXUSDT", INTERVAL, 14));
+        assertEquals(0, streamSource.getSubscriptionCount());
+        assertEquals(0, hub.getFeedCount());
+    }
+
+    @Test
+    public void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> hub.rsi(SYMBOL, INTERVAL, 0));
+    }
+
+    @Test
+    public void testSlowSubscriberDoesNotHoldUpOthers() throws Exception {
+        List<CandleUpdate> fast = new CopyOnWriteArrayList<>();
+        subscriptions.add(hub.candles(SYMBOL, INTERVAL).subscribe(fast::add));
+        List<CandleUpdate> slow = new CopyOnWriteArrayList<>();
+        BaseSubscriber<CandleUpdate> slowSubscriber = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            protected void hookOnNext(CandleUpdate update) {
+                slow.add(update);
+            }
+        };
+        hub.candles(SYMBOL, INTERVAL).subscribe(slowSubscriber);
+        subscriptions.add(slowSubscriber);
+
+        for (int i = 0; i < 1000; i++) {
+            streamSource.push(StubKlineStreamSource.event(SYMBOL, START + i * ONE_MINUTE, ONE_MINUTE, 100 + i, true));
+        }
+
+        awaitTrue(() -> fast.size() == 1000);
+        assertEquals(1, slow.size());
+        // The slow subscriber keeps only the newest updates of its buffer
+        assertEquals(1000 - 1 - 16, hub.getDroppedCount());
+        slowSubscriber.request(16);
+        awaitTrue(() -> slow.size() == 17);
+        assertEquals(START + 999 * ONE_MINUTE, slow.get(16).openTime());
+    }
+
+    @Test
+    public void testMalformedUpdateIsSkipped() throws Exception {
+        List<CandleUpdate> updates = new CopyOnWriteArrayList<>();
+        subscriptions.add(hub.candles(SYMBOL, INTERVAL).subscribe(updates::add));
+        CandlestickEvent malformed = StubKlineStreamSource.event(SYMBOL, START, ONE_MINUTE, 100, false);
+        malformed.setClose("not a price");
+
+        streamSource.push(malformed);
+        streamSource.push(StubKlineStreamSource.event(SYMBOL, START, ONE_MINUTE, 101, false));
+
+        awaitTrue(() -> updates.size() == 1);
+        assertEquals(101, updates.get(0).close());
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testUpstreamClosedAfterLastSubscriberLeaves() throws Exception {
+        Disposable first = hub.candles(SYMBOL, INTERVAL).subscribe();
+        Disposable second = hub.candles(SYMBOL, INTERVAL).subscribe();
+
+        first.dispose();
+        assertEquals(1, streamSource.getOpenCount());
+        second.dispose();
+
+        awaitTrue(() -> streamSource.getClosedCount() == 1);
+        assertEquals(0, hub.getUpstreamCount());
+        assertEquals(0, hub.getSubscriberCount());
+
+        // The next subscriber opens a new upstream
+        subscriptions.add(hub.candles(SYMBOL, INTERVAL).subscribe());
+        assertEquals(2, streamSource.getSubscriptionCount());
+    }
+
+    @Test
+    public void testFeedsAreDroppedWithTheirUpstream() throws Exception {
+        Disposable candles = hub.candles(SYMBOL, INTERVAL).subscribe();
+        Disposable rsi = hub.rsi(SYMBOL, INTERVAL, 14).subscribe();
+        awaitTrue(() -> streamSource.getOpenCount() == 1);
+        assertEquals(2, hub.getFeedCount());
+
+        candles.dispose();
+        rsi.dispose();
+
+        awaitTrue(() -> hub.getFeedCount() == 0);
+        assertEquals(1, streamSource.getClosedCount());
+
+        // The next RSI subscriber opens both feeds again
+        subscriptions.add(hub.rsi(SYMBOL, INTERVAL, 14).subscribe());
+        awaitTrue(() -> streamSource.getOpenCount() == 1);
+        assertEquals(2, hub.getFeedCount());
+        assertEquals(2, streamSource.getSubscriptionCount());
+    }
+
+    @Test
+    public void testFeedStaysMappedWhileReconnectedBeforeItsLastConnectionEnded() {
+        Map<String, Flux<Integer>> feeds = new ConcurrentHashMap<>();
+        AtomicReference<Flux<Integer>> feed = new AtomicReference<>();
+        feed.set(CandleStreamHub.mapped(Flux.<Integer>never(), feeds, SYMBOL, feed));
+
+        Disposable ending = feed.get().subscribe();
+        // Connects again while the earlier connection has not ended yet
+        Disposable reconnected = feed.get().subscribe();
+        ending.dispose();
+
+        assertSame(feed.get(), feeds.get(SYMBOL));
+        reconnected.dispose();
+        assertTrue(feeds.isEmpty());
+    }
+
+    @Test
+    public void testFluxHandedOutBeforeFeedWasDroppedOpensNoSecondUpstream() throws Exception {
+        Flux<CandleUpdate> early = hub.candles(SYMBOL, INTERVAL);
+        Flux<CandleUpdate> late = hub.candles(SYMBOL, INTERVAL);
+        early.subscribe().dispose();
+        awaitTrue(() -> hub.getFeedCount() == 0);
+
+        subscriptions.add(late.subscribe());
+        subscriptions.add(hub.candles(SYMBOL, INTERVAL).subscribe());
+
+        assertEquals(1, streamSource.getOpenCount());
+        assertEquals(1, hub.getUpstreamCount());
+        assertEquals(1, hub.getFeedCount());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
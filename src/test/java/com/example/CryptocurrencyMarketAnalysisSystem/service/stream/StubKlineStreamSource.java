@@ -0,0 +1,76 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.stream;
+
+import com.binance.api.client.BinanceApiCallback;
+import com.binance.api.client.domain.event.CandlestickEvent;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.ingestion.KlineStreamSource;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process kline stream source whose events are pushed by the test, to every open subscription.
+ */
+public class StubKlineStreamSource implements KlineStreamSource {
+    private final List<BinanceApiCallback<CandlestickEvent>> open = new CopyOnWriteArrayList<>();
+    private final AtomicInteger subscriptions = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Override
+    public Closeable subscribe(Collection<String> symbols, CandlestickInterval interval, BinanceApiCallback<CandlestickEvent> callback) {
+        subscriptions.incrementAndGet();
+        open.add(callback);
+        return () -> {
+            if (open.remove(callback)) {
+                closed.incrementAndGet();
+            }
+        };
+    }
+
+    public void push(CandlestickEvent event) {
+        open.forEach(callback -> callback.onResponse(event));
+    }
+
+    // Fails every open subscription, as a dropped connection does
+    public void fail(Throwable cause) {
+        for (BinanceApiCallback<CandlestickEvent> callback : open) {
+            open.remove(callback);
+            callback.onFailure(cause);
+        }
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptions.get();
+    }
+
+    public int getOpenCount() {
+        return open.size();
+    }
+
+    public int getClosedCount() {
+        return closed.get();
+    }
+
+    public static CandlestickEvent event(String symbol, long openTime, long intervalMillis, double close, boolean closed) {
+        CandlestickEvent event = new CandlestickEvent();
+        event.setEventTime(System.currentTimeMillis());
+        event.setSymbol(symbol);
+        event.setOpenTime(openTime);
+        event.setCloseTime(openTime + intervalMillis - 1);
+        event.setOpen(format(close - 1));
+        event.setHigh(format(close + 2));
+        event.setLow(format(close - 2));
+        event.setClose(format(close));
+        event.setVolume("10.00000000");
+        event.setBarFinal(closed);
+        return event;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.8f", value);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.stream.benchmark;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.CandleStreamProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.WebConfig;
+import com.example.CryptocurrencyMarketAnalysisSystem.controller.StreamController;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleUpdate;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.RSIService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.stream.CandleStreamHub;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.stream.StubKlineStreamSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test of the live candle stream: thousands of SSE clients on one symbol and interval, served by the
+ * Spring MVC stream endpoint on embedded Tomcat and fed by an in-process stub upstream. Each operation pushes
+ * one candle update and ends when every client has received it, so the score is the time to fan one update
+ * out to all clients. The number of upstream subscriptions and the p50 and p99 delay from push to receipt
+ * over all clients are printed after each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CandleStreamFanOutBenchmark {
+    private static final long START = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    // Delivery delays in milliseconds, one bucket per millisecond
+    private static final int MAX_DELAY_MILLIS = 60_000;
+
+    @Param({"1000", "4000"})
+    public int clients;
+
+    private ConfigurableApplicationContext context;
+    private StubKlineStreamSource streamSource;
+    private CandleStreamHub hub;
+    private ConnectionProvider connectionProvider;
+    private final List<Disposable> connections = new ArrayList<>();
+
+    private final AtomicLongArray delays = new AtomicLongArray(MAX_DELAY_MILLIS + 1);
+    private final AtomicInteger finished = new AtomicInteger();
+    private volatile long pushNanos;
+    private volatile long openTime = START;
+
+    // Not a @Configuration, so component scans of the application in other tests do not pick it up
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class})
+    @Import({WebConfig.class, StreamController.class})
+    public static class StreamServer {
+
+        @Bean
+        public CandleStreamProperties candleStreamProperties() {
+            return new CandleStreamProperties();
+        }
+
+        @Bean
+        public StubKlineStreamSource stubKlineStreamSource() {
+            return new StubKlineStreamSource();
+        }
+
+        @Bean
+        public CandleStreamHub candleStreamHub(StubKlineStreamSource streamSource, CandleStreamProperties properties) {
+            BinanceHistoricalDataService historical = new BinanceHistoricalDataService(null);
+            return new CandleStreamHub(streamSource, new RSIService(historical), historical, properties);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        context = new SpringApplicationBuilder(StreamServer.class)
+                .properties("server.port=0", "server.tomcat.max-connections=" + (clients + 100), "logging.level.root=WARN")
+                .run();
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        streamSource = context.getBean(StubKlineStreamSource.class);
+        hub = context.getBean(CandleStreamHub.class);
+
+        connectionProvider = ConnectionProvider.builder("sse-clients").maxConnections(clients).pendingAcquireMaxCount(-1).build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        ParameterizedTypeReference<ServerSentEvent<CandleUpdate>> type = new ParameterizedTypeReference<>() {
+        };
+        for (int i = 0; i < clients; i++) {
+            connections.add(webClient.get()
+                    .uri("/stream/candles/BTCUSDT/{interval}", CandlestickInterval.ONE_MINUTE)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .retrieve()
+                    .bodyToFlux(type)
+                    .subscribe(event -> onEvent(event.data())));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (hub.getSubscriberCount() < clients) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Only " + hub.getSubscriberCount() + " of " + clients + " clients connected");
+            }
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+
+    @Benchmark
+    public int fanOut() {
+        finished.set(0);
+        openTime += ONE_MINUTE;
+        pushNanos = System.nanoTime();
+        streamSource.push(StubKlineStreamSource.event("BTCUSDT", openTime, ONE_MINUTE, 20000, true));
+        while (finished.get() < clients) {
+            LockSupport.parkNanos(50_000);
+        }
+        return finished.get();
+    }
+
+    // Only the update of the current operation counts; the latest update replayed to new clients does not
+    private void onEvent(CandleUpdate update) {
+        if (update == null || update.openTime() != openTime) {
+            return;
+        }
+        long delayMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pushNanos);
+        delays.incrementAndGet((int) Math.min(MAX_DELAY_MILLIS, Math.max(0, delayMillis)));
+        finished.incrementAndGet();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() {
+        System.out.printf("clients=%d upstream subscriptions=%d dropped=%d delay p50=%d ms p99=%d ms%n", clients,
+                streamSource.getSubscriptionCount(), hub.getDroppedCount(), percentile(0.5), percentile(0.99));
+        connections.forEach(Disposable::dispose);
+        connectionProvider.disposeLater().block(Duration.ofSeconds(10));
+        context.close();
+    }
+
+    private long percentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < delays.length(); i++) {
+            total += delays.get(i);
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < delays.length(); i++) {
+            seen += delays.get(i);
+            if (seen >= rank && rank > 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
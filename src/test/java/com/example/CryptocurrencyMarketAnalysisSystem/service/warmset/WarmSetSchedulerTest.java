@@ -0,0 +1,182 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.warmset;
+
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.WarmSetProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class WarmSetSchedulerTest {
+    private static final long ONE_MINUTE = 60_000L;
+    private static final long ONE_HOUR = 60 * ONE_MINUTE;
+    private static final long START = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private BinanceHistoricalDataService binanceHistoricalDataService;
+    private WarmSetProperties properties;
+
+    @BeforeEach
+    public void setup() {
+        binanceHistoricalDataService = mock(BinanceHistoricalDataService.class);
+        when(binanceHistoricalDataService.getCandlestickIntervalMillis(CandlestickInterval.ONE_MINUTE)).thenReturn(ONE_MINUTE);
+        when(binanceHistoricalDataService.getCandlestickIntervalMillis(CandlestickInterval.HOURLY)).thenReturn(ONE_HOUR);
+        // Every read returns the closed candles of its range
+        when(binanceHistoricalDataService.getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong())).thenAnswer(invocation ->
+                createSeries(invocation.getArgument(2), invocation.getArgument(3),
+                        binanceHistoricalDataService.getCandlestickIntervalMillis(invocation.getArgument(1))));
+
+        properties = new WarmSetProperties();
+        properties.setEnabled(true);
+        properties.setSymbols(List.of("btcusdt"));
+        properties.setIntervals(List.of(CandlestickInterval.ONE_MINUTE));
+        properties.setCandles(500);
+        properties.setJitter(Duration.ZERO);
+    }
+
+    //Positive Tests
+
+    @Test
+    public void testFirstRefreshReadsWholeWindow() {
+        WarmSetScheduler scheduler = create(START);
+
+        assertEquals(1, scheduler.refreshDue(START));
+
+        verify(binanceHistoricalDataService).getHistoricalCandleSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START - 500 * ONE_MINUTE, START - ONE_MINUTE + 1);
+        assertEquals(500, scheduler.getRefreshedCandleCount());
+    }
+
+    @Test
+    public void testLaterRefreshReadsOnlyTail() {
+        WarmSetScheduler scheduler = create(START);
+        scheduler.refreshDue(START);
+
+        // Three more candles have closed three minutes later
+        assertEquals(1, scheduler.refreshDue(START + 3 * ONE_MINUTE));
+
+        verify(binanceHistoricalDataService).getHistoricalCandleSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START - ONE_MINUTE + 1, START + 2 * ONE_MINUTE + 1);
+        assertEquals(503, scheduler.getRefreshedCandleCount());
+        assertEquals(2, scheduler.getRefreshCount());
+    }
+
+    @Test
+    public void testPairsAreSpreadOverCycle() {
+        properties.setSymbols(List.of("BTCUSDT", "ETHUSDT", "BNBUSDT", "SOLUSDT"));
+        WarmSetScheduler scheduler = create(START);
+
+        // The slots of four pairs in a one minute cycle are 15 seconds apart
+        int[] refreshed = new int[4];
+        for (int i = 0; i < 4; i++) {
+            refreshed[i] = scheduler.refreshDue(START + i * 15_000L);
+        }
+
+        assertArrayEquals(new int[]{1, 1, 1, 1}, refreshed);
+        assertEquals(0, scheduler.refreshDue(START + 50_000L));
+        verify(binanceHistoricalDataService, times(4)).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testJitterDelaysRefreshWithinBound() {
+        properties.setJitter(Duration.ofSeconds(5));
+        WarmSetScheduler scheduler = create(START);
+
+        int refreshedBeforeJitter = scheduler.refreshDue(START - 1);
+        int refreshedAfterJitter = scheduler.refreshDue(START + 5_000L);
+
+        assertEquals(0, refreshedBeforeJitter);
+        assertEquals(1, refreshedAfterJitter);
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testRefreshIsDeferredWithoutWeight() {
+        properties.setMinAvailableWeight(100);
+        WarmSetScheduler scheduler = new WarmSetScheduler(binanceHistoricalDataService,
+                new BinanceRequestWeightLimiter(50, Duration.ZERO), properties, () -> START, new Random(1));
+
+        assertEquals(0, scheduler.refreshDue(START));
+
+        assertEquals(1, scheduler.getDeferralCount());
+        verify(binanceHistoricalDataService, never()).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testFailedPairIsRetriedNextCycle() {
+        properties.setSymbols(List.of("BTCUSDT", "ETHUSDT"));
+        properties.setCycle(Duration.ofMillis(2));
+        doThrow(new IllegalStateException("Binance request weight limit reached, try again later"))
+                .doReturn(CandleSeries.empty())
+                .when(binanceHistoricalDataService).getHistoricalCandleSeries(eq("BTCUSDT"), any(), anyLong(), anyLong());
+        WarmSetScheduler scheduler = create(START);
+
+        assertEquals(1, scheduler.refreshDue(START + 1));
+        assertEquals(1, scheduler.getFailureCount());
+
+        // Nothing was stored for the failed pair, so its whole window is read again
+        scheduler.refreshDue(START + ONE_MINUTE);
+        verify(binanceHistoricalDataService).getHistoricalCandleSeries("BTCUSDT", CandlestickInterval.ONE_MINUTE,
+                START - 499 * ONE_MINUTE, START + 1);
+    }
+
+    @Test
+    public void testInvalidSettingsAreRejected() {
+        properties.setJitter(Duration.ofMinutes(1));
+        assertThrows(IllegalArgumentException.class, () -> create(START));
+
+        properties.setJitter(Duration.ZERO);
+        properties.setCandles(0);
+        assertThrows(IllegalArgumentException.class, () -> create(START));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testNoReadWhileIntervalHasNotMovedOn() {
+        properties.setIntervals(List.of(CandlestickInterval.HOURLY));
+        WarmSetScheduler scheduler = create(START);
+        scheduler.refreshDue(START);
+
+        // Later cycles within the same hour find no newly closed candle
+        assertEquals(0, scheduler.refreshDue(START + ONE_MINUTE));
+        assertEquals(0, scheduler.refreshDue(START + 59 * ONE_MINUTE));
+        assertEquals(1, scheduler.refreshDue(START + ONE_HOUR));
+
+        verify(binanceHistoricalDataService, times(2)).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testDisabledSchedulerReadsNothing() {
+        properties.setEnabled(false);
+        WarmSetScheduler scheduler = create(START);
+
+        scheduler.refreshDue();
+
+        verify(binanceHistoricalDataService, never()).getHistoricalCandleSeries(anyString(), any(), anyLong(), anyLong());
+    }
+
+    private WarmSetScheduler create(long now) {
+        return new WarmSetScheduler(binanceHistoricalDataService, new BinanceRequestWeightLimiter(6000, Duration.ZERO),
+                properties, () -> now, new Random(1));
+    }
+
+    // Aligned candles opening from startTime up to the exclusive endTime
+    private static CandleSeries createSeries(long startTime, long endTime, long intervalMillis) {
+        long first = (startTime + intervalMillis - 1) / intervalMillis * intervalMillis;
+        CandleSeries.Builder builder = CandleSeries.builder(16);
+        for (long openTime = first; openTime < endTime; openTime += intervalMillis) {
+            builder.add(openTime, openTime + intervalMillis - 1, 1, 1, 1, 1, 1, 1, 1, 1, 1);
+        }
+        return builder.build();
+    }
+}
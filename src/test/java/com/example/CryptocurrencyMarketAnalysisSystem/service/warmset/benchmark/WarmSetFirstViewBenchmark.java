@@ -0,0 +1,141 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.service.warmset.benchmark;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.config.WarmSetProperties;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.CandlestickDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceMarketDataClient;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceRequestWeightLimiter;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.CandlestickBackfillExecutor;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.warmset.WarmSetScheduler;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark of the first view of the latest 500 one minute candles of a pair, against a stub Binance API that
+ * answers each klines request after a fixed latency. A cold pair has nothing stored, so its first viewer waits for
+ * the backfill; a pair of the warm set was refreshed ahead of the view, so its first viewer reads the stored candles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WarmSetFirstViewBenchmark {
+    private static final long ONE_MINUTE = 60_000L;
+    private static final int CANDLES = 500;
+
+    @Param({"100"})
+    public int apiLatencyMillis;
+
+    private BinanceHistoricalDataService historicalDataService;
+    private final AtomicInteger coldSymbols = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Stands in for the database and the series cache
+        Map<String, CandleSeries> stored = new ConcurrentHashMap<>();
+        CandlestickDataService candlestickDataService = new CandlestickDataService(null) {
+            @Override
+            public CandleSeries getCandleSeries(String symbol, ZonedDateTime startTime, ZonedDateTime endTime, CandlestickInterval interval) {
+                return stored.getOrDefault(symbol, CandleSeries.empty())
+                        .sliceByOpenTime(startTime.toInstant().toEpochMilli(), endTime.toInstant().toEpochMilli());
+            }
+
+            @Override
+            public CandleSeries deriveCandleSeries(String symbol, CandlestickInterval interval, List<TimeRange> ranges) {
+                return CandleSeries.empty();
+            }
+
+            @Override
+            public void saveCandleSeries(String symbol, CandleSeries candles, CandlestickInterval interval) {
+                stored.merge(symbol, candles, (existing, added) -> CandleSeries.merge(List.of(existing, added)));
+            }
+        };
+        historicalDataService = new BinanceHistoricalDataService(candlestickDataService,
+                new CandlestickBackfillExecutor(Runnable::run, BinanceRequestWeightLimiter.KLINES_WEIGHT),
+                new BinanceRequestWeightLimiter(1_000_000, Duration.ofSeconds(2)), stubApi(apiLatencyMillis));
+
+        WarmSetProperties properties = new WarmSetProperties();
+        properties.setEnabled(true);
+        properties.setSymbols(List.of("WARMUSDT"));
+        properties.setCandles(CANDLES);
+        properties.setJitter(Duration.ZERO);
+        WarmSetScheduler scheduler = new WarmSetScheduler(historicalDataService,
+                new BinanceRequestWeightLimiter(6000, Duration.ZERO), properties);
+        scheduler.refreshDue();
+        if (scheduler.getRefreshedCandleCount() < CANDLES - 1) {
+            throw new IllegalStateException("The warm set was not refreshed");
+        }
+    }
+
+    @Benchmark
+    public CandleSeries firstViewOfColdPair() {
+        return latestCandles("COLD" + coldSymbols.incrementAndGet() + "USDT");
+    }
+
+    @Benchmark
+    public CandleSeries firstViewOfWarmPair() {
+        return latestCandles("WARMUSDT");
+    }
+
+    private CandleSeries latestCandles(String symbol) {
+        long lastClosedOpenTime = System.currentTimeMillis() - ONE_MINUTE;
+        return historicalDataService.getHistoricalCandleSeries(symbol, CandlestickInterval.ONE_MINUTE,
+                lastClosedOpenTime - (CANDLES - 1) * ONE_MINUTE, lastClosedOpenTime + 1);
+    }
+
+    // Answers every klines request with aligned one minute candles after the latency
+    private static BinanceMarketDataClient stubApi(long latencyMillis) {
+        return (BinanceMarketDataClient) Proxy.newProxyInstance(BinanceMarketDataClient.class.getClassLoader(),
+                new Class<?>[]{BinanceMarketDataClient.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getCandlestickBars") || args == null || args.length != 5) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Thread.sleep(latencyMillis);
+                    long startTime = (Long) args[3];
+                    long endTime = (Long) args[4];
+                    List<Candlestick> candlesticks = new ArrayList<>();
+                    for (long openTime = (startTime + ONE_MINUTE - 1) / ONE_MINUTE * ONE_MINUTE;
+                         openTime <= endTime && candlesticks.size() < (Integer) args[2]; openTime += ONE_MINUTE) {
+                        Candlestick candlestick = new Candlestick();
+                        candlestick.setOpenTime(openTime);
+                        candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+                        candlestick.setOpen("100");
+                        candlestick.setHigh("101");
+                        candlestick.setLow("99");
+                        candlestick.setClose("100.5");
+                        candlestick.setVolume("10");
+                        candlestick.setQuoteAssetVolume("1000");
+                        candlestick.setNumberOfTrades(10L);
+                        candlestick.setTakerBuyBaseAssetVolume("5");
+                        candlestick.setTakerBuyQuoteAssetVolume("500");
+                        candlesticks.add(candlestick);
+                    }
+                    return candlesticks;
+                });
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Command line arguments.
+     * @throws Exception If an error occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
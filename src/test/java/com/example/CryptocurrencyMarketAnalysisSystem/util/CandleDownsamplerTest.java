@@ -0,0 +1,140 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.util;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandleDownsamplerTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    //Positive Tests
+
+    @Test
+    public void testOhlcMergesCandlesIntoBuckets() {
+        CandleSeries candles = createSeries(10, i -> 100 + i);
+
+        CandleSeries buckets = CandleDownsampler.ohlc(candles, ONE_MINUTE, 5);
+
+        assertEquals(5, buckets.size());
+        for (int bucket = 0; bucket < 5; bucket++) {
+            int first = 2 * bucket;
+            assertEquals(START + first * ONE_MINUTE, buckets.openTime(bucket));
+            assertEquals(candles.closeTime(first + 1), buckets.closeTime(bucket));
+            assertEquals(candles.open(first), buckets.open(bucket));
+            assertEquals(candles.close(first + 1), buckets.close(bucket));
+            assertEquals(Math.max(candles.high(first), candles.high(first + 1)), buckets.high(bucket));
+            assertEquals(Math.min(candles.low(first), candles.low(first + 1)), buckets.low(bucket));
+            assertEquals(candles.volume(first) + candles.volume(first + 1), buckets.volume(bucket), 1e-9);
+            assertEquals(candles.numberOfTrades(first) + candles.numberOfTrades(first + 1), buckets.numberOfTrades(bucket));
+        }
+    }
+
+    @Test
+    public void testOhlcBucketsSpanTimeAcrossMissingCandles() {
+        CandleSeries.Builder builder = CandleSeries.builder(6);
+        for (int minute : new int[]{0, 1, 2, 3, 8, 9}) {
+            addCandle(builder, minute, 100 + minute);
+        }
+
+        // Ten minutes into at most five points makes buckets of two minutes, of which minutes 4 to 7 fill none
+        CandleSeries buckets = CandleDownsampler.ohlc(builder.build(), ONE_MINUTE, 5);
+
+        assertArrayEquals(new long[]{START, START + 2 * ONE_MINUTE, START + 8 * ONE_MINUTE}, buckets.openTimes());
+        assertEquals(109 + 0.5, buckets.close(2));
+    }
+
+    @Test
+    public void testOhlcKeepsExtremesOfLargeSeries() {
+        CandleSeries candles = createSeries(100_000, i -> 1000 + 100 * Math.sin(i / 500.0) + (i == 54_321 ? 400 : 0));
+
+        CandleSeries buckets = CandleDownsampler.ohlc(candles, ONE_MINUTE, 1000);
+
+        assertTrue(buckets.size() <= 1000);
+        assertEquals(Arrays.stream(candles.highs()).max().getAsDouble(), Arrays.stream(buckets.highs()).max().getAsDouble());
+        assertEquals(Arrays.stream(candles.lows()).min().getAsDouble(), Arrays.stream(buckets.lows()).min().getAsDouble());
+        assertEquals(Arrays.stream(candles.volumes()).sum(), Arrays.stream(buckets.volumes()).sum(), 1e-3);
+    }
+
+    @Test
+    public void testLttbKeepsEndsAndSpikes() {
+        CandleSeries candles = createSeries(10_000, i -> 100 + Math.sin(i / 200.0) + (i == 4321 ? 50 : 0));
+
+        int[] selected = CandleDownsampler.lttb(candles, 500);
+
+        assertEquals(500, selected.length);
+        assertEquals(0, selected[0]);
+        assertEquals(9999, selected[499]);
+        for (int i = 1; i < selected.length; i++) {
+            assertTrue(selected[i] > selected[i - 1]);
+        }
+        assertTrue(Arrays.stream(selected).anyMatch(index -> index == 4321));
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testOhlcRequiresOnePoint() {
+        assertThrows(IllegalArgumentException.class, () -> CandleDownsampler.ohlc(createSeries(10, i -> 1), ONE_MINUTE, 0));
+    }
+
+    @Test
+    public void testOhlcRequiresPositiveInterval() {
+        assertThrows(IllegalArgumentException.class, () -> CandleDownsampler.ohlc(createSeries(10, i -> 1), 0, 5));
+    }
+
+    @Test
+    public void testLttbRequiresThreePoints() {
+        assertThrows(IllegalArgumentException.class, () -> CandleDownsampler.lttb(createSeries(10, i -> 1), 2));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testSeriesWithinLimitIsKept() {
+        CandleSeries candles = createSeries(100, i -> i);
+
+        assertSame(candles, CandleDownsampler.ohlc(candles, ONE_MINUTE, 100));
+        int[] selected = CandleDownsampler.lttb(candles, 100);
+        assertEquals(100, selected.length);
+        assertEquals(99, selected[99]);
+    }
+
+    @Test
+    public void testEmptySeries() {
+        assertTrue(CandleDownsampler.ohlc(CandleSeries.empty(), ONE_MINUTE, 10).isEmpty());
+        assertEquals(0, CandleDownsampler.lttb(CandleSeries.empty(), 10).length);
+    }
+
+    @Test
+    public void testOneMoreCandleThanPoints() {
+        CandleSeries candles = createSeries(101, i -> i);
+
+        // Two candles per bucket leave 51 buckets, the last one holding the last candle alone
+        CandleSeries buckets = CandleDownsampler.ohlc(candles, ONE_MINUTE, 100);
+        assertEquals(51, buckets.size());
+        assertEquals(candles.close(100), buckets.close(50));
+
+        int[] selected = CandleDownsampler.lttb(candles, 100);
+        assertEquals(100, selected.length);
+        assertEquals(100, selected[99]);
+    }
+
+    private static CandleSeries createSeries(int size, IntToDoubleFunction price) {
+        CandleSeries.Builder builder = CandleSeries.builder(size);
+        for (int i = 0; i < size; i++) {
+            addCandle(builder, i, price.applyAsDouble(i));
+        }
+        return builder.build();
+    }
+
+    // Opens at the price and closes half a unit above it
+    private static void addCandle(CandleSeries.Builder builder, int minute, double price) {
+        builder.add(START + minute * ONE_MINUTE, START + (minute + 1) * ONE_MINUTE - 1, price, price + 1, price - 1,
+                price + 0.5, 10 + minute % 7, 1000, 20, 5, 500);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.util;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandlestickGapDetectorTest {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    //Positive Tests
+
+    @Test
+    public void testNoMissingRanges() {
+        long[] openTimes = {START, START + ONE_MINUTE, START + 2 * ONE_MINUTE};
+
+        List<TimeRange> ranges = CandlestickGapDetector.findMissingRanges(openTimes, 3, START, START + 3 * ONE_MINUTE, ONE_MINUTE, 1000);
+
+        assertTrue(ranges.isEmpty());
+    }
+
+    @Test
+    public void testGapsBetweenStoredCandles() {
+        long[] openTimes = {START, START + 3 * ONE_MINUTE, START + 4 * ONE_MINUTE};
+
+        List<TimeRange> ranges = CandlestickGapDetector.findMissingRanges(openTimes, 3, START, START + 10 * ONE_MINUTE, ONE_MINUTE, 1000);
+
+        assertEquals(List.of(
+                new TimeRange(START + ONE_MINUTE, START + 3 * ONE_MINUTE),
+                new TimeRange(START + 5 * ONE_MINUTE, START + 10 * ONE_MINUTE)), ranges);
+    }
+
+    @Test
+    public void testUnsortedOpenTimes() {
+        long[] openTimes = {START + 4 * ONE_MINUTE, START, START + 2 * ONE_MINUTE};
+
+        List<TimeRange> ranges = CandlestickGapDetector.findMissingRanges(openTimes, 3, START, START + 5 * ONE_MINUTE, ONE_MINUTE, 1000);
+
+        assertEquals(List.of(
+                new TimeRange(START + ONE_MINUTE, START + 2 * ONE_MINUTE),
+                new TimeRange(START + 3 * ONE_MINUTE, START + 4 * ONE_MINUTE)), ranges);
+    }
+
+    @Test
+    public void testRangesSplitAtPageSize() {
+        List<TimeRange> ranges = CandlestickGapDetector.findMissingRanges(new long[0], 0, START, START + 2500 * ONE_MINUTE, ONE_MINUTE, 1000);
+
+        assertEquals(3, ranges.size());
+        assertEquals(new TimeRange(START, START + 1000 * ONE_MINUTE), ranges.get(0));
+        assertEquals(new TimeRange(START + 1000 * ONE_MINUTE, START + 2000 * ONE_MINUTE), ranges.get(1));
+        assertEquals(new TimeRange(START + 2000 * ONE_MINUTE, START + 2500 * ONE_MINUTE), ranges.get(2));
+    }
+
+    @Test
+    public void testAlignmentOffset() {
+        long oneWeek = 7 * 24 * 60 * ONE_MINUTE;
+        long offset = 4 * 24 * 60 * ONE_MINUTE;
+        long monday = 1672617600000L; // 2023-01-02T00:00:00Z
+
+        List<TimeRange> ranges = CandlestickGapDetector.findMissingRanges(new long[]{monday}, 1, START, monday + 2 * oneWeek, oneWeek, offset, 1000);
+
+        assertEquals(List.of(new TimeRange(monday + oneWeek, monday + 2 * oneWeek)), ranges);
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testNullOpenTimes() {
+        assertThrows(IllegalArgumentException.class, () ->
+                CandlestickGapDetector.findMissingRanges(null, 0, START, START + ONE_MINUTE, ONE_MINUTE, 1000));
+    }
+
+    @Test
+    public void testCountOutOfBounds() {
+        assertThrows(IllegalArgumentException.class, () ->
+                CandlestickGapDetector.findMissingRanges(new long[1], 2, START, START + ONE_MINUTE, ONE_MINUTE, 1000));
+    }
+
+    @Test
+    public void testNonPositiveInterval() {
+        assertThrows(IllegalArgumentException.class, () ->
+                CandlestickGapDetector.findMissingRanges(new long[0], 0, START, START + ONE_MINUTE, 0, 1000));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testEmptyWindow() {
+        List<TimeRange> ranges = CandlestickGapDetector.findMissingRanges(new long[0], 0, START, START, ONE_MINUTE, 1000);
+
+        assertTrue(ranges.isEmpty());
+    }
+
+    @Test
+    public void testUnalignedStartIsRoundedUp() {
+        List<TimeRange> ranges = CandlestickGapDetector.findMissingRanges(new long[0], 0, START + 30_000L, START + 3 * ONE_MINUTE, ONE_MINUTE, 1000);
+
+        assertEquals(List.of(new TimeRange(START + ONE_MINUTE, START + 3 * ONE_MINUTE)), ranges);
+    }
+
+    @Test
+    public void testOpenTimesOutsideWindowAndDuplicatesAreIgnored() {
+        long[] openTimes = {START - ONE_MINUTE, START, START, START + 5 * ONE_MINUTE};
+
+        List<TimeRange> ranges = CandlestickGapDetector.findMissingRanges(openTimes, 4, START, START + 2 * ONE_MINUTE, ONE_MINUTE, 1000);
+
+        assertEquals(List.of(new TimeRange(START + ONE_MINUTE, START + 2 * ONE_MINUTE)), ranges);
+    }
+
+    @Test
+    public void testOnlyCountElementsAreUsed() {
+        long[] openTimes = {START, START + ONE_MINUTE};
+
+        List<TimeRange> ranges = CandlestickGapDetector.findMissingRanges(openTimes, 1, START, START + 2 * ONE_MINUTE, ONE_MINUTE, 1000);
+
+        assertEquals(List.of(new TimeRange(START + ONE_MINUTE, START + 2 * ONE_MINUTE)), ranges);
+    }
+}
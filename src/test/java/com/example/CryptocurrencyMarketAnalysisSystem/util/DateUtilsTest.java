@@ -1,5 +1,6 @@
 package com.example.CryptocurrencyMarketAnalysisSystem.util;
 
+import com.binance.api.client.domain.market.CandlestickInterval;
 import org.junit.jupiter.api.Test;
 
 import java.time.*;
@@ -70,6 +71,15 @@ public class DateUtilsTest {
         assertEquals(expectedMillis, actualMillis);
     }
 
+    @Test
+    public void testConvertIntervalToMillis() {
+        assertEquals(60000L, DateUtils.convertIntervalToMillis(CandlestickInterval.ONE_MINUTE));
+        assertEquals(4 * 60 * 60000L, DateUtils.convertIntervalToMillis(CandlestickInterval.FOUR_HOURLY));
+        assertEquals(7 * 24 * 60 * 60000L, DateUtils.convertIntervalToMillis(CandlestickInterval.WEEKLY));
+        // Calendar months are approximated by 30 days
+        assertEquals(30 * 24 * 60 * 60000L, DateUtils.convertIntervalToMillis(CandlestickInterval.MONTHLY));
+    }
+
     //Negative Tests
 
     @Test
@@ -0,0 +1,140 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WilderRSITest {
+    private static final double DELTA = 1e-4;
+    // The 14-period worked example from Wilder's RSI reference table
+    private static final double[] CLOSES = {
+            44.34, 44.09, 44.15, 43.61, 44.33, 44.83, 45.10, 45.42, 45.84, 46.08,
+            45.89, 46.03, 45.61, 46.28, 46.28, 46.00, 46.03, 46.41, 46.22, 45.64};
+    private static final double[] EXPECTED = {70.4641, 66.2496, 66.4809, 69.3469, 66.2947, 57.9150};
+
+    //Positive Tests
+
+    @Test
+    public void testCalculateMatchesReferenceValues() {
+        double[] out = new double[CLOSES.length];
+
+        WilderRSI.calculate(CLOSES, CLOSES.length, 14, out);
+
+        for (int i = 0; i < 14; i++) {
+            assertTrue(Double.isNaN(out[i]));
+        }
+        for (int i = 0; i < EXPECTED.length; i++) {
+            assertEquals(EXPECTED[i], out[14 + i], DELTA);
+        }
+    }
+
+    @Test
+    public void testStreamingMatchesBatch() {
+        double[] closes = randomWalk(1000);
+        double[] batch = new double[closes.length];
+        WilderRSI.calculate(closes, closes.length, 14, batch);
+
+        WilderRSI streaming = new WilderRSI(14);
+        for (int i = 0; i < closes.length; i++) {
+            assertEquals(batch[i], streaming.update(closes[i]), 1e-9);
+        }
+    }
+
+    @Test
+    public void testBatchInChunksMatchesSinglePass() {
+        double[] closes = randomWalk(1000);
+        double[] expected = new double[closes.length];
+        WilderRSI.calculate(closes, closes.length, 14, expected);
+
+        WilderRSI rsi = new WilderRSI(14);
+        double[] out = new double[closes.length];
+        // The first chunk ends inside the seed window
+        rsi.update(closes, 0, 5, out, 0);
+        rsi.update(closes, 5, 600, out, 5);
+        rsi.update(closes, 600, closes.length, out, 600);
+
+        assertArrayEquals(expected, out, 1e-9);
+    }
+
+    @Test
+    public void testRestoredStateContinuesSeries() {
+        double[] closes = randomWalk(500);
+        WilderRSI original = new WilderRSI(14);
+        original.update(closes, 0, 300, new double[300], 0);
+
+        WilderRSI restored = WilderRSI.restore(14, original.getAvgGain(), original.getAvgLoss(), original.getLastClose());
+
+        assertEquals(original.current(), restored.current(), 1e-9);
+        for (int i = 300; i < closes.length; i++) {
+            assertEquals(original.update(closes[i]), restored.update(closes[i]), 1e-9);
+        }
+    }
+
+    //Negative Tests
+
+    @Test
+    public void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> new WilderRSI(0));
+    }
+
+    @Test
+    public void testInvalidStoredState() {
+        assertThrows(IllegalArgumentException.class, () -> WilderRSI.restore(14, -1, 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> WilderRSI.restore(14, 1, 1, Double.NaN));
+    }
+
+    @Test
+    public void testOutputArrayTooSmall() {
+        WilderRSI rsi = new WilderRSI(14);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> rsi.update(CLOSES, 0, CLOSES.length, new double[CLOSES.length - 1], 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> rsi.update(CLOSES, 0, CLOSES.length, new double[CLOSES.length], 1));
+    }
+
+    //Boundary Tests
+
+    @Test
+    public void testNotSeededUntilPeriodChanges() {
+        WilderRSI rsi = new WilderRSI(3);
+
+        assertTrue(Double.isNaN(rsi.update(1)));
+        assertTrue(Double.isNaN(rsi.update(2)));
+        assertTrue(Double.isNaN(rsi.update(3)));
+        assertFalse(rsi.isSeeded());
+        assertTrue(Double.isNaN(rsi.current()));
+        assertEquals(100, rsi.update(4), DELTA);
+        assertTrue(rsi.isSeeded());
+    }
+
+    @Test
+    public void testFlatMarketIsNeutral() {
+        double[] out = new double[20];
+
+        WilderRSI.calculate(new double[]{5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5}, 20, 14, out);
+
+        assertEquals(50, out[19], DELTA);
+    }
+
+    @Test
+    public void testOnlyLossesIsZero() {
+        WilderRSI rsi = new WilderRSI(2);
+
+        rsi.update(3);
+        rsi.update(2);
+
+        assertEquals(0, rsi.update(1), DELTA);
+    }
+
+    private static double[] randomWalk(int count) {
+        Random random = new Random(42);
+        double[] closes = new double[count];
+        double price = 100;
+        for (int i = 0; i < count; i++) {
+            price = Math.max(1, price + random.nextGaussian());
+            closes[i] = price;
+        }
+        return closes;
+    }
+}
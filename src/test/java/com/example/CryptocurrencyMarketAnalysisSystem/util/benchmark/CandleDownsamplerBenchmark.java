@@ -0,0 +1,85 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.util.benchmark;
+
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.ChartData;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.CandleDownsampler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the chart payload for one month and two years of ONE_MINUTE candles: the full series as the
+ * chart page used to embed it, against OHLC buckets and LTTB points for a chart 1200 pixels wide. Each
+ * operation downsamples and serializes to JSON; the payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CandleDownsamplerBenchmark {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+    private static final int WIDTH = 1200;
+
+    @Param({"43200", "1051200"})
+    public int candles;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CandleSeries series;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        CandleSeries.Builder builder = CandleSeries.builder(candles);
+        double price = 20000;
+        for (int i = 0; i < candles; i++) {
+            double next = price + Math.sin(i * 0.37) * 15 + Math.cos(i / 911.0) * 4;
+            builder.add(START + i * ONE_MINUTE, START + (i + 1) * ONE_MINUTE - 1, price,
+                    Math.max(price, next) + 3, Math.min(price, next) - 3, next, 12.5, 250000, 300, 6, 125000);
+            price = next;
+        }
+        series = builder.build();
+        System.out.printf("candles=%d full=%d bytes ohlc=%d bytes line=%d bytes%n", candles, full().length,
+                ohlc().length, line().length);
+    }
+
+    @Benchmark
+    public byte[] full() throws Exception {
+        return objectMapper.writeValueAsBytes(Map.of("openTime", series.openTimes(), "open", series.opens(),
+                "high", series.highs(), "low", series.lows(), "close", series.closes()));
+    }
+
+    @Benchmark
+    public byte[] ohlc() throws Exception {
+        CandleSeries buckets = CandleDownsampler.ohlc(series, ONE_MINUTE, WIDTH);
+        return objectMapper.writeValueAsBytes(new ChartData("BTCUSDT", "ONE_MINUTE", "OHLC", series.size(), 0,
+                buckets.openTimes(), buckets.opens(), buckets.highs(), buckets.lows(), buckets.closes(),
+                buckets.volumes()));
+    }
+
+    @Benchmark
+    public byte[] line() throws Exception {
+        int[] selected = CandleDownsampler.lttb(series, WIDTH);
+        long[] openTime = new long[selected.length];
+        double[] close = new double[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            openTime[i] = series.openTime(selected[i]);
+            close[i] = series.close(selected[i]);
+        }
+        return objectMapper.writeValueAsBytes(new ChartData("BTCUSDT", "ONE_MINUTE", "LINE", series.size(), ONE_MINUTE,
+                openTime, null, null, null, close, null));
+    }
+
+    /**
+     * Main method to run the benchmark tests using JMH.
+     *
+     * @param args Command-line arguments for the benchmark runner.
+     * @throws Exception if any exception occurs during benchmark execution.
+     */
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
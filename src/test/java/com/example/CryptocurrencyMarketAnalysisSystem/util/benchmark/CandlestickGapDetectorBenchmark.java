@@ -0,0 +1,96 @@
+package com.example.CryptocurrencyMarketAnalysisSystem.util.benchmark;
+
+import com.binance.api.client.domain.market.Candlestick;
+import com.binance.api.client.domain.market.CandlestickInterval;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.CandleSeries;
+import com.example.CryptocurrencyMarketAnalysisSystem.model.TimeRange;
+import com.example.CryptocurrencyMarketAnalysisSystem.service.binance.BinanceHistoricalDataService;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.CandlestickGapDetector;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.CandlestickWrapper;
+import com.example.CryptocurrencyMarketAnalysisSystem.util.DateUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the per-candle findMissingCandlesticks walk against the interval-arithmetic gap detector
+ * for one day, one month and one year of ONE_MINUTE candles with every tenth candle missing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class CandlestickGapDetectorBenchmark {
+    private static final long START = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final long ONE_MINUTE = 60_000L;
+
+    @Param({"1440", "43200", "525600"})
+    public int candles;
+
+    private BinanceHistoricalDataService service;
+    private Set<CandlestickWrapper> existingCandlesticks;
+    private CandleSeries existingCandles;
+    private long[] openTimes;
+    private ZonedDateTime startDateTime;
+    private ZonedDateTime endDateTime;
+    private long endTime;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new BinanceHistoricalDataService(null);
+        existingCandlesticks = new HashSet<>();
+        endTime = START + candles * ONE_MINUTE;
+        startDateTime = DateUtils.convertMillisToUtcZonedDateTime(START);
+        endDateTime = DateUtils.convertMillisToUtcZonedDateTime(endTime);
+
+        for (int i = 0; i < candles; i++) {
+            if (i % 10 != 9) {
+                existingCandlesticks.add(new CandlestickWrapper(createTestCandlestick(START + i * ONE_MINUTE)));
+            }
+        }
+        openTimes = existingCandlesticks.stream().mapToLong(w -> w.candlestick().getOpenTime()).toArray();
+        existingCandles = CandleSeries.fromCandlesticks(existingCandlesticks.stream().map(CandlestickWrapper::candlestick).toList());
+    }
+
+    @Benchmark
+    public List<Candlestick> testFindMissingCandlesticks() {
+        return service.findMissingCandlesticks(existingCandlesticks, startDateTime, endDateTime, CandlestickInterval.ONE_MINUTE);
+    }
+
+    @Benchmark
+    public List<TimeRange> testFindMissingRanges() {
+        return service.findMissingRanges(existingCandles, START, endTime, CandlestickInterval.ONE_MINUTE);
+    }
+
+    @Benchmark
+    public List<TimeRange> testGapDetector() {
+        // Sorting an already sorted array in place leaves it unchanged between invocations
+        return CandlestickGapDetector.findMissingRanges(openTimes, openTimes.length, START, endTime, ONE_MINUTE, 1000);
+    }
+
+    private Candlestick createTestCandlestick(long openTime) {
+        Candlestick candlestick = new Candlestick();
+        candlestick.setOpenTime(openTime);
+        candlestick.setCloseTime(openTime + ONE_MINUTE - 1);
+        candlestick.setOpen("1.0");
+        candlestick.setClose("2.0");
+        candlestick.setHigh("3.0");
+        candlestick.setLow("0.5");
+        candlestick.setVolume("1000");
+        candlestick.setQuoteAssetVolume("2000");
+        candlestick.setNumberOfTrades(500L);
+        candlestick.setTakerBuyBaseAssetVolume("700");
+        candlestick.setTakerBuyQuoteAssetVolume("1400");
+        return candlestick;
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}